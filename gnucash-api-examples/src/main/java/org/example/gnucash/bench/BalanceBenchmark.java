@@ -0,0 +1,136 @@
+package org.example.gnucash.bench;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.gnucash.numbers.FixedPointNumber;
+import org.gnucash.read.GnucashAccount;
+import org.gnucash.read.GnucashTransactionSplit;
+import org.gnucash.read.impl.GnucashFileImpl;
+
+/**
+ * Compares wall time and allocated bytes of summing up the split-quantities of all accounts the way
+ * SimpleAccount.getBalance() does it: with FixedPointNumber (long-backed, added in place) against the same sums
+ * with plain BigDecimal (a new object for every add, as FixedPointNumber did before).<br/>
+ * The test book is blown up as in {@link LoadBenchmark}.<br/>
+ * <code>java ... BalanceBenchmark [scaleFactor [rounds]]</code>
+ */
+public class BalanceBenchmark {
+	// BEGIN Example data -- adapt to your needs
+	private static String gcshFileName = "../gnucash-api/src/test/resources/test.gnucash";
+	private static int scaleFactor = 500;
+	private static int rounds = 200;
+	private static int runs = 5;
+	// END Example data
+
+	// -----------------------------------------------------------------
+
+	public static void main(String[] args) {
+		try {
+			BalanceBenchmark tool = new BalanceBenchmark();
+			tool.kernel(args);
+		}
+		catch (Exception exc) {
+			System.err.println("Execution exception. Aborting.");
+			exc.printStackTrace();
+			System.exit(1);
+		}
+	}
+
+	protected void kernel(String[] args) throws Exception {
+		if (args.length > 0) {
+			scaleFactor = Integer.parseInt(args[0]);
+		}
+		if (args.length > 1) {
+			rounds = Integer.parseInt(args[1]);
+		}
+
+		File scaled = LoadBenchmark.createScaledCopy(new File(gcshFileName), scaleFactor);
+		GnucashFileImpl gcshFile = new GnucashFileImpl(scaled);
+		scaled.delete();
+
+		// the quantities are fetched once, so only the adding is measured
+		List<List<FixedPointNumber>> quantities = new ArrayList<List<FixedPointNumber>>();
+		int nofSplits = 0;
+		for (GnucashAccount acct : gcshFile.getAccounts()) {
+			List<FixedPointNumber> acctQuantities = new ArrayList<FixedPointNumber>();
+			for (GnucashTransactionSplit split : acct.getTransactionSplits()) {
+				acctQuantities.add(split.getQuantity());
+			}
+			quantities.add(acctQuantities);
+			nofSplits += acctQuantities.size();
+		}
+		System.out.println(quantities.size() + " accounts, " + nofSplits + " splits, " + rounds + " rounds");
+
+		List<List<BigDecimal>> bigQuantities = new ArrayList<List<BigDecimal>>();
+		for (List<FixedPointNumber> acctQuantities : quantities) {
+			List<BigDecimal> acctBigQuantities = new ArrayList<BigDecimal>();
+			for (FixedPointNumber quantity : acctQuantities) {
+				acctBigQuantities.add(new BigDecimal(quantity.toPlainString()));
+			}
+			bigQuantities.add(acctBigQuantities);
+		}
+
+		for (int i = 0; i < runs; i++) {
+			measure("FixedPointNumber", () -> sumFixedPoint(quantities));
+			measure("BigDecimal      ", () -> sumBigDecimal(bigQuantities));
+		}
+	}
+
+	// -----------------------------------------------------------------
+
+	private static BigDecimal sumFixedPoint(final List<List<FixedPointNumber>> quantities) {
+		BigDecimal check = BigDecimal.ZERO;
+		for (int r = 0; r < rounds; r++) {
+			for (List<FixedPointNumber> acctQuantities : quantities) {
+				// as in SimpleAccount.getBalance()
+				FixedPointNumber balance = new FixedPointNumber();
+				for (FixedPointNumber quantity : acctQuantities) {
+					balance.add(quantity);
+				}
+				if (r == 0) {
+					check = check.add(balance.getBigDecimal());
+				}
+			}
+		}
+		return check;
+	}
+
+	private static BigDecimal sumBigDecimal(final List<List<BigDecimal>> bigQuantities) {
+		BigDecimal check = BigDecimal.ZERO;
+		for (int r = 0; r < rounds; r++) {
+			for (List<BigDecimal> acctQuantities : bigQuantities) {
+				BigDecimal balance = BigDecimal.ZERO;
+				for (BigDecimal quantity : acctQuantities) {
+					balance = balance.add(quantity);
+				}
+				if (r == 0) {
+					check = check.add(balance);
+				}
+			}
+		}
+		return check;
+	}
+
+	// -----------------------------------------------------------------
+
+	private interface Kernel {
+		BigDecimal run();
+	}
+
+	private static void measure(final String name, final Kernel kernel) {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+		long allocStart = threads.getCurrentThreadAllocatedBytes();
+		long start = System.nanoTime();
+		BigDecimal check = kernel.run();
+		long end = System.nanoTime();
+		long allocEnd = threads.getCurrentThreadAllocatedBytes();
+
+		System.out.println(name + ": " + ((end - start) / 1000000) + " ms, " + ((allocEnd - allocStart) / 1024)
+				+ " KB allocated, sum of all balances " + check);
+	}
+}
@@ -0,0 +1,163 @@
+package org.example.gnucash.bench;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.gnucash.read.impl.GnucashFileImpl;
+import org.gnucash.read.impl.LoadOptions;
+
+/**
+ * Compares wall time and peak heap of the different ways to load a book.<br/>
+ * The test book is blown up by copying its transactions (with fresh IDs), so that the
+ * numbers are not dominated by JIT-warmup.<br/>
+ * For clean peak-heap numbers run one parser per JVM, e.g.
+ * <code>java ... LoadBenchmark STAX [scaleFactor [parallel] [snapshot] [families=ACCOUNTS,...] [drop] [lazytrx]]</code>.
+ */
+public class LoadBenchmark {
+	// BEGIN Example data -- adapt to your needs
+	private static String gcshFileName = "../gnucash-api/src/test/resources/test.gnucash";
+	private static int scaleFactor = 2000;
+	private static int runs = 3;
+	// END Example data
+
+	private static final Pattern TRX_PATTERN = Pattern.compile("<gnc:transaction .*?</gnc:transaction>\\s*",
+			Pattern.DOTALL);
+	private static final Pattern ID_PATTERN = Pattern.compile("<(trn|split):id type=\"guid\">([0-9a-f]+)</");
+
+	// -----------------------------------------------------------------
+
+	public static void main(String[] args) {
+		try {
+			LoadBenchmark tool = new LoadBenchmark();
+			tool.kernel(args);
+		}
+		catch (Exception exc) {
+			System.err.println("Execution exception. Aborting.");
+			exc.printStackTrace();
+			System.exit(1);
+		}
+	}
+
+	protected void kernel(String[] args) throws Exception {
+		LoadOptions.Parser[] parsers = LoadOptions.Parser.values();
+		if (args.length > 0) {
+			parsers = new LoadOptions.Parser[] { LoadOptions.Parser.valueOf(args[0]) };
+		}
+		if (args.length > 1) {
+			scaleFactor = Integer.parseInt(args[1]);
+		}
+		boolean parallel = false;
+		boolean snapshot = false;
+		boolean drop = false;
+		boolean lazyTransactions = false;
+		Set<LoadOptions.EntityFamily> families = EnumSet.allOf(LoadOptions.EntityFamily.class);
+		for (int i = 2; i < args.length; i++) {
+			parallel |= args[i].equals("parallel");
+			snapshot |= args[i].equals("snapshot");
+			drop |= args[i].equals("drop");
+			lazyTransactions |= args[i].equals("lazytrx");
+			if (args[i].startsWith("families=")) {
+				families.clear();
+				for (String family : args[i].substring("families=".length()).split(",")) {
+					families.add(LoadOptions.EntityFamily.valueOf(family));
+				}
+			}
+		}
+
+		File scaled = createScaledCopy(new File(gcshFileName), scaleFactor);
+		System.out.println("Scaled copy: " + scaled + " (" + (scaled.length() / 1024) + " KB)");
+
+		for (LoadOptions.Parser parser : parsers) {
+			LoadOptions opts = new LoadOptions();
+			opts.setParser(parser);
+			opts.setParallel(parallel);
+			// first run writes the snapshot, the others read it
+			opts.setSnapshotEnabled(snapshot);
+			opts.setEntityFamilies(families);
+			opts.setSkipMode(drop ? LoadOptions.SkipMode.DROP : LoadOptions.SkipMode.LAZY);
+			opts.setLazyTransactions(lazyTransactions);
+
+			for (int i = 0; i < runs; i++) {
+				System.gc();
+				resetPeakHeap();
+
+				long start = System.currentTimeMillis();
+				GnucashFileImpl gcshFile = new GnucashFileImpl(scaled, opts);
+				long end = System.currentTimeMillis();
+
+				System.out.println(parser + (parallel ? " (parallel)" : "") + (snapshot ? " (snapshot)" : "") + (lazyTransactions ? " (lazy transactions)" : "")
+						+ (families.size() < LoadOptions.EntityFamily.values().length ? " " + families + (drop ? " dropped" : " lazy") : "") + " run " + (i + 1) + ": " + (end - start) + " ms, peak heap "
+						+ (getPeakHeap() / (1024 * 1024)) + " MB, " + gcshFile.getNofEntriesTransactionMap()
+						+ " transactions");
+			}
+		}
+
+		scaled.delete();
+		new File(scaled.getPath() + ".snap").delete();
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param orig   the book to copy
+	 * @param factor how many copies of each transaction the result shall have
+	 * @return a temporary file with the scaled book
+	 */
+	static File createScaledCopy(final File orig, final int factor) throws Exception {
+		String xml = new String(Files.readAllBytes(orig.toPath()), StandardCharsets.UTF_8);
+
+		StringBuilder trxBlocks = new StringBuilder();
+		Matcher trxMatcher = TRX_PATTERN.matcher(xml);
+		int insertPos = -1;
+		while (trxMatcher.find()) {
+			trxBlocks.append(trxMatcher.group());
+			insertPos = trxMatcher.end();
+		}
+		if (insertPos < 0) {
+			throw new IllegalArgumentException("no transactions in " + orig);
+		}
+
+		StringBuilder copies = new StringBuilder();
+		for (int i = 1; i < factor; i++) {
+			Matcher idMatcher = ID_PATTERN.matcher(trxBlocks);
+			StringBuffer copy = new StringBuffer();
+			while (idMatcher.find()) {
+				String newID = String.format("%08x", i) + idMatcher.group(2).substring(8);
+				idMatcher.appendReplacement(copy, "<" + idMatcher.group(1) + ":id type=\"guid\">" + newID + "</");
+			}
+			idMatcher.appendTail(copy);
+			copies.append(copy);
+		}
+
+		File scaled = File.createTempFile("scaled", ".gnucash");
+		Files.write(scaled.toPath(), (xml.substring(0, insertPos) + copies + xml.substring(insertPos))
+				.getBytes(StandardCharsets.UTF_8));
+		return scaled;
+	}
+
+	private static void resetPeakHeap() {
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				pool.resetPeakUsage();
+			}
+		}
+	}
+
+	private static long getPeakHeap() {
+		long peak = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				peak += pool.getPeakUsage().getUsed();
+			}
+		}
+		return peak;
+	}
+}
@@ -4,6 +4,7 @@
 module gnucash.api {
 	requires static org.slf4j;
 	requires java.desktop;
+	requires java.xml;
 	requires jakarta.xml.bind;
 	// requires junit;
 
@@ -103,10 +103,10 @@ public abstract class BigDecimalWrapper extends BigDecimal {
 	}
 
 	/**
-	 *
+	 * The state of the superclass is not used, so it is set up as cheap as possible (no parsing).
 	 */
 	protected BigDecimalWrapper() {
-		super("0");
+		super(0);
 	}
 
 	/**
@@ -6,7 +6,13 @@ import java.math.BigDecimal;
  * Implementation of Fixed-point numbers that knows the String-format gnucash
  * uses and returns true if 2 numbers are compared that are mathematically equal
  * even if they have a different representation (unlike BigInteger). internal
- * format: "2/100" means "0.02"
+ * format: "2/100" means "0.02"<br/>
+ * The value is held as a long unscaled value and a scale (as in BigDecimal),
+ * so adding, subtracting and multiplying amounts of money changes this object
+ * without allocating anything. Only if the long would overflow or for a
+ * division a BigDecimal is used instead (and dropped again as soon as the
+ * value fits into a long). The results and their scales are the same as with
+ * BigDecimal.
  */
 public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 
@@ -21,15 +27,15 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	 */
 	@Override
 	public Object clone() {
-		FixedPointNumber fp2 = new FixedPointNumber(getBigDecimal());
-		return fp2;
+		return copy();
 	}
 
 	/**
 	 * @see java.lang.Object#clone()
 	 */
 	public FixedPointNumber copy() {
-		FixedPointNumber fp2 = new FixedPointNumber(getBigDecimal());
+		FixedPointNumber fp2 = new FixedPointNumber();
+		fp2.setValue(this);
 		return fp2;
 	}
 
@@ -38,7 +44,22 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	 */
 	@Override
 	public FixedPointNumber negate() {
-		return new FixedPointNumber(value.negate());
+		return copy().changeSign();
+	}
+
+	/**
+	 * The in-place version of {@link #negate()}.
+	 *
+	 * @return this (we are mutable) for easy operation-chaining
+	 */
+	public FixedPointNumber changeSign() {
+		if (isCompact() && unscaled != Long.MIN_VALUE) {
+			unscaled = -unscaled;
+			value = null;
+		} else {
+			setValue(getBigDecimal().negate());
+		}
+		return this;
 	}
 
     /*    public double doubleValue() {
@@ -61,8 +82,7 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	@Override
 	public boolean equals(final Object o) {
 		if (o instanceof FixedPointNumber) {
-			FixedPointNumber n = (FixedPointNumber) o;
-			return equals(n.getBigDecimal());
+			return compareTo((FixedPointNumber) o) == 0;
 		}
 
 		if (o instanceof BigDecimal) {
@@ -76,7 +96,7 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
                                                          if (otherBigDecimal.abs().compareTo(MINUSZERO) == 0)
                                                              otherBigDecimal = MINUSZERO;
                                                         //^^^^^^^^*/
-			return (otherBigDecimal).compareTo(value) == 0;
+			return (otherBigDecimal).compareTo(getBigDecimal()) == 0;
 		}
 
 		if (o instanceof Number) {
@@ -87,20 +107,160 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	}
 
 	/**
-	 * our internal value.
+	 * our internal value, if it fits into a long: unscaled * 10^-scale.
+	 */
+	private long unscaled;
+
+	/**
+	 * @see #unscaled
+	 */
+	private int scale;
+
+	/**
+	 * our internal value, if it does not fit into a long (else only a cache
+	 * for getBigDecimal() or null).
 	 */
 	private BigDecimal value;
 
+	/**
+	 * Set while the value is held in {@link #value} only.
+	 */
+	private boolean inflated;
+
+	/**
+	 * For raising the unscaled value to a higher scale.
+	 */
+	private static final long[] POWERS_OF_TEN = new long[19];
+
+	static {
+		POWERS_OF_TEN[0] = 1;
+		for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+			POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+		}
+	}
+
+	/**
+	 * @return false if the value is held in a BigDecimal only
+	 */
+	private boolean isCompact() {
+		return !inflated;
+	}
+
+	/**
+	 * @param bd the new value (held as a long if possible)
+	 */
+	private void setValue(final BigDecimal bd) {
+		if (bd instanceof FixedPointNumber) {
+			setValue((FixedPointNumber) bd);
+			return;
+		}
+
+		if (bd.precision() <= 18) {
+			unscaled = bd.unscaledValue().longValue();
+			scale = bd.scale();
+			inflated = false;
+		} else {
+			inflated = true;
+		}
+		value = bd;
+	}
+
+	/**
+	 * @param other the new value
+	 */
+	private void setValue(final FixedPointNumber other) {
+		unscaled = other.unscaled;
+		scale = other.scale;
+		value = other.value;
+		inflated = other.inflated;
+	}
+
+	/**
+	 * @param otherUnscaled unscaled value to add
+	 * @param otherScale    its scale
+	 * @return false if the sum does not fit into a long (this is unchanged
+	 *         then)
+	 */
+	private boolean addCompact(final long otherUnscaled, final int otherScale) {
+		try {
+			long sum;
+			int sumScale;
+			if (otherScale == scale) {
+				sum = Math.addExact(unscaled, otherUnscaled);
+				sumScale = scale;
+			} else if (otherScale > scale) {
+				sum = Math.addExact(scaleUp(unscaled, otherScale - scale), otherUnscaled);
+				sumScale = otherScale;
+			} else {
+				sum = Math.addExact(unscaled, scaleUp(otherUnscaled, scale - otherScale));
+				sumScale = scale;
+			}
+			unscaled = sum;
+			scale = sumScale;
+			value = null;
+			return true;
+		}
+		catch (ArithmeticException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * @param val    an unscaled value
+	 * @param digits how many decimal digits to shift it left
+	 * @return val * 10^digits
+	 * @throws ArithmeticException if the result does not fit into a long
+	 */
+	private static long scaleUp(final long val, final int digits) {
+		if (digits >= POWERS_OF_TEN.length) {
+			throw new ArithmeticException("overflow");
+		}
+		return Math.multiplyExact(val, POWERS_OF_TEN[digits]);
+	}
+
+	/**
+	 * @param other the value to compare to
+	 * @return as compareTo(BigDecimal)
+	 */
+	private int compareTo(final FixedPointNumber other) {
+		if (isCompact() && other.isCompact()) {
+			try {
+				if (scale == other.scale) {
+					return Long.compare(unscaled, other.unscaled);
+				} else if (scale < other.scale) {
+					return Long.compare(scaleUp(unscaled, other.scale - scale), other.unscaled);
+				} else {
+					return Long.compare(unscaled, scaleUp(other.unscaled, scale - other.scale));
+				}
+			}
+			catch (ArithmeticException e) {
+				// fall through
+			}
+		}
+		return getBigDecimal().compareTo(other.getBigDecimal());
+	}
+
 	/**
 	 * @return true if we are >=0
 	 */
 	public boolean isPositive() {
-		return value.signum() != -1;
+		return signum() != -1;
+	}
+
+	/**
+	 * @see java.math.BigDecimal#signum()
+	 */
+	@Override
+	public int signum() {
+		if (isCompact()) {
+			return Long.signum(unscaled);
+		}
+		return value.signum();
 	}
 
 	public static FixedPointNumber max(final FixedPointNumber a,
 			final FixedPointNumber b) {
-		if (a.getBigDecimal().compareTo(b.getBigDecimal()) == -1) {
+		if (a.compareTo(b) < 0) {
 			return b;
 		}
 		return a;
@@ -108,7 +268,7 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 
 	public static FixedPointNumber min(final FixedPointNumber a,
 			final FixedPointNumber b) {
-		if (a.getBigDecimal().compareTo(b.getBigDecimal()) == -1) {
+		if (a.compareTo(b) < 0) {
 			return a;
 		}
 		return b;
@@ -119,7 +279,9 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	 * @return this (we are mutable) for easy operation-chaining
 	 */
 	public FixedPointNumber subtract(final int n) {
-		value = value.subtract(new BigDecimal(n));
+		if (!isCompact() || !addCompact(-(long) n, 0)) {
+			setValue(getBigDecimal().subtract(new BigDecimal(n)));
+		}
 		return this;
 	}
 
@@ -128,7 +290,10 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	 * @return this (we are mutable) for easy operation-chaining
 	 */
 	public FixedPointNumber subtract(final FixedPointNumber n) {
-		return subtract(n.getBigDecimal());
+		if (!isCompact() || !n.isCompact() || n.unscaled == Long.MIN_VALUE || !addCompact(-n.unscaled, n.scale)) {
+			setValue(getBigDecimal().subtract(n.getBigDecimal()));
+		}
+		return this;
 	}
 
 	/**
@@ -145,7 +310,10 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	 */
 	@Override
 	public FixedPointNumber subtract(final BigDecimal n) {
-		value = value.subtract(n);
+		if (n instanceof FixedPointNumber) {
+			return subtract((FixedPointNumber) n);
+		}
+		setValue(getBigDecimal().subtract(n));
 		return this;
 	}
 
@@ -154,7 +322,9 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	 * @return this (we are mutable) for easy operation-chaining
 	 */
 	public FixedPointNumber add(final int n) {
-		value = value.add(new BigDecimal(n));
+		if (!isCompact() || !addCompact(n, 0)) {
+			setValue(getBigDecimal().add(new BigDecimal(n)));
+		}
 		return this;
 	}
 
@@ -163,7 +333,10 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	 * @return this (we are mutable) for easy operation-chaining
 	 */
 	public FixedPointNumber add(final FixedPointNumber n) {
-		return add(n.getBigDecimal());
+		if (!isCompact() || !n.isCompact() || !addCompact(n.unscaled, n.scale)) {
+			setValue(getBigDecimal().add(n.getBigDecimal()));
+		}
+		return this;
 	}
 
 	/**
@@ -180,7 +353,10 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	 */
 	@Override
 	public FixedPointNumber add(final BigDecimal n) {
-		value = value.add(n);
+		if (n instanceof FixedPointNumber) {
+			return add((FixedPointNumber) n);
+		}
+		setValue(getBigDecimal().add(n));
 		return this;
 	}
 
@@ -189,6 +365,9 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	 */
 	@Override
 	public BigDecimal getBigDecimal() {
+		if (value == null) {
+			value = BigDecimal.valueOf(unscaled, scale);
+		}
 		return value;
 	}
 
@@ -198,7 +377,20 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	 * @return this (we are mutable) for easy operation-chaining
 	 */
 	public FixedPointNumber multiply(final FixedPointNumber n) {
-		return multiply(n.getBigDecimal());
+		if (isCompact() && n.isCompact()) {
+			try {
+				long product = Math.multiplyExact(unscaled, n.unscaled);
+				scale = Math.addExact(scale, n.scale);
+				unscaled = product;
+				value = null;
+				return this;
+			}
+			catch (ArithmeticException e) {
+				// fall through
+			}
+		}
+		setValue(getBigDecimal().multiply(n.getBigDecimal()));
+		return this;
 	}
 
 	/**
@@ -208,7 +400,10 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	 */
 	@Override
 	public FixedPointNumber multiply(final BigDecimal n) {
-		value = value.multiply(n);
+		if (n instanceof FixedPointNumber) {
+			return multiply((FixedPointNumber) n);
+		}
+		setValue(getBigDecimal().multiply(n));
 		return this;
 	}
 
@@ -218,7 +413,17 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	 * @return this (we are mutable) for easy operation-chaining
 	 */
 	public FixedPointNumber multiply(final int n) {
-		value = value.multiply(new BigDecimal(n));
+		if (isCompact()) {
+			try {
+				unscaled = Math.multiplyExact(unscaled, n);
+				value = null;
+				return this;
+			}
+			catch (ArithmeticException e) {
+				// fall through
+			}
+		}
+		setValue(getBigDecimal().multiply(new BigDecimal(n)));
 		return this;
 	}
 
@@ -236,6 +441,7 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	 */
 	public FixedPointNumber divideBy(final BigDecimal n) {
 		BigDecimal n2 = n;
+		BigDecimal value = getBigDecimal();
 
 		value = value.setScale(value.scale() + n.precision()); // make sure we
 		// have enough
@@ -246,7 +452,7 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 		if (n.scale() < value.scale()) {
 			n2 = n.setScale(value.scale());
 		}
-		value = value.divide(n2, BigDecimal.ROUND_HALF_UP);
+		setValue(value.divide(n2, BigDecimal.ROUND_HALF_UP));
 		return this;
 	}
 
@@ -255,7 +461,7 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	 * @return this (we are mutable) for easy operation-chaining
 	 */
 	public FixedPointNumber divideBy(final int n) {
-		value = value.divide(new BigDecimal(n), BigDecimal.ROUND_HALF_UP);
+		setValue(getBigDecimal().divide(new BigDecimal(n), BigDecimal.ROUND_HALF_UP));
 		return this;
 	}
 
@@ -263,23 +469,24 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	 * same as new FixedPointNumber(0).
 	 */
 	public FixedPointNumber() {
-		value = new BigDecimal("0");
+		unscaled = 0;
+		scale = 0;
 	}
 
 	/**
 	 * @param i the new value
 	 */
 	public FixedPointNumber(final int i) {
-		value = new BigDecimal("" + i);
-
+		unscaled = i;
+		scale = 0;
 	}
 
 	/**
 	 * @param i the new value
 	 */
 	public FixedPointNumber(final long i) {
-		value = new BigDecimal("" + i);
-
+		unscaled = i;
+		scale = 0;
 	}
 
 	/**
@@ -290,7 +497,7 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	 */
 	@Deprecated
 	public FixedPointNumber(final double d) throws NumberFormatException {
-		value = new BigDecimal(d);
+		setValue(new BigDecimal(d));
 	}
 
 	/**
@@ -301,7 +508,7 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 			throw new IllegalArgumentException(
 					"null BigDecimal given to create BigDecimal");
 		}
-		value = bd;
+		setValue(bd);
 	}
 
 	/**
@@ -312,6 +519,12 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	 * @throws NumberFormatException if it cannot be parsed at all
 	 */
 	public FixedPointNumber(String gnucashString) throws NumberFormatException {
+		// the format of the amounts in the file
+		if (parseRational(gnucashString)) {
+			return;
+		}
+
+		BigDecimal value = null;
 
 		int dividerIndex = gnucashString.indexOf('/');
 		if (dividerIndex == -1) {
@@ -404,7 +617,7 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 			}
 
 			if (addMe != null) {
-				add(addMe);
+				value = value.add(addMe);
 			}
 
 		}
@@ -414,6 +627,58 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 					+ gnucashString + "'");
 		}
 
+		setValue(value);
+	}
+
+	/**
+	 * Reads the format GnuCash uses for amounts ("-12345/100") straight into
+	 * the long unscaled value and the scale, without allocating anything.
+	 *
+	 * @param input the string to parse
+	 * @return false if it is not of this form, the denominator is not a power
+	 *         of ten or the numerator does not fit into a long (nothing is set
+	 *         then)
+	 */
+	private boolean parseRational(final String input) {
+		int len = input.length();
+		int pos = 0;
+		boolean negative = false;
+		if (len > 0 && (input.charAt(0) == '-' || input.charAt(0) == '+')) {
+			negative = input.charAt(0) == '-';
+			pos++;
+		}
+
+		int digitsStart = pos;
+		long num = 0;
+		while (pos < len) {
+			char c = input.charAt(pos);
+			if (c < '0' || c > '9') {
+				break;
+			}
+			if (pos - digitsStart == 18) {
+				return false; // may not fit into a long
+			}
+			num = num * 10 + (c - '0');
+			pos++;
+		}
+		if (pos == digitsStart || pos == len || input.charAt(pos) != '/') {
+			return false;
+		}
+		pos++;
+
+		// "1" followed by the zeroes only
+		if (pos == len || input.charAt(pos) != '1') {
+			return false;
+		}
+		for (int i = pos + 1; i < len; i++) {
+			if (input.charAt(i) != '0') {
+				return false;
+			}
+		}
+
+		unscaled = negative ? -num : num;
+		scale = len - pos - 1;
+		return true;
 	}
 
 	/**
@@ -437,20 +702,21 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	}
 
 	public String toGnucashString() {
-		StringBuffer sb = new StringBuffer();
+		StringBuilder sb = new StringBuilder();
 
-		if (value.scale() > 5) {
-			value = value.setScale(5, java.math.RoundingMode.HALF_UP);
+		if (scale() > 5) {
+			setValue(getBigDecimal().setScale(5, java.math.RoundingMode.HALF_UP));
 		}
 		// try to have a divider of "100"
-		int scaleAdjust = 2 - value.scale();
+		int valueScale = scale();
+		int scaleAdjust = 2 - valueScale;
 
-		sb.append(value.unscaledValue().toString());
+		sb.append(isCompact() ? Long.toString(unscaled) : value.unscaledValue().toString());
 		for (int i = 0; i < scaleAdjust; i++) {
 			sb.append('0');
 		}
 		sb.append("/1");
-		for (int i = 0; i < value.scale(); i++) {
+		for (int i = 0; i < valueScale; i++) {
 			sb.append('0');
 		}
 		for (int i = 0; i < scaleAdjust; i++) {
@@ -473,7 +739,7 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	 * @return true if and only if this>other
 	 */
 	public boolean isGreaterThan(final FixedPointNumber other) {
-		return isGreaterThan(other.getBigDecimal());
+		return compareTo(other) > 0;
 	}
 
 	/**
@@ -489,7 +755,7 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	 * @return true if and only if this>other
 	 */
 	public boolean isGreaterThan(final BigDecimal other) {
-		return value.compareTo(other) > 0.0;
+		return getBigDecimal().compareTo(other) > 0.0;
 	}
 
 	/**
@@ -501,7 +767,7 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 			throw new IllegalArgumentException("Tolerance must be > 0.0");
 		}
 
-		BigDecimal diff = value.subtract(other);
+		BigDecimal diff = getBigDecimal().subtract(other);
 
 		if (diff.doubleValue() > tolerance) {
 			return true;
@@ -519,7 +785,7 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	 * @return true if and only if this&lt;other
 	 */
 	public boolean isLessThan(final FixedPointNumber other) {
-		return isLessThan(other.getBigDecimal());
+		return compareTo(other) < 0;
 	}
 
 	public boolean isLessThan(final FixedPointNumber other, double tolerance) {
@@ -531,7 +797,7 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	 * @return true if and only if this&lt;other
 	 */
 	public boolean isLessThan(final BigDecimal other) {
-		return value.compareTo(other) < 0.0;
+		return getBigDecimal().compareTo(other) < 0.0;
 	}
 
 	public boolean isLessThan(final BigDecimal other, double tolerance) {
@@ -539,7 +805,7 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 			throw new IllegalArgumentException("Tolerance must be > 0.0");
 		}
 
-		BigDecimal diff = value.subtract(other);
+		BigDecimal diff = getBigDecimal().subtract(other);
 
 		if (diff.doubleValue() < -tolerance) {
 			return true;
@@ -557,6 +823,17 @@ public class FixedPointNumber extends BigDecimalWrapper implements Cloneable {
 	 */
 	@Override
 	public int hashCode() {
-		return value.hashCode();
+		return getBigDecimal().hashCode();
+	}
+
+	/**
+	 * @see java.math.BigDecimal#scale()
+	 */
+	@Override
+	public int scale() {
+		if (isCompact()) {
+			return scale;
+		}
+		return value.scale();
 	}
 }
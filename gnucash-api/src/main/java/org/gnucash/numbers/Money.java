@@ -0,0 +1,238 @@
+package org.gnucash.numbers;
+
+import java.math.BigDecimal;
+
+/**
+ * An amount of some currency or other commodity (e.g. "12.50 EUR" or "3 shares
+ * of some fund").<br/>
+ * Unlike {@link FixedPointNumber} this is immutable: all operations return a
+ * new object, so instances can be shared between threads and kept in caches
+ * without copying them. Two amounts are equal if they are of the same
+ * commodity and mathematically equal ("1.5" equals "1.50").<br/>
+ * For adding up many amounts use a {@link MoneyAccumulator}.
+ *
+ * @see org.gnucash.read.GnucashAccount#getBalanceAsMoney()
+ */
+public final class Money implements Comparable<Money> {
+
+	/**
+	 * Never changed and never handed out (so adding up stays on the long-path
+	 * of FixedPointNumber).
+	 */
+	private final FixedPointNumber amount;
+
+	/**
+	 * @see #getCurrencyNameSpace()
+	 */
+	private final String currencyNameSpace;
+
+	/**
+	 * @see #getCurrencyID()
+	 */
+	private final String currencyID;
+
+	/**
+	 * Computed on first use (0 means not yet computed, as in String).
+	 */
+	private int hash;
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param amount            the amount
+	 * @param currencyNameSpace e.g. "CURRENCY" for currencies
+	 * @param currencyID        e.g. "EUR"
+	 */
+	public Money(final BigDecimal amount, final String currencyNameSpace, final String currencyID) {
+		if (amount == null) {
+			throw new IllegalArgumentException("null amount given");
+		}
+		if (currencyNameSpace == null) {
+			throw new IllegalArgumentException("null currency-namespace given");
+		}
+		if (currencyID == null) {
+			throw new IllegalArgumentException("null currency-id given");
+		}
+
+		this.amount = new FixedPointNumber(amount);
+		// fill the cache now, so reading it later does not write anything
+		this.amount.getBigDecimal();
+		this.currencyNameSpace = currencyNameSpace;
+		this.currencyID = currencyID;
+	}
+
+	/**
+	 * @param amount            the amount (not changed and not kept)
+	 * @param currencyNameSpace e.g. "CURRENCY" for currencies
+	 * @param currencyID        e.g. "EUR"
+	 */
+	public Money(final FixedPointNumber amount, final String currencyNameSpace, final String currencyID) {
+		this((BigDecimal) amount, currencyNameSpace, currencyID);
+	}
+
+	/**
+	 * @param amount a new number that nobody else knows
+	 */
+	private Money(final FixedPointNumber amount, final Money currency) {
+		this.amount = amount;
+		this.amount.getBigDecimal();
+		this.currencyNameSpace = currency.currencyNameSpace;
+		this.currencyID = currency.currencyID;
+	}
+
+	/**
+	 * @param currencyNameSpace e.g. "CURRENCY" for currencies
+	 * @param currencyID        e.g. "EUR"
+	 * @return nothing of that commodity
+	 */
+	public static Money zero(final String currencyNameSpace, final String currencyID) {
+		return new Money(BigDecimal.ZERO, currencyNameSpace, currencyID);
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @return the amount
+	 */
+	public BigDecimal getBigDecimal() {
+		return amount.getBigDecimal();
+	}
+
+	/**
+	 * @return the amount as a new (mutable) FixedPointNumber
+	 */
+	public FixedPointNumber getAmount() {
+		return amount.copy();
+	}
+
+	/**
+	 * For {@link MoneyAccumulator}: the number must not be changed.
+	 */
+	FixedPointNumber amount() {
+		return amount;
+	}
+
+	/**
+	 * @return e.g. "CURRENCY" for currencies
+	 * @see org.gnucash.currency.CurrencyNameSpace
+	 */
+	public String getCurrencyNameSpace() {
+		return currencyNameSpace;
+	}
+
+	/**
+	 * @return e.g. "EUR"
+	 */
+	public String getCurrencyID() {
+		return currencyID;
+	}
+
+	/**
+	 * @param other another amount
+	 * @return true if both are of the same commodity
+	 */
+	public boolean isSameCurrency(final Money other) {
+		return currencyID.equals(other.currencyID) && currencyNameSpace.equals(other.currencyNameSpace);
+	}
+
+	/**
+	 * @return -1, 0 or 1 as the amount is negative, zero or positive
+	 */
+	public int signum() {
+		return amount.signum();
+	}
+
+	/**
+	 * @return true if the amount is zero
+	 */
+	public boolean isZero() {
+		return amount.signum() == 0;
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param other an amount of the same commodity
+	 * @return the sum
+	 */
+	public Money add(final Money other) {
+		checkSameCurrency(other);
+		return new Money(amount.copy().add(other.amount), this);
+	}
+
+	/**
+	 * @param other an amount of the same commodity
+	 * @return the difference
+	 */
+	public Money subtract(final Money other) {
+		checkSameCurrency(other);
+		return new Money(amount.copy().subtract(other.amount), this);
+	}
+
+	/**
+	 * @param factor e.g. a quantity or a price
+	 * @return the product (of the same commodity)
+	 */
+	public Money multiply(final BigDecimal factor) {
+		return new Money(amount.copy().multiply(factor), this);
+	}
+
+	/**
+	 * @return the amount with the opposite sign
+	 */
+	public Money negate() {
+		return new Money(amount.negate(), this);
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @throws IllegalArgumentException if the other amount is of another
+	 *                                  commodity
+	 */
+	@Override
+	public int compareTo(final Money other) {
+		checkSameCurrency(other);
+		return amount.isLessThan(other.amount) ? -1 : amount.equals(other.amount) ? 0 : 1;
+	}
+
+	@Override
+	public boolean equals(final Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof Money)) {
+			return false;
+		}
+
+		Money other = (Money) o;
+		return isSameCurrency(other) && amount.equals(other.amount);
+	}
+
+	@Override
+	public int hashCode() {
+		int h = hash;
+		if (h == 0) {
+			// without trailing zeroes, so "1.5" and "1.50" get the same hash
+			h = 31 * (31 * amount.getBigDecimal().stripTrailingZeros().hashCode() + currencyNameSpace.hashCode())
+					+ currencyID.hashCode();
+			hash = h;
+		}
+		return h;
+	}
+
+	@Override
+	public String toString() {
+		return amount.getBigDecimal().toPlainString() + " " + currencyID;
+	}
+
+	// -----------------------------------------------------------------
+
+	private void checkSameCurrency(final Money other) {
+		if (!isSameCurrency(other)) {
+			throw new IllegalArgumentException("amounts of different commodities: " + this + " (" + currencyNameSpace
+					+ ") and " + other + " (" + other.currencyNameSpace + ")");
+		}
+	}
+
+}
@@ -0,0 +1,144 @@
+package org.gnucash.numbers;
+
+/**
+ * Adds up amounts of one commodity, e.g. the quantities of all splits of an
+ * account. The sum is held in a {@link FixedPointNumber} that is changed in
+ * place, so adding does not allocate anything (as long as the sum fits into a
+ * long).<br/>
+ * Mutable and not thread-safe: use one per loop and hand out the result as
+ * {@link Money}.
+ *
+ * @see Money
+ */
+public class MoneyAccumulator {
+
+	private FixedPointNumber sum = new FixedPointNumber();
+
+	private final String currencyNameSpace;
+
+	private final String currencyID;
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param currencyNameSpace e.g. "CURRENCY" for currencies
+	 * @param currencyID        e.g. "EUR"
+	 */
+	public MoneyAccumulator(final String currencyNameSpace, final String currencyID) {
+		if (currencyNameSpace == null) {
+			throw new IllegalArgumentException("null currency-namespace given");
+		}
+		if (currencyID == null) {
+			throw new IllegalArgumentException("null currency-id given");
+		}
+
+		this.currencyNameSpace = currencyNameSpace;
+		this.currencyID = currencyID;
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param amount an amount of our commodity
+	 * @return this for easy operation-chaining
+	 */
+	public MoneyAccumulator add(final Money amount) {
+		checkCurrency(amount);
+		sum.add(amount.amount());
+		return this;
+	}
+
+	/**
+	 * The caller has to make sure the amount is of our commodity (e.g. the
+	 * quantity of a split of an account of that commodity).
+	 *
+	 * @param amount the amount to add (not changed)
+	 * @return this for easy operation-chaining
+	 */
+	public MoneyAccumulator add(final FixedPointNumber amount) {
+		sum.add(amount);
+		return this;
+	}
+
+	/**
+	 * @param amount an amount of our commodity
+	 * @return this for easy operation-chaining
+	 */
+	public MoneyAccumulator subtract(final Money amount) {
+		checkCurrency(amount);
+		sum.subtract(amount.amount());
+		return this;
+	}
+
+	/**
+	 * The caller has to make sure the amount is of our commodity.
+	 *
+	 * @param amount the amount to subtract (not changed)
+	 * @return this for easy operation-chaining
+	 */
+	public MoneyAccumulator subtract(final FixedPointNumber amount) {
+		sum.subtract(amount);
+		return this;
+	}
+
+	/**
+	 * Starts again with zero.
+	 */
+	public void clear() {
+		sum = new FixedPointNumber();
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @return the sum up to now
+	 */
+	public Money toMoney() {
+		return new Money(sum, currencyNameSpace, currencyID);
+	}
+
+	/**
+	 * @return the sum up to now as a new FixedPointNumber (for the methods that
+	 *         still return one)
+	 */
+	public FixedPointNumber getSum() {
+		return sum.copy();
+	}
+
+	/**
+	 * @return -1, 0 or 1 as the sum up to now is negative, zero or positive
+	 */
+	public int signum() {
+		return sum.signum();
+	}
+
+	/**
+	 * @return e.g. "CURRENCY" for currencies
+	 */
+	public String getCurrencyNameSpace() {
+		return currencyNameSpace;
+	}
+
+	/**
+	 * @return e.g. "EUR"
+	 */
+	public String getCurrencyID() {
+		return currencyID;
+	}
+
+	@Override
+	public String toString() {
+		return "MoneyAccumulator [" + sum.toPlainString() + " " + currencyID + "]";
+	}
+
+	// -----------------------------------------------------------------
+
+	private void checkCurrency(final Money amount) {
+		if (!currencyID.equals(amount.getCurrencyID())
+				|| !currencyNameSpace.equals(amount.getCurrencyNameSpace())) {
+			throw new IllegalArgumentException("amount of another commodity: " + amount + " (" + amount.getCurrencyNameSpace()
+					+ "), adding up " + currencyID + " (" + currencyNameSpace + ")");
+		}
+	}
+
+}
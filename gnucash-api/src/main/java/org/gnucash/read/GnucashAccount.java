@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Locale;
 
 import org.gnucash.numbers.FixedPointNumber;
+import org.gnucash.numbers.Money;
 
 /**
  * An account is a collection of transactions that start or end there. <br>
@@ -154,6 +155,22 @@ public interface GnucashAccount extends Comparable<GnucashAccount> {
 	 */
 	List<GnucashTransaction> getTransactions();
 
+	/**
+	 * @param from first day to include, null for no limit
+	 * @param to   first day not to include, null for no limit
+	 * @return the splits posted in that time-frame, sorted by posting-day
+	 * @see GnucashFile#getTransactionSplits(GnucashAccount, LocalDate, LocalDate)
+	 */
+	List<GnucashTransactionSplit> getTransactionSplits(LocalDate from, LocalDate to);
+
+	/**
+	 * @param from first day to include, null for no limit
+	 * @param to   first day not to include, null for no limit
+	 * @return the transactions of the splits posted in that time-frame, sorted by posting-day
+	 * @see #getTransactionSplits(LocalDate, LocalDate)
+	 */
+	List<GnucashTransaction> getTransactions(LocalDate from, LocalDate to);
+
 	/**
 	 * @param split split to add to this transaction
 	 */
@@ -232,6 +249,34 @@ public interface GnucashAccount extends Comparable<GnucashAccount> {
 	 */
 	FixedPointNumber getBalance(LocalDate date);
 
+	/**
+	 * same as getBalanceAsMoney(new Date()).<br/>
+	 * ignores transactions after the current date+time
+	 *
+	 * @return the balance in the currency of this account (immutable, may be
+	 *         shared between threads)
+	 * @see #getBalance()
+	 */
+	Money getBalanceAsMoney();
+
+	/**
+	 * @param date if non-null transactions after this date are ignored in the
+	 *             calculation
+	 * @return the balance in the currency of this account (immutable, may be
+	 *         shared between threads)
+	 * @see #getBalance(LocalDate)
+	 */
+	Money getBalanceAsMoney(LocalDate date);
+
+	/**
+	 * @param date if non-null transactions after this date are ignored in the
+	 *             calculation
+	 * @return the balance including all sub-accounts in the currency of this
+	 *         account (immutable, may be shared between threads)
+	 * @see #getBalanceRecursive(LocalDate)
+	 */
+	Money getBalanceRecursiveAsMoney(LocalDate date);
+
 	/**
 	 * Be aware that the result is in the currency of this account!
 	 *
@@ -274,6 +319,46 @@ public interface GnucashAccount extends Comparable<GnucashAccount> {
 	 */
 	FixedPointNumber getBalance(GnucashTransactionSplit lastIncludesSplit);
 
+	/**
+	 * A line in the register of an account.
+	 *
+	 * @see GnucashAccount#getRegister(LocalDate, LocalDate)
+	 */
+	interface RegisterEntry {
+
+		/**
+		 * @return the split
+		 */
+		GnucashTransactionSplit getSplit();
+
+		/**
+		 * @return the balance of the account up to and including the split
+		 */
+		FixedPointNumber getBalance();
+	}
+
+	/**
+	 * same as getRegister(null, null).
+	 *
+	 * @return all splits of this account with their running balance
+	 * @see #getRegister(LocalDate, LocalDate)
+	 */
+	Iterable<RegisterEntry> getRegister();
+
+	/**
+	 * The splits in posting-order, each together with the balance after it.
+	 * The balances are computed in one pass while iterating, so this is much
+	 * faster than calling {@link GnucashTransactionSplit#getAccountBalance()} for
+	 * every split.
+	 *
+	 * @param from first day to include, null for the first split
+	 * @param to   first day not to include, null for the last split
+	 * @return the splits of the account posted in the given time-frame
+	 *         with their running balance (which still includes the splits before
+	 *         from)
+	 */
+	Iterable<RegisterEntry> getRegister(LocalDate from, LocalDate to);
+
 	/**
 	 * @param id the split-id to look for
 	 * @return the identified split or null
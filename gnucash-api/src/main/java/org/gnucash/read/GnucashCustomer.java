@@ -4,6 +4,7 @@ import java.util.Collection;
 import java.util.Locale;
 
 import org.gnucash.numbers.FixedPointNumber;
+import org.gnucash.numbers.Money;
 import org.gnucash.read.auxiliary.GCshAddress;
 import org.gnucash.read.auxiliary.GCshBillTerms;
 import org.gnucash.read.auxiliary.GCshTaxTable;
@@ -130,6 +131,13 @@ public interface GnucashCustomer extends GnucashObject {
 	 */
 	FixedPointNumber getIncomeGenerated_viaAllJobs();
 
+	/**
+	 * @return the sum of payments for invoices to this client in the currency of
+	 *         the customer (immutable, may be shared between threads)
+	 * @see #getIncomeGenerated(GnucashGenerInvoice.ReadVariant)
+	 */
+	Money getIncomeGeneratedAsMoney(GnucashGenerInvoice.ReadVariant readVar);
+
 	/**
 	 * @see #getIncomeGenerated() Formatted acording to the current locale's
 	 * currency-format
@@ -159,6 +167,13 @@ public interface GnucashCustomer extends GnucashObject {
 	 */
 	FixedPointNumber getOutstandingValue_viaAllJobs();
 
+	/**
+	 * @return the sum of left to pay Unpaid invoiced in the currency of the
+	 *         customer (immutable, may be shared between threads)
+	 * @see #getOutstandingValue(GnucashGenerInvoice.ReadVariant)
+	 */
+	Money getOutstandingValueAsMoney(GnucashGenerInvoice.ReadVariant readVar);
+
 	/**
 	 * @see #getOutstandingValue() Formatted acording to the current locale's
 	 * currency-format
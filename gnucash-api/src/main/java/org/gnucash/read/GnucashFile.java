@@ -1,7 +1,9 @@
 package org.gnucash.read;
 
 import java.io.File;
+import java.time.LocalDate;
 import java.util.Collection;
+import java.util.List;
 
 import org.gnucash.currency.ComplexCurrencyTable;
 import org.gnucash.generated.GncPricedb;
@@ -9,8 +11,10 @@ import org.gnucash.numbers.FixedPointNumber;
 import org.gnucash.read.auxiliary.GCshBillTerms;
 import org.gnucash.read.auxiliary.GCshTaxTable;
 import org.gnucash.read.spec.GnucashCustomerInvoice;
+import org.gnucash.read.spec.GnucashCustomerJob;
 import org.gnucash.read.spec.GnucashJobInvoice;
 import org.gnucash.read.spec.GnucashVendorBill;
+import org.gnucash.read.spec.GnucashVendorJob;
 import org.gnucash.read.spec.WrongInvoiceTypeException;
 
 /**
@@ -56,6 +60,14 @@ public interface GnucashFile extends GnucashObject {
    */
   GCshTaxTable getTaxTableByName(String name);
 
+  /**
+   * For auto-completion.
+   *
+   * @param prefix the start of the name of a tax table (the case is ignored)
+   * @return the tax tables whose name starts with it, sorted by name
+   */
+  List<GCshTaxTable> getTaxTablesByNamePrefix(String prefix);
+
   /**
    * @return all TaxTables defined in the book
    * @link GnucashTaxTable
@@ -76,6 +88,14 @@ public interface GnucashFile extends GnucashObject {
    */
   GCshBillTerms getBillTermsByName(String name);
 
+  /**
+   * For auto-completion.
+   *
+   * @param prefix the start of the name of a bill terms item (the case is ignored)
+   * @return the bill terms items whose name starts with it, sorted by name
+   */
+  List<GCshBillTerms> getBillTermsByNamePrefix(String prefix);
+
   /**
    * @return all TaxTables defined in the book
    * @link GnucashTaxTable
@@ -112,11 +132,60 @@ public interface GnucashFile extends GnucashObject {
    */
   GnucashGenerJob getGenerJobByID(String id);
 
+  /**
+   * @param name the name to look for
+   * @return null if not found (the one with the smallest id if the name is not unique)
+   * @see #getGenerJobByID(String)
+   */
+  GnucashGenerJob getGenerJobByName(String name);
+
+  /**
+   * @param name the name to look for (the case is ignored)
+   * @return all jobs with that name, never null
+   * @see #getGenerJobByName(String)
+   */
+  List<GnucashGenerJob> getGenerJobsByNameIgnoreCase(String name);
+
+  /**
+   * For auto-completion.
+   *
+   * @param prefix the start of the name (the case is ignored)
+   * @return all jobs whose name starts with it, sorted by name
+   */
+  List<GnucashGenerJob> getGenerJobsByNamePrefix(String prefix);
+
+  /**
+   * @param number the (human-readable) number to look for
+   * @return null if not found (the one with the smallest id if the number is not unique)
+   * @see #getGenerJobByID(String)
+   */
+  GnucashGenerJob getGenerJobByNumber(String number);
+
+  /**
+   * For auto-completion.
+   *
+   * @param prefix the start of the number (the case is ignored)
+   * @return all jobs whose number starts with it, sorted by number
+   */
+  List<GnucashGenerJob> getGenerJobsByNumberPrefix(String prefix);
+
   /**
    * @return a (possibly read-only) collection of all jobs Do not modify the returned collection!
    */
   Collection<GnucashGenerJob> getGenerJobs();
 
+  /**
+   * @param customer the customer to look for
+   * @return all jobs that have this customer, never null
+   */
+  Collection<GnucashCustomerJob> getJobsByCustomer(GnucashCustomer customer);
+
+  /**
+   * @param vendor the vendor to look for
+   * @return all jobs that have this vendor, never null
+   */
+  Collection<GnucashVendorJob> getJobsByVendor(GnucashVendor vendor);
+
   /**
    * @param id the unique id of the transaction to look for
    * @return the transaction or null if it's not found
@@ -128,6 +197,51 @@ public interface GnucashFile extends GnucashObject {
    */
   Collection<? extends GnucashTransaction> getTransactions();
 
+  /**
+   * Uses an index by posting-day, so only the transactions of the period are touched.
+   *
+   * @param from first day to include, null for no limit
+   * @param to   first day not to include, null for no limit
+   * @return the transactions posted in that time-frame, sorted by posting-day
+   */
+  List<GnucashTransaction> getTransactions(LocalDate from, LocalDate to);
+
+  /**
+   * Uses an index by posting-day, so only the splits of the period are touched.
+   *
+   * @param account the account to look for
+   * @param from    first day to include, null for no limit
+   * @param to      first day not to include, null for no limit
+   * @return the splits of the account posted in that time-frame, sorted by posting-day
+   */
+  List<GnucashTransactionSplit> getTransactionSplits(GnucashAccount account, LocalDate from, LocalDate to);
+
+  /**
+   * Full-text search over the descriptions and numbers of the transactions and the memos of their splits.<br/>
+   * The query is a list of words (case-insensitive), all of which must occur. A word ending with "*" matches every
+   * word starting with it ("AMAZ* 2023").
+   *
+   * @param query the words to look for
+   * @return the matching transactions (sorted), never null
+   */
+  List<GnucashTransaction> findTransactions(String query);
+
+  /**
+   * Full-text search over the memos of the splits.
+   *
+   * @param query the words to look for, see {@link #findTransactions(String)}
+   * @return the matching splits (sorted), never null
+   */
+  List<GnucashTransactionSplit> findTransactionSplits(String query);
+
+  /**
+   * Full-text search over the descriptions and numbers of the invoices and the descriptions of their entries.
+   *
+   * @param query the words to look for, see {@link #findTransactions(String)}
+   * @return the matching invoices (sorted), never null
+   */
+  List<GnucashGenerInvoice> findGenerInvoices(String query);
+
   /**
    * @return all accounts
    */
@@ -150,6 +264,13 @@ public interface GnucashFile extends GnucashObject {
    */
   GnucashGenerInvoice getGenerInvoiceByID(String id);
 
+  /**
+   * @param lotID the id of the lot the invoice has been posted to
+   * @return the invoice or null if no (posted) invoice has that lot
+   * @see GnucashGenerInvoice#getLotID()
+   */
+  GnucashGenerInvoice getGenerInvoiceByLotID(String lotID);
+
   /**
    * @param id the unique id of the (generic) invoice entry to look for
    * @return the invoice entry or null if it's not found
@@ -386,8 +507,8 @@ public interface GnucashFile extends GnucashObject {
   // ---------------------------------------------------------------
 
   /**
-   * warning: this function has to traverse all accounts. If it much faster to try getAccountByID first and only call
-   * this method if the returned account does not have the right name.
+   * If no account has the given unqualified name, the account with that qualified name ("Aktiva::Bank::Giro") is
+   * returned. If several accounts have the same name, the first one in their natural order is returned.
    *
    * @param name the UNQUaLIFIED name to look for
    * @return null if not found
@@ -437,15 +558,42 @@ public interface GnucashFile extends GnucashObject {
   GnucashCustomer getCustomerByID(String id);
 
   /**
-   * warning: this function has to traverse all customers. If it much faster to try getCustomerByID first and only call
-   * this method if the returned account does not have the right name.
-   *
    * @param name the name to look for
-   * @return null if not found
+   * @return null if not found (the one with the smallest id if the name is not unique)
    * @see #getCustomerByID(String)
    */
   GnucashCustomer getCustomerByName(String name);
 
+  /**
+   * @param name the name to look for (the case is ignored)
+   * @return all customers with that name, never null
+   * @see #getCustomerByName(String)
+   */
+  List<GnucashCustomer> getCustomersByNameIgnoreCase(String name);
+
+  /**
+   * For auto-completion.
+   *
+   * @param prefix the start of the name (the case is ignored)
+   * @return all customers whose name starts with it, sorted by name
+   */
+  List<GnucashCustomer> getCustomersByNamePrefix(String prefix);
+
+  /**
+   * @param number the (human-readable) number to look for
+   * @return null if not found (the one with the smallest id if the number is not unique)
+   * @see #getCustomerByID(String)
+   */
+  GnucashCustomer getCustomerByNumber(String number);
+
+  /**
+   * For auto-completion.
+   *
+   * @param prefix the start of the number (the case is ignored)
+   * @return all customers whose number starts with it, sorted by number
+   */
+  List<GnucashCustomer> getCustomersByNumberPrefix(String prefix);
+
   /**
    * @return a (possibly read-only) collection of all customers Do not modify the returned collection!
    */
@@ -460,15 +608,42 @@ public interface GnucashFile extends GnucashObject {
   GnucashVendor getVendorByID(String id);
 
   /**
-   * warning: this function has to traverse all vendors. If it much faster to try getVendorByID first and only call this
-   * method if the returned account does not have the right name.
-   *
    * @param name the name to look for
-   * @return null if not found
+   * @return null if not found (the one with the smallest id if the name is not unique)
    * @see #getVendorByID(String)
    */
   GnucashVendor getVendorByName(String name);
 
+  /**
+   * @param name the name to look for (the case is ignored)
+   * @return all vendors with that name, never null
+   * @see #getVendorByName(String)
+   */
+  List<GnucashVendor> getVendorsByNameIgnoreCase(String name);
+
+  /**
+   * For auto-completion.
+   *
+   * @param prefix the start of the name (the case is ignored)
+   * @return all vendors whose name starts with it, sorted by name
+   */
+  List<GnucashVendor> getVendorsByNamePrefix(String prefix);
+
+  /**
+   * @param number the (human-readable) number to look for
+   * @return null if not found (the one with the smallest id if the number is not unique)
+   * @see #getVendorByID(String)
+   */
+  GnucashVendor getVendorByNumber(String number);
+
+  /**
+   * For auto-completion.
+   *
+   * @param prefix the start of the number (the case is ignored)
+   * @return all vendors whose number starts with it, sorted by number
+   */
+  List<GnucashVendor> getVendorsByNumberPrefix(String prefix);
+
   /**
    * @return a (possibly read-only) collection of all vendors Do not modify the returned collection!
    */
@@ -518,4 +693,28 @@ public interface GnucashFile extends GnucashObject {
 
   public String getNewJobNumber();
 
+  /**
+   * Reserves some customer numbers at once (bulk creation).
+   *
+   * @param count how many numbers
+   * @return consecutive numbers that have not been used or handed out before
+   */
+  public List<String> getNewCustomerNumbers(int count);
+
+  /**
+   * Reserves some vendor numbers at once (bulk creation).
+   *
+   * @param count how many numbers
+   * @return consecutive numbers that have not been used or handed out before
+   */
+  public List<String> getNewVendorNumbers(int count);
+
+  /**
+   * Reserves some job numbers at once (bulk creation).
+   *
+   * @param count how many numbers
+   * @return consecutive numbers that have not been used or handed out before
+   */
+  public List<String> getNewJobNumbers(int count);
+
 }
@@ -6,6 +6,7 @@ import java.util.Collection;
 import org.gnucash.generated.GncV2.GncBook.GncGncInvoice;
 import org.gnucash.generated.GncV2.GncBook.GncGncInvoice.InvoiceOwner;
 import org.gnucash.numbers.FixedPointNumber;
+import org.gnucash.numbers.Money;
 import org.gnucash.read.auxiliary.GCshOwner;
 import org.gnucash.read.impl.auxiliary.GCshTaxedSumImpl;
 import org.gnucash.read.spec.WrongInvoiceTypeException;
@@ -163,6 +164,48 @@ public interface GnucashGenerInvoice extends Comparable<GnucashGenerInvoice> {
 
   // ----------------------------
 
+  /**
+   * @return what the customer must still pay (incl. taxes) in the currency of the invoice (immutable, may be shared between
+   *         threads)
+   * @throws WrongInvoiceTypeException
+   * @see #getInvcAmountUnpaidWithTaxes()
+   */
+  Money getInvcAmountUnpaidWithTaxesAsMoney() throws WrongInvoiceTypeException;
+
+  /**
+   * @return what the customer has already pay (incl. taxes) in the currency of the invoice (immutable, may be shared between
+   *         threads)
+   * @throws WrongInvoiceTypeException
+   * @see #getInvcAmountPaidWithTaxes()
+   */
+  Money getInvcAmountPaidWithTaxesAsMoney() throws WrongInvoiceTypeException;
+
+  /**
+   * @return what the customer has already pay (incl. taxes) in the currency of the invoice (immutable, may be shared between
+   *         threads)
+   * @throws WrongInvoiceTypeException
+   * @see #getInvcAmountPaidWithoutTaxes()
+   */
+  Money getInvcAmountPaidWithoutTaxesAsMoney() throws WrongInvoiceTypeException;
+
+  /**
+   * @return what the customer needs to pay in total (incl. taxes) in the currency of the invoice (immutable, may be shared between
+   *         threads)
+   * @throws WrongInvoiceTypeException
+   * @see #getInvcAmountWithTaxes()
+   */
+  Money getInvcAmountWithTaxesAsMoney() throws WrongInvoiceTypeException;
+
+  /**
+   * @return what the customer needs to pay in total (excl. taxes) in the currency of the invoice (immutable, may be shared between
+   *         threads)
+   * @throws WrongInvoiceTypeException
+   * @see #getInvcAmountWithoutTaxes()
+   */
+  Money getInvcAmountWithoutTaxesAsMoney() throws WrongInvoiceTypeException;
+
+  // ----------------------------
+
   /**
    * Formating uses the default-locale's currency-format.
    * 
@@ -231,6 +274,48 @@ public interface GnucashGenerInvoice extends Comparable<GnucashGenerInvoice> {
 
   // ----------------------------
 
+  /**
+   * @return what the customer must still pay (incl. taxes) in the currency of the invoice (immutable, may be shared between
+   *         threads)
+   * @throws WrongInvoiceTypeException
+   * @see #getBillAmountUnpaidWithTaxes()
+   */
+  Money getBillAmountUnpaidWithTaxesAsMoney() throws WrongInvoiceTypeException;
+
+  /**
+   * @return what the customer has already pay (incl. taxes) in the currency of the invoice (immutable, may be shared between
+   *         threads)
+   * @throws WrongInvoiceTypeException
+   * @see #getBillAmountPaidWithTaxes()
+   */
+  Money getBillAmountPaidWithTaxesAsMoney() throws WrongInvoiceTypeException;
+
+  /**
+   * @return what the customer has already pay (incl. taxes) in the currency of the invoice (immutable, may be shared between
+   *         threads)
+   * @throws WrongInvoiceTypeException
+   * @see #getBillAmountPaidWithoutTaxes()
+   */
+  Money getBillAmountPaidWithoutTaxesAsMoney() throws WrongInvoiceTypeException;
+
+  /**
+   * @return what the customer needs to pay in total (incl. taxes) in the currency of the invoice (immutable, may be shared between
+   *         threads)
+   * @throws WrongInvoiceTypeException
+   * @see #getBillAmountWithTaxes()
+   */
+  Money getBillAmountWithTaxesAsMoney() throws WrongInvoiceTypeException;
+
+  /**
+   * @return what the customer needs to pay in total (excl. taxes) in the currency of the invoice (immutable, may be shared between
+   *         threads)
+   * @throws WrongInvoiceTypeException
+   * @see #getBillAmountWithoutTaxes()
+   */
+  Money getBillAmountWithoutTaxesAsMoney() throws WrongInvoiceTypeException;
+
+  // ----------------------------
+
   /**
    * Formating uses the default-locale's currency-format.
    * 
@@ -297,6 +382,48 @@ public interface GnucashGenerInvoice extends Comparable<GnucashGenerInvoice> {
    */
   FixedPointNumber getJobAmountWithoutTaxes() throws WrongInvoiceTypeException;
 
+  // ----------------------------
+
+  /**
+   * @return what the customer must still pay (incl. taxes) in the currency of the invoice (immutable, may be shared between
+   *         threads)
+   * @throws WrongInvoiceTypeException
+   * @see #getJobAmountUnpaidWithTaxes()
+   */
+  Money getJobAmountUnpaidWithTaxesAsMoney() throws WrongInvoiceTypeException;
+
+  /**
+   * @return what the customer has already pay (incl. taxes) in the currency of the invoice (immutable, may be shared between
+   *         threads)
+   * @throws WrongInvoiceTypeException
+   * @see #getJobAmountPaidWithTaxes()
+   */
+  Money getJobAmountPaidWithTaxesAsMoney() throws WrongInvoiceTypeException;
+
+  /**
+   * @return what the customer has already pay (incl. taxes) in the currency of the invoice (immutable, may be shared between
+   *         threads)
+   * @throws WrongInvoiceTypeException
+   * @see #getJobAmountPaidWithoutTaxes()
+   */
+  Money getJobAmountPaidWithoutTaxesAsMoney() throws WrongInvoiceTypeException;
+
+  /**
+   * @return what the customer needs to pay in total (incl. taxes) in the currency of the invoice (immutable, may be shared between
+   *         threads)
+   * @throws WrongInvoiceTypeException
+   * @see #getJobAmountWithTaxes()
+   */
+  Money getJobAmountWithTaxesAsMoney() throws WrongInvoiceTypeException;
+
+  /**
+   * @return what the customer needs to pay in total (excl. taxes) in the currency of the invoice (immutable, may be shared between
+   *         threads)
+   * @throws WrongInvoiceTypeException
+   * @see #getJobAmountWithoutTaxes()
+   */
+  Money getJobAmountWithoutTaxesAsMoney() throws WrongInvoiceTypeException;
+
 // ----------------------------
 
   /**
@@ -5,6 +5,7 @@ import java.util.Locale;
 
 import org.gnucash.generated.GncTransaction;
 import org.gnucash.numbers.FixedPointNumber;
+import org.gnucash.numbers.Money;
 
 /**
  * This denotes a single addition or removal of some value from one account in a transaction made up of multiple such
@@ -67,6 +68,13 @@ public interface GnucashTransactionSplit extends Comparable<GnucashTransactionSp
 	 */
 	FixedPointNumber getValue();
 
+	/**
+	 * @return the value-transfer this represents, in the currency of the
+	 *         transaction (immutable, may be shared between threads)
+	 * @see #getValue()
+	 */
+	Money getValueAsMoney();
+
 	/**
 	 * The value is in the currency of the transaction!
 	 *
@@ -119,6 +127,13 @@ public interface GnucashTransactionSplit extends Comparable<GnucashTransactionSp
 	 */
 	FixedPointNumber getQuantity();
 
+	/**
+	 * @return the number of items added to the account, in the currency of the
+	 *         account (immutable, may be shared between threads)
+	 * @see #getQuantity()
+	 */
+	Money getQuantityAsMoney();
+
 	/**
 	 * The quantity is in the currency of the account!
 	 *
@@ -0,0 +1,263 @@
+package org.gnucash.read.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.gnucash.numbers.FixedPointNumber;
+import org.gnucash.numbers.Money;
+import org.gnucash.read.GnucashTransactionSplit;
+
+/**
+ * The splits of an account in their natural order (by the date the transaction was posted) together with the
+ * running sum of their quantities, so the balance at any date or split is a binary search instead of a loop over all
+ * splits.<br/>
+ * The change over a period goes by the local posting-dates instead (see {@link #getSumBefore(LocalDate)}).<br/>
+ * Splits sorting after the last one can be appended, any other change requires building the index again.<br/>
+ * For books with {@link LoadOptions#isLazyTransactions()} only the ids of the splits are kept, so the index does not
+ * keep their (evictable) facades alive.
+ *
+ * @see GnucashAccountImpl#getBalance(java.time.LocalDate)
+ */
+class AccountBalanceIndex {
+
+	/**
+	 * null if only the ids are kept.
+	 */
+	private GnucashTransactionSplit[] splits;
+
+	private String[] splitIDs;
+
+	/**
+	 * The date posted of {@link #splits} in epoch-seconds.
+	 */
+	private long[] datesPosted;
+
+	/**
+	 * The date posted of {@link #splits} as local date and time (see {@link PostingDate}).
+	 */
+	private long[] localDatesPosted;
+
+	/**
+	 * sums[i] is the sum of the quantities of the first i splits.
+	 */
+	private BigDecimal[] sums;
+
+	/**
+	 * The splits ordered by {@link #localDatesPosted} (built on first use).
+	 *
+	 * @see #getLocalOrder()
+	 */
+	private volatile LocalOrder localOrder;
+
+	private int size = 0;
+
+	private final Map<String, Integer> splitID2position = new HashMap<String, Integer>();
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param sortedSplits the splits of the account, already sorted
+	 * @param keepSplits   false to keep only their ids
+	 */
+	AccountBalanceIndex(final List<GnucashTransactionSplit> sortedSplits, final boolean keepSplits) {
+		int capacity = Math.max(sortedSplits.size(), 8);
+		splits = keepSplits ? new GnucashTransactionSplit[capacity] : null;
+		splitIDs = new String[capacity];
+		datesPosted = new long[capacity];
+		localDatesPosted = new long[capacity];
+		sums = new BigDecimal[capacity + 1];
+		sums[0] = BigDecimal.ZERO;
+
+		for (GnucashTransactionSplit split : sortedSplits) {
+			add(split);
+		}
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param split a split just added to the account
+	 * @return false if the split does not sort after the last one or only ids
+	 *         are kept (the index has to be built again then)
+	 */
+	boolean append(final GnucashTransactionSplit split) {
+		if (splits == null || (size > 0 && split.compareTo(splits[size - 1]) < 0)) {
+			return false;
+		}
+
+		add(split);
+		return true;
+	}
+
+	private void add(final GnucashTransactionSplit split) {
+		if (size == splitIDs.length) {
+			if (splits != null) {
+				splits = Arrays.copyOf(splits, size * 2);
+			}
+			splitIDs = Arrays.copyOf(splitIDs, size * 2);
+			datesPosted = Arrays.copyOf(datesPosted, size * 2);
+			localDatesPosted = Arrays.copyOf(localDatesPosted, size * 2);
+			sums = Arrays.copyOf(sums, size * 2 + 1);
+		}
+
+		if (splits != null) {
+			splits[size] = split;
+		}
+		splitIDs[size] = split.getId();
+		datesPosted[size] = split.getTransaction().getDatePosted().toEpochSecond();
+		localDatesPosted[size] = PostingDate.toKey(split.getTransaction().getDatePosted());
+		sums[size + 1] = sums[size].add(split.getQuantity().getBigDecimal());
+		splitID2position.put(split.getId(), size);
+		size++;
+		localOrder = null;
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @return the number of splits
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @param i the position
+	 * @return the split at that position or null if only the ids are kept
+	 */
+	GnucashTransactionSplit get(final int i) {
+		return splits == null ? null : splits[i];
+	}
+
+	/**
+	 * @param i the position
+	 * @return the id of the split at that position
+	 */
+	String getSplitID(final int i) {
+		return splitIDs[i];
+	}
+
+	/**
+	 * @param count the number of splits to sum up
+	 * @return new number with the sum of the quantities of the first count splits
+	 */
+	FixedPointNumber getSum(final int count) {
+		return new FixedPointNumber(sums[count]);
+	}
+
+	/**
+	 * @param count             the number of splits to sum up
+	 * @param currencyNameSpace the commodity of the account
+	 * @param currencyID        the commodity of the account
+	 * @return the sum of the quantities of the first count splits
+	 */
+	Money getSum(final int count, final String currencyNameSpace, final String currencyID) {
+		return new Money(sums[count], currencyNameSpace, currencyID);
+	}
+
+	/**
+	 * @param splitID the id of a split
+	 * @return its position or -1
+	 */
+	int getPosition(final String splitID) {
+		Integer pos = splitID2position.get(splitID);
+		return pos == null ? -1 : pos.intValue();
+	}
+
+	/**
+	 * @param epochSecond a point in time
+	 * @return the number of splits posted before or at that time
+	 */
+	int countUpTo(final long epochSecond) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (datesPosted[mid] <= epochSecond) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * @param epochSecond a point in time
+	 * @return the number of splits posted before that time
+	 */
+	int countBefore(final long epochSecond) {
+		return countUpTo(epochSecond - 1);
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param date a day
+	 * @return new number with the sum of the quantities of the splits posted before that day (by the local date as
+	 *         written in the file, see {@link PostingDate})
+	 */
+	FixedPointNumber getSumBefore(final LocalDate date) {
+		LocalOrder order = getLocalOrder();
+		long key = PostingDate.toKey(date);
+		int low = 0;
+		int high = order.keys.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (order.keys[mid] < key) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return new FixedPointNumber(order.sums[low]);
+	}
+
+	/**
+	 * @return the splits ordered by their local posting-date
+	 */
+	private LocalOrder getLocalOrder() {
+		LocalOrder retval = localOrder;
+		if (retval == null) {
+			retval = new LocalOrder();
+			localOrder = retval;
+		}
+		return retval;
+	}
+
+	/**
+	 * The local posting-dates sorted with the running sum of the quantities in that order.<br/>
+	 * Usually the same order as the one of the splits, it differs only if their offsets differ.
+	 */
+	private class LocalOrder {
+
+		private final long[] keys = new long[size];
+
+		/**
+		 * sums[i] is the sum of the quantities of the first i keys.
+		 */
+		private final BigDecimal[] sums = new BigDecimal[size + 1];
+
+		private LocalOrder() {
+			Integer[] positions = new Integer[size];
+			for (int i = 0; i < size; i++) {
+				positions[i] = i;
+			}
+			// stable, so the order of the splits is kept where it does not matter
+			Arrays.sort(positions, Comparator.comparingLong(i -> localDatesPosted[i]));
+
+			sums[0] = BigDecimal.ZERO;
+			for (int i = 0; i < size; i++) {
+				int pos = positions[i];
+				keys[i] = localDatesPosted[pos];
+				sums[i + 1] = sums[i].add(AccountBalanceIndex.this.sums[pos + 1].subtract(AccountBalanceIndex.this.sums[pos]));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,126 @@
+package org.gnucash.read.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.gnucash.read.GnucashAccount;
+
+/**
+ * The accounts of a book indexed by their name and by their qualified name ("Aktiva::Bank::Giro").<br/>
+ * Every account remembers the keys it is filed under, so an account that has been added, removed, renamed or moved
+ * (and every account below it, whose qualified name changes with it) is filed again without building the index
+ * again.
+ *
+ * @see GnucashFileImpl#getAccountByName(String)
+ */
+class AccountNameIndex {
+
+	private final Map<String, List<GnucashAccount>> name2accounts = new HashMap<String, List<GnucashAccount>>();
+
+	private final Map<String, List<GnucashAccount>> qualifiedName2accounts = new HashMap<String, List<GnucashAccount>>();
+
+	/**
+	 * The name and qualified name every account is filed under.
+	 */
+	private final Map<String, String[]> accountID2keys = new HashMap<String, String[]>();
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param accounts all accounts of the book
+	 */
+	AccountNameIndex(final Collection<GnucashAccount> accounts) {
+		for (GnucashAccount account : accounts) {
+			add(account);
+		}
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param name the unqualified name
+	 * @return the account or null
+	 */
+	synchronized GnucashAccount getByName(final String name) {
+		return first(name2accounts.get(name));
+	}
+
+	/**
+	 * @param qualifiedName the name including the names of all parents
+	 * @return the account or null
+	 */
+	synchronized GnucashAccount getByQualifiedName(final String qualifiedName) {
+		return first(qualifiedName2accounts.get(qualifiedName));
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param account an account to file under its current names
+	 */
+	synchronized void add(final GnucashAccount account) {
+		String[] keys = new String[] { account.getName(), account.getQualifiedName() };
+		accountID2keys.put(account.getId(), keys);
+		name2accounts.computeIfAbsent(keys[0], k -> new ArrayList<GnucashAccount>(1)).add(account);
+		qualifiedName2accounts.computeIfAbsent(keys[1], k -> new ArrayList<GnucashAccount>(1)).add(account);
+	}
+
+	/**
+	 * @param account an account to remove (from under the names it has been filed under)
+	 */
+	synchronized void remove(final GnucashAccount account) {
+		String[] keys = accountID2keys.remove(account.getId());
+		if (keys == null) {
+			return;
+		}
+		remove(name2accounts, keys[0], account);
+		remove(qualifiedName2accounts, keys[1], account);
+	}
+
+	/**
+	 * @param account an account to file again under its current names
+	 */
+	synchronized void update(final GnucashAccount account) {
+		remove(account);
+		add(account);
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param accounts all accounts with some key
+	 * @return the first one in natural order (names need not be unique, so the result does not depend on the order
+	 *         of a HashMap)
+	 */
+	private static GnucashAccount first(final List<GnucashAccount> accounts) {
+		if (accounts == null) {
+			return null;
+		}
+		if (accounts.size() == 1) {
+			return accounts.get(0);
+		}
+		return Collections.min(accounts);
+	}
+
+	private static void remove(final Map<String, List<GnucashAccount>> key2accounts, final String key,
+			final GnucashAccount account) {
+		List<GnucashAccount> accounts = key2accounts.get(key);
+		if (accounts == null) {
+			return;
+		}
+		for (int i = 0; i < accounts.size(); i++) {
+			if (accounts.get(i).getId().equals(account.getId())) {
+				accounts.remove(i);
+				break;
+			}
+		}
+		if (accounts.isEmpty()) {
+			key2accounts.remove(key);
+		}
+	}
+
+}
@@ -0,0 +1,110 @@
+package org.gnucash.read.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The elements of a &lt;gnc:book&gt; sorted into one list per (JAXB-)type.<br/>
+ * Filled in one pass over {@link org.gnucash.generated.GncV2.GncBook#getBookElements()}, so that code looking for
+ * all elements of one type does not have to walk (and instanceof-check) the whole book again.<br/>
+ * Book elements added or removed later have to be registered via {@link #add(Object)} and
+ * {@link #remove(Object)}.
+ */
+class BookElementBuckets {
+
+	private final Map<Class<?>, List<Object>> buckets = new HashMap<Class<?>, List<Object>>();
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param bookElements the elements of the book (in file-order)
+	 */
+	public BookElementBuckets(final Collection<?> bookElements) {
+		for (Object bookElement : bookElements) {
+			add(bookElement);
+		}
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param bookElement the element to add at the end of its bucket
+	 */
+	public void add(final Object bookElement) {
+		if (bookElement == null) {
+			throw new IllegalArgumentException("null book-element given");
+		}
+
+		List<Object> bucket = buckets.get(bookElement.getClass());
+		if (bucket == null) {
+			bucket = new ArrayList<Object>();
+			buckets.put(bookElement.getClass(), bucket);
+		}
+		bucket.add(bookElement);
+	}
+
+	/**
+	 * @param bookElement the element to remove (by identity)
+	 * @return true if it was contained
+	 */
+	public boolean remove(final Object bookElement) {
+		if (bookElement == null) {
+			return false;
+		}
+
+		List<Object> bucket = buckets.get(bookElement.getClass());
+		if (bucket == null) {
+			return false;
+		}
+		for (int i = 0; i < bucket.size(); i++) {
+			if (bucket.get(i) == bookElement) {
+				bucket.remove(i);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param <T>  the JAXB-type
+	 * @param type the JAXB-class of the wanted elements
+	 * @return read-only list of all elements of that type (in file-order)
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> List<T> get(final Class<T> type) {
+		List<Object> bucket = buckets.get(type);
+		if (bucket == null) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList((List<T>) bucket);
+	}
+
+	/**
+	 * @param type the JAXB-class of the wanted elements
+	 * @return number of elements of that type
+	 */
+	public int count(final Class<?> type) {
+		List<Object> bucket = buckets.get(type);
+		return bucket == null ? 0 : bucket.size();
+	}
+
+	/**
+	 * @return all types that have at least one element in the book
+	 */
+	public Collection<Class<?>> getTypes() {
+		List<Class<?>> retval = new ArrayList<Class<?>>();
+		for (Map.Entry<Class<?>, List<Object>> entry : buckets.entrySet()) {
+			if (!entry.getValue().isEmpty()) {
+				retval.add(entry.getKey());
+			}
+		}
+		return retval;
+	}
+
+}
@@ -0,0 +1,182 @@
+package org.gnucash.read.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * An inverted index from the words in some texts to the ids of the objects (transactions, splits, invoices) they
+ * belong to.<br/>
+ * Words are the runs of letters and digits, compared case-insensitive. A query is a list of words separated by
+ * white-space, all of which must occur (AND). A word ending with "*" matches every word starting with it.<br/>
+ * Objects may be put with an owner (the transaction of a split), so all objects of an owner can be removed at once.
+ *
+ * @see GnucashFileImpl#findTransactions(String)
+ * @see GnucashFileImpl#findTransactionSplits(String)
+ * @see GnucashFileImpl#findGenerInvoices(String)
+ */
+class FullTextIndex {
+
+	/**
+	 * Sorted for the prefix-queries.
+	 */
+	private final TreeMap<String, Set<String>> word2ids = new TreeMap<String, Set<String>>();
+
+	/**
+	 * For removing an object again.
+	 */
+	private final Map<String, Set<String>> id2words = new HashMap<String, Set<String>>();
+
+	/**
+	 * The ids put with an owner.
+	 */
+	private final Map<String, Set<String>> owner2ids = new HashMap<String, Set<String>>();
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param id    the id of the object
+	 * @param texts its texts (null-elements are ignored), replacing the ones
+	 *              given before
+	 */
+	synchronized void put(final String id, final Collection<String> texts) {
+		remove(id);
+
+		Set<String> words = new HashSet<String>();
+		for (String text : texts) {
+			words.addAll(tokenize(text));
+		}
+		if (words.isEmpty()) {
+			return;
+		}
+
+		id2words.put(id, words);
+		for (String word : words) {
+			word2ids.computeIfAbsent(word, k -> new HashSet<String>()).add(id);
+		}
+	}
+
+	/**
+	 * @param id    the id of the object
+	 * @param owner the object it belongs to
+	 * @param texts its texts (null-elements are ignored), replacing the ones
+	 *              given before
+	 * @see #removeAll(String)
+	 */
+	synchronized void put(final String id, final String owner, final Collection<String> texts) {
+		owner2ids.computeIfAbsent(owner, k -> new HashSet<String>()).add(id);
+		put(id, texts);
+	}
+
+	/**
+	 * @param owner an owner
+	 * @see #put(String, String, Collection)
+	 */
+	synchronized void removeAll(final String owner) {
+		Set<String> ids = owner2ids.remove(owner);
+		if (ids == null) {
+			return;
+		}
+
+		for (String id : ids) {
+			remove(id);
+		}
+	}
+
+	/**
+	 * @param id the id of the object
+	 */
+	synchronized void remove(final String id) {
+		Set<String> words = id2words.remove(id);
+		if (words == null) {
+			return;
+		}
+
+		for (String word : words) {
+			Set<String> ids = word2ids.get(word);
+			ids.remove(id);
+			if (ids.isEmpty()) {
+				word2ids.remove(word);
+			}
+		}
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param query words separated by white-space, "*" at the end of a word
+	 *              for a prefix
+	 * @return the ids of the objects containing all words (empty for an empty
+	 *         or null query)
+	 */
+	synchronized Set<String> find(final String query) {
+		if (query == null) {
+			return Collections.emptySet();
+		}
+
+		Set<String> retval = null;
+
+		for (String term : query.trim().split("\\s+")) {
+			List<String> words = tokenize(term);
+			for (int i = 0; i < words.size(); i++) {
+				boolean prefix = i == words.size() - 1 && term.endsWith("*");
+				Set<String> ids = prefix ? findPrefix(words.get(i)) : word2ids.get(words.get(i));
+				if (ids == null || ids.isEmpty()) {
+					return Collections.emptySet();
+				}
+
+				if (retval == null) {
+					retval = new HashSet<String>(ids);
+				} else {
+					retval.retainAll(ids);
+				}
+			}
+		}
+
+		return retval == null ? Collections.emptySet() : retval;
+	}
+
+	private Set<String> findPrefix(final String prefix) {
+		Set<String> retval = new HashSet<String>();
+		for (Set<String> ids : word2ids.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+			retval.addAll(ids);
+		}
+		return retval;
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param text some text, may be null
+	 * @return its words in lower case
+	 */
+	static List<String> tokenize(final String text) {
+		List<String> retval = new ArrayList<String>();
+		if (text == null) {
+			return retval;
+		}
+
+		StringBuilder word = new StringBuilder();
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (Character.isLetterOrDigit(c)) {
+				word.append(Character.toLowerCase(c));
+			} else if (word.length() > 0) {
+				retval.add(word.toString());
+				word.setLength(0);
+			}
+		}
+		if (word.length() > 0) {
+			retval.add(word.toString());
+		}
+
+		return retval;
+	}
+
+}
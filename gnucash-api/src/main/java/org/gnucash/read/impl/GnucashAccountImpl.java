@@ -1,13 +1,22 @@
 package org.gnucash.read.impl;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
 import org.gnucash.currency.CurrencyNameSpace;
 import org.gnucash.generated.GncAccount;
 import org.gnucash.generated.ObjectFactory;
+import org.gnucash.numbers.FixedPointNumber;
+import org.gnucash.numbers.Money;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -147,12 +156,19 @@ public class GnucashAccountImpl extends SimpleAccount implements GnucashAccount
 	}
 
 	/**
-	 * The splits of this transaction. May not be fully initialized during loading
+	 * The splits of this account. May not be fully initialized during loading
 	 * of the gnucash-file.
 	 *
 	 * @see #mySplitsNeedSorting
+	 * @see #mySplitsByID
 	 */
-	private final List<GnucashTransactionSplit> mySplits = new LinkedList<GnucashTransactionSplit>();
+	private final List<GnucashTransactionSplit> mySplits = new ArrayList<GnucashTransactionSplit>();
+
+	/**
+	 * The same splits as {@link #mySplits} by their id, for finding duplicates
+	 * without scanning the list.
+	 */
+	private final Map<String, GnucashTransactionSplit> mySplitsByID = new HashMap<String, GnucashTransactionSplit>();
 
 	/**
 	 * If {@link #mySplits} needs to be sorted because it was modified. Sorting is
@@ -160,34 +176,109 @@ public class GnucashAccountImpl extends SimpleAccount implements GnucashAccount
 	 */
 	private boolean mySplitsNeedSorting = false;
 
+	/**
+	 * If {@link #mySplits} has to be built again from {@link #mySplitsByID}
+	 * because a split has been replaced or removed.
+	 */
+	private boolean mySplitsNeedRebuild = false;
+
+	/**
+	 * Built on first use of one of the getBalance-methods and kept until
+	 * {@link #transactionSplitsModified()} drops it. With lazy transactions it
+	 * is kept as well, but holds only the ids of the splits (the split-facades
+	 * may be evicted and are looked up again by id).
+	 *
+	 * @see #getBalanceIndex()
+	 */
+	private AccountBalanceIndex myBalanceIndex = null;
+
 	/**
 	 * @see GnucashAccount#getTransactionSplits()
 	 */
 	public List<GnucashTransactionSplit> getTransactionSplits() {
+		// outside of our lock, because building the transactions adds splits
+		// to all accounts
+		if (getGnucashFile() instanceof GnucashFileImpl) {
+			GnucashFileImpl file = (GnucashFileImpl) getGnucashFile();
+			if (file.getLoadOptions().isLazyTransactions()) {
+				return file.getTransactionSplitsOfAccount(getId());
+			}
+			file.ensureLoaded(LoadOptions.EntityFamily.TRANSACTIONS);
+		}
+
+		synchronized (this) {
+			sortTransactionSplits();
+			return Collections.unmodifiableList(mySplits);
+		}
+	}
+
+	/**
+	 * Brings {@link #mySplits} in order if it has been modified. Called by the
+	 * file once for all accounts after the transactions have been loaded, so
+	 * the accounts are not sorted one by one on first access.
+	 */
+	synchronized void sortTransactionSplits() {
+		if (mySplitsNeedRebuild) {
+			mySplits.clear();
+			mySplits.addAll(mySplitsByID.values());
+			mySplitsNeedRebuild = false;
+			mySplitsNeedSorting = true;
+		}
 
 		if (mySplitsNeedSorting) {
 			Collections.sort(mySplits);
 			mySplitsNeedSorting = false;
 		}
+	}
+
+	/**
+	 * @see GnucashAccount#getTransactionSplitByID(java.lang.String)
+	 */
+	@Override
+	public GnucashTransactionSplit getTransactionSplitByID(final String id) {
+		if (id == null) {
+			throw new IllegalArgumentException("null id given!");
+		}
 
-		return mySplits;
+		if (getGnucashFile() instanceof GnucashFileImpl) {
+			GnucashFileImpl file = (GnucashFileImpl) getGnucashFile();
+			if (file.getLoadOptions().isLazyTransactions()) {
+				GnucashTransactionSplit split = file.getTransactionSplitByID(id);
+				return split != null && getId().equals(split.getAccountID()) ? split : null;
+			}
+			file.ensureLoaded(LoadOptions.EntityFamily.TRANSACTIONS);
+		}
+
+		synchronized (this) {
+			return mySplitsByID.get(id);
+		}
 	}
 
 	/**
+	 * Synchronized because the splits of different transactions may be added
+	 * concurrently when loading in parallel.
+	 *
 	 * @see GnucashAccount#addTransactionSplit(GnucashTransactionSplit)
+	 * @see LoadOptions#isParallel()
 	 */
-	public void addTransactionSplit(final GnucashTransactionSplit split) {
+	public synchronized void addTransactionSplit(final GnucashTransactionSplit split) {
 
-		GnucashTransactionSplit old = getTransactionSplitByID(split.getId());
+		GnucashTransactionSplit old = mySplitsByID.get(split.getId());
 		if (old != null) {
 			if (old != split) {
-				IllegalStateException ex = new IllegalStateException("DEBUG");
-				ex.printStackTrace();
+				LOGGER.warn("addTransactionSplit: split id='" + split.getId() + "' was already added to account id='"
+						+ getId() + "', replacing it");
 				replaceTransactionSplit(old, split);
 			}
 		} else {
-			mySplits.add(split);
+			mySplitsByID.put(split.getId(), split);
+			if (!mySplitsNeedRebuild) {
+				mySplits.add(split);
+			}
 			mySplitsNeedSorting = true;
+			if (myBalanceIndex != null && !myBalanceIndex.append(split)) {
+				myBalanceIndex = null;
+			}
 		}
 	}
 
@@ -199,11 +290,187 @@ public class GnucashAccountImpl extends SimpleAccount implements GnucashAccount
 	 */
 	private void replaceTransactionSplit(final GnucashTransactionSplit transactionSplitByID,
 			final GnucashTransactionSplit impl) {
-		if (!mySplits.remove(transactionSplitByID)) {
+		if (mySplitsByID.get(transactionSplitByID.getId()) != transactionSplitByID) {
 			throw new IllegalArgumentException("old object not found!");
 		}
 
-		mySplits.add(impl);
+		mySplitsByID.remove(transactionSplitByID.getId());
+		mySplitsByID.put(impl.getId(), impl);
+		mySplitsNeedRebuild = true;
+		myBalanceIndex = null;
+	}
+
+	/**
+	 * For internal use only.
+	 *
+	 * @param id the id of the split to remove from this account
+	 * @return the split removed or null
+	 */
+	protected synchronized GnucashTransactionSplit removeTransactionSplitByID(final String id) {
+		GnucashTransactionSplit split = mySplitsByID.remove(id);
+		if (split != null) {
+			mySplitsNeedRebuild = true;
+			myBalanceIndex = null;
+		}
+		return split;
+	}
+
+	/**
+	 * For internal use only.<br/>
+	 * To be called when the quantity of one of our splits or the date
+	 * of its transaction has changed.
+	 */
+	protected synchronized void transactionSplitsModified() {
+		mySplitsNeedSorting = true;
+		myBalanceIndex = null;
+	}
+
+	/**
+	 * @return the balance-index for our current splits, cached (id-only with lazy
+	 *         transactions) until {@link #transactionSplitsModified()}
+	 */
+	private AccountBalanceIndex getBalanceIndex() {
+		synchronized (this) {
+			if (myBalanceIndex != null) {
+				return myBalanceIndex;
+			}
+		}
+
+		// getTransactionSplits() loads the transactions outside of our lock
+		List<GnucashTransactionSplit> splits = getTransactionSplits();
+
+		// with lazy transactions the split-facades may be evicted, so only their ids are kept
+		boolean keepSplits = !isLazyTransactions();
+
+		synchronized (this) {
+			if (myBalanceIndex == null) {
+				myBalanceIndex = new AccountBalanceIndex(splits, keepSplits);
+			}
+			return myBalanceIndex;
+		}
+	}
+
+	/**
+	 * @param index our balance-index
+	 * @param i     a position in it
+	 * @return the split at that position
+	 */
+	private GnucashTransactionSplit getSplit(final AccountBalanceIndex index, final int i) {
+		GnucashTransactionSplit retval = index.get(i);
+		if (retval == null) {
+			// only ids are kept with lazy transactions
+			retval = ((GnucashFileImpl) getGnucashFile()).getTransactionSplitByID(index.getSplitID(i));
+		}
+		return retval;
+	}
+
+	/**
+	 * @return true if our file creates the transactions on first access
+	 * @see LoadOptions#isLazyTransactions()
+	 */
+	private boolean isLazyTransactions() {
+		return getGnucashFile() instanceof GnucashFileImpl
+				&& ((GnucashFileImpl) getGnucashFile()).getLoadOptions().isLazyTransactions();
+	}
+
+	/**
+	 * @param date a date
+	 * @return the first moment of that day in epoch-seconds
+	 */
+	private static long toEpochSecond(final LocalDate date) {
+		return date.atStartOfDay(ZoneId.systemDefault()).toEpochSecond();
+	}
+
+	/**
+	 * Uses the balance-index instead of summing up all splits.
+	 *
+	 * @see GnucashAccount#getBalance(LocalDate, Collection)
+	 */
+	@Override
+	public FixedPointNumber getBalance(final LocalDate date, final Collection<GnucashTransactionSplit> after) {
+		AccountBalanceIndex index = getBalanceIndex();
+		int count = date == null ? index.size() : index.countUpTo(toEpochSecond(date));
+		if (after != null) {
+			for (int i = count; i < index.size(); i++) {
+				after.add(getSplit(index, i));
+			}
+		}
+		return index.getSum(count);
+	}
+
+	/**
+	 * Uses the balance-index instead of summing up all splits.
+	 *
+	 * @see GnucashAccount#getBalanceAsMoney(LocalDate)
+	 */
+	@Override
+	public Money getBalanceAsMoney(final LocalDate date) {
+		AccountBalanceIndex index = getBalanceIndex();
+		int count = date == null ? index.size() : index.countUpTo(toEpochSecond(date));
+		return index.getSum(count, getCurrencyNameSpace(), getCurrencyID());
+	}
+
+	/**
+	 * Uses the balance-index instead of summing up all splits.
+	 *
+	 * @see GnucashAccount#getBalance(GnucashTransactionSplit)
+	 */
+	@Override
+	public FixedPointNumber getBalance(final GnucashTransactionSplit lastIncludesSplit) {
+		AccountBalanceIndex index = getBalanceIndex();
+		int pos = lastIncludesSplit == null ? -1 : index.getPosition(lastIncludesSplit.getId());
+		// a split not in this account: the sum of all splits, as before
+		if (pos < 0) {
+			return index.getSum(index.size());
+		}
+		return index.getSum(pos + 1);
+	}
+
+	/**
+	 * Starts at the first split of the time-frame using the balance-index
+	 * and sums up from there while iterating.
+	 *
+	 * @see GnucashAccount#getRegister(LocalDate, LocalDate)
+	 */
+	@Override
+	public Iterable<RegisterEntry> getRegister(final LocalDate from, final LocalDate to) {
+		return () -> new Iterator<RegisterEntry>() {
+			private final AccountBalanceIndex index = getBalanceIndex();
+			private final int end = to == null ? index.size() : index.countBefore(toEpochSecond(to));
+			private int pos = from == null ? 0 : Math.min(index.countBefore(toEpochSecond(from)), end);
+			private BigDecimal balance = index.getSum(pos).getBigDecimal();
+
+			public boolean hasNext() {
+				return pos < end;
+			}
+
+			public RegisterEntry next() {
+				if (pos >= end) {
+					throw new NoSuchElementException();
+				}
+				GnucashTransactionSplit split = getSplit(index, pos++);
+				balance = balance.add(split.getQuantity().getBigDecimal());
+				return new RegisterEntryImpl(split, balance);
+			}
+		};
+	}
+
+	/**
+	 * Get the sum of all transaction-splits
+	 * affecting this account in the given time-frame.
+	 *
+	 * @param from when to start, inclusive
+	 * @param to   when to stop, exlusive.
+	 * @return the sum of all transaction-splits
+	 * affecting this account in the given time-frame.
+	 */
+	public FixedPointNumber getBalanceChange(final LocalDate from, final LocalDate to) {
+		if (!from.isBefore(to)) {
+			return new FixedPointNumber();
+		}
+		// by the local date posted, as the writable account did
+		AccountBalanceIndex index = getBalanceIndex();
+		return index.getSumBefore(to).subtract(index.getSumBefore(from));
 	}
 
 	/**
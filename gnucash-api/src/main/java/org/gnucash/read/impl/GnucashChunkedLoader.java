@@ -0,0 +1,645 @@
+package org.gnucash.read.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.gnucash.generated.GncTransaction;
+import org.gnucash.generated.GncV2;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Unmarshaller;
+
+/**
+ * Loads a gnucash-file on several threads.<br/>
+ * The transactions (usually the bulk of a book) are independent &lt;gnc:transaction&gt;-elements directly in
+ * &lt;gnc:book&gt;. This loader streams through the document once and finds their boundaries on byte-level (with the
+ * prefix the root-tag declares for the gnc-namespace, and stepping over comments, CDATA-sections and
+ * processing-instructions). Consecutive transactions are collected into chunks of bounded size that are parsed on a
+ * fork-join-pool while the scan goes on; every chunk is wrapped in a copy of the root-tag, so the
+ * namespace-declarations are in scope. The rest of the document is parsed with a {@link GnucashStaxLoader} at the
+ * end.<br/>
+ * So apart from the result only the non-transaction part of the document and the chunks in progress are held in
+ * memory, never the whole document.<br/>
+ * The transactions are appended to the book-elements in file-order, regardless of the order the chunks finish in.
+ *
+ * @see LoadOptions.Parser#CHUNKED
+ */
+public class GnucashChunkedLoader {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(GnucashChunkedLoader.class);
+
+	/**
+	 * The namespace of &lt;gnc:book&gt;, &lt;gnc:transaction&gt;, etc.
+	 */
+	private static final String GNC_NAMESPACE = "http://www.gnucash.org/XML/gnc";
+
+	private static final Pattern XMLNS_DECLARATION = Pattern
+			.compile("xmlns(?::([^\\s=]+))?\\s*=\\s*(?:\"([^\"]*)\"|'([^']*)')");
+
+	private static final String ROOT_NAME = "gnc-v2";
+	private static final byte[] ROOT_END = ("</" + ROOT_NAME + ">").getBytes(StandardCharsets.UTF_8);
+	private static final byte[] COMMENT_START = "<!--".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] COMMENT_END = "-->".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] CDATA_START = "<![CDATA[".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] CDATA_END = "]]>".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] PI_START = "<?".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] PI_END = "?>".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] DECLARATION_START = "<!".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] DECLARATION_END = ">".getBytes(StandardCharsets.UTF_8);
+
+	/**
+	 * Size of the read-buffer.
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * A chunk is handed to the pool once its transactions take this many bytes.
+	 */
+	private static final int CHUNK_SIZE = 256 * 1024;
+
+	/**
+	 * Number of chunks per thread that may wait for the pool before the scan waits for the oldest one.
+	 */
+	private static final int CHUNKS_PER_THREAD = 2;
+
+	/**
+	 * The JAXB-context for the generated classes.
+	 */
+	private final JAXBContext jaxbContext;
+
+	/**
+	 * Number of threads to parse the transactions with.
+	 */
+	private final int parallelism;
+
+	/**
+	 * Number of book-elements read by the last call to {@link #load(InputStream)}.
+	 */
+	private int bookElementCount = 0;
+
+	/**
+	 * @see #setSkippedTypes(Set)
+	 */
+	private Set<Class<?>> skippedTypes = Collections.emptySet();
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param pJaxbContext the JAXB-context for the package org.gnucash.generated
+	 * @param pParallelism number of threads to parse the transactions with
+	 */
+	@SuppressWarnings("exports")
+	public GnucashChunkedLoader(final JAXBContext pJaxbContext, final int pParallelism) {
+		super();
+
+		if (pJaxbContext == null) {
+			throw new IllegalArgumentException("null JAXB-context given");
+		}
+		if (pParallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be at least 1 but is " + pParallelism);
+		}
+
+		jaxbContext = pJaxbContext;
+		parallelism = pParallelism;
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param in the (already decompressed) xml-stream to read
+	 * @return the root-element of the book
+	 * @throws IOException        on low level reading-errors
+	 * @throws XMLStreamException if the xml is not well-formed
+	 * @throws JAXBException      if a book-element cannot be unmarshalled
+	 */
+	@SuppressWarnings("exports")
+	public GncV2 load(final InputStream in) throws IOException, XMLStreamException, JAXBException {
+		ByteScanner scanner = new ByteScanner(in);
+
+		// everything but the book-level transactions
+		ByteArrayOutputStream rest = new ByteArrayOutputStream();
+
+		// the root start-tag (with all namespace-declarations)
+		byte[] rootTag = copyProlog(scanner, rest);
+		String prefix = getGncPrefix(rootTag);
+		if (prefix == null) {
+			LOGGER.warn("load: the root-element does not declare the namespace " + GNC_NAMESPACE
+					+ ", reading all transactions with StAX");
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			ChunkCollector transactions = new ChunkCollector(pool, rootTag);
+			if (prefix != null) {
+				copyBody(scanner, rest, transactions, prefix);
+			} else {
+				scanner.copyAll(rest);
+			}
+			transactions.submit();
+
+			GnucashStaxLoader staxLoader = new GnucashStaxLoader(jaxbContext);
+			staxLoader.setSkippedTypes(skippedTypes);
+			GncV2 root = staxLoader.load(new ByteArrayInputStream(rest.toByteArray()));
+			rest = null;
+
+			List<GncTransaction> trxList = transactions.getResult();
+			root.getGncBook().getBookElements().addAll(trxList);
+
+			bookElementCount = staxLoader.getBookElementCount() + trxList.size();
+			LOGGER.debug("load: read " + bookElementCount + " book-elements, " + trxList.size() + " transactions in "
+					+ transactions.getChunkCount() + " chunks");
+			return root;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * @return Number of book-elements read by the last call to {@link #load(InputStream)}.
+	 */
+	public int getBookElementCount() {
+		return bookElementCount;
+	}
+
+	/**
+	 * @param pSkippedTypes JAXB-types of book-elements that are to be skipped without unmarshalling them
+	 * @see LoadOptions.SkipMode#DROP
+	 */
+	public void setSkippedTypes(final Set<Class<?>> pSkippedTypes) {
+		if (pSkippedTypes == null) {
+			throw new IllegalArgumentException("null skipped types given");
+		}
+
+		skippedTypes = pSkippedTypes;
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * Copies everything up to and including the root start-tag.
+	 *
+	 * @return the root start-tag
+	 */
+	private static byte[] copyProlog(final ByteScanner scanner, final OutputStream rest)
+			throws IOException, XMLStreamException {
+		while (scanner.copyUntil((byte) '<', rest)) {
+			if (!skipMarkup(scanner, rest)) {
+				ByteArrayOutputStream rootTag = new ByteArrayOutputStream();
+				scanner.copyStartTag(rootTag);
+				byte[] retval = rootTag.toByteArray();
+				rest.write(retval);
+
+				String tag = new String(retval, StandardCharsets.UTF_8);
+				if (!tag.startsWith("<" + ROOT_NAME) || !isNameEnd(tag, ROOT_NAME.length() + 1)) {
+					throw new XMLStreamException("root-element <" + ROOT_NAME + "> expected");
+				}
+				return retval;
+			}
+		}
+		throw new XMLStreamException("root-element <" + ROOT_NAME + "> expected");
+	}
+
+	/**
+	 * @param rootTag the root start-tag
+	 * @return the prefix it declares for the gnc-namespace ("" if it is the default namespace), null if it does not
+	 *         declare it
+	 */
+	private static String getGncPrefix(final byte[] rootTag) {
+		Matcher matcher = XMLNS_DECLARATION.matcher(new String(rootTag, StandardCharsets.UTF_8));
+		while (matcher.find()) {
+			String uri = matcher.group(2) != null ? matcher.group(2) : matcher.group(3);
+			if (GNC_NAMESPACE.equals(uri)) {
+				return matcher.group(1) == null ? "" : matcher.group(1);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Copies the rest of the document: the book-level transactions to the chunks, everything else to rest.
+	 *
+	 * @param prefix the prefix of the gnc-namespace
+	 */
+	private void copyBody(final ByteScanner scanner, final OutputStream rest, final ChunkCollector transactions,
+			final String prefix) throws IOException, XMLStreamException, JAXBException {
+		String qualifier = prefix.isEmpty() ? "" : prefix + ":";
+		byte[] trxStart = ("<" + qualifier + "transaction").getBytes(StandardCharsets.UTF_8);
+		byte[] trxEnd = ("</" + qualifier + "transaction>").getBytes(StandardCharsets.UTF_8);
+		byte[] templateStart = ("<" + qualifier + "template-transactions").getBytes(StandardCharsets.UTF_8);
+		byte[] templateEnd = ("</" + qualifier + "template-transactions>").getBytes(StandardCharsets.UTF_8);
+
+		OutputStream trxOut = skippedTypes.contains(GncTransaction.class) ? OutputStream.nullOutputStream() : null;
+
+		while (scanner.copyUntil((byte) '<', rest)) {
+			if (skipMarkup(scanner, rest)) {
+				continue;
+			}
+
+			if (scanner.startsWithName(trxStart)) {
+				copyElement(scanner, trxOut != null ? trxOut : transactions.getChunk(), trxEnd);
+				if (trxOut == null) {
+					transactions.transactionAdded();
+				}
+			} else if (scanner.startsWithName(templateStart)) {
+				// these contain transactions, too, but not our kind
+				copyElement(scanner, rest, templateEnd);
+			} else {
+				scanner.copy(1, rest);
+			}
+		}
+	}
+
+	/**
+	 * Copies a comment, CDATA-section, processing-instruction or declaration completely.
+	 *
+	 * @param scanner positioned on a '&lt;'
+	 * @return false if it is none of them (nothing copied)
+	 */
+	private static boolean skipMarkup(final ByteScanner scanner, final OutputStream out)
+			throws IOException, XMLStreamException {
+		if (scanner.startsWith(COMMENT_START)) {
+			scanner.copyPast(COMMENT_END, out);
+		} else if (scanner.startsWith(CDATA_START)) {
+			scanner.copyPast(CDATA_END, out);
+		} else if (scanner.startsWith(PI_START)) {
+			scanner.copyPast(PI_END, out);
+		} else if (scanner.startsWith(DECLARATION_START)) {
+			scanner.copyPast(DECLARATION_END, out);
+		} else {
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Copies an element up to and including its end-tag.
+	 *
+	 * @param scanner positioned on its start-tag
+	 * @param end     its end-tag
+	 */
+	private static void copyElement(final ByteScanner scanner, final OutputStream out, final byte[] end)
+			throws IOException, XMLStreamException {
+		long start = scanner.getOffset();
+		if (scanner.copyStartTag(out)) {
+			// <x/>
+			return;
+		}
+
+		while (scanner.copyUntil((byte) '<', out)) {
+			if (skipMarkup(scanner, out)) {
+				continue;
+			}
+			if (scanner.startsWith(end)) {
+				scanner.copy(end.length, out);
+				return;
+			}
+			scanner.copy(1, out);
+		}
+		throw new XMLStreamException("element at byte " + start + " not closed");
+	}
+
+	/**
+	 * @return true if the tag-name ends at pos (and is not just the prefix of a longer name)
+	 */
+	private static boolean isNameEnd(final String tag, final int pos) {
+		if (pos >= tag.length()) {
+			return false;
+		}
+		return isNameEnd((byte) tag.charAt(pos));
+	}
+
+	/**
+	 * @return true if the byte ends a tag-name
+	 */
+	private static boolean isNameEnd(final byte b) {
+		return b == '>' || b == ' ' || b == '\t' || b == '\r' || b == '\n' || b == '/';
+	}
+
+	/**
+	 * Unmarshals one chunk.
+	 *
+	 * @param doc the root start-tag, consecutive transactions and the root end-tag
+	 * @param size the number of transactions
+	 * @return the unmarshalled transactions of the chunk
+	 */
+	private List<GncTransaction> parseChunk(final byte[] doc, final int size) throws XMLStreamException, JAXBException {
+		List<GncTransaction> retval = new ArrayList<GncTransaction>(size);
+
+		// Unmarshallers are not thread-safe, so one per chunk
+		Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+		XMLStreamReader reader = new GnucashStaxLoader.NamespaceRemoverStreamReader(
+				GnucashStaxLoader.createInputFactory().createXMLStreamReader(new ByteArrayInputStream(doc)));
+		try {
+			// step into <gnc-v2>
+			GnucashStaxLoader.moveToTag(reader);
+			reader.next();
+
+			while (GnucashStaxLoader.moveToTag(reader) == XMLStreamConstants.START_ELEMENT) {
+				retval.add(unmarshaller.unmarshal(reader, GncTransaction.class).getValue());
+			}
+		} finally {
+			reader.close();
+		}
+
+		return retval;
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * Collects the transactions into chunks, hands full chunks to the pool and gathers the results in file-order.
+	 * Waits for the oldest chunk if too many are waiting, so the memory held is bounded.
+	 */
+	private class ChunkCollector {
+
+		private final ForkJoinPool pool;
+
+		private final byte[] rootTag;
+
+		private final List<Future<List<GncTransaction>>> chunks = new ArrayList<Future<List<GncTransaction>>>();
+
+		private final List<GncTransaction> result = new ArrayList<GncTransaction>();
+
+		/**
+		 * Number of chunks whose transactions are in {@link #result} already.
+		 */
+		private int collected = 0;
+
+		private ByteArrayOutputStream chunk = null;
+
+		private int chunkTransactions = 0;
+
+		private ChunkCollector(final ForkJoinPool pPool, final byte[] pRootTag) {
+			pool = pPool;
+			rootTag = pRootTag;
+		}
+
+		/**
+		 * @return where to copy the next transaction to
+		 */
+		private OutputStream getChunk() {
+			if (chunk == null) {
+				chunk = new ByteArrayOutputStream(CHUNK_SIZE + CHUNK_SIZE / 4);
+				chunk.write(rootTag, 0, rootTag.length);
+			}
+			return chunk;
+		}
+
+		/**
+		 * A transaction has been copied to the chunk.
+		 */
+		private void transactionAdded() throws XMLStreamException, JAXBException {
+			chunkTransactions++;
+			if (chunk.size() >= CHUNK_SIZE) {
+				submit();
+			}
+		}
+
+		/**
+		 * Hands the current chunk to the pool (if there is one).
+		 */
+		private void submit() throws XMLStreamException, JAXBException {
+			if (chunk == null) {
+				return;
+			}
+
+			chunk.write(ROOT_END, 0, ROOT_END.length);
+			final byte[] doc = chunk.toByteArray();
+			final int size = chunkTransactions;
+			chunk = null;
+			chunkTransactions = 0;
+			chunks.add(pool.submit(() -> parseChunk(doc, size)));
+
+			while (chunks.size() - collected > parallelism * CHUNKS_PER_THREAD) {
+				collectNext();
+			}
+		}
+
+		/**
+		 * @return all transactions in file-order (after the last {@link #submit()})
+		 */
+		private List<GncTransaction> getResult() throws XMLStreamException, JAXBException {
+			while (collected < chunks.size()) {
+				collectNext();
+			}
+			return result;
+		}
+
+		private int getChunkCount() {
+			return chunks.size();
+		}
+
+		private void collectNext() throws XMLStreamException, JAXBException {
+			try {
+				result.addAll(chunks.get(collected).get());
+				// the futures are kept for the count only
+				chunks.set(collected, null);
+				collected++;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof XMLStreamException) {
+					throw (XMLStreamException) e.getCause();
+				}
+				if (e.getCause() instanceof JAXBException) {
+					throw (JAXBException) e.getCause();
+				}
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+	}
+
+	/**
+	 * Reads a stream through a buffer of bounded size and copies it on to an output in runs.
+	 */
+	private static class ByteScanner {
+
+		private final InputStream in;
+
+		private final byte[] buf = new byte[BUFFER_SIZE];
+
+		/**
+		 * The next byte to copy.
+		 */
+		private int pos = 0;
+
+		/**
+		 * The end of the valid bytes in {@link #buf}.
+		 */
+		private int limit = 0;
+
+		/**
+		 * The offset in the stream of buf[0].
+		 */
+		private long bufOffset = 0;
+
+		private boolean eof = false;
+
+		private ByteScanner(final InputStream pIn) {
+			in = pIn;
+		}
+
+		/**
+		 * @return the offset of the next byte in the stream
+		 */
+		private long getOffset() {
+			return bufOffset + pos;
+		}
+
+		/**
+		 * @param n number of bytes
+		 * @return false if the stream ends before that many bytes are available after pos
+		 */
+		private boolean ensure(final int n) throws IOException {
+			if (limit - pos >= n) {
+				return true;
+			}
+			if (pos > 0) {
+				System.arraycopy(buf, pos, buf, 0, limit - pos);
+				bufOffset += pos;
+				limit -= pos;
+				pos = 0;
+			}
+			while (limit < n && !eof) {
+				int read = in.read(buf, limit, buf.length - limit);
+				if (read < 0) {
+					eof = true;
+				} else {
+					limit += read;
+				}
+			}
+			return limit >= n;
+		}
+
+		/**
+		 * Copies everything up to (not including) the next occurrence of b.
+		 *
+		 * @return false if the stream ended before (everything copied)
+		 */
+		private boolean copyUntil(final byte b, final OutputStream out) throws IOException {
+			while (true) {
+				for (int i = pos; i < limit; i++) {
+					if (buf[i] == b) {
+						out.write(buf, pos, i - pos);
+						pos = i;
+						return true;
+					}
+				}
+				out.write(buf, pos, limit - pos);
+				pos = limit;
+				if (!ensure(1)) {
+					return false;
+				}
+			}
+		}
+
+		/**
+		 * Copies the rest of the stream.
+		 */
+		private void copyAll(final OutputStream out) throws IOException {
+			do {
+				out.write(buf, pos, limit - pos);
+				pos = limit;
+			} while (ensure(1));
+		}
+
+		/**
+		 * @param n number of bytes to copy (all available)
+		 */
+		private void copy(final int n, final OutputStream out) throws IOException {
+			out.write(buf, pos, n);
+			pos += n;
+		}
+
+		/**
+		 * Copies everything up to and including the next occurrence of the terminator.
+		 */
+		private void copyPast(final byte[] terminator, final OutputStream out) throws IOException, XMLStreamException {
+			long start = getOffset();
+			// the terminator must not overlap the start (e.g. "<!-->")
+			if (!ensure(1)) {
+				throw new XMLStreamException("markup at byte " + start + " not closed");
+			}
+			copy(1, out);
+			while (copyUntil(terminator[0], out)) {
+				if (startsWith(terminator)) {
+					copy(terminator.length, out);
+					return;
+				}
+				copy(1, out);
+			}
+			throw new XMLStreamException("markup at byte " + start + " not closed");
+		}
+
+		/**
+		 * Copies a start-tag (a '&gt;' in an attribute-value does not end it).
+		 *
+		 * @return true if it is an empty-element tag ("&lt;x/&gt;")
+		 */
+		private boolean copyStartTag(final OutputStream out) throws IOException, XMLStreamException {
+			long start = getOffset();
+			byte quote = 0;
+			byte last = 0;
+			while (ensure(1)) {
+				byte b = buf[pos];
+				copy(1, out);
+				if (quote != 0) {
+					if (b == quote) {
+						quote = 0;
+					}
+				} else if (b == '"' || b == '\'') {
+					quote = b;
+				} else if (b == '>') {
+					return last == '/';
+				}
+				last = b;
+			}
+			throw new XMLStreamException("tag at byte " + start + " not closed");
+		}
+
+		/**
+		 * @return true if the next bytes are the pattern
+		 */
+		private boolean startsWith(final byte[] pattern) throws IOException {
+			if (!ensure(pattern.length)) {
+				return false;
+			}
+			for (int j = 0; j < pattern.length; j++) {
+				if (buf[pos + j] != pattern[j]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * @param tagStart "&lt;" and a tag-name
+		 * @return true if the next bytes are a tag of exactly that name
+		 */
+		private boolean startsWithName(final byte[] tagStart) throws IOException {
+			return startsWith(tagStart) && ensure(tagStart.length + 1) && isNameEnd(buf[pos + tagStart.length]);
+		}
+	}
+
+}
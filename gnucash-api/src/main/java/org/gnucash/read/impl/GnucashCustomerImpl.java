@@ -3,22 +3,21 @@ package org.gnucash.read.impl;
 import java.text.NumberFormat;
 import java.util.Collection;
 import java.util.LinkedList;
-import java.util.List;
 import java.util.Locale;
 
+import org.gnucash.currency.CurrencyNameSpace;
 import org.gnucash.generated.GncV2;
 import org.gnucash.generated.ObjectFactory;
 import org.gnucash.numbers.FixedPointNumber;
+import org.gnucash.numbers.Money;
+import org.gnucash.numbers.MoneyAccumulator;
 import org.gnucash.read.GnucashCustomer;
 import org.gnucash.read.GnucashFile;
 import org.gnucash.read.GnucashGenerInvoice;
-import org.gnucash.read.GnucashGenerJob;
 import org.gnucash.read.auxiliary.GCshAddress;
 import org.gnucash.read.auxiliary.GCshBillTerms;
-import org.gnucash.read.auxiliary.GCshOwner;
 import org.gnucash.read.auxiliary.GCshTaxTable;
 import org.gnucash.read.impl.auxiliary.GCshAddressImpl;
-import org.gnucash.read.impl.spec.GnucashCustomerJobImpl;
 import org.gnucash.read.spec.GnucashCustomerInvoice;
 import org.gnucash.read.spec.GnucashCustomerJob;
 import org.gnucash.read.spec.GnucashJobInvoice;
@@ -270,6 +269,26 @@ public class GnucashCustomerImpl extends GnucashObjectImpl implements GnucashCus
     return retval;
   }
 
+  /**
+   * Invoices in another currency than the one of this customer are left out.
+   *
+   * @see GnucashCustomer#getIncomeGeneratedAsMoney(GnucashGenerInvoice.ReadVariant)
+   */
+  public Money getIncomeGeneratedAsMoney(final GnucashGenerInvoice.ReadVariant readVar) {
+    try {
+      if (readVar == GnucashGenerInvoice.ReadVariant.DIRECT) {
+        return sumAmounts(getPaidInvoices_direct(), false);
+      } else if (readVar == GnucashGenerInvoice.ReadVariant.VIA_JOB) {
+        return sumAmounts(getPaidInvoices_viaAllJobs(), false);
+      }
+    } catch (WrongInvoiceTypeException e) {
+      LOGGER.error("getIncomeGeneratedAsMoney: Serious error", e);
+      return newAccumulator().toMoney();
+    }
+
+    return null; // Compiler happy
+  }
+
   /**
    * @return formatted acording to the current locale's currency-format
    * @see #getIncomeGenerated()
@@ -349,6 +368,26 @@ public class GnucashCustomerImpl extends GnucashObjectImpl implements GnucashCus
     return retval;
   }
 
+  /**
+   * Invoices in another currency than the one of this customer are left out.
+   *
+   * @see GnucashCustomer#getOutstandingValueAsMoney(GnucashGenerInvoice.ReadVariant)
+   */
+  public Money getOutstandingValueAsMoney(final GnucashGenerInvoice.ReadVariant readVar) {
+    try {
+      if (readVar == GnucashGenerInvoice.ReadVariant.DIRECT) {
+        return sumAmounts(getUnpaidInvoices_direct(), true);
+      } else if (readVar == GnucashGenerInvoice.ReadVariant.VIA_JOB) {
+        return sumAmounts(getUnpaidInvoices_viaAllJobs(), true);
+      }
+    } catch (WrongInvoiceTypeException e) {
+      LOGGER.error("getOutstandingValueAsMoney: Serious error", e);
+      return newAccumulator().toMoney();
+    }
+
+    return null; // Compiler happy
+  }
+
   /**
    * @return Formatted acording to the current locale's currency-format
    * @see #getOutstandingValue()
@@ -367,23 +406,51 @@ public class GnucashCustomerImpl extends GnucashObjectImpl implements GnucashCus
   // -----------------------------------------------------------------
 
   /**
-   * @return the jobs that have this customer associated with them.
-   * @see GnucashCustomer#getGenerJobs()
+   * @param invoices invoices of this customer (customer- or job-invoices)
+   * @param unpaid   true for what is left to pay (incl. taxes), false for the net amounts
+   * @return the sum in the currency of this customer
    */
-  public java.util.Collection<GnucashCustomerJob> getJobs() throws WrongInvoiceTypeException {
+  private Money sumAmounts(final Collection<? extends GnucashGenerInvoice> invoices, final boolean unpaid)
+      throws WrongInvoiceTypeException {
+    MoneyAccumulator retval = newAccumulator();
+
+    for (GnucashGenerInvoice invc : invoices) {
+      SpecInvoiceCommon invcSpec = (SpecInvoiceCommon) invc;
+      Money amount = unpaid ? invcSpec.getAmountUnpaidWithTaxesAsMoney() : invcSpec.getAmountWithoutTaxesAsMoney();
+      if (!amount.getCurrencyID().equals(retval.getCurrencyID())
+          || !amount.getCurrencyNameSpace().equals(retval.getCurrencyNameSpace())) {
+        LOGGER.warn("sumAmounts: invoice id='" + invc.getId() + "' is in " + amount.getCurrencyID()
+            + ", not in the currency of customer id='" + getId() + "', leaving it out");
+        continue;
+      }
+      retval.add(amount);
+    }
 
-    List<GnucashCustomerJob> retval = new LinkedList<GnucashCustomerJob>();
+    return retval.toMoney();
+  }
 
-    for (GnucashGenerJob jobGener : getGnucashFile().getGenerJobs()) {
-      if (jobGener.getOwnerType().equals(GCshOwner.TYPE_CUSTOMER)) {
-        GnucashCustomerJob jobSpec = new GnucashCustomerJobImpl(jobGener);
-        if (jobSpec.getCustomerId().equals(getId())) {
-          retval.add(jobSpec);
-        }
-      }
+  /**
+   * @return an empty sum in the currency of this customer (the default-currency of the book if the file does not
+   *         give it)
+   */
+  private MoneyAccumulator newAccumulator() {
+    GncV2.GncBook.GncGncCustomer.CustCurrency currency = jwsdpPeer.getCustCurrency();
+    if (currency == null) {
+      return new MoneyAccumulator(CurrencyNameSpace.NAMESPACE_CURRENCY, getGnucashFile().getDefaultCurrencyID());
     }
 
-    return retval;
+    return new MoneyAccumulator(currency.getCmdtySpace(), currency.getCmdtyId());
+  }
+
+  // -----------------------------------------------------------------
+
+  /**
+   * @return the jobs that have this customer associated with them.
+   * @see GnucashCustomer#getGenerJobs()
+   */
+  public java.util.Collection<GnucashCustomerJob> getJobs() throws WrongInvoiceTypeException {
+
+    return getGnucashFile().getJobsByCustomer(this);
   }
 
   // -----------------------------------------------------------------
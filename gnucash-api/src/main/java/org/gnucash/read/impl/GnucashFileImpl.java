@@ -10,23 +10,36 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.text.DateFormat;
-import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Date;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.zip.GZIPInputStream;
 
+import javax.xml.stream.XMLStreamException;
+
 import org.gnucash.Const;
 import org.gnucash.currency.ComplexCurrencyTable;
 import org.gnucash.generated.GncAccount;
@@ -50,6 +63,7 @@ import org.gnucash.read.GnucashTransaction;
 import org.gnucash.read.GnucashTransactionSplit;
 import org.gnucash.read.GnucashVendor;
 import org.gnucash.read.auxiliary.GCshBillTerms;
+import org.gnucash.read.auxiliary.GCshOwner;
 import org.gnucash.read.auxiliary.GCshTaxTable;
 import org.gnucash.read.impl.auxiliary.GCshBillTermsImpl;
 import org.gnucash.read.impl.auxiliary.GCshTaxTableImpl;
@@ -57,6 +71,7 @@ import org.gnucash.read.impl.spec.GnucashCustomerInvoiceImpl;
 import org.gnucash.read.impl.spec.GnucashCustomerJobImpl;
 import org.gnucash.read.impl.spec.GnucashJobInvoiceImpl;
 import org.gnucash.read.impl.spec.GnucashVendorBillImpl;
+import org.gnucash.read.impl.spec.GnucashVendorJobImpl;
 import org.gnucash.read.spec.GnucashCustomerInvoice;
 import org.gnucash.read.spec.GnucashCustomerJob;
 import org.gnucash.read.spec.GnucashJobInvoice;
@@ -110,6 +125,56 @@ public class GnucashFileImpl implements GnucashFile {
     loadInputStream(is);
   }
 
+  /**
+   * @param pFile    the file to load and initialize from
+   * @param pOptions how to load the file
+   * @throws IOException on low level reading-errors (FileNotFoundException if not found)
+   * @see #loadFile(File)
+   */
+  public GnucashFileImpl(final File pFile, final LoadOptions pOptions) throws IOException {
+    super();
+    setLoadOptions(pOptions);
+    loadFile(pFile);
+  }
+
+  /**
+   * @param is       the (plain) xml-stream to load and initialize from
+   * @param pOptions how to load the stream
+   * @throws IOException on low level reading-errors
+   * @see #loadInputStream(InputStream)
+   */
+  public GnucashFileImpl(final InputStream is, final LoadOptions pOptions) throws IOException {
+    super();
+    setLoadOptions(pOptions);
+    loadInputStream(is);
+  }
+
+  // ---------------------------------------------------------------
+
+  /**
+   * @see #getLoadOptions()
+   */
+  private LoadOptions loadOptions = new LoadOptions();
+
+  /**
+   * @return how this file has been loaded
+   */
+  public LoadOptions getLoadOptions() {
+    return loadOptions;
+  }
+
+  /**
+   * Internal method, only to be called before loading.
+   *
+   * @param pOptions how to load the file
+   */
+  protected void setLoadOptions(final LoadOptions pOptions) {
+    if (pOptions == null) {
+      throw new IllegalArgumentException("null not allowed for field this.loadOptions");
+    }
+    loadOptions = pOptions;
+  }
+
   // ---------------------------------------------------------------
 
   /**
@@ -117,6 +182,7 @@ public class GnucashFileImpl implements GnucashFile {
    * @link #currencyTable
    */
   public ComplexCurrencyTable getCurrencyTable() {
+    ensureLoaded(LoadOptions.EntityFamily.PRICES);
     return currencyTable;
   }
 
@@ -124,6 +190,7 @@ public class GnucashFileImpl implements GnucashFile {
    * @return a read-only collection of all accounts
    */
   public Collection<GnucashAccount> getAccounts() {
+    ensureLoaded(LoadOptions.EntityFamily.ACCOUNTS);
     if (accountID2account == null) {
       throw new IllegalStateException("no root-element loaded");
     }
@@ -157,17 +224,29 @@ public class GnucashFileImpl implements GnucashFile {
    * @return the identified tax table or null
    */
   public GCshTaxTable getTaxTableByName(final String name) {
-    if (taxTablesById == null) {
-      getTaxTables();
-    }
+    return getTaxTableNameIndex().get(name);
+  }
 
-    for (GCshTaxTable taxTab : taxTablesById.values()) {
-      if (taxTab.getName().equals(name)) {
-        return taxTab;
-      }
-    }
+  /**
+   * @param prefix the start of the name of a tax table (ignoring the case)
+   * @return the tax tables whose name starts with it, sorted by name
+   */
+  public List<GCshTaxTable> getTaxTablesByNamePrefix(final String prefix) {
+    return getTaxTableNameIndex().getByPrefix(prefix);
+  }
 
-    return null;
+  /**
+   * The tax tables by name, built on first use (they cannot be changed).
+   */
+  private volatile NameIndex<GCshTaxTable> taxTableNameIndex;
+
+  private NameIndex<GCshTaxTable> getTaxTableNameIndex() {
+    NameIndex<GCshTaxTable> retval = taxTableNameIndex;
+    if (retval == null) {
+      retval = new NameIndex<GCshTaxTable>(getTaxTables(), GCshTaxTable::getName, GCshTaxTable::getId);
+      taxTableNameIndex = retval;
+    }
+    return retval;
   }
 
   /**
@@ -178,12 +257,7 @@ public class GnucashFileImpl implements GnucashFile {
     if (taxTablesById == null) {
       taxTablesById = new HashMap<String, GCshTaxTable>();
 
-      List<Object> bookElements = this.getRootElement().getGncBook().getBookElements();
-      for (Object bookElement : bookElements) {
-        if (!(bookElement instanceof GncV2.GncBook.GncGncTaxTable)) {
-          continue;
-        }
-        GncV2.GncBook.GncGncTaxTable jwsdpPeer = (GncV2.GncBook.GncGncTaxTable) bookElement;
+      for (GncV2.GncBook.GncGncTaxTable jwsdpPeer : getBookElementsOfType(GncV2.GncBook.GncGncTaxTable.class)) {
         GCshTaxTableImpl taxTab = new GCshTaxTableImpl(jwsdpPeer, this);
         taxTablesById.put(taxTab.getId(), taxTab);
       }
@@ -261,17 +335,29 @@ public class GnucashFileImpl implements GnucashFile {
    * @return the identified bill-terms item or null
    */
   public GCshBillTerms getBillTermsByName(final String name) {
-    if (billTermsByID == null) {
-      getBillTerms();
-    }
+    return getBillTermsNameIndex().get(name);
+  }
 
-    for (GCshBillTerms billTerms : billTermsByID.values()) {
-      if (billTerms.getName().equals(name)) {
-        return billTerms;
-      }
-    }
+  /**
+   * @param prefix the start of the name of a bill terms item (ignoring the case)
+   * @return the bill terms items whose name starts with it, sorted by name
+   */
+  public List<GCshBillTerms> getBillTermsByNamePrefix(final String prefix) {
+    return getBillTermsNameIndex().getByPrefix(prefix);
+  }
 
-    return null;
+  /**
+   * The bill terms by name, built on first use (they cannot be changed).
+   */
+  private volatile NameIndex<GCshBillTerms> billTermsNameIndex;
+
+  private NameIndex<GCshBillTerms> getBillTermsNameIndex() {
+    NameIndex<GCshBillTerms> retval = billTermsNameIndex;
+    if (retval == null) {
+      retval = new NameIndex<GCshBillTerms>(getBillTerms(), GCshBillTerms::getName, GCshBillTerms::getId);
+      billTermsNameIndex = retval;
+    }
+    return retval;
   }
 
   /**
@@ -282,12 +368,7 @@ public class GnucashFileImpl implements GnucashFile {
     if (billTermsByID == null) {
       billTermsByID = new HashMap<String, GCshBillTerms>();
 
-      List<Object> bookElements = this.getRootElement().getGncBook().getBookElements();
-      for (Object bookElement : bookElements) {
-        if (!(bookElement instanceof GncV2.GncBook.GncGncBillTerm)) {
-          continue;
-        }
-        GncV2.GncBook.GncGncBillTerm jwsdpPeer = (GncV2.GncBook.GncGncBillTerm) bookElement;
+      for (GncV2.GncBook.GncGncBillTerm jwsdpPeer : getBookElementsOfType(GncV2.GncBook.GncGncBillTerm.class)) {
         GCshBillTermsImpl billTerms = new GCshBillTermsImpl(jwsdpPeer);
         billTermsByID.put(billTerms.getId(), billTerms);
       }
@@ -303,16 +384,7 @@ public class GnucashFileImpl implements GnucashFile {
    */
   public Collection<? extends GnucashAccount> getRootAccounts() {
     try {
-      Collection<GnucashAccount> retval = new TreeSet<GnucashAccount>();
-
-      for (GnucashAccount account : getAccounts()) {
-        if (account.getParentAccountId() == null) {
-          retval.add(account);
-        }
-
-      }
-
-      return retval;
+      return getAccountsByParentID(null);
     } catch (RuntimeException e) {
       LOGGER.error(bundle.getMessage("FatNoRootAccounts"));
       throw e;
@@ -327,49 +399,168 @@ public class GnucashFileImpl implements GnucashFile {
    * @return the sorted collection of children of that account
    */
   public Collection<GnucashAccount> getAccountsByParentID(final String id) {
-    if (accountID2account == null) {
+    ensureLoaded(LoadOptions.EntityFamily.ACCOUNTS);
+    if (parentID2children == null) {
       throw new IllegalStateException("no root-element loaded");
     }
 
+    // sorted on every call, as the order depends on the (qualified) names,
+    // which may have changed since the account has been indexed
     SortedSet<GnucashAccount> retval = new TreeSet<GnucashAccount>();
+    List<GnucashAccount> children = parentID2children.get(id);
+    if (children != null) {
+      retval.addAll(children);
+    }
 
-    for (Object element : accountID2account.values()) {
-      GnucashAccount account = (GnucashAccount) element;
+    return retval;
+  }
 
-      String parent = account.getParentAccountId();
-      if (parent == null) {
-        if (id == null) {
-          retval.add((GnucashAccount) account);
-        }
-      } else {
-        if (parent.equals(id)) {
-          retval.add((GnucashAccount) account);
-        }
-      }
+  /**
+   * Registers an account in {@link #parentID2children} under its current parent.
+   *
+   * @param account the account just created
+   */
+  protected void addToParentIndex(final GnucashAccount account) {
+    parentID2children.computeIfAbsent(account.getParentAccountId(), k -> new ArrayList<GnucashAccount>())
+        .add(account);
+  }
+
+  /**
+   * Removes an account from {@link #parentID2children}.
+   *
+   * @param account  the account to remove
+   * @param parentID the parent it has been registered under (null for a root-account)
+   */
+  protected void removeFromParentIndex(final GnucashAccount account, final String parentID) {
+    List<GnucashAccount> children = parentID2children.get(parentID);
+    if (children == null) {
+      return;
     }
+    children.remove(account);
+    if (children.isEmpty()) {
+      parentID2children.remove(parentID);
+    }
+  }
 
-    return retval;
+  /**
+   * To be called after the parent of an account has been changed.
+   *
+   * @param account     the account that has been moved
+   * @param oldParentID the parent before the change (null for a root-account)
+   */
+  protected void updateParentIndex(final GnucashAccount account, final String oldParentID) {
+    if (parentID2children == null) {
+      return;
+    }
+    removeFromParentIndex(account, oldParentID);
+    addToParentIndex(account);
   }
 
   /**
+   * Looks up the unqualified name first, then the qualified one ("Aktiva::Bank::Giro").
+   *
    * @see GnucashFile#getAccountByName(java.lang.String)
    */
   public GnucashAccount getAccountByName(final String name) {
+    ensureLoaded(LoadOptions.EntityFamily.ACCOUNTS);
 
     if (accountID2account == null) {
       throw new IllegalStateException("no root-element loaded");
     }
 
-    for (GnucashAccount account : accountID2account.values()) {
-      if (account.getName().equals(name)) {
-        return account;
+    AccountNameIndex index = getAccountNameIndex();
+    GnucashAccount retval = index.getByName(name);
+    if (retval == null) {
+      retval = index.getByQualifiedName(name);
+    }
+
+    return retval;
+  }
+
+  /**
+   * @return the name-index for the current state of the accounts (built if needed)
+   */
+  private AccountNameIndex getAccountNameIndex() {
+    AccountNameIndex retval = accountNameIndex;
+    if (retval == null) {
+      retval = new AccountNameIndex(accountID2account.values());
+      accountNameIndex = retval;
+    }
+    return retval;
+  }
+
+  /**
+   * To be called when the accounts have been (re-)loaded. Drops the name-index and the cached qualified names of all
+   * accounts.
+   *
+   * @see SimpleAccount#getQualifiedName()
+   */
+  protected void accountNamesChanged() {
+    accountNamesVersion.incrementAndGet();
+    accountNameIndex = null;
+  }
+
+  /**
+   * To be called after an account has been renamed or moved. Drops the cached qualified names and files the account
+   * and all accounts below it under their new names.
+   *
+   * @param account the account that has been renamed or moved
+   */
+  protected void accountNamesChanged(final GnucashAccount account) {
+    accountNamesVersion.incrementAndGet();
+    AccountNameIndex index = accountNameIndex;
+    if (index == null) {
+      return;
+    }
+
+    List<GnucashAccount> subtree = new ArrayList<GnucashAccount>();
+    subtree.add(account);
+    for (int i = 0; i < subtree.size(); i++) {
+      index.update(subtree.get(i));
+      List<GnucashAccount> children = parentID2children.get(subtree.get(i).getId());
+      if (children != null) {
+        subtree.addAll(children);
       }
-      if (account.getQualifiedName().equals(name)) {
-        return account;
+    }
+  }
+
+  /**
+   * Files an account just created in the name-index.
+   *
+   * @param account the new account
+   */
+  protected void addToAccountNameIndex(final GnucashAccount account) {
+    AccountNameIndex index = accountNameIndex;
+    if (index != null) {
+      index.add(account);
+    }
+  }
+
+  /**
+   * Removes an account from the name-index. The accounts below it (if any) are filed again, as their qualified
+   * names change.
+   *
+   * @param account the account removed
+   */
+  protected void removeFromAccountNameIndex(final GnucashAccount account) {
+    AccountNameIndex index = accountNameIndex;
+    if (index != null) {
+      index.remove(account);
+    }
+
+    List<GnucashAccount> children = parentID2children.get(account.getId());
+    if (children != null) {
+      for (GnucashAccount child : new ArrayList<GnucashAccount>(children)) {
+        accountNamesChanged(child);
       }
     }
+  }
 
-    return null;
+  /**
+   * @return increased whenever names of accounts change, so cached qualified names can be checked for being current
+   */
+  long getAccountNamesVersion() {
+    return accountNamesVersion.get();
   }
 
   /**
@@ -382,6 +573,7 @@ public class GnucashFileImpl implements GnucashFile {
    * @see #getAccountByName(String)
    */
   public GnucashAccount getAccountByNameEx(final String nameRegEx) {
+    ensureLoaded(LoadOptions.EntityFamily.ACCOUNTS);
 
     if (accountID2account == null) {
       throw new IllegalStateException("no root-element loaded");
@@ -443,6 +635,7 @@ public class GnucashFileImpl implements GnucashFile {
    * @see GnucashFile#getGenerInvoiceByID(java.lang.String)
    */
   public GnucashGenerInvoice getGenerInvoiceByID(final String id) {
+    ensureLoaded(LoadOptions.EntityFamily.INVOICES);
     if (invoiceID2invoice == null) {
       throw new IllegalStateException("no root-element loaded");
     }
@@ -455,10 +648,75 @@ public class GnucashFileImpl implements GnucashFile {
     return retval;
   }
 
+  /**
+   * @see GnucashFile#getGenerInvoiceByLotID(java.lang.String)
+   */
+  public GnucashGenerInvoice getGenerInvoiceByLotID(final String lotID) {
+    ensureLoaded(LoadOptions.EntityFamily.INVOICES);
+    if (lotID2invoice == null) {
+      throw new IllegalStateException("no root-element loaded");
+    }
+
+    return lotID2invoice.get(lotID);
+  }
+
+  /**
+   * Registers a (posted) invoice in {@link #lotID2invoice}.
+   *
+   * @param invc the invoice, ignored if it has no lot
+   */
+  protected void addToLotIndex(final GnucashGenerInvoice invc) {
+    String lotID = invc.getLotID();
+    if (lotID != null) {
+      lotID2invoice.put(lotID, invc);
+    }
+  }
+
+  /**
+   * @return the localized action of a split that pays an invoice (resolved once per load)
+   * @see GnucashTransactionSplit#getAction()
+   */
+  String getPaymentAction() {
+    return paymentAction;
+  }
+
+  /**
+   * @param type    one of GnucashGenerInvoice.TYPE_XYZ
+   * @param ownerID the id of the customer, vendor or job
+   * @return the invoices of that type directly owned by it (sorted)
+   */
+  protected List<GnucashGenerInvoice> getGenerInvoicesForOwner(final String type, final String ownerID) {
+    ensureLoaded(LoadOptions.EntityFamily.INVOICES);
+    if (invoiceOwnerIndex == null) {
+      throw new IllegalStateException("no root-element loaded");
+    }
+
+    return invoiceOwnerIndex.get(type, ownerID);
+  }
+
+  /**
+   * Registers an invoice in the owner-index under its current type and owner.
+   *
+   * @param invc the invoice just created or given another owner
+   */
+  protected void addToOwnerIndex(final GnucashGenerInvoice invc) {
+    invoiceOwnerIndex.add(invc);
+  }
+
+  /**
+   * @param type    the type the invoice has been registered with
+   * @param ownerID the (direct) owner it has been registered with
+   * @param invcID  the id of the invoice
+   */
+  protected void removeFromOwnerIndex(final String type, final String ownerID, final String invcID) {
+    invoiceOwnerIndex.remove(type, ownerID, invcID);
+  }
+
   /**
    * @see GnucashFile#getGenerInvoices()
    */
   public Collection<GnucashGenerInvoice> getGenerInvoices() {
+    ensureLoaded(LoadOptions.EntityFamily.INVOICES);
 
     Collection<GnucashGenerInvoice> c = invoiceID2invoice.values();
 
@@ -566,15 +824,13 @@ public class GnucashFileImpl implements GnucashFile {
       throws WrongInvoiceTypeException {
     Collection<GnucashCustomerInvoice> retval = new LinkedList<GnucashCustomerInvoice>();
 
-    for (GnucashGenerInvoice invc : getGenerInvoices()) {
-      if (invc.getOwnerId(GnucashGenerInvoice.ReadVariant.DIRECT).equals(cust.getId())) {
-        try {
-          retval.add(new GnucashCustomerInvoiceImpl(invc));
-        } catch (WrongInvoiceTypeException e) {
-          // This really should not happen, one can almost
-          // throw a fatal log here.
-          LOGGER.error(bundle.getMessage("FatNotInstCustInv", "getInvoicesForCustomer_direct"));
-        }
+    for (GnucashGenerInvoice invc : getGenerInvoicesForOwner(GnucashGenerInvoice.TYPE_CUSTOMER, cust.getId())) {
+      try {
+        retval.add(new GnucashCustomerInvoiceImpl(invc));
+      } catch (WrongInvoiceTypeException e) {
+        // This really should not happen, one can almost
+        // throw a fatal log here.
+        LOGGER.error(bundle.getMessage("FatNotInstCustInv", "getInvoicesForCustomer_direct"));
       }
     }
 
@@ -589,7 +845,7 @@ public class GnucashFileImpl implements GnucashFile {
       throws WrongInvoiceTypeException {
     Collection<GnucashJobInvoice> retval = new LinkedList<GnucashJobInvoice>();
 
-    for (GnucashCustomerJob job : cust.getJobs()) {
+    for (GnucashCustomerJob job : getJobsByCustomer(cust)) {
       for (GnucashJobInvoice jobInvc : job.getInvoices()) {
         retval.add(jobInvc);
       }
@@ -606,8 +862,8 @@ public class GnucashFileImpl implements GnucashFile {
       throws WrongInvoiceTypeException {
     Collection<GnucashCustomerInvoice> retval = new LinkedList<GnucashCustomerInvoice>();
 
-    for (GnucashGenerInvoice invc : getPaidGenerInvoices()) {
-      if (invc.getOwnerId(GnucashGenerInvoice.ReadVariant.DIRECT).equals(cust.getId())) {
+    for (GnucashGenerInvoice invc : getGenerInvoicesForOwner(GnucashGenerInvoice.TYPE_CUSTOMER, cust.getId())) {
+      if (invc.isInvcFullyPaid()) {
         try {
           retval.add(new GnucashCustomerInvoiceImpl(invc));
         } catch (WrongInvoiceTypeException e) {
@@ -629,7 +885,7 @@ public class GnucashFileImpl implements GnucashFile {
       throws WrongInvoiceTypeException {
     Collection<GnucashJobInvoice> retval = new LinkedList<GnucashJobInvoice>();
 
-    for (GnucashCustomerJob job : cust.getJobs()) {
+    for (GnucashCustomerJob job : getJobsByCustomer(cust)) {
       for (GnucashJobInvoice jobInvc : job.getPaidInvoices()) {
         retval.add(jobInvc);
       }
@@ -646,8 +902,8 @@ public class GnucashFileImpl implements GnucashFile {
       throws WrongInvoiceTypeException {
     Collection<GnucashCustomerInvoice> retval = new LinkedList<GnucashCustomerInvoice>();
 
-    for (GnucashGenerInvoice invc : getUnpaidGenerInvoices()) {
-      if (invc.getOwnerId(GnucashGenerInvoice.ReadVariant.DIRECT).equals(cust.getId())) {
+    for (GnucashGenerInvoice invc : getGenerInvoicesForOwner(GnucashGenerInvoice.TYPE_CUSTOMER, cust.getId())) {
+      if (invc.isNotInvcFullyPaid()) {
         try {
           retval.add(new GnucashCustomerInvoiceImpl(invc));
         } catch (WrongInvoiceTypeException e) {
@@ -669,7 +925,7 @@ public class GnucashFileImpl implements GnucashFile {
       throws WrongInvoiceTypeException {
     Collection<GnucashJobInvoice> retval = new LinkedList<GnucashJobInvoice>();
 
-    for (GnucashCustomerJob job : cust.getJobs()) {
+    for (GnucashCustomerJob job : getJobsByCustomer(cust)) {
       for (GnucashJobInvoice jobInvc : job.getUnpaidInvoices()) {
         retval.add(jobInvc);
       }
@@ -688,15 +944,13 @@ public class GnucashFileImpl implements GnucashFile {
       throws WrongInvoiceTypeException {
     Collection<GnucashVendorBill> retval = new LinkedList<GnucashVendorBill>();
 
-    for (GnucashGenerInvoice invc : getGenerInvoices()) {
-      if (invc.getOwnerId(GnucashGenerInvoice.ReadVariant.DIRECT).equals(vend.getId())) {
-        try {
-          retval.add(new GnucashVendorBillImpl(invc));
-        } catch (WrongInvoiceTypeException e) {
-          // This really should not happen, one can almost
-          // throw a fatal log here.
-          LOGGER.error(bundle.getMessage("FatNotInstVendBill", "getBillsForVendor"), e);
-        }
+    for (GnucashGenerInvoice invc : getGenerInvoicesForOwner(GnucashGenerInvoice.TYPE_VENDOR, vend.getId())) {
+      try {
+        retval.add(new GnucashVendorBillImpl(invc));
+      } catch (WrongInvoiceTypeException e) {
+        // This really should not happen, one can almost
+        // throw a fatal log here.
+        LOGGER.error(bundle.getMessage("FatNotInstVendBill", "getBillsForVendor"), e);
       }
     }
 
@@ -711,7 +965,7 @@ public class GnucashFileImpl implements GnucashFile {
       throws WrongInvoiceTypeException {
     Collection<GnucashJobInvoice> retval = new LinkedList<GnucashJobInvoice>();
 
-    for (GnucashVendorJob job : vend.getJobs()) {
+    for (GnucashVendorJob job : getJobsByVendor(vend)) {
       for (GnucashJobInvoice jobInvc : job.getInvoices()) {
         retval.add(jobInvc);
       }
@@ -728,8 +982,8 @@ public class GnucashFileImpl implements GnucashFile {
       throws WrongInvoiceTypeException {
     Collection<GnucashVendorBill> retval = new LinkedList<GnucashVendorBill>();
 
-    for (GnucashGenerInvoice invc : getPaidGenerInvoices()) {
-      if (invc.getOwnerId(GnucashGenerInvoice.ReadVariant.DIRECT).equals(vend.getId())) {
+    for (GnucashGenerInvoice invc : getGenerInvoicesForOwner(GnucashGenerInvoice.TYPE_VENDOR, vend.getId())) {
+      if (invc.isBillFullyPaid()) {
         try {
           retval.add(new GnucashVendorBillImpl(invc));
         } catch (WrongInvoiceTypeException e) {
@@ -751,7 +1005,7 @@ public class GnucashFileImpl implements GnucashFile {
       throws WrongInvoiceTypeException {
     Collection<GnucashJobInvoice> retval = new LinkedList<GnucashJobInvoice>();
 
-    for (GnucashVendorJob job : vend.getJobs()) {
+    for (GnucashVendorJob job : getJobsByVendor(vend)) {
       for (GnucashJobInvoice jobInvc : job.getPaidInvoices()) {
         retval.add(jobInvc);
       }
@@ -768,8 +1022,8 @@ public class GnucashFileImpl implements GnucashFile {
       throws WrongInvoiceTypeException {
     Collection<GnucashVendorBill> retval = new LinkedList<GnucashVendorBill>();
 
-    for (GnucashGenerInvoice invc : getUnpaidGenerInvoices()) {
-      if (invc.getOwnerId(GnucashGenerInvoice.ReadVariant.DIRECT).equals(vend.getId())) {
+    for (GnucashGenerInvoice invc : getGenerInvoicesForOwner(GnucashGenerInvoice.TYPE_VENDOR, vend.getId())) {
+      if (invc.isNotBillFullyPaid()) {
         try {
           retval.add(new GnucashVendorBillImpl(invc));
         } catch (WrongInvoiceTypeException e) {
@@ -791,7 +1045,7 @@ public class GnucashFileImpl implements GnucashFile {
       throws WrongInvoiceTypeException {
     Collection<GnucashJobInvoice> retval = new LinkedList<GnucashJobInvoice>();
 
-    for (GnucashVendorJob job : vend.getJobs()) {
+    for (GnucashVendorJob job : getJobsByVendor(vend)) {
       for (GnucashJobInvoice jobInvc : job.getUnpaidInvoices()) {
         retval.add(jobInvc);
       }
@@ -809,15 +1063,13 @@ public class GnucashFileImpl implements GnucashFile {
   public Collection<GnucashJobInvoice> getInvoicesForJob(final GnucashGenerJob job) throws WrongInvoiceTypeException {
     Collection<GnucashJobInvoice> retval = new LinkedList<GnucashJobInvoice>();
 
-    for (GnucashGenerInvoice invc : getGenerInvoices()) {
-      if (invc.getOwnerId(GnucashGenerInvoice.ReadVariant.DIRECT).equals(job.getId())) {
-        try {
-          retval.add(new GnucashJobInvoiceImpl(invc));
-        } catch (WrongInvoiceTypeException e) {
-          // This really should not happen, one can almost
-          // throw a fatal log here.
-          LOGGER.error(bundle.getMessage("FatNotInstJobInv", "getInvoicesForJob"), e);
-        }
+    for (GnucashGenerInvoice invc : getGenerInvoicesForOwner(GnucashGenerInvoice.TYPE_JOB, job.getId())) {
+      try {
+        retval.add(new GnucashJobInvoiceImpl(invc));
+      } catch (WrongInvoiceTypeException e) {
+        // This really should not happen, one can almost
+        // throw a fatal log here.
+        LOGGER.error(bundle.getMessage("FatNotInstJobInv", "getInvoicesForJob"), e);
       }
     }
 
@@ -832,8 +1084,8 @@ public class GnucashFileImpl implements GnucashFile {
       throws WrongInvoiceTypeException {
     Collection<GnucashJobInvoice> retval = new LinkedList<GnucashJobInvoice>();
 
-    for (GnucashGenerInvoice invc : getPaidGenerInvoices()) {
-      if (invc.getOwnerId(GnucashGenerInvoice.ReadVariant.DIRECT).equals(job.getId())) {
+    for (GnucashGenerInvoice invc : getGenerInvoicesForOwner(GnucashGenerInvoice.TYPE_JOB, job.getId())) {
+      if (invc.isJobFullyPaid()) {
         try {
           retval.add(new GnucashJobInvoiceImpl(invc));
         } catch (WrongInvoiceTypeException e) {
@@ -855,8 +1107,8 @@ public class GnucashFileImpl implements GnucashFile {
       throws WrongInvoiceTypeException {
     Collection<GnucashJobInvoice> retval = new LinkedList<GnucashJobInvoice>();
 
-    for (GnucashGenerInvoice invc : getUnpaidGenerInvoices()) {
-      if (invc.getOwnerId(GnucashGenerInvoice.ReadVariant.DIRECT).equals(job.getId())) {
+    for (GnucashGenerInvoice invc : getGenerInvoicesForOwner(GnucashGenerInvoice.TYPE_JOB, job.getId())) {
+      if (invc.isNotJobFullyPaid()) {
         try {
           retval.add(new GnucashJobInvoiceImpl(invc));
         } catch (WrongInvoiceTypeException e) {
@@ -876,6 +1128,7 @@ public class GnucashFileImpl implements GnucashFile {
    * @see GnucashFile#getGenerInvoiceByID(java.lang.String)
    */
   public GnucashGenerInvoiceEntry getGenerInvoiceEntryByID(final String id) {
+    ensureLoaded(LoadOptions.EntityFamily.INVOICES);
     if (invoiceEntryID2invoiceEntry == null) {
       throw new IllegalStateException("no root-element loaded");
     }
@@ -892,6 +1145,7 @@ public class GnucashFileImpl implements GnucashFile {
    * @see GnucashFile#getGenerInvoices()
    */
   public Collection<GnucashGenerInvoiceEntry> getInvoiceEntries() {
+    ensureLoaded(LoadOptions.EntityFamily.INVOICES);
 
     Collection<GnucashGenerInvoiceEntry> c = invoiceEntryID2invoiceEntry.values();
 
@@ -906,16 +1160,6 @@ public class GnucashFileImpl implements GnucashFile {
    */
   private File file;
 
-  /**
-   * @param pCmdtySpace the namespace for pCmdtyId
-   * @param pCmdtyId    the currency-name
-   * @return the latest price-quote in the gnucash-file in EURO
-   * @see {@link GnucashFile#getLatestPrice(String, String)}
-   */
-  public FixedPointNumber getLatestPrice(final String pCmdtySpace, final String pCmdtyId) {
-    return getLatestPrice(pCmdtySpace, pCmdtyId, 0);
-  }
-
   /**
    * the top-level Element of the gnucash-files parsed and checked for validity by JAXB.
    */
@@ -929,6 +1173,25 @@ public class GnucashFileImpl implements GnucashFile {
    */
   protected Map<String, GnucashAccount> accountID2account;
 
+  /**
+   * All accounts indexed by the id-String of their parent (null for the root-accounts), in no particular order.
+   *
+   * @see #getAccountsByParentID(String)
+   */
+  protected Map<String, List<GnucashAccount>> parentID2children;
+
+  /**
+   * The accounts by name and qualified name, built on first use.
+   *
+   * @see #accountNamesChanged()
+   */
+  private volatile AccountNameIndex accountNameIndex;
+
+  /**
+   * @see #getAccountNamesVersion()
+   */
+  private final AtomicLong accountNamesVersion = new AtomicLong();
+
   /**
    * All transactions indexed by their unique id-String.
    *
@@ -945,6 +1208,41 @@ public class GnucashFileImpl implements GnucashFile {
    */
   protected Map<String, GnucashTransactionSplit> transactionSplitID2transactionSplit;
 
+  /**
+   * Replaces {@link #transactionID2transaction} and {@link #transactionSplitID2transactionSplit} if
+   * {@link LoadOptions#isLazyTransactions()}.
+   */
+  private TransactionIndex transactionIndex;
+
+  /**
+   * The transactions and splits by posting-day. Built with the transactions, updated when they change.
+   *
+   * @see #getTransactionDateIndex()
+   */
+  private volatile TransactionDateIndex transactionDateIndex;
+
+  /**
+   * The words of the descriptions, numbers and memos of the transactions and their splits. Built on the first search.
+   *
+   * @see #findTransactions(String)
+   */
+  private volatile FullTextIndex transactionTextIndex;
+
+  /**
+   * The words of the memos of the splits (owned by their transactions). Built with {@link #transactionTextIndex}.
+   *
+   * @see #findTransactionSplits(String)
+   */
+  private volatile FullTextIndex splitTextIndex;
+
+  /**
+   * The words of the descriptions and numbers of the invoices and the descriptions of their entries. Built on the
+   * first search.
+   *
+   * @see #findGenerInvoices(String)
+   */
+  private volatile FullTextIndex invoiceTextIndex;
+
   /**
    * All customer/vendor invoices indexed by their unique id-String.
    *
@@ -953,6 +1251,25 @@ public class GnucashFileImpl implements GnucashFile {
    */
   protected Map<String, GnucashGenerInvoice> invoiceID2invoice;
 
+  /**
+   * All posted customer/vendor invoices indexed by the id-String of their lot.
+   *
+   * @see GnucashGenerInvoice#getLotID()
+   */
+  protected Map<String, GnucashGenerInvoice> lotID2invoice;
+
+  /**
+   * All customer/vendor invoices indexed by their type and their (direct) owner.
+   *
+   * @see #getGenerInvoicesForOwner(String, String)
+   */
+  private InvoiceOwnerIndex invoiceOwnerIndex;
+
+  /**
+   * @see #getPaymentAction()
+   */
+  private String paymentAction;
+
   /**
    * All customer/vendor invoice entries indexed by their unique id-String.
    *
@@ -969,6 +1286,14 @@ public class GnucashFileImpl implements GnucashFile {
    */
   protected Map<String, GnucashGenerJob> jobID2job;
 
+  /**
+   * All jobs indexed by the id-String of their customer or vendor.
+   *
+   * @see #getJobsByCustomer(GnucashCustomer)
+   * @see #getJobsByVendor(GnucashVendor)
+   */
+  protected Map<String, List<GnucashGenerJob>> ownerID2jobs;
+
   /**
    * All customers indexed by their unique id-String.
    *
@@ -998,9 +1323,12 @@ public class GnucashFileImpl implements GnucashFile {
   }
 
   /**
-   * Set the new root-element and load all accounts, transactions,... from it.
+   * Set the new root-element and load all accounts, transactions,... from it.<br/>
+   * Only the entity-families from {@link LoadOptions#getEntityFamilies()} (and what they depend on) are built here,
+   * the others on first access.
    *
    * @param pRootElement the new root-element
+   * @see #ensureLoaded(LoadOptions.EntityFamily)
    */
   protected void setRootElement(final GncV2 pRootElement) {
     if (pRootElement == null) {
@@ -1008,128 +1336,393 @@ public class GnucashFileImpl implements GnucashFile {
     }
     rootElement = pRootElement;
 
-    // fill prices
+    long start = System.currentTimeMillis();
+
+    // drop what we have been asked to drop (if the parser has not done so
+    // already)
+    Set<Class<?>> dropped = getLoadOptions().getDroppedBookElementTypes();
+    if (!dropped.isEmpty()) {
+      pRootElement.getGncBook().getBookElements().removeIf(elt -> dropped.contains(elt.getClass()));
+    }
+
+    // sort the book-elements by type (one pass), everything below
+    // works on these buckets
+    bookElementBuckets = new BookElementBuckets(pRootElement.getGncBook().getBookElements());
+
+    // check for unknown book-elements
+    for (Class<?> type : bookElementBuckets.getTypes()) {
+      if (!KNOWN_BOOK_ELEMENT_TYPES.contains(type)) {
+        throw new IllegalArgumentException("<gnc:book> contains unknown element [" + type.getName() + "]");
+      }
+    }
 
-    loadPriceDatabase(pRootElement);
     if (pRootElement.getGncBook().getBookSlots() == null) {
       pRootElement.getGncBook().setBookSlots((new ObjectFactory()).createSlotsType());
     }
     myGnucashObject = new GnucashObjectImpl(pRootElement.getGncBook().getBookSlots(), this);
 
-    // fill maps
-    initAccountMap(pRootElement);
+    // the families built now count as loaded right away, so the facades
+    // may use the getters while they are being built (as they always did)
+    transactionIndex = null;
+    transactionDateIndex = null;
+    transactionTextIndex = null;
+    splitTextIndex = null;
+    invoiceTextIndex = null;
+    paymentAction = bundle.getMessage("ACTION_PAYMENT");
+    Set<LoadOptions.EntityFamily> eager = getEagerFamilies();
+    synchronized (loadingFamilies) {
+      loadingFamilies.clear();
+      loadedFamilies.clear();
+      loadedFamilies.addAll(eager);
+    }
 
-    initGenerInvoiceMap(pRootElement);
+    long start2 = System.currentTimeMillis();
 
-    // invoiceEntries refer to invoices, therefore they must be loaded after
-    // them
-    initGenerInvoiceEntryMap(pRootElement);
+    if (getLoadOptions().isParallel()) {
+      if (eager.contains(LoadOptions.EntityFamily.PRICES)) {
+        loadPriceDatabase(pRootElement);
+      }
+      long start3 = System.currentTimeMillis();
 
-    // transactions refer to invoices, therefore they must be loaded after
-    // them
-    initTransactionMap(pRootElement);
+      initMapsParallel(pRootElement, eager);
 
-    initCustomerMap(pRootElement);
+      long end = System.currentTimeMillis();
+      LOGGER.debug("GnucashFileImpl.setRootElement took " + (end - start) + " ms (total) " + (start2 - start)
+          + " ms (bucketing) " + (start3 - start2) + " ms (prices) " + (end - start3) + " ms (" + eager
+          + ", parallel)");
+      return;
+    }
 
-    initVendorMap(pRootElement);
+    // fill maps (EnumSet iterates in the order of LoadOptions.EntityFamily)
+    StringBuilder timings = new StringBuilder();
+    for (LoadOptions.EntityFamily family : eager) {
+      long familyStart = System.currentTimeMillis();
+      initMaps(pRootElement, family);
+      timings.append(" " + (System.currentTimeMillis() - familyStart) + " ms (" + family + ")");
+    }
 
-    initJobMap(pRootElement);
+    long end = System.currentTimeMillis();
+    LOGGER.debug("GnucashFileImpl.setRootElement took " + (end - start) + " ms (total) " + (start2 - start)
+        + " ms (bucketing)" + timings);
+  }
 
-    // check for unknown book-elements
-    for (Iterator<Object> iter = pRootElement.getGncBook().getBookElements().iterator(); iter.hasNext();) {
-      Object bookElement = iter.next();
-      if (bookElement instanceof GncTransaction) {
-        continue;
-      }
-      if (bookElement instanceof GncV2.GncBook.GncSchedxaction) {
-        continue;
-      }
-      if (bookElement instanceof GncV2.GncBook.GncTemplateTransactions) {
-        continue;
-      }
-      if (bookElement instanceof GncAccount) {
-        continue;
-      }
-      if (bookElement instanceof GncV2.GncBook.GncGncInvoice) {
-        continue;
-      }
-      if (bookElement instanceof GncV2.GncBook.GncGncEntry) {
-        continue;
-      }
-      if (bookElement instanceof GncV2.GncBook.GncGncJob) {
-        continue;
-      }
-      if (bookElement instanceof GncV2.GncBook.GncGncCustomer) {
-        continue;
-      }
-      if (bookElement instanceof GncV2.GncBook.GncGncVendor) {
-        continue;
-      }
-      if (bookElement instanceof GncV2.GncBook.GncCommodity) {
-        continue;
-      }
-      if (bookElement instanceof GncPricedb) {
-        continue;
-      }
-      if (bookElement instanceof GncV2.GncBook.GncGncTaxTable) {
-        continue;
-      }
-      if (bookElement instanceof GncV2.GncBook.GncGncVendor.VendorTerms) {
-        continue;
+  /**
+   * The entity-families whose maps are complete.
+   *
+   * @see #ensureLoaded(LoadOptions.EntityFamily)
+   */
+  private final Set<LoadOptions.EntityFamily> loadedFamilies = ConcurrentHashMap.newKeySet();
+
+  /**
+   * The entity-families that are being built on first access right now (also serves as the lock for that).
+   *
+   * @see #ensureLoaded(LoadOptions.EntityFamily)
+   */
+  private final Set<LoadOptions.EntityFamily> loadingFamilies = EnumSet.noneOf(LoadOptions.EntityFamily.class);
+
+  /**
+   * @return the entity-families to build in {@link #setRootElement(GncV2)}
+   */
+  private Set<LoadOptions.EntityFamily> getEagerFamilies() {
+    // dropped families are empty anyway, so building them costs nothing
+    if (getLoadOptions().getSkipMode() == LoadOptions.SkipMode.DROP) {
+      return EnumSet.allOf(LoadOptions.EntityFamily.class);
+    }
+
+    Set<LoadOptions.EntityFamily> retval = EnumSet.noneOf(LoadOptions.EntityFamily.class);
+    for (LoadOptions.EntityFamily family : getLoadOptions().getEntityFamilies()) {
+      retval.add(family);
+      retval.addAll(getDependencies(family));
+    }
+    return retval;
+  }
+
+  /**
+   * @param family an entity-family
+   * @return the families that have to be built before it
+   */
+  private static Set<LoadOptions.EntityFamily> getDependencies(final LoadOptions.EntityFamily family) {
+    if (family == LoadOptions.EntityFamily.TRANSACTIONS) {
+      // splits register with their account and payments with their invoice
+      return EnumSet.of(LoadOptions.EntityFamily.ACCOUNTS, LoadOptions.EntityFamily.INVOICES);
+    }
+    return EnumSet.noneOf(LoadOptions.EntityFamily.class);
+  }
+
+  /**
+   * Builds the facades of an entity-family that has not been built while loading. Called by every method that
+   * accesses the maps of the family.
+   *
+   * @param family the entity-family that is about to be accessed
+   * @see LoadOptions.SkipMode#LAZY
+   */
+  protected void ensureLoaded(final LoadOptions.EntityFamily family) {
+    if (loadedFamilies.contains(family)) {
+      return;
+    }
+
+    synchronized (loadingFamilies) {
+      // nothing loaded yet or called again while building the family
+      if (rootElement == null || loadedFamilies.contains(family) || loadingFamilies.contains(family)) {
+        return;
       }
-      if (bookElement instanceof GncBudget) {
-        continue;
+
+      loadingFamilies.add(family);
+      try {
+        for (LoadOptions.EntityFamily dependency : getDependencies(family)) {
+          ensureLoaded(dependency);
+        }
+
+        long start = System.currentTimeMillis();
+        initMaps(rootElement, family);
+        loadedFamilies.add(family);
+        LOGGER.debug("ensureLoaded: built " + family + " on first access in " + (System.currentTimeMillis() - start)
+            + " ms");
+      } finally {
+        loadingFamilies.remove(family);
       }
-      if (bookElement instanceof GncV2.GncBook.GncGncBillTerm) {
-        continue;
+    }
+  }
+
+  /**
+   * @param pRootElement the root-element of the Gnucash-file
+   * @param family       the entity-family to build the maps for
+   */
+  private void initMaps(final GncV2 pRootElement, final LoadOptions.EntityFamily family) {
+    switch (family) {
+    case PRICES:
+      loadPriceDatabase(pRootElement);
+      break;
+    case ACCOUNTS:
+      initAccountMap(pRootElement);
+      break;
+    case INVOICES:
+      initGenerInvoiceMap(pRootElement);
+      // invoiceEntries refer to invoices, therefore they must be loaded after
+      // them
+      initGenerInvoiceEntryMap(pRootElement);
+      break;
+    case TRANSACTIONS:
+      // transactions refer to invoices, therefore they must be loaded after
+      // them
+      initTransactionMap(pRootElement);
+      break;
+    case CUSTOMERS:
+      initCustomerMap(pRootElement);
+      break;
+    case VENDORS:
+      initVendorMap(pRootElement);
+      break;
+    case JOBS:
+      initJobMap(pRootElement);
+      break;
+    default:
+      throw new IllegalArgumentException("unknown entity-family " + family);
+    }
+  }
+
+  /**
+   * The types of book-elements we know how to handle (or at least how to ignore).
+   *
+   * @see #setRootElement(GncV2)
+   */
+  private static final Set<Class<?>> KNOWN_BOOK_ELEMENT_TYPES = new HashSet<Class<?>>(Arrays.asList(
+      GncTransaction.class,
+      GncV2.GncBook.GncSchedxaction.class,
+      GncV2.GncBook.GncTemplateTransactions.class,
+      GncAccount.class,
+      GncV2.GncBook.GncGncInvoice.class,
+      GncV2.GncBook.GncGncEntry.class,
+      GncV2.GncBook.GncGncJob.class,
+      GncV2.GncBook.GncGncCustomer.class,
+      GncV2.GncBook.GncGncVendor.class,
+      GncV2.GncBook.GncCommodity.class,
+      GncPricedb.class,
+      GncV2.GncBook.GncGncTaxTable.class,
+      GncV2.GncBook.GncGncVendor.VendorTerms.class,
+      GncBudget.class,
+      GncV2.GncBook.GncGncBillTerm.class,
+      GncV2.GncBook.GncGncEmployee.class)); // TODO: create a Java-Class for employees like we have for customers
+
+  /**
+   * The book-elements sorted by type.
+   *
+   * @see #setRootElement(GncV2)
+   */
+  private BookElementBuckets bookElementBuckets;
+
+  /**
+   * @param <T>  the JAXB-type
+   * @param type the JAXB-class of the wanted book-elements
+   * @return read-only list of all book-elements of that type (in file-order)
+   */
+  protected <T> List<T> getBookElementsOfType(final Class<T> type) {
+    return bookElementBuckets.get(type);
+  }
+
+  /**
+   * Add an element to the book and keep the type-buckets in sync.
+   *
+   * @param bookElement the JAXB-element to add
+   */
+  protected void addBookElement(final Object bookElement) {
+    if (bookElement == null || !KNOWN_BOOK_ELEMENT_TYPES.contains(bookElement.getClass())) {
+      throw new IllegalArgumentException("unknown book-element [" + bookElement + "]");
+    }
+    // the facades of a family not built yet would otherwise include this
+    // element a second time
+    for (LoadOptions.EntityFamily family : LoadOptions.EntityFamily.values()) {
+      if (family.getBookElementTypes().contains(bookElement.getClass())) {
+        ensureLoaded(family);
       }
-      if (bookElement instanceof GncV2.GncBook.GncGncEmployee) {
-        continue; // TODO: create a Java-Class for employees like we have for customers
+    }
+    getRootElement().getGncBook().getBookElements().add(bookElement);
+    bookElementBuckets.add(bookElement);
+  }
+
+  /**
+   * Remove an element from the book and keep the type-buckets in sync.
+   *
+   * @param bookElement the JAXB-element to remove
+   */
+  protected void removeBookElement(final Object bookElement) {
+    getRootElement().getGncBook().getBookElements().remove(bookElement);
+    bookElementBuckets.remove(bookElement);
+  }
+
+  /**
+   * Fills the same maps as the sequential code in {@link #setRootElement(GncV2)}, but on a fork-join-pool. Types that
+   * do not refer to each other are built concurrently, the facades of one type with a parallel stream. The maps
+   * themselves are filled by one thread per map in file-order and are published to the caller by
+   * {@link ForkJoinTask#join()}.
+   *
+   * @param pRootElement the root-element of the Gnucash-file
+   * @param families     the entity-families to build
+   * @see LoadOptions#isParallel()
+   */
+  private void initMapsParallel(final GncV2 pRootElement, final Set<LoadOptions.EntityFamily> families) {
+    loadPool = new ForkJoinPool(getLoadOptions().getParallelism());
+    try {
+      // these only wrap their jaxb-peers
+      ForkJoinTask<?> accounts = submitIf(families, LoadOptions.EntityFamily.ACCOUNTS,
+          () -> initAccountMap(pRootElement));
+      ForkJoinTask<?> invoices = submitIf(families, LoadOptions.EntityFamily.INVOICES,
+          () -> initGenerInvoiceMap(pRootElement));
+      ForkJoinTask<?> customers = submitIf(families, LoadOptions.EntityFamily.CUSTOMERS,
+          () -> initCustomerMap(pRootElement));
+      ForkJoinTask<?> vendors = submitIf(families, LoadOptions.EntityFamily.VENDORS,
+          () -> initVendorMap(pRootElement));
+      ForkJoinTask<?> jobs = submitIf(families, LoadOptions.EntityFamily.JOBS, () -> initJobMap(pRootElement));
+
+      // invoiceEntries refer to invoices, therefore they must be loaded after
+      // them
+      invoices.join();
+      ForkJoinTask<?> entries = submitIf(families, LoadOptions.EntityFamily.INVOICES,
+          () -> initGenerInvoiceEntryMap(pRootElement));
+
+      // transactions refer to accounts and invoices, therefore they must be
+      // loaded after them (and after the entries, as in sequential loading)
+      accounts.join();
+      entries.join();
+      submitIf(families, LoadOptions.EntityFamily.TRANSACTIONS, () -> initTransactionMap(pRootElement)).join();
+
+      customers.join();
+      vendors.join();
+      jobs.join();
+    } finally {
+      loadPool.shutdown();
+      loadPool = null;
+    }
+  }
+
+  /**
+   * @return the submitted task or a no-op task if the family is not to be built
+   */
+  private ForkJoinTask<?> submitIf(final Set<LoadOptions.EntityFamily> families,
+      final LoadOptions.EntityFamily family, final Runnable task) {
+    if (!families.contains(family)) {
+      // nothing to do, but the caller wants something to join
+      return loadPool.submit(() -> {
+      });
+    }
+    return loadPool.submit(task);
+  }
+
+  /**
+   * Only set while {@link #initMapsParallel(GncV2, Set)} runs.
+   */
+  private ForkJoinPool loadPool;
+
+  /**
+   * @param <T>     the JAXB-type
+   * @param <F>     the facade-type
+   * @param peers   the JAXB-objects to wrap
+   * @param factory creates the facade for one peer (may return null)
+   * @return the facades in the order of the peers
+   */
+  private <T, F> List<F> createFacades(final List<T> peers, final Function<T, F> factory) {
+    if (loadPool == null) {
+      List<F> retval = new ArrayList<F>(peers.size());
+      for (T peer : peers) {
+        retval.add(factory.apply(peer));
       }
-      throw new IllegalArgumentException(
-          "<gnc:book> contains unknown element [" + bookElement.getClass().getName() + "]");
+      return retval;
     }
+
+    // we are running inside loadPool, so the stream uses its threads
+    return peers.parallelStream().map(factory).collect(Collectors.toList());
   }
 
   private void initAccountMap(final GncV2 pRootElement) {
     accountID2account = new HashMap<>();
+    parentID2children = new HashMap<>();
 
-    for (Iterator<Object> iter = pRootElement.getGncBook().getBookElements().iterator(); iter.hasNext();) {
-      Object bookElement = iter.next();
-      if (!(bookElement instanceof GncAccount)) {
-        continue;
-      }
-      GncAccount jwsdpAcct = (GncAccount) bookElement;
-
+    List<GnucashAccount> facades = createFacades(getBookElementsOfType(GncAccount.class), jwsdpAcct -> {
       try {
-        GnucashAccount acct = createAccount(jwsdpAcct);
-        accountID2account.put(acct.getId(), acct);
+        return createAccount(jwsdpAcct);
       } catch (RuntimeException e) {
         LOGGER.error(bundle.getMessage("Err_RuntimeExcpIgn", getClass().getName(), "initAccountMap", "Account-Entry",
             jwsdpAcct.getActId().getValue()));
+        return null;
+      }
+    });
+
+    for (GnucashAccount facade : facades) {
+      if (facade == null) {
+        continue;
       }
+      accountID2account.put(facade.getId(), facade);
+      addToParentIndex(facade);
     } // for
 
+    // names may have been cached while not all parents were known yet
+    accountNamesChanged();
+
     LOGGER.debug("No. of entries in account map: " + accountID2account.size());
   }
 
   private void initGenerInvoiceMap(final GncV2 pRootElement) {
     invoiceID2invoice = new HashMap<>();
+    lotID2invoice = new HashMap<>();
+    invoiceOwnerIndex = new InvoiceOwnerIndex();
 
-    for (Iterator<Object> iter = pRootElement.getGncBook().getBookElements().iterator(); iter.hasNext();) {
-      Object bookElement = iter.next();
-      if (!(bookElement instanceof GncV2.GncBook.GncGncInvoice)) {
-        continue;
-      }
-      GncV2.GncBook.GncGncInvoice jwsdpInvc = (GncV2.GncBook.GncGncInvoice) bookElement;
-
+    List<GnucashGenerInvoice> facades = createFacades(getBookElementsOfType(GncV2.GncBook.GncGncInvoice.class), jwsdpInvc -> {
       try {
-        GnucashGenerInvoice invc = createGenerInvoice(jwsdpInvc);
-        invoiceID2invoice.put(invc.getId(), invc);
+        return createGenerInvoice(jwsdpInvc);
       } catch (RuntimeException e) {
         LOGGER.error(bundle.getMessage("Err_RuntimeExcpIgn", getClass().getName(), "initInvoiceMap", "Invoice-Entry",
             jwsdpInvc.getInvoiceId()));
+        return null;
       }
+    });
+
+    for (GnucashGenerInvoice facade : facades) {
+      if (facade == null) {
+        continue;
+      }
+      invoiceID2invoice.put(facade.getId(), facade);
+      addToLotIndex(facade);
+      invoiceOwnerIndex.add(facade);
     } // for
 
     LOGGER.debug("No. of entries in (generic) invoice map: " + invoiceID2invoice.size());
@@ -1138,119 +1731,157 @@ public class GnucashFileImpl implements GnucashFile {
   private void initGenerInvoiceEntryMap(final GncV2 pRootElement) {
     invoiceEntryID2invoiceEntry = new HashMap<>();
 
-    for (Iterator<Object> iter = pRootElement.getGncBook().getBookElements().iterator(); iter.hasNext();) {
-      Object bookElement = iter.next();
-      if (!(bookElement instanceof GncV2.GncBook.GncGncEntry)) {
-        continue;
-      }
-      GncV2.GncBook.GncGncEntry jwsdpInvcEntr = (GncV2.GncBook.GncGncEntry) bookElement;
-
+    List<GnucashGenerInvoiceEntry> facades = createFacades(getBookElementsOfType(GncV2.GncBook.GncGncEntry.class), jwsdpInvcEntr -> {
       try {
-        GnucashGenerInvoiceEntry invcEntr = createGenerInvoiceEntry(jwsdpInvcEntr);
-        invoiceEntryID2invoiceEntry.put(invcEntr.getId(), invcEntr);
+        return createGenerInvoiceEntry(jwsdpInvcEntr);
       } catch (RuntimeException e) {
         LOGGER.error(bundle.getMessage("Err_RuntimeExcpIgn", getClass().getName(), "initInvoiceEntryMap",
             "(generic) Invoice-Entry-Entry", jwsdpInvcEntr.getEntryGuid().getValue()));
+        return null;
+      }
+    });
+
+    for (GnucashGenerInvoiceEntry facade : facades) {
+      if (facade == null) {
+        continue;
       }
+      invoiceEntryID2invoiceEntry.put(facade.getId(), facade);
     } // for
 
     LOGGER.debug("No. of entries in (generic) invoice-entry map: " + invoiceEntryID2invoiceEntry.size());
   }
 
   private void initTransactionMap(final GncV2 pRootElement) {
+    transactionDateIndex = new TransactionDateIndex(getBookElementsOfType(GncTransaction.class));
+
+    if (getLoadOptions().isLazyTransactions()) {
+      transactionIndex = new TransactionIndex(getBookElementsOfType(GncTransaction.class), paymentAction);
+      LOGGER.debug("No. of entries in transaction index: " + transactionIndex.size());
+      return;
+    }
+
     transactionID2transaction = new HashMap<>();
     transactionSplitID2transactionSplit = new HashMap<>();
 
-    for (Iterator<Object> iter = pRootElement.getGncBook().getBookElements().iterator(); iter.hasNext();) {
-      Object bookElement = iter.next();
-      if (!(bookElement instanceof GncTransaction)) {
-        continue;
-      }
-      GncTransaction jwsdpTrx = (GncTransaction) bookElement;
-
+    List<GnucashTransactionImpl> facades = createFacades(getBookElementsOfType(GncTransaction.class), jwsdpTrx -> {
+      GnucashTransactionImpl trx = null;
       try {
-        GnucashTransactionImpl trx = createTransaction(jwsdpTrx);
-        transactionID2transaction.put(trx.getId(), trx);
-        for (GnucashTransactionSplit splt : trx.getSplits()) {
-          transactionSplitID2transactionSplit.put(splt.getId(), splt);
-        }
+        trx = createTransaction(jwsdpTrx);
+        // create the splits (and register them with their accounts) here, too
+        trx.getSplits();
       } catch (RuntimeException e) {
         LOGGER.error(bundle.getMessage("Err_RuntimeExcpIgn", getClass().getName(), "initTransactionMap",
             "Transaction-Entry", jwsdpTrx.getTrnId().getValue()));
       }
+      return trx;
+    });
+
+    for (GnucashTransactionImpl facade : facades) {
+      if (facade == null) {
+        continue;
+      }
+      transactionID2transaction.put(facade.getId(), facade);
+      for (GnucashTransactionSplit splt : facade.getSplits()) {
+        transactionSplitID2transactionSplit.put(splt.getId(), splt);
+      }
     } // for
 
+    // sort the splits of all accounts in one go now instead of one account
+    // after the other on first access
+    for (GnucashAccount acct : accountID2account.values()) {
+      if (acct instanceof GnucashAccountImpl) {
+        ((GnucashAccountImpl) acct).sortTransactionSplits();
+      }
+    }
+
     LOGGER.debug("No. of entries in transaction map: " + transactionID2transaction.size());
   }
 
   private void initCustomerMap(final GncV2 pRootElement) {
     customerID2customer = new HashMap<>();
 
-    for (Iterator<Object> iter = pRootElement.getGncBook().getBookElements().iterator(); iter.hasNext();) {
-      Object bookElement = iter.next();
-      if (!(bookElement instanceof GncV2.GncBook.GncGncCustomer)) {
-        continue;
-      }
-      GncV2.GncBook.GncGncCustomer jwsdpCust = (GncV2.GncBook.GncGncCustomer) bookElement;
-
+    List<GnucashCustomerImpl> facades = createFacades(getBookElementsOfType(GncV2.GncBook.GncGncCustomer.class), jwsdpCust -> {
       try {
-        GnucashCustomerImpl cust = createCustomer(jwsdpCust);
-        customerID2customer.put(cust.getId(), cust);
+        return createCustomer(jwsdpCust);
       } catch (RuntimeException e) {
         LOGGER.error(bundle.getMessage("Err_RuntimeExcpIgn", getClass().getName(), "initCustomerMap", "Customer-Entry",
             jwsdpCust.getCustId()));
+        return null;
+      }
+    });
+
+    for (GnucashCustomerImpl facade : facades) {
+      if (facade == null) {
+        continue;
       }
+      customerID2customer.put(facade.getId(), facade);
     } // for
 
+    customerNameIndex.set(null);
+    customerNumberIndex.set(null);
+    customerNumbers.reset();
+
     LOGGER.debug("No. of entries in customer map: " + customerID2customer.size());
   }
 
   private void initVendorMap(final GncV2 pRootElement) {
     vendorID2vendor = new HashMap<>();
 
-    for (Iterator<Object> iter = pRootElement.getGncBook().getBookElements().iterator(); iter.hasNext();) {
-      Object bookElement = iter.next();
-      if (!(bookElement instanceof GncV2.GncBook.GncGncVendor)) {
-        continue;
-      }
-      GncV2.GncBook.GncGncVendor jwsdpVend = (GncV2.GncBook.GncGncVendor) bookElement;
-
+    List<GnucashVendorImpl> facades = createFacades(getBookElementsOfType(GncV2.GncBook.GncGncVendor.class), jwsdpVend -> {
       try {
-        GnucashVendorImpl vend = createVendor(jwsdpVend);
-        vendorID2vendor.put(vend.getId(), vend);
+        return createVendor(jwsdpVend);
       } catch (RuntimeException e) {
         LOGGER.error(bundle.getMessage("Err_RuntimeExcpIgn", getClass().getName(), "initVendorMap", "Vendor-Entry",
             jwsdpVend.getVendorId()));
+        return null;
+      }
+    });
+
+    for (GnucashVendorImpl facade : facades) {
+      if (facade == null) {
+        continue;
       }
+      vendorID2vendor.put(facade.getId(), facade);
     } // for
 
+    vendorNameIndex.set(null);
+    vendorNumberIndex.set(null);
+    vendorNumbers.reset();
+
     LOGGER.debug("No. of entries in vendor map: " + vendorID2vendor.size());
   }
 
   private void initJobMap(final GncV2 pRootElement) {
     jobID2job = new HashMap<String, GnucashGenerJob>();
+    ownerID2jobs = new HashMap<String, List<GnucashGenerJob>>();
 
-    for (Iterator<Object> iter = pRootElement.getGncBook().getBookElements().iterator(); iter.hasNext();) {
-      Object bookElement = iter.next();
-      if (!(bookElement instanceof GncV2.GncBook.GncGncJob)) {
-        continue;
-      }
-      GncV2.GncBook.GncGncJob jwsdpJob = (GncV2.GncBook.GncGncJob) bookElement;
-
+    List<GnucashGenerJobImpl> facades = createFacades(getBookElementsOfType(GncV2.GncBook.GncGncJob.class), jwsdpJob -> {
       try {
-        GnucashGenerJobImpl job = createGenerJob(jwsdpJob);
-        String jobID = job.getId();
-        if (jobID == null) {
-          LOGGER.error(bundle.getMessage("Err_NoVendorId"));
-          jobID = "";
-        }
-        jobID2job.put(job.getId(), job);
+        return createGenerJob(jwsdpJob);
       } catch (RuntimeException e) {
         LOGGER.error(bundle.getMessage("Err_RuntimeExcpIgn", getClass().getName(), "initJobMap",
             "Customer/Vendor-Job-Entry", jwsdpJob.getJobId()));
+        return null;
+      }
+    });
+
+    for (GnucashGenerJobImpl facade : facades) {
+      if (facade == null) {
+        continue;
       }
+      String jobID = facade.getId();
+      if (jobID == null) {
+        LOGGER.error(bundle.getMessage("Err_NoVendorId"));
+        jobID = "";
+      }
+      jobID2job.put(facade.getId(), facade);
+      addToJobOwnerIndex(facade);
     } // for
 
+    jobNameIndex.set(null);
+    jobNumberIndex.set(null);
+    jobNumbers.reset();
+
     LOGGER.debug("No. of entries in (generic) job map: " + jobID2job.size());
   }
 
@@ -1267,12 +1898,7 @@ public class GnucashFileImpl implements GnucashFile {
     if (root == null) {
       return "EUR";
     }
-    for (Iterator<Object> iter = getRootElement().getGncBook().getBookElements().iterator(); iter.hasNext();) {
-      Object bookElement = iter.next();
-      if (!(bookElement instanceof GncAccount)) {
-        continue;
-      }
-      GncAccount jwsdpAccount = (GncAccount) bookElement;
+    for (GncAccount jwsdpAccount : getBookElementsOfType(GncAccount.class)) {
       if (jwsdpAccount.getActCommodity() != null && jwsdpAccount.getActCommodity().getCmdtySpace().equals("ISO4217")) {
         return jwsdpAccount.getActCommodity().getCmdtyId();
       }
@@ -1290,17 +1916,14 @@ public class GnucashFileImpl implements GnucashFile {
    */
   private void loadPriceDatabase(final GncV2 pRootElement) {
     boolean noPriceDB = true;
-    List<Object> bookElements = pRootElement.getGncBook().getBookElements();
-    for (Object bookElement : bookElements) {
-      if (!(bookElement instanceof GncPricedb)) {
-        continue;
-      }
+    for (GncPricedb bookElement : getBookElementsOfType(GncPricedb.class)) {
       noPriceDB = false;
-      priceDB = (GncPricedb) bookElement;
+      priceDB = bookElement;
 
       if (priceDB.getVersion() != 1) {
         LOGGER.warn(bundle.getMessage("Warn_WrgVersPriceDb", priceDB.getVersion()));
       } else {
+        pricesChanged();
         getCurrencyTable().clear();
         getCurrencyTable().setConversionFactor("ISO4217", getDefaultCurrencyID(), new FixedPointNumber(1));
 
@@ -1340,28 +1963,76 @@ public class GnucashFileImpl implements GnucashFile {
   }
 
   public int getNofEntriesPricesInDB() {
+    ensureLoaded(LoadOptions.EntityFamily.PRICES);
     return priceDB.getPrice().size();
   }
 
   public GncPricedb getPriceDB() {
+    ensureLoaded(LoadOptions.EntityFamily.PRICES);
     return priceDB;
   }
 
   /**
-   * @see {@link #getLatestPrice(String, String)}
+   * For the time-stamps of new price-quotes.
    */
   protected static final DateFormat PRICE_QUOTE_DATE_FORMAT = new SimpleDateFormat(Const.STANDARD_DATE_FORMAT);
 
   /**
+   * The conversion-factors from the latest price-quotes, built on first use.
+   *
+   * @see #pricesChanged()
+   */
+  private volatile PriceGraph priceGraph;
+
+  /**
+   * @return the conversion-factors from the latest price-quotes
+   */
+  private PriceGraph getPriceGraph() {
+    PriceGraph retval = priceGraph;
+    if (retval == null) {
+      List<Price> quotes = new ArrayList<Price>();
+      for (GncPricedb priceDB : getBookElementsOfType(GncPricedb.class)) {
+        quotes.addAll(priceDB.getPrice());
+      }
+      retval = new PriceGraph(quotes, getDefaultCurrencyID());
+      priceGraph = retval;
+    }
+    return retval;
+  }
+
+  /**
+   * @see #getPricesVersion()
+   */
+  private final AtomicLong pricesVersion = new AtomicLong();
+
+  /**
+   * To be called whenever price-quotes have been added, removed or changed. Drops the
+   * conversion-factors and the indexes of the price-db.
+   *
+   * @see GnucashPriceDBImpl
+   */
+  protected void pricesChanged() {
+    pricesVersion.incrementAndGet();
+    priceGraph = null;
+  }
+
+  /**
+   * @return increased whenever price-quotes change, so indexes built from them can be checked for being current
+   */
+  long getPricesVersion() {
+    return pricesVersion.get();
+  }
+
+  /**
+   * The commodity is converted along the shortest chain of latest price-quotes (see {@link PriceGraph}).
+   *
    * @param pCmdtySpace the namespace for pCmdtyId
    * @param pCmdtyId    the currency-name
-   * @param depth       used for recursion. Allways call with '0' for aborting recursive quotes (quotes to other then
-   *                    the base- currency) we abort if the depth reached maxRecursionDepth+1.
-   * @return the latest price-quote in the gnucash-file in the default-currency
+   * @return the latest price-quote in the gnucash-file in the default-currency, null if there is none
    * @see {@link GnucashFile#getLatestPrice(String, String)}
    * @see #getDefaultCurrencyID()
    */
-  private FixedPointNumber getLatestPrice(final String pCmdtySpace, final String pCmdtyId, final int depth) {
+  public FixedPointNumber getLatestPrice(final String pCmdtySpace, final String pCmdtyId) {
     if (pCmdtySpace == null) {
       throw new IllegalArgumentException("null parameter 'pCmdtySpace' " + "given");
     }
@@ -1369,118 +2040,12 @@ public class GnucashFileImpl implements GnucashFile {
       throw new IllegalArgumentException("null parameter 'pCmdtyId' " + "given");
     }
 
-    Date latestDate = null;
-    FixedPointNumber latestQuote = null;
-    FixedPointNumber factor = new FixedPointNumber(1); // factor is used if the quote is not to our base-currency
-    final int maxRecursionDepth = 5;
-
-    for (Object bookElement : getRootElement().getGncBook().getBookElements()) {
-      if (!(bookElement instanceof GncPricedb)) {
-        continue;
-      }
-      GncPricedb priceDB = (GncPricedb) bookElement;
-      for (Price priceQuote : (List<Price>) priceDB.getPrice()) {
-
-        try {
-          if (priceQuote == null) {
-            LOGGER.warn(bundle.getMessage("Warn_NullPriceQuotes"));
-            continue;
-          }
-          if (priceQuote.getPriceCurrency() == null) {
-            LOGGER.warn(bundle.getMessage("Warn_PriceQuotesNoId", "currency", priceQuote.getPriceId().getValue()));
-            continue;
-          }
-          if (priceQuote.getPriceCurrency().getCmdtyId() == null) {
-            LOGGER.warn(bundle.getMessage("Warn_PriceQuotesNoId", "currency-id", priceQuote.getPriceId().getValue()));
-            continue;
-          }
-          if (priceQuote.getPriceCurrency().getCmdtySpace() == null) {
-            LOGGER.warn(
-                bundle.getMessage("Warn_PriceQuotesNoId", "currency-namespace", priceQuote.getPriceId().getValue()));
-            continue;
-          }
-          if (priceQuote.getPriceTime() == null) {
-            LOGGER.warn(bundle.getMessage("Warn_PriceQuotesNoId", "timestamp", priceQuote.getPriceId().getValue()));
-            continue;
-          }
-          if (priceQuote.getPriceValue() == null) {
-            LOGGER.warn(bundle.getMessage("Warn_PriceQuotesNoId", "value", priceQuote.getPriceId().getValue()));
-            continue;
-          }
-          /*
-           * if (priceQuote.getPriceCommodity().getCmdtySpace().equals("FUND") && priceQuote.getPriceType() == null) {
-           * LOGGER.warn("gnucash-file contains FUND-price-quotes" + " with no type id='" +
-           * priceQuote.getPriceId().getValue() + "'"); continue; }
-           */
-          if (!priceQuote.getPriceCommodity().getCmdtySpace().equals(pCmdtySpace)) {
-            continue;
-          }
-          if (!priceQuote.getPriceCommodity().getCmdtyId().equals(pCmdtyId)) {
-            continue;
-          }
-          /*
-           * if (priceQuote.getPriceCommodity().getCmdtySpace().equals("FUND") && (priceQuote.getPriceType() == null ||
-           * !priceQuote.getPriceType().equals("last") )) { LOGGER.warn("ignoring FUND-price-quote of unknown type '" +
-           * priceQuote.getPriceType() + "' expecting 'last' "); continue; }
-           */
-
-          if (!priceQuote.getPriceCurrency().getCmdtySpace().equals("ISO4217")) {
-            if (depth > maxRecursionDepth) {
-              LOGGER
-                  .warn(bundle.getMessage("Err_IgnPriceQuote", "ISO4217", priceQuote.getPriceCurrency().getCmdtyId()));
-              continue;
-            }
-            factor = getLatestPrice(priceQuote.getPriceCurrency().getCmdtySpace(),
-                priceQuote.getPriceCurrency().getCmdtyId(), depth + 1);
-          } else {
-            if (!priceQuote.getPriceCurrency().getCmdtyId().equals(getDefaultCurrencyID())) {
-              if (depth > maxRecursionDepth) {
-                LOGGER.warn(bundle.getMessage("Err_IgnPriceQuote", getDefaultCurrencyID(),
-                    priceQuote.getPriceCurrency().getCmdtyId()));
-                continue;
-              }
-              factor = getLatestPrice(priceQuote.getPriceCurrency().getCmdtySpace(),
-                  priceQuote.getPriceCurrency().getCmdtyId(), depth + 1);
-            }
-          }
-
-          Date date = PRICE_QUOTE_DATE_FORMAT.parse(priceQuote.getPriceTime().getTsDate());
-
-          if (latestDate == null || latestDate.before(date)) {
-            latestDate = date;
-            latestQuote = new FixedPointNumber(priceQuote.getPriceValue());
-            LOGGER.debug("getLatestPrice(pCmdtySpace='" + pCmdtySpace + "', String pCmdtyId='" + pCmdtyId
-                + "') converted " + latestQuote + " <= " + priceQuote.getPriceValue());
-          }
-
-        } catch (NumberFormatException e) {
-          LOGGER.error(bundle.getMessage("FatExcpIgnPrcQuote", "NumberFormatException", getClass().getName(),
-              "getLatestPrice(pCmdtySpace", pCmdtySpace, pCmdtyId));
-        } catch (ParseException e) {
-          LOGGER.error(bundle.getMessage("FatExcpIgnPrcQuote", "ParseException", getClass().getName(),
-              "getLatestPrice(pCmdtySpace", pCmdtySpace, pCmdtyId));
-        } catch (NullPointerException e) {
-          LOGGER.error(bundle.getMessage("FatExcpIgnPrcQuote", "NullPointerException", getClass().getName(),
-              "getLatestPrice(pCmdtySpace", pCmdtySpace, pCmdtyId));
-        } catch (ArithmeticException e) {
-          LOGGER.error(bundle.getMessage("FatExcpIgnPrcQuote", "ArithmeticException", getClass().getName(),
-              "getLatestPrice(pCmdtySpace", pCmdtySpace, pCmdtyId));
-        }
-      }
-    }
-
+    FixedPointNumber retval = getPriceGraph().getFactor(pCmdtySpace, pCmdtyId);
     LOGGER.debug(getClass().getName() + ".getLatestPrice(pCmdtySpace='" + pCmdtySpace + "', String pCmdtyId='"
-        + pCmdtyId + "')= " + latestQuote + " from " + latestDate);
-
-    if (latestQuote == null) {
-      return null;
-    }
-
-    if (factor == null) {
-      factor = new FixedPointNumber(1);
-    }
+        + pCmdtyId + "')= " + retval);
 
-    return factor.multiply(latestQuote);
+    // FixedPointNumber is mutable
+    return retval == null ? null : retval.copy();
   }
 
   // ----------------------------
@@ -1572,7 +2137,9 @@ public class GnucashFileImpl implements GnucashFile {
   }
 
   /**
-   * loads the file and calls setRootElement.
+   * loads the file and calls setRootElement.<br/>
+   * If {@link LoadOptions#isSnapshotEnabled()}, a current {@link GnucashSnapshot} is read instead of the file and a
+   * missing or stale one is (re-)written after loading.
    *
    * @param pFile the file to read
    * @throws IOException on low level reading-errors (FileNotFoundException if not found)
@@ -1592,6 +2159,43 @@ public class GnucashFileImpl implements GnucashFile {
 
     setFile(pFile);
 
+    GnucashSnapshot snapshot = null;
+    if (getLoadOptions().isSnapshotEnabled()) {
+      snapshot = new GnucashSnapshot(pFile);
+      GncV2 o = snapshot.read();
+      if (o != null) {
+        long start2 = System.currentTimeMillis();
+        setRootElement(o);
+        long end = System.currentTimeMillis();
+        LOGGER.debug("GnucashFileImpl.loadFile took " + (end - start) + " ms (total) " + (start2 - start)
+            + " ms (reading snapshot) " + (end - start2) + " ms (building facades)");
+        return;
+      }
+    }
+
+    InputStream in = openFile(pFile);
+    loadInputStream(in);
+
+    if (snapshot != null && getLoadOptions().getDroppedBookElementTypes().isEmpty()) {
+      // the book has just been loaded, so the tree is still what is in the file
+      try {
+        snapshot.write(getRootElement());
+      } catch (IOException e) {
+        LOGGER.warn("loadFile: cannot write snapshot " + snapshot.getSnapshotFile() + ": " + e);
+      }
+    }
+
+    long end = System.currentTimeMillis();
+    LOGGER.debug("GnucashFileImpl.loadFile took " + (end - start) + " ms (total) ");
+
+  }
+
+  /**
+   * @param pFile the gnucash-file to open
+   * @return a stream of the (decompressed) xml
+   * @throws IOException on low level reading-errors
+   */
+  protected static InputStream openFile(final File pFile) throws IOException {
     InputStream in = new FileInputStream(pFile);
     if (pFile.getName().endsWith(".gz")) {
       in = new BufferedInputStream(in);
@@ -1608,15 +2212,19 @@ public class GnucashFileImpl implements GnucashFile {
         in = new GZIPInputStream(in);
       }
     }
-
-    loadInputStream(in);
-
-    long end = System.currentTimeMillis();
-    LOGGER.debug("GnucashFileImpl.loadFile took " + (end - start) + " ms (total) ");
-
-  }
+    return in;
+  }
 
   protected void loadInputStream(InputStream in) throws UnsupportedEncodingException, IOException {
+    if (getLoadOptions().getParser() == LoadOptions.Parser.STAX) {
+      loadInputStreamStax(in);
+      return;
+    }
+    if (getLoadOptions().getParser() == LoadOptions.Parser.CHUNKED) {
+      loadInputStreamChunked(in);
+      return;
+    }
+
     long start = System.currentTimeMillis();
 
     NamespaceRemovererReader reader = new NamespaceRemovererReader(new InputStreamReader(in, "utf-8"));
@@ -1640,6 +2248,70 @@ public class GnucashFileImpl implements GnucashFile {
     }
   }
 
+  /**
+   * Reads the stream with a {@link GnucashStaxLoader} and calls setRootElement.
+   *
+   * @param in the (plain) xml-stream to read
+   * @throws IOException on low level reading-errors
+   * @see LoadOptions.Parser#STAX
+   */
+  protected void loadInputStreamStax(final InputStream in) throws IOException {
+    long start = System.currentTimeMillis();
+
+    try {
+      GnucashStaxLoader loader = new GnucashStaxLoader(getJAXBContext());
+      loader.setSkippedTypes(getLoadOptions().getDroppedBookElementTypes());
+      GncV2 o = loader.load(new BufferedInputStream(in));
+      long start2 = System.currentTimeMillis();
+      setRootElement(o);
+      long end = System.currentTimeMillis();
+      LOGGER.debug("GnucashFileImpl.loadInputStreamStax took " + (end - start) + " ms (total) " + (start2 - start)
+          + " ms (stax-loading of " + loader.getBookElementCount() + " book-elements)" + (end - start2)
+          + " ms (building facades)");
+
+    } catch (JAXBException e) {
+      LOGGER.error(e.getMessage(), e);
+      throw new IllegalStateException(e);
+    } catch (XMLStreamException e) {
+      LOGGER.error(e.getMessage(), e);
+      throw new IllegalStateException(e);
+    } finally {
+      in.close();
+    }
+  }
+
+  /**
+   * Reads the stream with a {@link GnucashChunkedLoader} and calls setRootElement.
+   *
+   * @param in the (plain) xml-stream to read
+   * @throws IOException on low level reading-errors
+   * @see LoadOptions.Parser#CHUNKED
+   */
+  protected void loadInputStreamChunked(final InputStream in) throws IOException {
+    long start = System.currentTimeMillis();
+
+    try {
+      GnucashChunkedLoader loader = new GnucashChunkedLoader(getJAXBContext(), getLoadOptions().getParallelism());
+      loader.setSkippedTypes(getLoadOptions().getDroppedBookElementTypes());
+      GncV2 o = loader.load(in);
+      long start2 = System.currentTimeMillis();
+      setRootElement(o);
+      long end = System.currentTimeMillis();
+      LOGGER.debug("GnucashFileImpl.loadInputStreamChunked took " + (end - start) + " ms (total) " + (start2 - start)
+          + " ms (chunked loading of " + loader.getBookElementCount() + " book-elements)" + (end - start2)
+          + " ms (building facades)");
+
+    } catch (JAXBException e) {
+      LOGGER.error(e.getMessage(), e);
+      throw new IllegalStateException(e);
+    } catch (XMLStreamException e) {
+      LOGGER.error(e.getMessage(), e);
+      throw new IllegalStateException(e);
+    } finally {
+      in.close();
+    }
+  }
+
   /**
    * @see #getObjectFactory()
    */
@@ -1685,215 +2357,841 @@ public class GnucashFileImpl implements GnucashFile {
         return count;
       }
     }
-    return null;
+    return null;
+  }
+
+  /**
+   * @return the number of transactions
+   */
+  protected int getTransactionCount() {
+    GncCountData count = findCountDataByType("transaction");
+    return count.getValue();
+  }
+
+  /**
+   * @see GnucashFile#getAccountByID(java.lang.String)
+   */
+  public GnucashAccount getAccountByID(final String id) {
+    ensureLoaded(LoadOptions.EntityFamily.ACCOUNTS);
+    if (accountID2account == null) {
+      throw new IllegalStateException("no root-element loaded");
+    }
+
+    GnucashAccount retval = accountID2account.get(id);
+    if (retval == null) {
+      LOGGER.error(bundle.getMessage("Err_NoAccountId", id, accountID2account.size()));
+    }
+    return retval;
+  }
+
+  // ---------------------------------------------------------------
+
+  /**
+   * @see GnucashFile#getCustomerByID(java.lang.String)
+   */
+  public GnucashCustomer getCustomerByID(final String id) {
+    ensureLoaded(LoadOptions.EntityFamily.CUSTOMERS);
+    if (customerID2customer == null) {
+      throw new IllegalStateException("no root-element loaded");
+    }
+
+    GnucashCustomer retval = customerID2customer.get(id);
+    if (retval == null) {
+      LOGGER.warn(bundle.getMessage("Warn_NoObjectWithId", "Customer", id, customerID2customer.size(), "customers"));
+    }
+    return retval;
+  }
+
+  /**
+   * @see GnucashFile#getCustomerByName(java.lang.String)
+   */
+  public GnucashCustomer getCustomerByName(final String name) {
+    return getCustomerNameIndex().get(name);
+  }
+
+  /**
+   * @see GnucashFile#getCustomersByNameIgnoreCase(java.lang.String)
+   */
+  public List<GnucashCustomer> getCustomersByNameIgnoreCase(final String name) {
+    return getCustomerNameIndex().getIgnoreCase(name);
+  }
+
+  /**
+   * @see GnucashFile#getCustomersByNamePrefix(java.lang.String)
+   */
+  public List<GnucashCustomer> getCustomersByNamePrefix(final String prefix) {
+    return getCustomerNameIndex().getByPrefix(prefix);
+  }
+
+  /**
+   * @see GnucashFile#getCustomerByNumber(java.lang.String)
+   */
+  public GnucashCustomer getCustomerByNumber(final String number) {
+    return getCustomerNumberIndex().get(number);
+  }
+
+  /**
+   * @see GnucashFile#getCustomersByNumberPrefix(java.lang.String)
+   */
+  public List<GnucashCustomer> getCustomersByNumberPrefix(final String prefix) {
+    return getCustomerNumberIndex().getByPrefix(prefix);
+  }
+
+  /**
+   * The customers by name and by number, built on first use.
+   *
+   * @see #customerNameChanged(GnucashCustomer, String, String)
+   * @see #customerNumberChanged(GnucashCustomer, String, String)
+   */
+  private final AtomicReference<NameIndex<GnucashCustomer>> customerNameIndex =
+      new AtomicReference<NameIndex<GnucashCustomer>>();
+
+  private final AtomicReference<NameIndex<GnucashCustomer>> customerNumberIndex =
+      new AtomicReference<NameIndex<GnucashCustomer>>();
+
+  private NameIndex<GnucashCustomer> getCustomerNameIndex() {
+    return getNameIndex(customerNameIndex, LoadOptions.EntityFamily.CUSTOMERS, () -> customerID2customer,
+        GnucashCustomer::getName, GnucashCustomer::getId);
+  }
+
+  private NameIndex<GnucashCustomer> getCustomerNumberIndex() {
+    return getNameIndex(customerNumberIndex, LoadOptions.EntityFamily.CUSTOMERS, () -> customerID2customer,
+        GnucashCustomer::getNumber, GnucashCustomer::getId);
+  }
+
+  /**
+   * To be called whenever a customer has been renamed, added (oldName == null) or removed (newName == null).
+   *
+   * @param cust    the customer
+   * @param oldName the name before
+   * @param newName the name now
+   */
+  protected void customerNameChanged(final GnucashCustomer cust, final String oldName, final String newName) {
+    nameChanged(customerNameIndex, cust, oldName, newName);
+  }
+
+  /**
+   * @see GnucashFile#getCustomers()
+   */
+  public Collection<GnucashCustomer> getCustomers() {
+    ensureLoaded(LoadOptions.EntityFamily.CUSTOMERS);
+    return customerID2customer.values();
+  }
+
+  // ---------------------------------------------------------------
+
+  @Override
+  public GnucashVendor getVendorByID(String id) {
+    ensureLoaded(LoadOptions.EntityFamily.VENDORS);
+    if (vendorID2vendor == null) {
+      throw new IllegalStateException("no root-element loaded");
+    }
+
+    GnucashVendor retval = vendorID2vendor.get(id);
+    if (retval == null) {
+      LOGGER.warn(bundle.getMessage("Warn_NoObjectWithId", "Vendor", id, vendorID2vendor.size(), "vendors"));
+    }
+    return retval;
+  }
+
+  @Override
+  public GnucashVendor getVendorByName(final String name) {
+    return getVendorNameIndex().get(name);
+  }
+
+  @Override
+  public List<GnucashVendor> getVendorsByNameIgnoreCase(final String name) {
+    return getVendorNameIndex().getIgnoreCase(name);
+  }
+
+  @Override
+  public List<GnucashVendor> getVendorsByNamePrefix(final String prefix) {
+    return getVendorNameIndex().getByPrefix(prefix);
+  }
+
+  @Override
+  public GnucashVendor getVendorByNumber(final String number) {
+    return getVendorNumberIndex().get(number);
+  }
+
+  @Override
+  public List<GnucashVendor> getVendorsByNumberPrefix(final String prefix) {
+    return getVendorNumberIndex().getByPrefix(prefix);
+  }
+
+  /**
+   * The vendors by name and by number, built on first use.
+   *
+   * @see #vendorNameChanged(GnucashVendor, String, String)
+   * @see #vendorNumberChanged(GnucashVendor, String, String)
+   */
+  private final AtomicReference<NameIndex<GnucashVendor>> vendorNameIndex =
+      new AtomicReference<NameIndex<GnucashVendor>>();
+
+  private final AtomicReference<NameIndex<GnucashVendor>> vendorNumberIndex =
+      new AtomicReference<NameIndex<GnucashVendor>>();
+
+  private NameIndex<GnucashVendor> getVendorNameIndex() {
+    return getNameIndex(vendorNameIndex, LoadOptions.EntityFamily.VENDORS, () -> vendorID2vendor,
+        GnucashVendor::getName, GnucashVendor::getId);
+  }
+
+  private NameIndex<GnucashVendor> getVendorNumberIndex() {
+    return getNameIndex(vendorNumberIndex, LoadOptions.EntityFamily.VENDORS, () -> vendorID2vendor,
+        GnucashVendor::getNumber, GnucashVendor::getId);
+  }
+
+  /**
+   * To be called whenever a vendor has been renamed, added (oldName == null) or removed (newName == null).
+   *
+   * @param vend    the vendor
+   * @param oldName the name before
+   * @param newName the name now
+   */
+  protected void vendorNameChanged(final GnucashVendor vend, final String oldName, final String newName) {
+    nameChanged(vendorNameIndex, vend, oldName, newName);
+  }
+
+  @Override
+  public Collection<GnucashVendor> getVendors() {
+    ensureLoaded(LoadOptions.EntityFamily.VENDORS);
+    return vendorID2vendor.values();
+  }
+
+  // ---------------------------------------------------------------
+
+  /**
+   * @param customer the customer to look for.
+   * @return all jobs that have this customer, never null
+   */
+  public Collection<GnucashCustomerJob> getJobsByCustomer(final GnucashCustomer customer) {
+    Collection<GnucashCustomerJob> retval = new LinkedList<GnucashCustomerJob>();
+
+    for (GnucashGenerJob job : getGenerJobsByOwner(GCshOwner.TYPE_CUSTOMER, customer.getId())) {
+      try {
+        retval.add(job instanceof GnucashCustomerJob ? (GnucashCustomerJob) job : new GnucashCustomerJobImpl(job));
+      } catch (WrongInvoiceTypeException e) {
+        // cannot happen, we have checked the owner-type
+        LOGGER.error("getJobsByCustomer: Serious error", e);
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * @param vendor the customer to look for.
+   * @return all jobs that have this customer, never null
+   */
+  public Collection<GnucashVendorJob> getJobsByVendor(final GnucashVendor vendor) {
+    Collection<GnucashVendorJob> retval = new LinkedList<GnucashVendorJob>();
+
+    for (GnucashGenerJob job : getGenerJobsByOwner(GCshOwner.TYPE_VENDOR, vendor.getId())) {
+      try {
+        retval.add(job instanceof GnucashVendorJob ? (GnucashVendorJob) job : new GnucashVendorJobImpl(job));
+      } catch (WrongInvoiceTypeException e) {
+        // cannot happen, we have checked the owner-type
+        LOGGER.error("getJobsByVendor: Serious error", e);
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * @param ownerType GCshOwner.TYPE_CUSTOMER or GCshOwner.TYPE_VENDOR
+   * @param ownerID   the id of the customer or vendor
+   * @return the jobs of that owner (in no particular order)
+   */
+  private List<GnucashGenerJob> getGenerJobsByOwner(final String ownerType, final String ownerID) {
+    ensureLoaded(LoadOptions.EntityFamily.JOBS);
+    if (ownerID2jobs == null) {
+      throw new IllegalStateException("no root-element loaded");
+    }
+
+    List<GnucashGenerJob> retval = new ArrayList<GnucashGenerJob>();
+    List<GnucashGenerJob> jobs = ownerID2jobs.get(ownerID);
+    if (jobs != null) {
+      for (GnucashGenerJob job : jobs) {
+        if (job.getOwnerType().equals(ownerType)) {
+          retval.add(job);
+        }
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * Registers a job in {@link #ownerID2jobs} under its current owner.
+   *
+   * @param job the job just created or given another owner
+   */
+  protected void addToJobOwnerIndex(final GnucashGenerJob job) {
+    ownerID2jobs.computeIfAbsent(job.getOwnerId(), k -> new ArrayList<GnucashGenerJob>()).add(job);
+  }
+
+  /**
+   * @param ownerID the owner the job has been registered with
+   * @param jobID   the id of the job
+   */
+  protected void removeFromJobOwnerIndex(final String ownerID, final String jobID) {
+    List<GnucashGenerJob> jobs = ownerID2jobs.get(ownerID);
+    if (jobs == null) {
+      return;
+    }
+    jobs.removeIf(job -> job.getId().equals(jobID));
+    if (jobs.isEmpty()) {
+      ownerID2jobs.remove(ownerID);
+    }
+  }
+
+  /**
+   * @see GnucashFile#getGenerJobByID(java.lang.String)
+   */
+  public GnucashGenerJob getGenerJobByID(final String id) {
+    ensureLoaded(LoadOptions.EntityFamily.JOBS);
+    if (jobID2job == null) {
+      throw new IllegalStateException("no root-element loaded");
+    }
+
+    GnucashGenerJob retval = jobID2job.get(id);
+    if (retval == null) {
+      LOGGER.warn(bundle.getMessage("Warn_NoObjectWithId", "Job", id, jobID2job.size(), "jobs"));
+    }
+
+    return retval;
+  }
+
+  /**
+   * @see GnucashFile#getGenerJobs()
+   */
+  public Collection<GnucashGenerJob> getGenerJobs() {
+    ensureLoaded(LoadOptions.EntityFamily.JOBS);
+    if (jobID2job == null) {
+      throw new IllegalStateException("no root-element loaded");
+    }
+    return jobID2job.values();
+  }
+
+  /**
+   * @see GnucashFile#getGenerJobByName(java.lang.String)
+   */
+  public GnucashGenerJob getGenerJobByName(final String name) {
+    return getGenerJobNameIndex().get(name);
+  }
+
+  /**
+   * @see GnucashFile#getGenerJobsByNameIgnoreCase(java.lang.String)
+   */
+  public List<GnucashGenerJob> getGenerJobsByNameIgnoreCase(final String name) {
+    return getGenerJobNameIndex().getIgnoreCase(name);
+  }
+
+  /**
+   * @see GnucashFile#getGenerJobsByNamePrefix(java.lang.String)
+   */
+  public List<GnucashGenerJob> getGenerJobsByNamePrefix(final String prefix) {
+    return getGenerJobNameIndex().getByPrefix(prefix);
+  }
+
+  /**
+   * @see GnucashFile#getGenerJobByNumber(java.lang.String)
+   */
+  public GnucashGenerJob getGenerJobByNumber(final String number) {
+    return getGenerJobNumberIndex().get(number);
+  }
+
+  /**
+   * @see GnucashFile#getGenerJobsByNumberPrefix(java.lang.String)
+   */
+  public List<GnucashGenerJob> getGenerJobsByNumberPrefix(final String prefix) {
+    return getGenerJobNumberIndex().getByPrefix(prefix);
+  }
+
+  /**
+   * The jobs by name and by number, built on first use.
+   *
+   * @see #jobNameChanged(GnucashGenerJob, String, String)
+   * @see #jobNumberChanged(GnucashGenerJob, String, String)
+   */
+  private final AtomicReference<NameIndex<GnucashGenerJob>> jobNameIndex =
+      new AtomicReference<NameIndex<GnucashGenerJob>>();
+
+  private final AtomicReference<NameIndex<GnucashGenerJob>> jobNumberIndex =
+      new AtomicReference<NameIndex<GnucashGenerJob>>();
+
+  private NameIndex<GnucashGenerJob> getGenerJobNameIndex() {
+    return getNameIndex(jobNameIndex, LoadOptions.EntityFamily.JOBS, () -> jobID2job,
+        GnucashGenerJob::getName, GnucashGenerJob::getId);
+  }
+
+  private NameIndex<GnucashGenerJob> getGenerJobNumberIndex() {
+    return getNameIndex(jobNumberIndex, LoadOptions.EntityFamily.JOBS, () -> jobID2job,
+        GnucashGenerJob::getNumber, GnucashGenerJob::getId);
+  }
+
+  /**
+   * To be called whenever a job has been renamed, added (oldName == null) or removed (newName == null).
+   *
+   * @param job     the job
+   * @param oldName the name before
+   * @param newName the name now
+   */
+  protected void jobNameChanged(final GnucashGenerJob job, final String oldName, final String newName) {
+    nameChanged(jobNameIndex, job, oldName, newName);
+  }
+
+  // ---------------------------------------------------------------
+
+  /**
+   * @param index     where the index is kept
+   * @param family    the family of the objects
+   * @param id2object supplies the objects by id (after they have been loaded)
+   * @param keyOf     the name or number of an object
+   * @param idOf      the id of an object
+   * @return the index, built on first use
+   */
+  private <T> NameIndex<T> getNameIndex(final AtomicReference<NameIndex<T>> index,
+      final LoadOptions.EntityFamily family, final Supplier<Map<String, T>> id2object,
+      final Function<T, String> keyOf, final Function<T, String> idOf) {
+    ensureLoaded(family);
+    Map<String, T> objects = id2object.get();
+    if (objects == null) {
+      throw new IllegalStateException("no root-element loaded");
+    }
+
+    NameIndex<T> retval = index.get();
+    if (retval == null) {
+      retval = new NameIndex<T>(objects.values(), keyOf, idOf);
+      if (!index.compareAndSet(null, retval)) {
+        retval = index.get();
+      }
+    }
+    return retval;
   }
 
   /**
-   * @return the number of transactions
+   * Files an object again under its new name or number (if the index has been built yet).
+   *
+   * @param index  where the index is kept
+   * @param object the object
+   * @param oldKey its name or number before, null if it has just been added
+   * @param newKey its name or number now, null if it has just been removed
    */
-  protected int getTransactionCount() {
-    GncCountData count = findCountDataByType("transaction");
-    return count.getValue();
+  private static <T> void nameChanged(final AtomicReference<NameIndex<T>> index, final T object,
+      final String oldKey, final String newKey) {
+    NameIndex<T> retval = index.get();
+    if (retval != null) {
+      retval.remove(oldKey, object);
+      retval.put(newKey, object);
+    }
   }
 
   /**
-   * @see GnucashFile#getAccountByID(java.lang.String)
+   * @see GnucashFile#getTransactionByID(java.lang.String)
    */
-  public GnucashAccount getAccountByID(final String id) {
-    if (accountID2account == null) {
+  public GnucashTransaction getTransactionByID(final String id) {
+    ensureLoaded(LoadOptions.EntityFamily.TRANSACTIONS);
+    if (transactionIndex != null) {
+      TransactionIndex.Entry entry = transactionIndex.get(id);
+      if (entry == null) {
+        LOGGER.warn("No Transaction with id '" + id + "'. We know " + transactionIndex.size() + " transactions.");
+        return null;
+      }
+      return getTransactionFacade(entry);
+    }
+    if (transactionID2transaction == null) {
       throw new IllegalStateException("no root-element loaded");
     }
 
-    GnucashAccount retval = accountID2account.get(id);
+    GnucashTransaction retval = transactionID2transaction.get(id);
     if (retval == null) {
-      LOGGER.error(bundle.getMessage("Err_NoAccountId", id, accountID2account.size()));
+      LOGGER
+          .warn("No Transaction with id '" + id + "'. We know " + transactionID2transaction.size() + " transactions.");
     }
     return retval;
   }
 
-  // ---------------------------------------------------------------
-
   /**
-   * @see GnucashFile#getCustomerByID(java.lang.String)
+   * @see GnucashFile#getTransactionByID(java.lang.String)
    */
-  public GnucashCustomer getCustomerByID(final String id) {
-    if (customerID2customer == null) {
+  public GnucashTransactionSplit getTransactionSplitByID(final String id) {
+    ensureLoaded(LoadOptions.EntityFamily.TRANSACTIONS);
+    if (transactionIndex != null) {
+      TransactionIndex.Entry entry = transactionIndex.getBySplitID(id);
+      if (entry == null) {
+        LOGGER.warn(bundle.getMessage("Warn_NoObjectWithId", "Transaction-Split", id, transactionIndex.getSplitCount(),
+            "transactions"));
+        return null;
+      }
+      return getTransactionFacade(entry).getSplitByID(id);
+    }
+    if (transactionSplitID2transactionSplit == null) {
       throw new IllegalStateException("no root-element loaded");
     }
 
-    GnucashCustomer retval = customerID2customer.get(id);
+    GnucashTransactionSplit retval = transactionSplitID2transactionSplit.get(id);
     if (retval == null) {
-      LOGGER.warn(bundle.getMessage("Warn_NoObjectWithId", "Customer", id, customerID2customer.size(), "customers"));
+      LOGGER.warn(bundle.getMessage("Warn_NoObjectWithId", "Transaction-Split", id,
+          transactionSplitID2transactionSplit.size(), "transactions"));
     }
     return retval;
   }
 
   /**
-   * @see GnucashFile#getCustomerByName(java.lang.String)
+   * @see GnucashFile#getTransactions()
    */
-  public GnucashCustomer getCustomerByName(final String name) {
-
-    if (customerID2customer == null) {
+  public Collection<? extends GnucashTransaction> getTransactions() {
+    ensureLoaded(LoadOptions.EntityFamily.TRANSACTIONS);
+    if (transactionIndex != null) {
+      List<GnucashTransaction> retval = new ArrayList<GnucashTransaction>(transactionIndex.size());
+      for (TransactionIndex.Entry entry : transactionIndex.getEntries()) {
+        retval.add(getTransactionFacade(entry));
+      }
+      return Collections.unmodifiableCollection(retval);
+    }
+    if (transactionID2transaction == null) {
       throw new IllegalStateException("no root-element loaded");
     }
+    return Collections.unmodifiableCollection(transactionID2transaction.values());
+  }
+
+  /**
+   * @see GnucashFile#getTransactions(LocalDate, LocalDate)
+   */
+  public List<GnucashTransaction> getTransactions(final LocalDate from, final LocalDate to) {
+    TransactionDateIndex.Postings postings = getTransactionDateIndex().getTransactions();
+    int end = to == null ? postings.size() : postings.indexOf(to);
 
-    for (GnucashCustomer customer : getCustomers()) {
-      if (customer.getName().equals(name)) {
-        return customer;
+    List<GnucashTransaction> retval = new ArrayList<GnucashTransaction>();
+    for (int i = postings.indexOf(from); i < end; i++) {
+      GnucashTransaction trx = getTransactionByID(postings.getTransactionID(i));
+      if (trx != null) {
+        retval.add(trx);
       }
     }
-    return null;
+    return retval;
   }
 
   /**
-   * @see GnucashFile#getCustomers()
+   * @see GnucashFile#getTransactionSplits(GnucashAccount, LocalDate, LocalDate)
    */
-  public Collection<GnucashCustomer> getCustomers() {
-    return customerID2customer.values();
+  public List<GnucashTransactionSplit> getTransactionSplits(final GnucashAccount account, final LocalDate from,
+      final LocalDate to) {
+    return getTransactionSplits(account.getId(), from, to);
   }
 
-  // ---------------------------------------------------------------
+  /**
+   * @param accountID the account
+   * @param from      first day to include, null for no limit
+   * @param to        first day not to include, null for no limit
+   * @return the splits of the account posted in that time-frame, sorted by posting-day
+   */
+  protected List<GnucashTransactionSplit> getTransactionSplits(final String accountID, final LocalDate from,
+      final LocalDate to) {
+    TransactionDateIndex.Postings postings = getTransactionDateIndex().getSplits(accountID);
+    int end = to == null ? postings.size() : postings.indexOf(to);
 
-  @Override
-  public GnucashVendor getVendorByID(String id) {
-    if (vendorID2vendor == null) {
-      throw new IllegalStateException("no root-element loaded");
+    List<GnucashTransactionSplit> retval = new ArrayList<GnucashTransactionSplit>();
+    for (int i = postings.indexOf(from); i < end; i++) {
+      GnucashTransaction trx = getTransactionByID(postings.getTransactionID(i));
+      GnucashTransactionSplit split = trx == null ? null : trx.getSplitByID(postings.getSplitID(i));
+      if (split != null) {
+        retval.add(split);
+      }
     }
+    return retval;
+  }
 
-    GnucashVendor retval = vendorID2vendor.get(id);
+  /**
+   * @return the index (built if the transactions have been loaded again)
+   */
+  private TransactionDateIndex getTransactionDateIndex() {
+    ensureLoaded(LoadOptions.EntityFamily.TRANSACTIONS);
+    TransactionDateIndex retval = transactionDateIndex;
     if (retval == null) {
-      LOGGER.warn(bundle.getMessage("Warn_NoObjectWithId", "Vendor", id, vendorID2vendor.size(), "vendors"));
+      synchronized (this) {
+        retval = transactionDateIndex;
+        if (retval == null) {
+          retval = new TransactionDateIndex(getBookElementsOfType(GncTransaction.class));
+          transactionDateIndex = retval;
+        }
+      }
     }
     return retval;
   }
 
-  @Override
-  public GnucashVendor getVendorByName(String name) {
-    if (vendorID2vendor == null) {
-      throw new IllegalStateException("no root-element loaded");
+  /**
+   * To be called after a transaction has been added or re-dated or its splits have been added, removed or moved to
+   * another account.
+   *
+   * @param trx the transaction (new or changed)
+   */
+  protected void transactionDatesChanged(final GnucashTransactionImpl trx) {
+    TransactionDateIndex index = transactionDateIndex;
+    if (index != null) {
+      index.update(trx.getJwsdpPeer());
     }
+  }
 
-    for (GnucashVendor vendor : getVendors()) {
-      if (vendor.getName().equals(name)) {
-        return vendor;
-      }
+  /**
+   * To be called after a transaction has been removed.
+   *
+   * @param trxID the id of the transaction
+   */
+  protected void transactionDatesRemoved(final String trxID) {
+    TransactionDateIndex index = transactionDateIndex;
+    if (index != null) {
+      index.remove(trxID);
     }
-    return null;
   }
 
-  @Override
-  public Collection<GnucashVendor> getVendors() {
-    return vendorID2vendor.values();
+  /**
+   * @see GnucashFile#findTransactions(String)
+   */
+  public List<GnucashTransaction> findTransactions(final String query) {
+    List<GnucashTransaction> retval = new ArrayList<GnucashTransaction>();
+    for (String trxID : getTransactionTextIndex().find(query)) {
+      GnucashTransaction trx = getTransactionByID(trxID);
+      if (trx != null) {
+        retval.add(trx);
+      }
+    }
+    Collections.sort(retval);
+    return retval;
   }
 
-  // ---------------------------------------------------------------
-
   /**
-   * @param customer the customer to look for.
-   * @return all jobs that have this customer, never null
+   * @see GnucashFile#findTransactionSplits(String)
    */
-  public Collection<GnucashCustomerJob> getJobsByCustomer(final GnucashCustomer customer) {
-    if (jobID2job == null) {
-      throw new IllegalStateException("no root-element loaded");
+  public List<GnucashTransactionSplit> findTransactionSplits(final String query) {
+    getTransactionTextIndex();
+    List<GnucashTransactionSplit> retval = new ArrayList<GnucashTransactionSplit>();
+    for (String splitID : splitTextIndex.find(query)) {
+      GnucashTransactionSplit split = getTransactionSplitByID(splitID);
+      if (split != null) {
+        retval.add(split);
+      }
     }
+    Collections.sort(retval);
+    return retval;
+  }
 
-    Collection<GnucashCustomerJob> retval = new LinkedList<GnucashCustomerJob>();
-
-    for (Object element : jobID2job.values()) {
-      GnucashGenerJob job = (GnucashGenerJob) element;
-      if (job.getOwnerId().equals(customer.getId())) {
-        retval.add((GnucashCustomerJob) job);
+  /**
+   * @see GnucashFile#findGenerInvoices(String)
+   */
+  public List<GnucashGenerInvoice> findGenerInvoices(final String query) {
+    List<GnucashGenerInvoice> retval = new ArrayList<GnucashGenerInvoice>();
+    for (String invcID : getInvoiceTextIndex().find(query)) {
+      GnucashGenerInvoice invc = getGenerInvoiceByID(invcID);
+      if (invc != null) {
+        retval.add(invc);
       }
     }
+    Collections.sort(retval);
     return retval;
   }
 
   /**
-   * @param vendor the customer to look for.
-   * @return all jobs that have this customer, never null
+   * @return the index, built from the JAXB-peers on first use (together with {@link #splitTextIndex})
    */
-  public Collection<GnucashVendorJob> getJobsByVendor(final GnucashVendor vendor) {
-    if (jobID2job == null) {
-      throw new IllegalStateException("no root-element loaded");
+  private FullTextIndex getTransactionTextIndex() {
+    ensureLoaded(LoadOptions.EntityFamily.TRANSACTIONS);
+    FullTextIndex retval = transactionTextIndex;
+    if (retval == null) {
+      synchronized (this) {
+        retval = transactionTextIndex;
+        if (retval == null) {
+          retval = new FullTextIndex();
+          FullTextIndex splits = new FullTextIndex();
+          for (GncTransaction peer : getBookElementsOfType(GncTransaction.class)) {
+            String trxID = peer.getTrnId().getValue();
+            List<String> texts = new ArrayList<String>();
+            texts.add(peer.getTrnDescription());
+            texts.add(peer.getTrnNum());
+            for (GncTransaction.TrnSplits.TrnSplit split : peer.getTrnSplits().getTrnSplit()) {
+              texts.add(split.getSplitMemo());
+              splits.put(split.getSplitId().getValue(), trxID, Collections.singletonList(split.getSplitMemo()));
+            }
+            retval.put(trxID, texts);
+          }
+          // the hooks only look at transactionTextIndex
+          splitTextIndex = splits;
+          transactionTextIndex = retval;
+        }
+      }
     }
+    return retval;
+  }
 
-    Collection<GnucashVendorJob> retval = new LinkedList<GnucashVendorJob>();
+  /**
+   * @return the index, built from the JAXB-peers on first use
+   */
+  private FullTextIndex getInvoiceTextIndex() {
+    ensureLoaded(LoadOptions.EntityFamily.INVOICES);
+    FullTextIndex retval = invoiceTextIndex;
+    if (retval == null) {
+      synchronized (this) {
+        retval = invoiceTextIndex;
+        if (retval == null) {
+          Map<String, List<String>> invcID2texts = new HashMap<String, List<String>>();
+          for (GncV2.GncBook.GncGncInvoice peer : getBookElementsOfType(GncV2.GncBook.GncGncInvoice.class)) {
+            List<String> texts = invcID2texts.computeIfAbsent(peer.getInvoiceGuid().getValue(),
+                k -> new ArrayList<String>());
+            texts.add(peer.getInvoiceNotes());
+            texts.add(peer.getInvoiceId());
+          }
+          for (GncV2.GncBook.GncGncEntry peer : getBookElementsOfType(GncV2.GncBook.GncGncEntry.class)) {
+            String invcID = peer.getEntryInvoice() != null ? peer.getEntryInvoice().getValue()
+                : peer.getEntryBill() != null ? peer.getEntryBill().getValue() : null;
+            if (invcID != null && invcID2texts.containsKey(invcID)) {
+              invcID2texts.get(invcID).add(peer.getEntryDescription());
+            }
+          }
 
-    for (Object element : jobID2job.values()) {
-      GnucashGenerJob job = (GnucashGenerJob) element;
-      if (job.getOwnerId().equals(vendor.getId())) {
-        retval.add((GnucashVendorJob) job);
+          retval = new FullTextIndex();
+          for (Map.Entry<String, List<String>> entry : invcID2texts.entrySet()) {
+            retval.put(entry.getKey(), entry.getValue());
+          }
+          invoiceTextIndex = retval;
+        }
       }
     }
     return retval;
   }
 
   /**
-   * @see GnucashFile#getGenerJobByID(java.lang.String)
+   * To be called after the description or number of a transaction or the memo of one of its splits has changed or
+   * splits have been added or removed.
+   *
+   * @param trx the transaction (new or changed)
    */
-  public GnucashGenerJob getGenerJobByID(final String id) {
-    if (jobID2job == null) {
-      throw new IllegalStateException("no root-element loaded");
+  protected void transactionTextChanged(final GnucashTransaction trx) {
+    FullTextIndex index = transactionTextIndex;
+    if (index == null) {
+      // not built yet, it will see the change
+      return;
     }
 
-    GnucashGenerJob retval = jobID2job.get(id);
-    if (retval == null) {
-      LOGGER.warn(bundle.getMessage("Warn_NoObjectWithId", "Job", id, jobID2job.size(), "jobs"));
+    List<String> texts = new ArrayList<String>();
+    texts.add(trx.getDescription());
+    texts.add(trx.getTransactionNumber());
+    splitTextIndex.removeAll(trx.getId());
+    for (GnucashTransactionSplit split : trx.getSplits()) {
+      texts.add(split.getDescription());
+      splitTextIndex.put(split.getId(), trx.getId(), Collections.singletonList(split.getDescription()));
     }
+    index.put(trx.getId(), texts);
+  }
 
-    return retval;
+  /**
+   * @param trxID the transaction just removed
+   */
+  protected void transactionTextRemoved(final String trxID) {
+    FullTextIndex index = transactionTextIndex;
+    if (index != null) {
+      index.remove(trxID);
+      splitTextIndex.removeAll(trxID);
+    }
   }
 
   /**
-   * @see GnucashFile#getGenerJobs()
+   * To be called after the description or number of an invoice or the description of one of its entries has changed
+   * or entries have been added or removed (public for the writable invoices and their entries).
+   *
+   * @param invc the invoice (new or changed)
    */
-  public Collection<GnucashGenerJob> getGenerJobs() {
-    if (jobID2job == null) {
-      throw new IllegalStateException("no root-element loaded");
+  public void invoiceTextChanged(final GnucashGenerInvoice invc) {
+    FullTextIndex index = invoiceTextIndex;
+    if (index == null) {
+      // not built yet, it will see the change
+      return;
     }
-    return jobID2job.values();
+
+    List<String> texts = new ArrayList<String>();
+    texts.add(invc.getDescription());
+    texts.add(invc.getNumber());
+    for (GnucashGenerInvoiceEntry entry : invc.getGenerEntries()) {
+      texts.add(entry.getDescription());
+    }
+    index.put(invc.getId(), texts);
   }
 
   /**
-   * @see GnucashFile#getTransactionByID(java.lang.String)
+   * @param invcID the invoice just removed
    */
-  public GnucashTransaction getTransactionByID(final String id) {
-    if (transactionID2transaction == null) {
-      throw new IllegalStateException("no root-element loaded");
+  protected void invoiceTextRemoved(final String invcID) {
+    FullTextIndex index = invoiceTextIndex;
+    if (index != null) {
+      index.remove(invcID);
     }
+  }
 
-    GnucashTransaction retval = transactionID2transaction.get(id);
+  /**
+   * @param entry a transaction of the index
+   * @return its facade (created again if it has never been created or has been evicted)
+   * @see LoadOptions#isLazyTransactions()
+   */
+  private GnucashTransaction getTransactionFacade(final TransactionIndex.Entry entry) {
+    GnucashTransaction retval = entry.getFacade();
     if (retval == null) {
-      LOGGER
-          .warn("No Transaction with id '" + id + "'. We know " + transactionID2transaction.size() + " transactions.");
+      // two threads may both create one, that does no harm
+      retval = createTransaction(getBookElementsOfType(GncTransaction.class).get(entry.getPosition()));
+      entry.setFacade(retval);
     }
     return retval;
   }
 
   /**
-   * @see GnucashFile#getTransactionByID(java.lang.String)
+   * Only used with {@link LoadOptions#isLazyTransactions()}, otherwise the splits register with their account.
+   *
+   * @param accountID the id of an account
+   * @return the splits of that account, sorted like {@link GnucashAccount#getTransactionSplits()}
    */
-  public GnucashTransactionSplit getTransactionSplitByID(final String id) {
-    if (transactionSplitID2transactionSplit == null) {
-      throw new IllegalStateException("no root-element loaded");
+  protected List<GnucashTransactionSplit> getTransactionSplitsOfAccount(final String accountID) {
+    ensureLoaded(LoadOptions.EntityFamily.TRANSACTIONS);
+
+    // sorted once, the book cannot change
+    String[] sortedIDs = transactionIndex.getSortedSplitIDs(accountID);
+    if (sortedIDs != null) {
+      List<GnucashTransactionSplit> retval = new ArrayList<GnucashTransactionSplit>(sortedIDs.length);
+      for (String splitID : sortedIDs) {
+        retval.add(getTransactionFacade(transactionIndex.getBySplitID(splitID)).getSplitByID(splitID));
+      }
+      return retval;
     }
 
-    GnucashTransactionSplit retval = transactionSplitID2transactionSplit.get(id);
-    if (retval == null) {
-      LOGGER.warn(bundle.getMessage("Warn_NoObjectWithId", "Transaction-Split", id,
-          transactionSplitID2transactionSplit.size(), "transactions"));
+    List<GnucashTransactionSplit> retval = new ArrayList<GnucashTransactionSplit>();
+    for (TransactionIndex.Entry entry : transactionIndex.getByAccountID(accountID)) {
+      for (GnucashTransactionSplit splt : getTransactionFacade(entry).getSplits()) {
+        if (splt.getAccountID().equals(accountID)) {
+          retval.add(splt);
+        }
+      }
+    }
+    Collections.sort(retval);
+
+    sortedIDs = new String[retval.size()];
+    for (int i = 0; i < sortedIDs.length; i++) {
+      sortedIDs[i] = retval.get(i).getId();
     }
+    transactionIndex.setSortedSplitIDs(accountID, sortedIDs);
     return retval;
   }
 
   /**
-   * @see GnucashFile#getTransactions()
+   * Only used with {@link LoadOptions#isLazyTransactions()}, otherwise the payments register with their invoice.
+   *
+   * @param lotID the lot of an invoice
+   * @return the transaction of every payment-split in that lot
    */
-  public Collection<? extends GnucashTransaction> getTransactions() {
-    if (transactionID2transaction == null) {
-      throw new IllegalStateException("no root-element loaded");
+  protected Collection<GnucashTransaction> getPayingTransactionsOfLot(final String lotID) {
+    ensureLoaded(LoadOptions.EntityFamily.TRANSACTIONS);
+    List<GnucashTransaction> retval = new ArrayList<GnucashTransaction>();
+    if (lotID != null) {
+      for (TransactionIndex.Entry entry : transactionIndex.getPaymentsByLotID(lotID)) {
+        retval.add(getTransactionFacade(entry));
+      }
     }
-    return Collections.unmodifiableCollection(transactionID2transaction.values());
+    return retval;
   }
 
   /**
@@ -2196,34 +3494,48 @@ public class GnucashFileImpl implements GnucashFile {
   // Statistics (for test purposes)
 
   public int getNofEntriesAccountMap() {
+    ensureLoaded(LoadOptions.EntityFamily.ACCOUNTS);
     return accountID2account.size();
   }
 
   public int getNofEntriesTransactionMap() {
+    ensureLoaded(LoadOptions.EntityFamily.TRANSACTIONS);
+    if (transactionIndex != null) {
+      return transactionIndex.size();
+    }
     return transactionID2transaction.size();
   }
 
   public int getNofEntriesTransactionSplitsMap() {
+    ensureLoaded(LoadOptions.EntityFamily.TRANSACTIONS);
+    if (transactionIndex != null) {
+      return transactionIndex.getSplitCount();
+    }
     return transactionSplitID2transactionSplit.size();
   }
 
   public int getNofEntriesGenerInvoiceMap() {
+    ensureLoaded(LoadOptions.EntityFamily.INVOICES);
     return invoiceID2invoice.size();
   }
 
   public int getNofEntriesGenerInvoiceEntriesMap() {
+    ensureLoaded(LoadOptions.EntityFamily.INVOICES);
     return invoiceEntryID2invoiceEntry.size();
   }
 
   public int getNofEntriesGenerJobMap() {
+    ensureLoaded(LoadOptions.EntityFamily.JOBS);
     return jobID2job.size();
   }
 
   public int getNofEntriesCustomerMap() {
+    ensureLoaded(LoadOptions.EntityFamily.CUSTOMERS);
     return customerID2customer.size();
   }
 
   public int getNofEntriesVendorMap() {
+    ensureLoaded(LoadOptions.EntityFamily.VENDORS);
     return vendorID2vendor.size();
   }
 
@@ -2237,54 +3549,40 @@ public class GnucashFileImpl implements GnucashFile {
   // before using the job-methods!
 
   /**
-   * Assuming that all customer numbers (manually set IDs, not GUIDs) are numeric as generated by default.
-   * 
-   * @param gcshFile
-   * @return
+   * The sequences behind getNewCustomerNumber() etc.
    */
-  public int getHighestCustomerNumber() {
-    int highest = -1;
+  private final NumberSequence customerNumbers = new NumberSequence(
+      () -> customerID2customer.values().stream().map(GnucashCustomer::getNumber).collect(Collectors.toList()),
+      PADDING_TEMPLATE.length());
 
-    for (GnucashCustomer cust : customerID2customer.values()) {
-      try {
-        int newNum = Integer.parseInt(cust.getNumber());
-        if (newNum > highest)
-          highest = newNum;
-      } catch (Exception exc) {
-        // We run into this exception even when we stick to the
-        // automatically generated numbers, because this API's
-        // createWritableCustomer() method at first generates
-        // an object whose number is equal to its GUID.
-        // ==> ::TODO Adapt how a customer object is created.
-        LOGGER.warn(bundle.getMessage("Warn_GetHighestObj", "getHighestCustomerNumber"));
-      }
-    }
+  private final NumberSequence vendorNumbers = new NumberSequence(
+      () -> vendorID2vendor.values().stream().map(GnucashVendor::getNumber).collect(Collectors.toList()),
+      PADDING_TEMPLATE.length());
+
+  private final NumberSequence jobNumbers = new NumberSequence(
+      () -> jobID2job.values().stream().map(GnucashGenerJob::getNumber).collect(Collectors.toList()),
+      PADDING_TEMPLATE.length());
 
-    return highest;
+  /**
+   * Assuming that all customer numbers (manually set IDs, not GUIDs) are numeric as generated by default.<br/>
+   * Computed once, then kept up to date while customers are added, renumbered and removed.
+   * 
+   * @return the highest customer number, -1 if there is none
+   */
+  public int getHighestCustomerNumber() {
+    ensureLoaded(LoadOptions.EntityFamily.CUSTOMERS);
+    return customerNumbers.getHighest();
   }
 
   /**
-   * Assuming that all vendor numbers (manually set IDs, not GUIDs) are numeric as generated by default.
+   * Assuming that all vendor numbers (manually set IDs, not GUIDs) are numeric as generated by default.<br/>
+   * Computed once, then kept up to date while vendors are added, renumbered and removed.
    * 
-   * @param gcshFile
-   * @return
+   * @return the highest vendor number, -1 if there is none
    */
   public int getHighestVendorNumber() {
-    int highest = -1;
-
-    for (GnucashVendor vend : vendorID2vendor.values()) {
-      try {
-        int newNum = Integer.parseInt(vend.getNumber());
-        if (newNum > highest)
-          highest = newNum;
-      } catch (Exception exc) {
-        // Cf. .getHighestCustomerNumber() above.
-        // ==> ::TODO Adapt how a vendor object is created.
-        LOGGER.warn(bundle.getMessage("Warn_GetHighestObj", "getHighestVendorNumber"));
-      }
-    }
-
-    return highest;
+    ensureLoaded(LoadOptions.EntityFamily.VENDORS);
+    return vendorNumbers.getHighest();
   }
 
   /**
@@ -2293,81 +3591,145 @@ public class GnucashFileImpl implements GnucashFile {
    * CAUTION: As opposed to customers and vendors, it may not be a good idea to actually have the job numbers generated
    * automatically.
    * 
-   * @param gcshFile
-   * @return
+   * @return the highest job number, -1 if there is none
    */
   public int getHighestJobNumber() {
-    int highest = -1;
-
-    for (GnucashGenerJob job : jobID2job.values()) {
-      try {
-        int newNum = Integer.parseInt(job.getNumber());
-        if (newNum > highest)
-          highest = newNum;
-      } catch (Exception exc) {
-        // We run into this exception even when we stick to the
-        // automatically generated numbers, because this API's
-        // createWritableCustomer() method at first generates
-        // an object whose number is equal to its GUID.
-        // ==> ::TODO Adapt how a customer object is created.
-        LOGGER.warn(bundle.getMessage("Warn_GetHighestObj", "getHighestJobNumber"));
-      }
-    }
-
-    return highest;
+    ensureLoaded(LoadOptions.EntityFamily.JOBS);
+    return jobNumbers.getHighest();
   }
 
   // ----------------------------
 
   /**
-   * Assuming that all customer numbers (manually set IDs, not GUIDs) are numeric as generated by default.
+   * Assuming that all customer numbers (manually set IDs, not GUIDs) are numeric as generated by default.<br/>
+   * The number is reserved: it will not be returned again, even if it is never used.
    * 
-   * @param gcshFile
-   * @return
+   * @return the next free customer number
    */
   public String getNewCustomerNumber() {
-    int newNo = getHighestCustomerNumber() + 1;
-    String newNoStr = Integer.toString(newNo);
-    String newNoStrPadded = PADDING_TEMPLATE + newNoStr;
-    // 10 zeroes if you need a string of length 10 in the end
-    newNoStrPadded = newNoStrPadded.substring(newNoStr.length());
+    return getNewCustomerNumbers(1).get(0);
+  }
 
-    return newNoStrPadded;
+  /**
+   * @see GnucashFile#getNewCustomerNumbers(int)
+   */
+  public List<String> getNewCustomerNumbers(final int count) {
+    ensureLoaded(LoadOptions.EntityFamily.CUSTOMERS);
+    return allocate(customerNumbers, count);
   }
 
   /**
-   * Assuming that all customer numbers (manually set IDs, not GUIDs) are numeric as generated by default.
+   * Assuming that all customer numbers (manually set IDs, not GUIDs) are numeric as generated by default.<br/>
+   * The number is reserved: it will not be returned again, even if it is never used.
    * 
-   * @param gcshFile
-   * @return
+   * @return the next free vendor number
    */
   public String getNewVendorNumber() {
-    int newNo = getHighestVendorNumber() + 1;
-    String newNoStr = Integer.toString(newNo);
-    String newNoStrPadded = PADDING_TEMPLATE + newNoStr;
-    // 10 zeroes if you need a string of length 10 in the end
-    newNoStrPadded = newNoStrPadded.substring(newNoStr.length());
+    return getNewVendorNumbers(1).get(0);
+  }
 
-    return newNoStrPadded;
+  /**
+   * @see GnucashFile#getNewVendorNumbers(int)
+   */
+  public List<String> getNewVendorNumbers(final int count) {
+    ensureLoaded(LoadOptions.EntityFamily.VENDORS);
+    return allocate(vendorNumbers, count);
   }
 
   /**
-   * Assuming that all job numbers (manually set IDs, not GUIDs) are numeric as generated by default.
+   * Assuming that all job numbers (manually set IDs, not GUIDs) are numeric as generated by default.<br/>
+   * The number is reserved: it will not be returned again, even if it is never used.
    * 
    * CAUTION: As opposed to customers and vendors, it may not be a good idea to actually have the job numbers generated
    * automatically.
    * 
-   * @param gcshFile
-   * @return
+   * @return the next free job number
    */
   public String getNewJobNumber() {
-    int newNo = getHighestJobNumber() + 1;
-    String newNoStr = Integer.toString(newNo);
-    String newNoStrPadded = PADDING_TEMPLATE + newNoStr;
-    // 10 zeroes if you need a string of length 10 in the end
-    newNoStrPadded = newNoStrPadded.substring(newNoStr.length());
+    return getNewJobNumbers(1).get(0);
+  }
+
+  /**
+   * @see GnucashFile#getNewJobNumbers(int)
+   */
+  public List<String> getNewJobNumbers(final int count) {
+    ensureLoaded(LoadOptions.EntityFamily.JOBS);
+    return allocate(jobNumbers, count);
+  }
+
+  private static List<String> allocate(final NumberSequence sequence, final int count) {
+    List<String> retval = new ArrayList<String>(count);
+    synchronized (sequence) {
+      int first = sequence.allocate(count);
+      for (int i = 0; i < count; i++) {
+        retval.add(sequence.format(first + i));
+      }
+    }
+    return retval;
+  }
+
+  // ----------------------------
+
+  /**
+   * @param prefix text in front of the digits of new customer numbers (may be empty, the default)
+   * @param width  the minimal number of digits (padded with zeroes, default 6)
+   */
+  public void setCustomerNumberFormat(final String prefix, final int width) {
+    customerNumbers.setFormat(prefix, width);
+  }
+
+  /**
+   * @param prefix text in front of the digits of new vendor numbers (may be empty, the default)
+   * @param width  the minimal number of digits (padded with zeroes, default 6)
+   */
+  public void setVendorNumberFormat(final String prefix, final int width) {
+    vendorNumbers.setFormat(prefix, width);
+  }
+
+  /**
+   * @param prefix text in front of the digits of new job numbers (may be empty, the default)
+   * @param width  the minimal number of digits (padded with zeroes, default 6)
+   */
+  public void setJobNumberFormat(final String prefix, final int width) {
+    jobNumbers.setFormat(prefix, width);
+  }
+
+  // ----------------------------
+
+  /**
+   * To be called whenever a customer has been renumbered, added (oldNumber == null) or removed (newNumber == null).
+   *
+   * @param cust      the customer
+   * @param oldNumber the number before
+   * @param newNumber the number now
+   */
+  protected void customerNumberChanged(final GnucashCustomer cust, final String oldNumber, final String newNumber) {
+    nameChanged(customerNumberIndex, cust, oldNumber, newNumber);
+    customerNumbers.numberChanged(oldNumber, newNumber);
+  }
 
-    return newNoStrPadded;
+  /**
+   * To be called whenever a vendor has been renumbered, added (oldNumber == null) or removed (newNumber == null).
+   *
+   * @param vend      the vendor
+   * @param oldNumber the number before
+   * @param newNumber the number now
+   */
+  protected void vendorNumberChanged(final GnucashVendor vend, final String oldNumber, final String newNumber) {
+    nameChanged(vendorNumberIndex, vend, oldNumber, newNumber);
+    vendorNumbers.numberChanged(oldNumber, newNumber);
+  }
+
+  /**
+   * To be called whenever a job has been renumbered, added (oldNumber == null) or removed (newNumber == null).
+   *
+   * @param job       the job
+   * @param oldNumber the number before
+   * @param newNumber the number now
+   */
+  protected void jobNumberChanged(final GnucashGenerJob job, final String oldNumber, final String newNumber) {
+    nameChanged(jobNumberIndex, job, oldNumber, newNumber);
+    jobNumbers.numberChanged(oldNumber, newNumber);
   }
 
 }
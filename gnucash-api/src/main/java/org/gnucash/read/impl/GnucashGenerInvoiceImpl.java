@@ -11,10 +11,13 @@ import java.util.LinkedList;
 import java.util.List;
 
 import org.gnucash.Const;
+import org.gnucash.currency.CurrencyNameSpace;
 import org.gnucash.generated.GncV2;
 import org.gnucash.generated.GncV2.GncBook.GncGncInvoice;
 import org.gnucash.generated.GncV2.GncBook.GncGncInvoice.InvoiceOwner;
 import org.gnucash.numbers.FixedPointNumber;
+import org.gnucash.numbers.Money;
+import org.gnucash.numbers.MoneyAccumulator;
 import org.gnucash.read.GnucashAccount;
 import org.gnucash.read.GnucashFile;
 import org.gnucash.read.GnucashGenerInvoice;
@@ -173,9 +176,10 @@ public class GnucashGenerInvoiceImpl implements GnucashGenerInvoice {
 	// -----------------------------------------------------------------
 
 	/**
-	 * {@inheritDoc}
+	 * Synchronized because payments may be added concurrently when loading in
+	 * parallel (see {@link LoadOptions#isParallel()}). {@inheritDoc}
 	 */
-	public void addPayingTransaction(final GnucashTransactionSplit trans) {
+	public synchronized void addPayingTransaction(final GnucashTransactionSplit trans) {
 		payingTransactions.add(trans.getTransaction());
 	}
 
@@ -191,6 +195,13 @@ public class GnucashGenerInvoiceImpl implements GnucashGenerInvoice {
 	 * {@inheritDoc}
 	 */
 	public Collection<GnucashTransaction> getPayingTransactions() {
+		// the payments register themselves when the transactions are built
+		if (file instanceof GnucashFileImpl) {
+			if (((GnucashFileImpl) file).getLoadOptions().isLazyTransactions()) {
+				return ((GnucashFileImpl) file).getPayingTransactionsOfLot(getLotID());
+			}
+			((GnucashFileImpl) file).ensureLoaded(LoadOptions.EntityFamily.TRANSACTIONS);
+		}
 		return payingTransactions;
 	}
 
@@ -246,102 +257,94 @@ public class GnucashGenerInvoiceImpl implements GnucashGenerInvoice {
 	 * {@inheritDoc}
 	 */
 	public FixedPointNumber getInvcAmountUnpaidWithTaxes() throws WrongInvoiceTypeException {
-
-		if (!getType().equals(GnucashGenerInvoice.TYPE_CUSTOMER) &&
-				!getType().equals(GnucashGenerInvoice.TYPE_JOB)) {
-			throw new WrongInvoiceTypeException();
-		}
-
-		return ((FixedPointNumber) getInvcAmountWithTaxes().clone()).subtract(getInvcAmountPaidWithTaxes());
+		// both are new numbers
+		return getInvcAmountWithTaxes().subtract(getInvcAmountPaidWithTaxes());
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	public FixedPointNumber getInvcAmountPaidWithTaxes() throws WrongInvoiceTypeException {
-
-		if (!getType().equals(GnucashGenerInvoice.TYPE_CUSTOMER) &&
-				!getType().equals(GnucashGenerInvoice.TYPE_JOB)) {
-			throw new WrongInvoiceTypeException();
-		}
-
-		FixedPointNumber takenFromReceivableAccount = new FixedPointNumber();
-		for (GnucashTransaction trx : getPayingTransactions()) {
-			for (GnucashTransactionSplit split : trx.getSplits()) {
-				if (split.getAccount().getType().equals(GnucashAccount.TYPE_RECEIVABLE)) {
-					if (!split.getValue().isPositive()) {
-						takenFromReceivableAccount.subtract(split.getValue());
-					}
-				}
-			} // split
-		} // trx
-
-		return takenFromReceivableAccount;
+		checkInvcType();
+		return sumPayments(GnucashAccount.TYPE_RECEIVABLE).getSum();
 	}
 
 	@Override
 	public FixedPointNumber getInvcAmountPaidWithoutTaxes() throws WrongInvoiceTypeException {
+		checkInvcType();
+		return sumEntries(GnucashGenerInvoiceEntry::getInvcSumExclTaxes).getSum();
+	}
 
-		if (!getType().equals(GnucashGenerInvoice.TYPE_CUSTOMER) &&
-				!getType().equals(GnucashGenerInvoice.TYPE_JOB)) {
-			throw new WrongInvoiceTypeException();
-		}
-
-		FixedPointNumber retval = new FixedPointNumber();
+	/**
+	 * {@inheritDoc}
+	 */
+	public FixedPointNumber getInvcAmountWithTaxes() throws WrongInvoiceTypeException {
+		checkInvcType();
 
-		for (GnucashGenerInvoiceEntry entry : getGenerEntries()) {
-			if (entry.getType().equals(getType())) {
-				retval.add(entry.getInvcSumExclTaxes());
-			}
-		}
+		//TODO: we should sum them without taxes grouped by tax% and
+		//      multiply the sums with the tax% to be calculatng
+		//      correctly
 
-		return retval;
+		return sumEntries(GnucashGenerInvoiceEntry::getInvcSumInclTaxes).getSum();
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
-	public FixedPointNumber getInvcAmountWithTaxes() throws WrongInvoiceTypeException {
+	public FixedPointNumber getInvcAmountWithoutTaxes() throws WrongInvoiceTypeException {
+		checkInvcType();
+		return sumEntries(GnucashGenerInvoiceEntry::getInvcSumExclTaxes).getSum();
+	}
 
-		if (!getType().equals(GnucashGenerInvoice.TYPE_CUSTOMER) &&
-				!getType().equals(GnucashGenerInvoice.TYPE_JOB)) {
-			throw new WrongInvoiceTypeException();
-		}
+	// ------------------------------
 
-		FixedPointNumber retval = new FixedPointNumber();
+	/**
+	 * {@inheritDoc}
+	 */
+	public Money getInvcAmountUnpaidWithTaxesAsMoney() throws WrongInvoiceTypeException {
+		return getInvcAmountWithTaxesAsMoney().subtract(getInvcAmountPaidWithTaxesAsMoney());
+	}
 
-		//TODO: we should sum them without taxes grouped by tax% and
-		//      multiply the sums with the tax% to be calculatng
-		//      correctly
+	/**
+	 * {@inheritDoc}
+	 */
+	public Money getInvcAmountPaidWithTaxesAsMoney() throws WrongInvoiceTypeException {
+		checkInvcType();
+		return sumPayments(GnucashAccount.TYPE_RECEIVABLE).toMoney();
+	}
 
-		for (GnucashGenerInvoiceEntry entry : getGenerEntries()) {
-			if (entry.getType().equals(getType())) {
-				retval.add(entry.getInvcSumInclTaxes());
-			}
-		}
+	/**
+	 * {@inheritDoc}
+	 */
+	public Money getInvcAmountPaidWithoutTaxesAsMoney() throws WrongInvoiceTypeException {
+		checkInvcType();
+		return sumEntries(GnucashGenerInvoiceEntry::getInvcSumExclTaxes).toMoney();
+	}
 
-		return retval;
+	/**
+	 * {@inheritDoc}
+	 */
+	public Money getInvcAmountWithTaxesAsMoney() throws WrongInvoiceTypeException {
+		checkInvcType();
+		return sumEntries(GnucashGenerInvoiceEntry::getInvcSumInclTaxes).toMoney();
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
-	public FixedPointNumber getInvcAmountWithoutTaxes() throws WrongInvoiceTypeException {
+	public Money getInvcAmountWithoutTaxesAsMoney() throws WrongInvoiceTypeException {
+		checkInvcType();
+		return sumEntries(GnucashGenerInvoiceEntry::getInvcSumExclTaxes).toMoney();
+	}
 
+	/**
+	 * @throws WrongInvoiceTypeException if this is neither a customer- nor a job-invoice
+	 */
+	private void checkInvcType() throws WrongInvoiceTypeException {
 		if (!getType().equals(GnucashGenerInvoice.TYPE_CUSTOMER) &&
 				!getType().equals(GnucashGenerInvoice.TYPE_JOB)) {
 			throw new WrongInvoiceTypeException();
 		}
-
-		FixedPointNumber retval = new FixedPointNumber();
-
-		for (GnucashGenerInvoiceEntry entry : getGenerEntries()) {
-			if (entry.getType().equals(getType())) {
-				retval.add(entry.getInvcSumExclTaxes());
-			}
-		}
-
-		return retval;
 	}
 
 	// ------------------------------
@@ -391,40 +394,19 @@ public class GnucashGenerInvoiceImpl implements GnucashGenerInvoice {
 		// System.err.println("debug: GnucashInvoiceImpl.getAmountUnpaid(): "
 		// + "getBillAmountUnpaid()="+getBillAmountWithoutTaxes()+" getBillAmountPaidWithTaxes()="+getAmountPaidWithTaxes() );
 
-		return ((FixedPointNumber) getBillAmountWithTaxes().clone()).subtract(getBillAmountPaidWithTaxes());
+		// both are new numbers
+		return getBillAmountWithTaxes().subtract(getBillAmountPaidWithTaxes());
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	public FixedPointNumber getBillAmountPaidWithTaxes() throws WrongInvoiceTypeException {
-
-		FixedPointNumber takenFromPayableAccount = new FixedPointNumber();
-		for (GnucashTransaction trx : getPayingTransactions()) {
-			for (GnucashTransactionSplit split : trx.getSplits()) {
-				if (split.getAccount().getType().equals(GnucashAccount.TYPE_PAYABLE)) {
-					if (split.getValue().isPositive()) {
-						takenFromPayableAccount.add(split.getValue());
-					}
-				}
-			} // split
-		} // trx
-
-		//        System.err.println("getBillAmountPaidWithTaxes="+takenFromPayableAccount.doubleValue());
-
-		return takenFromPayableAccount;
+		return sumPayments(GnucashAccount.TYPE_PAYABLE).getSum();
 	}
 
 	public FixedPointNumber getBillAmountPaidWithoutTaxes() throws WrongInvoiceTypeException {
-		FixedPointNumber retval = new FixedPointNumber();
-
-		for (GnucashGenerInvoiceEntry entry : getGenerEntries()) {
-			if (entry.getType().equals(getType())) {
-				retval.add(entry.getBillSumExclTaxes());
-			}
-		}
-
-		return retval;
+		return sumEntries(GnucashGenerInvoiceEntry::getBillSumExclTaxes).getSum();
 	}
 
 	/**
@@ -432,35 +414,55 @@ public class GnucashGenerInvoiceImpl implements GnucashGenerInvoice {
 	 */
 	public FixedPointNumber getBillAmountWithTaxes() throws WrongInvoiceTypeException {
 
-		FixedPointNumber retval = new FixedPointNumber();
-
 		//TODO: we should sum them without taxes grouped by tax% and
 		//      multiply the sums with the tax% to be calculatng
 		//      correctly
 
-		for (GnucashGenerInvoiceEntry entry : getGenerEntries()) {
-			if (entry.getType().equals(getType())) {
-				retval.add(entry.getBillSumInclTaxes());
-			}
-		}
-
-		return retval;
+		return sumEntries(GnucashGenerInvoiceEntry::getBillSumInclTaxes).getSum();
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	public FixedPointNumber getBillAmountWithoutTaxes() throws WrongInvoiceTypeException {
+		return sumEntries(GnucashGenerInvoiceEntry::getBillSumExclTaxes).getSum();
+	}
 
-		FixedPointNumber retval = new FixedPointNumber();
+	// ------------------------------
 
-		for (GnucashGenerInvoiceEntry entry : getGenerEntries()) {
-			if (entry.getType().equals(getType())) {
-				retval.add(entry.getBillSumExclTaxes());
-			}
-		}
+	/**
+	 * {@inheritDoc}
+	 */
+	public Money getBillAmountUnpaidWithTaxesAsMoney() throws WrongInvoiceTypeException {
+		return getBillAmountWithTaxesAsMoney().subtract(getBillAmountPaidWithTaxesAsMoney());
+	}
 
-		return retval;
+	/**
+	 * {@inheritDoc}
+	 */
+	public Money getBillAmountPaidWithTaxesAsMoney() throws WrongInvoiceTypeException {
+		return sumPayments(GnucashAccount.TYPE_PAYABLE).toMoney();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Money getBillAmountPaidWithoutTaxesAsMoney() throws WrongInvoiceTypeException {
+		return sumEntries(GnucashGenerInvoiceEntry::getBillSumExclTaxes).toMoney();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Money getBillAmountWithTaxesAsMoney() throws WrongInvoiceTypeException {
+		return sumEntries(GnucashGenerInvoiceEntry::getBillSumInclTaxes).toMoney();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Money getBillAmountWithoutTaxesAsMoney() throws WrongInvoiceTypeException {
+		return sumEntries(GnucashGenerInvoiceEntry::getBillSumExclTaxes).toMoney();
 	}
 
 	// ------------------------------
@@ -638,6 +640,164 @@ public class GnucashGenerInvoiceImpl implements GnucashGenerInvoice {
 		return this.getCurrencyFormat().format(this.getJobAmountWithoutTaxes());
 	}
 
+	// ----------------------------
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Money getJobAmountUnpaidWithTaxesAsMoney() throws WrongInvoiceTypeException {
+		String jobType = getJobTypeChecked();
+		if (jobType.equals(GnucashGenerJob.TYPE_CUSTOMER)) {
+			return getInvcAmountUnpaidWithTaxesAsMoney();
+		}
+		if (jobType.equals(GnucashGenerJob.TYPE_VENDOR)) {
+			return getBillAmountUnpaidWithTaxesAsMoney();
+		}
+
+		return null; // Compiler happy
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Money getJobAmountPaidWithTaxesAsMoney() throws WrongInvoiceTypeException {
+		String jobType = getJobTypeChecked();
+		if (jobType.equals(GnucashGenerJob.TYPE_CUSTOMER)) {
+			return getInvcAmountPaidWithTaxesAsMoney();
+		}
+		if (jobType.equals(GnucashGenerJob.TYPE_VENDOR)) {
+			return getBillAmountPaidWithTaxesAsMoney();
+		}
+
+		return null; // Compiler happy
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Money getJobAmountPaidWithoutTaxesAsMoney() throws WrongInvoiceTypeException {
+		String jobType = getJobTypeChecked();
+		if (jobType.equals(GnucashGenerJob.TYPE_CUSTOMER)) {
+			return getInvcAmountPaidWithoutTaxesAsMoney();
+		}
+		if (jobType.equals(GnucashGenerJob.TYPE_VENDOR)) {
+			return getBillAmountPaidWithoutTaxesAsMoney();
+		}
+
+		return null; // Compiler happy
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Money getJobAmountWithTaxesAsMoney() throws WrongInvoiceTypeException {
+		String jobType = getJobTypeChecked();
+		if (jobType.equals(GnucashGenerJob.TYPE_CUSTOMER)) {
+			return getInvcAmountWithTaxesAsMoney();
+		}
+		if (jobType.equals(GnucashGenerJob.TYPE_VENDOR)) {
+			return getBillAmountWithTaxesAsMoney();
+		}
+
+		return null; // Compiler happy
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Money getJobAmountWithoutTaxesAsMoney() throws WrongInvoiceTypeException {
+		String jobType = getJobTypeChecked();
+		if (jobType.equals(GnucashGenerJob.TYPE_CUSTOMER)) {
+			return getInvcAmountWithoutTaxesAsMoney();
+		}
+		if (jobType.equals(GnucashGenerJob.TYPE_VENDOR)) {
+			return getBillAmountWithoutTaxesAsMoney();
+		}
+
+		return null; // Compiler happy
+	}
+
+	/**
+	 * @return the type of the job this invoice is for
+	 * @throws WrongInvoiceTypeException if this is no job-invoice
+	 */
+	private String getJobTypeChecked() throws WrongInvoiceTypeException {
+		if (!getType().equals(GnucashGenerInvoice.TYPE_JOB)) {
+			throw new WrongInvoiceTypeException();
+		}
+
+		return new GnucashJobInvoiceImpl(this).getJobType();
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * One of the sums of an entry.
+	 */
+	private interface EntrySum {
+		FixedPointNumber get(GnucashGenerInvoiceEntry entry) throws WrongInvoiceTypeException;
+	}
+
+	/**
+	 * @param entrySum the sum to take of every entry
+	 * @return the sum over all entries of our type
+	 */
+	private MoneyAccumulator sumEntries(final EntrySum entrySum) throws WrongInvoiceTypeException {
+		MoneyAccumulator retval = newAccumulator();
+
+		for (GnucashGenerInvoiceEntry entry : getGenerEntries()) {
+			if (entry.getType().equals(getType())) {
+				// a new number per entry, added without another copy
+				retval.add(entrySum.get(entry));
+			}
+		}
+
+		return retval;
+	}
+
+	/**
+	 * The values of the splits are added up as they are, whatever the currency of
+	 * their transaction (as before, a payment in another currency is not
+	 * converted and does not fail).
+	 *
+	 * @param accountType {@link GnucashAccount#TYPE_RECEIVABLE} for what the customer paid,
+	 *                    {@link GnucashAccount#TYPE_PAYABLE} for what we paid the vendor
+	 * @return the sum of the payments
+	 */
+	private MoneyAccumulator sumPayments(final String accountType) {
+		boolean receivable = accountType.equals(GnucashAccount.TYPE_RECEIVABLE);
+		MoneyAccumulator retval = newAccumulator();
+
+		for (GnucashTransaction trx : getPayingTransactions()) {
+			for (GnucashTransactionSplit split : trx.getSplits()) {
+				if (split.getAccount().getType().equals(accountType)) {
+					FixedPointNumber value = split.getValue();
+					if (receivable && !value.isPositive()) {
+						// taken from the receivable-account
+						retval.subtract(value);
+					} else if (!receivable && value.isPositive()) {
+						retval.add(value);
+					}
+				}
+			} // split
+		} // trx
+
+		return retval;
+	}
+
+	/**
+	 * @return an empty sum in the currency of this invoice (the default-currency of the book if the file does not
+	 *         give it)
+	 */
+	private MoneyAccumulator newAccumulator() {
+		GncGncInvoice.InvoiceCurrency currency = jwsdpPeer.getInvoiceCurrency();
+		if (currency == null) {
+			return new MoneyAccumulator(CurrencyNameSpace.NAMESPACE_CURRENCY, getFile().getDefaultCurrencyID());
+		}
+
+		return new MoneyAccumulator(currency.getCmdtySpace(), currency.getCmdtyId());
+	}
+
 	// -----------------------------------------------------------------
 
 	/**
@@ -807,9 +967,10 @@ public class GnucashGenerInvoiceImpl implements GnucashGenerInvoice {
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * Synchronized because entries may be added concurrently when loading in
+	 * parallel (see {@link LoadOptions#isParallel()}). {@inheritDoc}
 	 */
-	public void addGenerEntry(final GnucashGenerInvoiceEntry entry) {
+	public synchronized void addGenerEntry(final GnucashGenerInvoiceEntry entry) {
 		if (!entries.contains(entry)) {
 			entries.add(new GnucashGenerInvoiceEntryImpl(entry));
 		}
@@ -1,18 +1,16 @@
 package org.gnucash.read.impl;
 
 import java.io.IOException;
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
-import java.util.Date;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
-import org.gnucash.Const;
 import org.gnucash.generated.GncPricedb;
 import org.gnucash.generated.Price;
 import org.gnucash.numbers.FixedPointNumber;
@@ -21,6 +19,12 @@ import org.gnucash.read.GnucashPriceDB;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * The price-quotes of a gnucash-file.<br/>
+ * The quotes are indexed once: per commodity and currency, sorted by time (see
+ * {@link PriceSeries}). The index is built again after the file reported
+ * changed quotes (see {@link GnucashFileImpl#pricesChanged()}).
+ */
 public class GnucashPriceDBImpl implements GnucashPriceDB {
 	protected static final Logger LOGGER = LoggerFactory.getLogger(GnucashFileImpl.class);
 
@@ -28,7 +32,10 @@ public class GnucashPriceDBImpl implements GnucashPriceDB {
 	private GncPricedb priceDB;
 	private boolean b_PriceDBPresent = false;
 
-	protected static final DateFormat PRICE_QUOTE_DATE_FORMAT = new SimpleDateFormat(Const.STANDARD_DATE_FORMAT_BOOK);
+	/**
+	 * @see #getIndex()
+	 */
+	private volatile Index index;
 
 	public GnucashPriceDBImpl(final GnucashFileImpl a_myFile) throws IOException {
 		super();
@@ -37,6 +44,7 @@ public class GnucashPriceDBImpl implements GnucashPriceDB {
 		if (!myFile.getCurrencyTable().getNameSpaces().isEmpty()) {
 			b_PriceDBPresent = true;
 		}
+		getIndex();
 	}
 
 	@Override
@@ -46,49 +54,21 @@ public class GnucashPriceDBImpl implements GnucashPriceDB {
 
 	@Override
 	public List<String> getCommoditieSpaces() {
-		List<String> l_CommoditySpaces = new ArrayList<String>();
-		if (b_PriceDBPresent) {
-			for (Iterator<Price> iter = priceDB.getPrice().iterator(); iter.hasNext(); ) {
-				Price price = iter.next();
-				Price.PriceCommodity comodity = price.getPriceCommodity();
-				if (!l_CommoditySpaces.contains(comodity.getCmdtySpace())) {
-					l_CommoditySpaces.add(comodity.getCmdtySpace());
-				}
-			}
-		}
-		return l_CommoditySpaces;
+		return new ArrayList<String>(getIndex().cmdtySpaces);
 	}
 
 	@Override
 	public List<String> getCommodities() {
-		List<String> l_Commodities = new ArrayList<String>();
-		if (b_PriceDBPresent) {
-			for (Iterator<Price> iter = priceDB.getPrice().iterator(); iter.hasNext(); ) {
-				Price price = iter.next();
-				Price.PriceCommodity comodity = price.getPriceCommodity();
-				if (!l_Commodities.contains(comodity.getCmdtyId())) {
-					l_Commodities.add(comodity.getCmdtyId());
-				}
-			}
-		}
-		return l_Commodities;
+		return new ArrayList<String>(getIndex().prices.keySet());
 	}
 
 	@Override
 	public List<String> getCommodities(String a_CommoditieSpace) {
-		List<String> l_Commodities = new ArrayList<String>();
-		if (b_PriceDBPresent) {
-			for (Iterator<Price> iter = priceDB.getPrice().iterator(); iter.hasNext(); ) {
-				Price price = iter.next();
-				Price.PriceCommodity comodity = price.getPriceCommodity();
-				if (comodity.getCmdtySpace().equals(a_CommoditieSpace)) {
-					if (!l_Commodities.contains(comodity.getCmdtyId())) {
-						l_Commodities.add(comodity.getCmdtyId());
-					}
-				}
-			}
+		Set<String> l_Commodities = getIndex().cmdtyIdsBySpace.get(a_CommoditieSpace);
+		if (l_Commodities == null) {
+			return new ArrayList<String>();
 		}
-		return l_Commodities;
+		return new ArrayList<String>(l_Commodities);
 	}
 
 	@Override
@@ -99,148 +79,212 @@ public class GnucashPriceDBImpl implements GnucashPriceDB {
 		return null;
 	}
 
+	/**
+	 * Looks up the latest quote on or before the given day (for all currencies
+	 * the commodity is quoted in) and converts it to the default-currency.
+	 */
 	@Override
 	public FixedPointNumber getPrice(String a_CommoditieSpace, String a_Commodity, LocalDate a_CurDate, int depth) {
-		Date latestDate = null;
-		FixedPointNumber latestQuote = null;
-		FixedPointNumber factor = new FixedPointNumber(1); // factor is used if the quote is not to our base-currency
 		final int maxRecursionDepth = 5;
 
-		if (b_PriceDBPresent) {
-			for (Price priceQuote : (List<Price>) priceDB.getPrice()) {
-				try {
-					if (priceQuote == null) {
-						LOGGER.warn("gnucash-file contains null price-quotes" + " there may be a problem with JWSDP");
-						continue;
-					}
-					if (priceQuote.getPriceCurrency() == null) {
-						LOGGER.warn("gnucash-file contains price-quotes" + " with no currency id='"
-								+ priceQuote.getPriceId().getValue() + "'");
-						continue;
-					}
-					if (priceQuote.getPriceCurrency().getCmdtyId() == null) {
-						LOGGER.warn("gnucash-file contains price-quotes" + " with no currency-id id='"
-								+ priceQuote.getPriceId().getValue() + "'");
-						continue;
-					}
-					if (priceQuote.getPriceCurrency().getCmdtySpace() == null) {
-						LOGGER.warn("gnucash-file contains price-quotes" + " with no currency-namespace id='"
-								+ priceQuote.getPriceId().getValue() + "'");
-						continue;
-					}
-					if (priceQuote.getPriceTime() == null) {
-						LOGGER.warn("gnucash-file contains price-quotes" + " with no timestamp id='"
-								+ priceQuote.getPriceId().getValue() + "'");
-						continue;
-					}
-					if (priceQuote.getPriceValue() == null) {
-						LOGGER.warn("gnucash-file contains price-quotes" + " with no value id='"
-								+ priceQuote.getPriceId().getValue() + "'");
-						continue;
-					}
-					/*
-					 * if (priceQuote.getPriceCommodity().getCmdtySpace().equals("FUND") && priceQuote.getPriceType() == null) {
-					 * LOGGER.warn("gnucash-file contains FUND-price-quotes" + " with no type id='" +
-					 * priceQuote.getPriceId().getValue() + "'"); continue; }
-					 */
-					if (!a_CommoditieSpace.isBlank()) {
-						if (!priceQuote.getPriceCommodity().getCmdtySpace().equals(a_CommoditieSpace)) {
-							continue;
-						}
-					}
-					if (!priceQuote.getPriceCommodity().getCmdtyId().equals(a_Commodity)) {
-						continue;
-					}
-					/*
-					 * if (priceQuote.getPriceCommodity().getCmdtySpace().equals("FUND") && (priceQuote.getPriceType() == null ||
-					 * !priceQuote.getPriceType().equals("last") )) { LOGGER.warn("ignoring FUND-price-quote of unknown type '" +
-					 * priceQuote.getPriceType() + "' expecting 'last' "); continue; }
-					 */
-
-					if (!priceQuote.getPriceCurrency().getCmdtySpace().equals("ISO4217")) {
-						if (depth > maxRecursionDepth) {
-							LOGGER.warn("ignoring price-quote that is not in an" + " ISO4217 -currency but in '"
-									+ priceQuote.getPriceCurrency().getCmdtyId());
-							continue;
-						}
-						factor = getPrice(priceQuote.getPriceCurrency().getCmdtySpace(), priceQuote.getPriceCurrency().getCmdtyId(),
-								a_CurDate, depth + 1);
-					} else {
-						if (!priceQuote.getPriceCurrency().getCmdtyId().equals(myFile.getDefaultCurrencyID())) {
-							if (depth > maxRecursionDepth) {
-								LOGGER.warn("ignoring price-quote that is not in " + myFile.getDefaultCurrencyID() + " " + "but in  '"
-										+ priceQuote.getPriceCurrency().getCmdtyId());
-								continue;
-							}
-							factor = getPrice(priceQuote.getPriceCurrency().getCmdtySpace(),
-									priceQuote.getPriceCurrency().getCmdtyId(), a_CurDate, depth + 1);
-						}
-					}
-
-					Date date = PRICE_QUOTE_DATE_FORMAT.parse(priceQuote.getPriceTime().getTsDate());
-					LocalDateTime ls_CurDate = a_CurDate.atTime(23, 59, 59, 999_999_99);
-					Date l_CurDate = Date.from(ls_CurDate.atZone(ZoneId.systemDefault()).toInstant());
-
-					if (date.before(l_CurDate)) {
-						if (latestDate == null || latestDate.before(date)) {
-							latestDate = date;
-							latestQuote = new FixedPointNumber(priceQuote.getPriceValue());
-							LOGGER.debug("getLatestPrice(pCmdtySpace='" + a_CommoditieSpace + "', String pCmdtyId='" + a_Commodity
-									+ "') converted " + latestQuote + " <= " + priceQuote.getPriceValue());
-						}
-					}
+		// quotes before the next day
+		long before = a_CurDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
 
-				}
-				catch (NumberFormatException e) {
-					LOGGER.error("[NumberFormatException] Problem in " + getClass().getName() + ".getLatestPrice(pCmdtySpace='"
-							+ a_CommoditieSpace + "', String pCmdtyId='" + a_Commodity + "')! Ignoring a bad price-quote '"
-							+ priceQuote + "'", e);
-				}
-				catch (ParseException e) {
-					LOGGER.error("[ParseException] Problem in " + getClass().getName() + ".getLatestPrice(pCmdtySpace='"
-							+ a_CommoditieSpace + "', String pCmdtyId='" + a_Commodity + "')! Ignoring a bad price-quote '"
-							+ priceQuote + "'", e);
-				}
-				catch (NullPointerException e) {
-					LOGGER.error("[NullPointerException] Problem in " + getClass().getName() + ".getLatestPrice(pCmdtySpace='"
-							+ a_CommoditieSpace + "', String pCmdtyId='" + a_Commodity + "')! Ignoring a bad price-quote '"
-							+ priceQuote + "'", e);
-				}
-				catch (ArithmeticException e) {
-					LOGGER.error("[ArithmeticException] Problem in " + getClass().getName() + ".getLatestPrice(pCmdtySpace='"
-							+ a_CommoditieSpace + "', String pCmdtyId='" + a_Commodity + "')! Ignoring a bad price-quote '"
-							+ priceQuote + "'", e);
-				}
+		PriceSeries latestSeries = null;
+		int latestIndex = -1;
+		for (PriceSeries series : getIndex().getSeries(a_Commodity)) {
+			if (!a_CommoditieSpace.isBlank() && !series.getCmdtySpace().equals(a_CommoditieSpace)) {
+				continue;
+			}
+			if (depth > maxRecursionDepth && !isDefaultCurrency(series)) {
+				LOGGER.warn("ignoring price-quotes that are not in " + myFile.getDefaultCurrencyID() + " " + "but in  '"
+						+ series.getCurrencyId());
+				continue;
 			}
-		}
 
-		LOGGER.debug(getClass().getName() + ".getLatestPrice(pCmdtySpace='" + a_CommoditieSpace + "', String pCmdtyId='"
-				+ a_Commodity + "')= " + latestQuote + " from " + latestDate);
+			int i = series.indexBefore(before);
+			if (i < 0) {
+				continue;
+			}
+			// the latest quote, the first one in the price-db if several have the same time
+			if (latestSeries == null || latestSeries.getTime(latestIndex) < series.getTime(i)
+					|| (latestSeries.getTime(latestIndex) == series.getTime(i)
+							&& latestSeries.getPosition(latestIndex) > series.getPosition(i))) {
+				latestSeries = series;
+				latestIndex = i;
+			}
+		}
 
-		if (latestQuote == null) {
+		if (latestSeries == null) {
+			LOGGER.debug(getClass().getName() + ".getLatestPrice(pCmdtySpace='" + a_CommoditieSpace
+					+ "', String pCmdtyId='" + a_Commodity + "')= null");
 			return new FixedPointNumber(1);
 		}
 
+		FixedPointNumber latestQuote = latestSeries.getValue(latestIndex);
+		LOGGER.debug(getClass().getName() + ".getLatestPrice(pCmdtySpace='" + a_CommoditieSpace + "', String pCmdtyId='"
+				+ a_Commodity + "')= " + latestQuote + " in " + latestSeries.getCurrencyId());
+
+		// factor is used if the quote is not to our base-currency
+		FixedPointNumber factor = null;
+		if (!isDefaultCurrency(latestSeries)) {
+			factor = getPrice(latestSeries.getCurrencySpace(), latestSeries.getCurrencyId(), a_CurDate, depth + 1);
+		}
 		if (factor == null) {
 			factor = new FixedPointNumber(1);
 		}
 
+		// (the quote itself is shared and must not be changed)
 		return factor.multiply(latestQuote);
 	}
 
+	/**
+	 * @return the quotes of that commodity in the order of the file (not
+	 *         modifiable)
+	 */
 	public List<Price> getPrices(String a_Commoditie) {
-		List<Price> l_Prices = new ArrayList<Price>();
-		if (b_PriceDBPresent) {
-			for (Iterator<Price> iter = priceDB.getPrice().iterator(); iter.hasNext(); ) {
-				Price price = iter.next();
-				if (price.getPriceCommodity().getCmdtyId().equals(a_Commoditie)) {
-					l_Prices.add(price);
+		List<Price> l_Prices = getIndex().prices.get(a_Commoditie);
+		return l_Prices == null ? Collections.emptyList() : l_Prices;
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param series some quotes
+	 * @return true if they are in the default-currency (no conversion needed)
+	 */
+	private boolean isDefaultCurrency(final PriceSeries series) {
+		return series.getCurrencySpace().equals("ISO4217")
+				&& series.getCurrencyId().equals(myFile.getDefaultCurrencyID());
+	}
+
+	/**
+	 * @return the index, built again if quotes have been changed since
+	 */
+	private Index getIndex() {
+		Index retval = index;
+		long version = myFile.getPricesVersion();
+		if (retval == null || retval.version != version) {
+			List<Price> quotes = (b_PriceDBPresent && priceDB != null) ? priceDB.getPrice() : Collections.emptyList();
+			retval = new Index(quotes, version);
+			index = retval;
+		}
+		return retval;
+	}
+
+	/**
+	 * All quotes grouped by commodity.
+	 */
+	private static class Index {
+
+		/**
+		 * The version of the quotes it was built from.
+		 *
+		 * @see GnucashFileImpl#getPricesVersion()
+		 */
+		private final long version;
+
+		private final Set<String> cmdtySpaces = new LinkedHashSet<String>();
+
+		private final Map<String, Set<String>> cmdtyIdsBySpace = new LinkedHashMap<String, Set<String>>();
+
+		/**
+		 * Commodity-id to its quotes (in the order of the file).
+		 */
+		private final Map<String, List<Price>> prices = new LinkedHashMap<String, List<Price>>();
+
+		/**
+		 * Commodity-id to its quotes per commodity-space and currency.
+		 */
+		private final Map<String, List<PriceSeries>> series = new LinkedHashMap<String, List<PriceSeries>>();
+
+		private Index(final List<Price> quotes, final long version) {
+			this.version = version;
+
+			// "space\nid\ncurrency-space\ncurrency-id" to the valid quotes and their positions
+			Map<String, List<Price>> validQuotes = new LinkedHashMap<String, List<Price>>();
+			Map<String, List<Integer>> positions = new LinkedHashMap<String, List<Integer>>();
+
+			for (int i = 0; i < quotes.size(); i++) {
+				Price priceQuote = quotes.get(i);
+				if (priceQuote == null) {
+					LOGGER.warn("gnucash-file contains null price-quotes" + " there may be a problem with JWSDP");
+					continue;
+				}
+				Price.PriceCommodity comodity = priceQuote.getPriceCommodity();
+				if (comodity == null || comodity.getCmdtySpace() == null || comodity.getCmdtyId() == null) {
+					LOGGER.warn("gnucash-file contains price-quotes" + " with no commodity id='"
+							+ priceQuote.getPriceId().getValue() + "'");
+					continue;
+				}
+
+				cmdtySpaces.add(comodity.getCmdtySpace());
+				cmdtyIdsBySpace.computeIfAbsent(comodity.getCmdtySpace(), k -> new LinkedHashSet<String>())
+						.add(comodity.getCmdtyId());
+				prices.computeIfAbsent(comodity.getCmdtyId(), k -> new ArrayList<Price>()).add(priceQuote);
+
+				if (!isValid(priceQuote)) {
+					continue;
+				}
+				String key = comodity.getCmdtySpace() + "\n" + comodity.getCmdtyId() + "\n"
+						+ priceQuote.getPriceCurrency().getCmdtySpace() + "\n"
+						+ priceQuote.getPriceCurrency().getCmdtyId();
+				validQuotes.computeIfAbsent(key, k -> new ArrayList<Price>()).add(priceQuote);
+				positions.computeIfAbsent(key, k -> new ArrayList<Integer>()).add(i);
+			}
+
+			for (Map.Entry<String, List<Price>> entry : prices.entrySet()) {
+				entry.setValue(Collections.unmodifiableList(entry.getValue()));
+			}
+			for (Map.Entry<String, List<Price>> entry : validQuotes.entrySet()) {
+				PriceSeries newSeries = new PriceSeries(entry.getValue(), positions.get(entry.getKey()));
+				if (newSeries.size() > 0) {
+					series.computeIfAbsent(newSeries.getCmdtyId(), k -> new ArrayList<PriceSeries>()).add(newSeries);
 				}
 			}
 		}
-		return l_Prices;
-	}
 
-	;
+		/**
+		 * @param cmdtyId a commodity-id
+		 * @return its quotes per commodity-space and currency
+		 */
+		private List<PriceSeries> getSeries(final String cmdtyId) {
+			List<PriceSeries> retval = series.get(cmdtyId);
+			return retval == null ? Collections.emptyList() : retval;
+		}
+
+		/**
+		 * @param priceQuote a quote with a commodity
+		 * @return false (and a warning) if something is missing
+		 */
+		private static boolean isValid(final Price priceQuote) {
+			if (priceQuote.getPriceCurrency() == null) {
+				LOGGER.warn("gnucash-file contains price-quotes" + " with no currency id='"
+						+ priceQuote.getPriceId().getValue() + "'");
+				return false;
+			}
+			if (priceQuote.getPriceCurrency().getCmdtyId() == null) {
+				LOGGER.warn("gnucash-file contains price-quotes" + " with no currency-id id='"
+						+ priceQuote.getPriceId().getValue() + "'");
+				return false;
+			}
+			if (priceQuote.getPriceCurrency().getCmdtySpace() == null) {
+				LOGGER.warn("gnucash-file contains price-quotes" + " with no currency-namespace id='"
+						+ priceQuote.getPriceId().getValue() + "'");
+				return false;
+			}
+			if (priceQuote.getPriceTime() == null || priceQuote.getPriceTime().getTsDate() == null) {
+				LOGGER.warn("gnucash-file contains price-quotes" + " with no timestamp id='"
+						+ priceQuote.getPriceId().getValue() + "'");
+				return false;
+			}
+			if (priceQuote.getPriceValue() == null) {
+				LOGGER.warn("gnucash-file contains price-quotes" + " with no value id='"
+						+ priceQuote.getPriceId().getValue() + "'");
+				return false;
+			}
+			return true;
+		}
+	}
 
 }
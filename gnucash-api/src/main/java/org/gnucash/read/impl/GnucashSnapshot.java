@@ -0,0 +1,165 @@
+package org.gnucash.read.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import org.gnucash.generated.GncV2;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A binary copy of the parsed book, stored next to the book-file ("book.gnucash" -&gt; "book.gnucash.snap").<br/>
+ * Reading it saves decompressing, namespace-rewriting and unmarshalling the xml. The facades are still built from the
+ * restored {@link GncV2}-tree by {@link GnucashFileImpl#setRootElement(GncV2)}.<br/>
+ * A snapshot is only used if size, modification-time and SHA-256 of the book-file are the ones it was written for.
+ * <br/>
+ * Format: magic, format-version, size, mtime, hash, then the tree (see {@link SnapshotCodec}).
+ *
+ * @see LoadOptions#isSnapshotEnabled()
+ */
+public class GnucashSnapshot {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(GnucashSnapshot.class);
+
+	/**
+	 * Appended to the name of the book-file.
+	 */
+	public static final String SUFFIX = ".snap";
+
+	private static final byte[] MAGIC = "GCSHSNAP".getBytes(StandardCharsets.US_ASCII);
+
+	/**
+	 * To be increased whenever the format or the xsd changes incompatibly.
+	 */
+	private static final int FORMAT_VERSION = 2;
+
+	private final File bookFile;
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param pBookFile the gnucash-file the snapshot belongs to
+	 */
+	public GnucashSnapshot(final File pBookFile) {
+		super();
+
+		if (pBookFile == null) {
+			throw new IllegalArgumentException("null book-file given");
+		}
+
+		bookFile = pBookFile;
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @return the file the snapshot is stored in
+	 */
+	public File getSnapshotFile() {
+		return new File(bookFile.getPath() + SUFFIX);
+	}
+
+	/**
+	 * @return the book as stored in the snapshot or null if there is no snapshot or it does not belong to the current
+	 *         state of the book-file (any problem reading it is logged, not thrown)
+	 */
+	@SuppressWarnings("exports")
+	public GncV2 read() {
+		File snapFile = getSnapshotFile();
+		if (!snapFile.isFile()) {
+			return null;
+		}
+
+		try (FileChannel channel = FileChannel.open(snapFile.toPath(), StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+			byte[] magic = new byte[MAGIC.length];
+			buffer.get(magic);
+			if (!Arrays.equals(magic, MAGIC) || buffer.getInt() != FORMAT_VERSION) {
+				LOGGER.info("read: " + snapFile + " is no snapshot of this format, ignoring it");
+				return null;
+			}
+
+			long size = buffer.getLong();
+			long mtime = buffer.getLong();
+			byte[] hash = new byte[buffer.getInt()];
+			buffer.get(hash);
+			if (size != bookFile.length() || mtime != bookFile.lastModified() || !Arrays.equals(hash, computeHash())) {
+				LOGGER.info("read: " + snapFile + " is stale, ignoring it");
+				return null;
+			}
+
+			return SnapshotCodec.read(buffer);
+		} catch (IOException | BufferUnderflowException e) {
+			LOGGER.warn("read: cannot read " + snapFile + ", ignoring it: " + e);
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the snapshot for the current state of the book-file. The file is replaced atomically, so concurrent
+	 * readers see either the old or the new snapshot.
+	 *
+	 * @param root the freshly loaded book (not modified after loading)
+	 * @throws IOException on low level writing-errors
+	 */
+	public void write(@SuppressWarnings("exports") final GncV2 root) throws IOException {
+		File snapFile = getSnapshotFile();
+		File tmpFile = new File(snapFile.getPath() + ".tmp");
+
+		byte[] hash = computeHash();
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+			out.write(MAGIC);
+			out.writeInt(FORMAT_VERSION);
+			out.writeLong(bookFile.length());
+			out.writeLong(bookFile.lastModified());
+			out.writeInt(hash.length);
+			out.write(hash);
+
+			SnapshotCodec.write(root, out);
+		}
+
+		Files.move(tmpFile.toPath(), snapFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @return SHA-256 of the book-file
+	 */
+	private byte[] computeHash() throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// every JRE has to support SHA-256
+			throw new IllegalStateException(e);
+		}
+
+		byte[] buffer = new byte[64 * 1024];
+		try (InputStream in = new FileInputStream(bookFile)) {
+			int len;
+			while ((len = in.read(buffer)) > 0) {
+				digest.update(buffer, 0, len);
+			}
+		}
+		return digest.digest();
+	}
+
+}
@@ -0,0 +1,355 @@
+package org.gnucash.read.impl;
+
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+
+import org.gnucash.generated.GncAccount;
+import org.gnucash.generated.GncBudget;
+import org.gnucash.generated.GncCountData;
+import org.gnucash.generated.GncPricedb;
+import org.gnucash.generated.GncTransaction;
+import org.gnucash.generated.GncV2;
+import org.gnucash.generated.ObjectFactory;
+import org.gnucash.generated.SlotsType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Unmarshaller;
+
+/**
+ * Loads a gnucash-file with a namespace-aware StAX-reader instead of unmarshalling the whole
+ * document at once.<br/>
+ * The reader walks the document itself and only hands single children of &lt;gnc:book&gt; (one
+ * account, one transaction, one invoice, ...) to JAXB. The gnc-namespaces are mapped to the
+ * element-names of the generated classes while reading (gnc:account -&gt; gnc_account), so no
+ * character-level rewriting of the input as in {@link GnucashFileImpl.NamespaceRemovererReader}
+ * is needed.<br/>
+ * The result is the same {@link GncV2}-tree the JAXB-path produces.
+ *
+ * @see LoadOptions.Parser#STAX
+ */
+public class GnucashStaxLoader {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(GnucashStaxLoader.class);
+
+	/**
+	 * The element-names allowed in &lt;gnc:book&gt; and the JAXB-classes they map to.
+	 *
+	 * @see GncV2.GncBook#getBookElements()
+	 */
+	private static final Map<String, Class<?>> BOOK_ELEMENT_TYPES = new HashMap<String, Class<?>>();
+
+	static {
+		BOOK_ELEMENT_TYPES.put("gnc_commodity", GncV2.GncBook.GncCommodity.class);
+		BOOK_ELEMENT_TYPES.put("gnc_pricedb", GncPricedb.class);
+		BOOK_ELEMENT_TYPES.put("gnc_account", GncAccount.class);
+		BOOK_ELEMENT_TYPES.put("gnc_budget", GncBudget.class);
+		BOOK_ELEMENT_TYPES.put("gnc_transaction", GncTransaction.class);
+		BOOK_ELEMENT_TYPES.put("gnc_template-transactions", GncV2.GncBook.GncTemplateTransactions.class);
+		BOOK_ELEMENT_TYPES.put("gnc_schedxaction", GncV2.GncBook.GncSchedxaction.class);
+		BOOK_ELEMENT_TYPES.put("gnc_GncVendor", GncV2.GncBook.GncGncVendor.class);
+		BOOK_ELEMENT_TYPES.put("gnc_GncBillTerm", GncV2.GncBook.GncGncBillTerm.class);
+		BOOK_ELEMENT_TYPES.put("gnc_GncCustomer", GncV2.GncBook.GncGncCustomer.class);
+		BOOK_ELEMENT_TYPES.put("gnc_GncEmployee", GncV2.GncBook.GncGncEmployee.class);
+		BOOK_ELEMENT_TYPES.put("gnc_GncJob", GncV2.GncBook.GncGncJob.class);
+		BOOK_ELEMENT_TYPES.put("gnc_GncTaxTable", GncV2.GncBook.GncGncTaxTable.class);
+		BOOK_ELEMENT_TYPES.put("gnc_GncInvoice", GncV2.GncBook.GncGncInvoice.class);
+		BOOK_ELEMENT_TYPES.put("gnc_GncEntry", GncV2.GncBook.GncGncEntry.class);
+	}
+
+	/**
+	 * The JAXB-context for the generated classes.
+	 */
+	private final JAXBContext jaxbContext;
+
+	/**
+	 * Number of book-elements read by the last call to {@link #load(InputStream)}.
+	 */
+	private int bookElementCount = 0;
+
+	/**
+	 * @see #setSkippedTypes(Set)
+	 */
+	private Set<Class<?>> skippedTypes = Collections.emptySet();
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param pJaxbContext the JAXB-context for the package org.gnucash.generated
+	 */
+	@SuppressWarnings("exports")
+	public GnucashStaxLoader(final JAXBContext pJaxbContext) {
+		super();
+
+		if (pJaxbContext == null) {
+			throw new IllegalArgumentException("null JAXB-context given");
+		}
+
+		jaxbContext = pJaxbContext;
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param in the (already decompressed) xml-stream to read
+	 * @return the root-element of the book
+	 * @throws XMLStreamException if the xml is not well-formed
+	 * @throws JAXBException      if a book-element cannot be unmarshalled
+	 */
+	@SuppressWarnings("exports")
+	public GncV2 load(final InputStream in) throws XMLStreamException, JAXBException {
+		bookElementCount = 0;
+
+		XMLStreamReader reader = new NamespaceRemoverStreamReader(createInputFactory().createXMLStreamReader(in));
+		try {
+			Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+			ObjectFactory factory = new ObjectFactory();
+
+			if (moveToTag(reader) != XMLStreamConstants.START_ELEMENT || !"gnc-v2".equals(reader.getLocalName())) {
+				throw new XMLStreamException("root-element <gnc-v2> expected", reader.getLocation());
+			}
+			reader.next();
+
+			GncV2 root = factory.createGncV2();
+			while (moveToTag(reader) == XMLStreamConstants.START_ELEMENT) {
+				String name = reader.getLocalName();
+				if (name.equals("gnc_count-data")) {
+					root.setGncCountData(unmarshaller.unmarshal(reader, GncCountData.class).getValue());
+				} else if (name.equals("gnc_book")) {
+					root.setGncBook(readBook(reader, unmarshaller, factory));
+				} else {
+					LOGGER.warn("load: ignoring unknown element <" + name + "> in <gnc-v2>");
+					skipElement(reader);
+				}
+			}
+
+			LOGGER.debug("load: read " + bookElementCount + " book-elements");
+			return root;
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * @return Number of book-elements read by the last call to {@link #load(InputStream)}.
+	 */
+	public int getBookElementCount() {
+		return bookElementCount;
+	}
+
+	/**
+	 * @param pSkippedTypes JAXB-types of book-elements that are to be skipped without unmarshalling them
+	 * @see LoadOptions.SkipMode#DROP
+	 */
+	public void setSkippedTypes(final Set<Class<?>> pSkippedTypes) {
+		if (pSkippedTypes == null) {
+			throw new IllegalArgumentException("null skipped types given");
+		}
+
+		skippedTypes = pSkippedTypes;
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param reader       positioned on &lt;gnc:book&gt;, will be positioned after &lt;/gnc:book&gt;
+	 * @param unmarshaller used for the children of the book
+	 * @param factory      to create the book itself
+	 * @return the book with all it's elements
+	 */
+	private GncV2.GncBook readBook(final XMLStreamReader reader, final Unmarshaller unmarshaller,
+			final ObjectFactory factory) throws XMLStreamException, JAXBException {
+		GncV2.GncBook book = factory.createGncV2GncBook();
+		book.setVersion(reader.getAttributeValue(null, "version"));
+		reader.next();
+
+		while (moveToTag(reader) == XMLStreamConstants.START_ELEMENT) {
+			String name = reader.getLocalName();
+
+			Class<?> type = BOOK_ELEMENT_TYPES.get(name);
+			if (type != null && skippedTypes.contains(type)) {
+				skipElement(reader);
+			} else if (type != null) {
+				book.getBookElements().add(unmarshaller.unmarshal(reader, type).getValue());
+				bookElementCount++;
+			} else if (name.equals("gnc_count-data")) {
+				book.getGncCountData().add(unmarshaller.unmarshal(reader, GncCountData.class).getValue());
+			} else if (name.equals("book_id")) {
+				book.setBookId(unmarshaller.unmarshal(reader, GncV2.GncBook.BookId.class).getValue());
+			} else if (name.equals("book_slots")) {
+				book.setBookSlots(unmarshaller.unmarshal(reader, SlotsType.class).getValue());
+			} else {
+				LOGGER.warn("readBook: ignoring unknown element <" + name + "> in <gnc:book>");
+				skipElement(reader);
+			}
+		}
+
+		// step over </gnc:book>
+		reader.next();
+		return book;
+	}
+
+	/**
+	 * Skips whitespace, comments, etc. <b>without</b> skipping the current event if it already is a tag.
+	 *
+	 * @param reader the reader to advance
+	 * @return the type of the current event (START_ELEMENT, END_ELEMENT or END_DOCUMENT)
+	 */
+	static int moveToTag(final XMLStreamReader reader) throws XMLStreamException {
+		int event = reader.getEventType();
+		while (event != XMLStreamConstants.START_ELEMENT && event != XMLStreamConstants.END_ELEMENT
+				&& event != XMLStreamConstants.END_DOCUMENT) {
+			event = reader.next();
+		}
+		return event;
+	}
+
+	/**
+	 * @param reader positioned on a start-tag, will be positioned after the matching end-tag
+	 */
+	static void skipElement(final XMLStreamReader reader) throws XMLStreamException {
+		int depth = 0;
+		do {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			}
+		} while (depth >= 0);
+		reader.next();
+	}
+
+	/**
+	 * @return a factory for namespace-aware, coalescing readers that do not resolve external entities
+	 */
+	static XMLInputFactory createInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newFactory();
+		factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+		factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		return factory;
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * Presents a namespace-aware stream to JAXB the way the generated classes expect it:
+	 * prefixed names of elements and attributes become "prefix_localname" in the empty namespace
+	 * and no namespace-declarations are reported.<br/>
+	 * This is the StAX-counterpart of {@link GnucashFileImpl.NamespaceRemovererReader}.
+	 */
+	public static class NamespaceRemoverStreamReader extends StreamReaderDelegate {
+
+		/**
+		 * prefix -&gt; local name -&gt; combined name. Avoids building a new String for every tag.
+		 */
+		private final Map<String, Map<String, String>> names = new HashMap<String, Map<String, String>>();
+
+		/**
+		 * @param pReader the namespace-aware reader to wrap
+		 */
+		public NamespaceRemoverStreamReader(final XMLStreamReader pReader) {
+			super(pReader);
+		}
+
+		/**
+		 * @param prefix    the namespace-prefix (may be null or empty)
+		 * @param localName the local name
+		 * @return the name as used by the generated classes
+		 */
+		private String combine(final String prefix, final String localName) {
+			if (prefix == null || prefix.length() == 0) {
+				return localName;
+			}
+
+			Map<String, String> byLocal = names.get(prefix);
+			if (byLocal == null) {
+				byLocal = new HashMap<String, String>();
+				names.put(prefix, byLocal);
+			}
+
+			String name = byLocal.get(localName);
+			if (name == null) {
+				name = prefix + "_" + localName;
+				byLocal.put(localName, name);
+			}
+			return name;
+		}
+
+		@Override
+		public String getLocalName() {
+			return combine(super.getPrefix(), super.getLocalName());
+		}
+
+		@Override
+		public QName getName() {
+			return new QName(getLocalName());
+		}
+
+		@Override
+		public String getNamespaceURI() {
+			return XMLConstants.NULL_NS_URI;
+		}
+
+		@Override
+		public String getPrefix() {
+			return XMLConstants.DEFAULT_NS_PREFIX;
+		}
+
+		@Override
+		public int getNamespaceCount() {
+			return 0;
+		}
+
+		@Override
+		public String getAttributeLocalName(final int index) {
+			return combine(super.getAttributePrefix(index), super.getAttributeLocalName(index));
+		}
+
+		@Override
+		public QName getAttributeName(final int index) {
+			return new QName(getAttributeLocalName(index));
+		}
+
+		@Override
+		public String getAttributeNamespace(final int index) {
+			return XMLConstants.NULL_NS_URI;
+		}
+
+		@Override
+		public String getAttributePrefix(final int index) {
+			return XMLConstants.DEFAULT_NS_PREFIX;
+		}
+
+		@Override
+		public String getAttributeValue(final String namespaceURI, final String localName) {
+			// all attributes live in the empty namespace now
+			if (namespaceURI != null && namespaceURI.length() > 0) {
+				return null;
+			}
+
+			for (int i = 0; i < getAttributeCount(); i++) {
+				if (getAttributeLocalName(i).equals(localName)) {
+					return getAttributeValue(i);
+				}
+			}
+			return null;
+		}
+	}
+
+}
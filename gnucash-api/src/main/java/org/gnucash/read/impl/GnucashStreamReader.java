@@ -0,0 +1,182 @@
+package org.gnucash.read.impl;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.gnucash.generated.GncAccount;
+import org.gnucash.generated.GncTransaction;
+import org.gnucash.generated.GncV2;
+import org.gnucash.generated.Price;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Unmarshaller;
+
+/**
+ * Reads a gnucash-file in one forward pass and hands every account, transaction, split, price and invoice to a
+ * {@link Visitor}, without building a {@link GnucashFileImpl}.<br/>
+ * Only one book-element (or price) is unmarshalled at a time and nothing is kept after the visitor has been called,
+ * so the memory needed does not depend on the size of the book. Everything else in the file is skipped.
+ */
+public class GnucashStreamReader {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(GnucashStreamReader.class);
+
+	/**
+	 * Gets called for the elements of the book in file-order. The arguments are the JAXB-objects as read, they are
+	 * not connected to each other (an account does not know its transactions etc.).
+	 */
+	public interface Visitor {
+
+		default void onAccount(@SuppressWarnings("exports") final GncAccount account) {
+		}
+
+		/**
+		 * Called before {@link #onSplit(GncTransaction, GncTransaction.TrnSplits.TrnSplit)} for the splits of the
+		 * transaction.
+		 */
+		default void onTransaction(@SuppressWarnings("exports") final GncTransaction transaction) {
+		}
+
+		default void onSplit(@SuppressWarnings("exports") final GncTransaction transaction,
+				@SuppressWarnings("exports") final GncTransaction.TrnSplits.TrnSplit split) {
+		}
+
+		default void onPrice(@SuppressWarnings("exports") final Price price) {
+		}
+
+		default void onInvoice(@SuppressWarnings("exports") final GncV2.GncBook.GncGncInvoice invoice) {
+		}
+	}
+
+	/**
+	 * The JAXB-context for the generated classes.
+	 */
+	private final JAXBContext jaxbContext;
+
+	// ---------------------------------------------------------------
+
+	public GnucashStreamReader() {
+		super();
+
+		try {
+			jaxbContext = JAXBContext.newInstance("org.gnucash.generated", getClass().getClassLoader());
+		} catch (JAXBException e) {
+			LOGGER.error(e.getMessage(), e);
+			throw new IllegalStateException(e);
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param pFile   the gnucash-file to read (plain or gzipped)
+	 * @param visitor gets called for the elements of the book
+	 * @throws IOException on low level reading-errors
+	 */
+	public void read(final File pFile, final Visitor visitor) throws IOException {
+		if (pFile == null) {
+			throw new IllegalArgumentException("null file given");
+		}
+
+		read(GnucashFileImpl.openFile(pFile), visitor);
+	}
+
+	/**
+	 * @param in      the (plain) xml-stream to read, will be closed
+	 * @param visitor gets called for the elements of the book
+	 * @throws IOException on low level reading-errors
+	 */
+	public void read(final InputStream in, final Visitor visitor) throws IOException {
+		if (visitor == null) {
+			throw new IllegalArgumentException("null visitor given");
+		}
+
+		try {
+			XMLStreamReader reader = new GnucashStaxLoader.NamespaceRemoverStreamReader(
+					GnucashStaxLoader.createInputFactory().createXMLStreamReader(new BufferedInputStream(in)));
+			try {
+				readRoot(reader, jaxbContext.createUnmarshaller(), visitor);
+			} finally {
+				reader.close();
+			}
+		} catch (XMLStreamException e) {
+			LOGGER.error(e.getMessage(), e);
+			throw new IllegalStateException(e);
+		} catch (JAXBException e) {
+			LOGGER.error(e.getMessage(), e);
+			throw new IllegalStateException(e);
+		} finally {
+			in.close();
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	private void readRoot(final XMLStreamReader reader, final Unmarshaller unmarshaller, final Visitor visitor)
+			throws XMLStreamException, JAXBException {
+		if (GnucashStaxLoader.moveToTag(reader) != XMLStreamConstants.START_ELEMENT
+				|| !"gnc-v2".equals(reader.getLocalName())) {
+			throw new XMLStreamException("root-element <gnc-v2> expected", reader.getLocation());
+		}
+		reader.next();
+
+		while (GnucashStaxLoader.moveToTag(reader) == XMLStreamConstants.START_ELEMENT) {
+			if (reader.getLocalName().equals("gnc_book")) {
+				reader.next();
+				readBook(reader, unmarshaller, visitor);
+				// step over </gnc:book>
+				reader.next();
+			} else {
+				GnucashStaxLoader.skipElement(reader);
+			}
+		}
+	}
+
+	/**
+	 * @param reader positioned after &lt;gnc:book&gt;, will be positioned on &lt;/gnc:book&gt;
+	 */
+	private void readBook(final XMLStreamReader reader, final Unmarshaller unmarshaller, final Visitor visitor)
+			throws XMLStreamException, JAXBException {
+		while (GnucashStaxLoader.moveToTag(reader) == XMLStreamConstants.START_ELEMENT) {
+			String name = reader.getLocalName();
+
+			if (name.equals("gnc_account")) {
+				visitor.onAccount(unmarshaller.unmarshal(reader, GncAccount.class).getValue());
+			} else if (name.equals("gnc_transaction")) {
+				GncTransaction trx = unmarshaller.unmarshal(reader, GncTransaction.class).getValue();
+				visitor.onTransaction(trx);
+				if (trx.getTrnSplits() != null) {
+					for (GncTransaction.TrnSplits.TrnSplit split : trx.getTrnSplits().getTrnSplit()) {
+						visitor.onSplit(trx, split);
+					}
+				}
+			} else if (name.equals("gnc_GncInvoice")) {
+				visitor.onInvoice(unmarshaller.unmarshal(reader, GncV2.GncBook.GncGncInvoice.class).getValue());
+			} else if (name.equals("gnc_pricedb")) {
+				// the price-db may be huge, so one price at a time
+				reader.next();
+				while (GnucashStaxLoader.moveToTag(reader) == XMLStreamConstants.START_ELEMENT) {
+					if (reader.getLocalName().equals("price")) {
+						visitor.onPrice(unmarshaller.unmarshal(reader, Price.class).getValue());
+					} else {
+						GnucashStaxLoader.skipElement(reader);
+					}
+				}
+				// step over </gnc:pricedb>
+				reader.next();
+			} else {
+				GnucashStaxLoader.skipElement(reader);
+			}
+		}
+	}
+
+}
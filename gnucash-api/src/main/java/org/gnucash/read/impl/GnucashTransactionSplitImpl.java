@@ -10,6 +10,7 @@ import org.gnucash.generated.GncTransaction;
 import org.gnucash.generated.ObjectFactory;
 import org.gnucash.messages.ApplicationMessages;
 import org.gnucash.numbers.FixedPointNumber;
+import org.gnucash.numbers.Money;
 import org.gnucash.read.GnucashAccount;
 import org.gnucash.read.GnucashGenerInvoice;
 import org.gnucash.read.GnucashTransaction;
@@ -34,6 +35,22 @@ public class GnucashTransactionSplitImpl extends GnucashObjectImpl implements Gn
    */
   private final GnucashTransaction myTransaction;
 
+  /**
+   * The parsed value, null until first used.
+   *
+   * @see #getValue()
+   * @see #amountsChanged()
+   */
+  private volatile FixedPointNumber myValue;
+
+  /**
+   * The parsed quantity, null until first used.
+   *
+   * @see #getQuantity()
+   * @see #amountsChanged()
+   */
+  private volatile FixedPointNumber myQuantity;
+
   // ---------------------------------------------------------------
 
   /**
@@ -50,6 +67,13 @@ public class GnucashTransactionSplitImpl extends GnucashObjectImpl implements Gn
     jwsdpPeer = peer;
     myTransaction = trx;
 
+    // the index knows accounts and payments, registering would keep
+    // the facades from being evicted
+    if (trx.getGnucashFile() instanceof GnucashFileImpl
+        && ((GnucashFileImpl) trx.getGnucashFile()).getLoadOptions().isLazyTransactions()) {
+      return;
+    }
+
     GnucashAccount acct = getAccount();
     if (acct == null) {
       LOGGER.error("No such Account id='" + getAccountID() + "' for Transactions-Split with id '" + getId()
@@ -61,20 +85,26 @@ public class GnucashTransactionSplitImpl extends GnucashObjectImpl implements Gn
 
     String lot = getLotID();
     if (lot != null) {
-      for (GnucashGenerInvoice invc : getTransaction().getGnucashFile().getGenerInvoices()) {
-        String lotID = invc.getLotID();
-        if (lotID != null && lotID.equals(lot)) {
-          // Check if it's a payment transaction.
-          // If so, add it to the invoice's list of payment transactions.
-          if (getAction().equals(bundle.getMessage("ACTION_PAYMENT"))) {
-            invc.addPayingTransaction(this);
-          }
-        }
+      GnucashGenerInvoice invc = getTransaction().getGnucashFile().getGenerInvoiceByLotID(lot);
+      // Check if it's a payment transaction.
+      // If so, add it to the invoice's list of payment transactions.
+      if (invc != null && getPaymentAction().equals(getAction())) {
+        invc.addPayingTransaction(this);
       }
     }
 
   }
 
+  /**
+   * @return the localized action of a payment-split
+   */
+  private String getPaymentAction() {
+    if (getGnucashFile() instanceof GnucashFileImpl) {
+      return ((GnucashFileImpl) getGnucashFile()).getPaymentAction();
+    }
+    return bundle.getMessage("ACTION_PAYMENT");
+  }
+
   // ---------------------------------------------------------------
 
   /**
@@ -94,6 +124,15 @@ public class GnucashTransactionSplitImpl extends GnucashObjectImpl implements Gn
     }
 
     jwsdpPeer = newPeer;
+    amountsChanged();
+  }
+
+  /**
+   * To be called after the value or the quantity have been changed in the JWSDP-object. Drops the parsed numbers.
+   */
+  protected void amountsChanged() {
+    myValue = null;
+    myQuantity = null;
   }
 
   // ---------------------------------------------------------------
@@ -156,7 +195,28 @@ public class GnucashTransactionSplitImpl extends GnucashObjectImpl implements Gn
    * @see GnucashTransactionSplit#getValue()
    */
   public FixedPointNumber getValue() {
-    return new FixedPointNumber(jwsdpPeer.getSplitValue());
+    // FixedPointNumber is mutable
+    return getCachedValue().copy();
+  }
+
+  /**
+   * @see GnucashTransactionSplit#getValueAsMoney()
+   */
+  public Money getValueAsMoney() {
+    GnucashTransaction transaction = getTransaction();
+    return new Money(getCachedValue(), transaction.getCurrencyNameSpace(), transaction.getCurrencyID());
+  }
+
+  /**
+   * @return the parsed value (not to be changed)
+   */
+  private FixedPointNumber getCachedValue() {
+    FixedPointNumber retval = myValue;
+    if (retval == null) {
+      retval = new FixedPointNumber(jwsdpPeer.getSplitValue());
+      myValue = retval;
+    }
+    return retval;
   }
 
   /**
@@ -236,7 +296,30 @@ public class GnucashTransactionSplitImpl extends GnucashObjectImpl implements Gn
    * @see GnucashTransactionSplit#getQuantity()
    */
   public FixedPointNumber getQuantity() {
-    return new FixedPointNumber(jwsdpPeer.getSplitQuantity());
+    // FixedPointNumber is mutable
+    return getCachedQuantity().copy();
+  }
+
+  /**
+   * @see GnucashTransactionSplit#getQuantityAsMoney()
+   */
+  public Money getQuantityAsMoney() {
+    GnucashAccount account = getAccount();
+    return new Money(getCachedQuantity(), account.getCurrencyNameSpace(), account.getCurrencyID());
+  }
+
+  /**
+   * For adding up balances without a copy per split.
+   *
+   * @return the parsed quantity (not to be changed)
+   */
+  FixedPointNumber getCachedQuantity() {
+    FixedPointNumber retval = myQuantity;
+    if (retval == null) {
+      retval = new FixedPointNumber(jwsdpPeer.getSplitQuantity());
+      myQuantity = retval;
+    }
+    return retval;
   }
 
   /**
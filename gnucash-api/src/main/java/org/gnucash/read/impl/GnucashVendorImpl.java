@@ -3,7 +3,6 @@ package org.gnucash.read.impl;
 import java.text.NumberFormat;
 import java.util.Collection;
 import java.util.LinkedList;
-import java.util.List;
 import java.util.Locale;
 
 import org.gnucash.generated.GncV2;
@@ -11,14 +10,11 @@ import org.gnucash.generated.ObjectFactory;
 import org.gnucash.numbers.FixedPointNumber;
 import org.gnucash.read.GnucashFile;
 import org.gnucash.read.GnucashGenerInvoice;
-import org.gnucash.read.GnucashGenerJob;
 import org.gnucash.read.GnucashVendor;
 import org.gnucash.read.auxiliary.GCshAddress;
 import org.gnucash.read.auxiliary.GCshBillTerms;
-import org.gnucash.read.auxiliary.GCshOwner;
 import org.gnucash.read.auxiliary.GCshTaxTable;
 import org.gnucash.read.impl.auxiliary.GCshAddressImpl;
-import org.gnucash.read.impl.spec.GnucashVendorJobImpl;
 import org.gnucash.read.spec.GnucashJobInvoice;
 import org.gnucash.read.spec.GnucashVendorBill;
 import org.gnucash.read.spec.GnucashVendorJob;
@@ -335,18 +331,7 @@ public class GnucashVendorImpl extends GnucashObjectImpl implements GnucashVendo
    */
   public java.util.Collection<GnucashVendorJob> getJobs() throws WrongInvoiceTypeException {
 
-    List<GnucashVendorJob> retval = new LinkedList<GnucashVendorJob>();
-
-    for (GnucashGenerJob jobGener : getGnucashFile().getGenerJobs()) {
-      if (jobGener.getOwnerType().equals(GCshOwner.TYPE_VENDOR)) {
-        GnucashVendorJob jobSpec = new GnucashVendorJobImpl(jobGener);
-        if (jobSpec.getVendorId().equals(getId())) {
-          retval.add(jobSpec);
-        }
-      }
-    }
-
-    return retval;
+    return getGnucashFile().getJobsByVendor(this);
   }
 
   // -----------------------------------------------------------------
@@ -0,0 +1,85 @@
+package org.gnucash.read.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.gnucash.read.GnucashGenerInvoice;
+import org.gnucash.read.spec.WrongInvoiceTypeException;
+
+/**
+ * The invoices of a book indexed by their type (customer, vendor, job) and their direct owner.<br/>
+ * Invoices added, removed or given another owner later have to be registered via {@link #add(GnucashGenerInvoice)}
+ * and {@link #remove(String, String, String)}.
+ *
+ * @see GnucashGenerInvoice#getType()
+ * @see GnucashGenerInvoice#getOwnerId(GnucashGenerInvoice.ReadVariant)
+ */
+class InvoiceOwnerIndex {
+
+	private final Map<String, Map<String, List<GnucashGenerInvoice>>> type2ownerID2invoices = new HashMap<String, Map<String, List<GnucashGenerInvoice>>>();
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param invc the invoice to add under its current type and owner
+	 */
+	void add(final GnucashGenerInvoice invc) {
+		type2ownerID2invoices.computeIfAbsent(invc.getType(), k -> new HashMap<String, List<GnucashGenerInvoice>>())
+				.computeIfAbsent(getOwnerID(invc), k -> new ArrayList<GnucashGenerInvoice>()).add(invc);
+	}
+
+	/**
+	 * @param type    the type the invoice has been registered with
+	 * @param ownerID the owner it has been registered with
+	 * @param invcID  the id of the invoice (as there may be several facades for the same invoice)
+	 */
+	void remove(final String type, final String ownerID, final String invcID) {
+		Map<String, List<GnucashGenerInvoice>> ownerID2invoices = type2ownerID2invoices.get(type);
+		if (ownerID2invoices == null) {
+			return;
+		}
+		List<GnucashGenerInvoice> invoices = ownerID2invoices.get(ownerID);
+		if (invoices == null) {
+			return;
+		}
+		invoices.removeIf(invc -> invc.getId().equals(invcID));
+		if (invoices.isEmpty()) {
+			ownerID2invoices.remove(ownerID);
+		}
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param type    one of GnucashGenerInvoice.TYPE_XYZ
+	 * @param ownerID the id of the customer, vendor or job
+	 * @return new sorted list of the invoices of that type directly owned by it
+	 */
+	List<GnucashGenerInvoice> get(final String type, final String ownerID) {
+		Map<String, List<GnucashGenerInvoice>> ownerID2invoices = type2ownerID2invoices.get(type);
+		if (ownerID2invoices == null || !ownerID2invoices.containsKey(ownerID)) {
+			return new ArrayList<GnucashGenerInvoice>();
+		}
+
+		List<GnucashGenerInvoice> retval = new ArrayList<GnucashGenerInvoice>(ownerID2invoices.get(ownerID));
+		Collections.sort(retval);
+		return retval;
+	}
+
+	/**
+	 * @param invc an invoice
+	 * @return its direct owner
+	 */
+	static String getOwnerID(final GnucashGenerInvoice invc) {
+		try {
+			return invc.getOwnerId(GnucashGenerInvoice.ReadVariant.DIRECT);
+		} catch (WrongInvoiceTypeException e) {
+			// cannot happen for the direct owner
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -0,0 +1,307 @@
+package org.gnucash.read.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.gnucash.generated.GncAccount;
+import org.gnucash.generated.GncPricedb;
+import org.gnucash.generated.GncTransaction;
+import org.gnucash.generated.GncV2;
+
+/**
+ * Options that control how a gnucash-file is loaded by {@link GnucashFileImpl}.<br/>
+ * A freshly constructed instance describes the classic behaviour (JAXB-unmarshalling of the whole document).
+ *
+ * @see GnucashFileImpl#GnucashFileImpl(java.io.File, LoadOptions)
+ */
+public class LoadOptions {
+
+	/**
+	 * The XML-parser to read the book with.
+	 */
+	public enum Parser {
+		/**
+		 * Rewrite the namespaces on character-level and unmarshal the whole document in one go.
+		 */
+		JAXB,
+		/**
+		 * Walk the document with a namespace-aware StAX-reader and unmarshal one book-element at a time.
+		 *
+		 * @see GnucashStaxLoader
+		 */
+		STAX,
+		/**
+		 * Like {@link #STAX}, but the (book-level) transactions are cut out of the document and parsed in chunks on
+		 * {@link LoadOptions#getParallelism()} threads.
+		 *
+		 * @see GnucashChunkedLoader
+		 */
+		CHUNKED
+	}
+
+	/**
+	 * The kinds of entities whose facades are built when a book is loaded.
+	 */
+	public enum EntityFamily {
+		// in the order they are built
+
+		/**
+		 * The price-database and the currency-table derived from it.
+		 */
+		PRICES(GncPricedb.class),
+		ACCOUNTS(GncAccount.class),
+		/**
+		 * Invoices, bills and their entries.
+		 */
+		INVOICES(GncV2.GncBook.GncGncInvoice.class, GncV2.GncBook.GncGncEntry.class),
+		/**
+		 * Transactions and their splits. Depend on {@link #ACCOUNTS} (the splits register with their account) and, unless
+		 * dropped, on {@link #INVOICES} (payments register with their invoice).
+		 */
+		TRANSACTIONS(GncTransaction.class),
+		CUSTOMERS(GncV2.GncBook.GncGncCustomer.class),
+		VENDORS(GncV2.GncBook.GncGncVendor.class),
+		JOBS(GncV2.GncBook.GncGncJob.class);
+
+		private final Set<Class<?>> bookElementTypes;
+
+		EntityFamily(final Class<?>... types) {
+			bookElementTypes = Collections.unmodifiableSet(new HashSet<Class<?>>(Arrays.asList(types)));
+		}
+
+		/**
+		 * @return the JAXB-types of the book-elements of this family
+		 */
+		Set<Class<?>> getBookElementTypes() {
+			return bookElementTypes;
+		}
+	}
+
+	/**
+	 * What happens to the {@link EntityFamily}s that are not in {@link LoadOptions#getEntityFamilies()}.
+	 */
+	public enum SkipMode {
+		/**
+		 * Their facades are built on first access (together with the families they depend on).
+		 */
+		LAZY,
+		/**
+		 * Their book-elements are not unmarshalled at all ({@link Parser#STAX} and {@link Parser#CHUNKED}) or thrown
+		 * away right after unmarshalling ({@link Parser#JAXB}). The file then behaves as if it did not contain any of
+		 * them, so it must not be written back.
+		 */
+		DROP
+	}
+
+	/**
+	 * @see #getParser()
+	 */
+	private Parser parser = Parser.JAXB;
+
+	/**
+	 * @see #isParallel()
+	 */
+	private boolean parallel = false;
+
+	/**
+	 * @see #getParallelism()
+	 */
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * @see #isSnapshotEnabled()
+	 */
+	private boolean snapshotEnabled = false;
+
+	/**
+	 * @see #getEntityFamilies()
+	 */
+	private Set<EntityFamily> entityFamilies = EnumSet.allOf(EntityFamily.class);
+
+	/**
+	 * @see #getSkipMode()
+	 */
+	private SkipMode skipMode = SkipMode.LAZY;
+
+	/**
+	 * @see #isLazyTransactions()
+	 */
+	private boolean lazyTransactions = false;
+
+	// ---------------------------------------------------------------
+
+	public LoadOptions() {
+		super();
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @return the XML-parser to read the book with (never null)
+	 */
+	public Parser getParser() {
+		return parser;
+	}
+
+	/**
+	 * @param pParser the XML-parser to read the book with
+	 */
+	public void setParser(final Parser pParser) {
+		if (pParser == null) {
+			throw new IllegalArgumentException("null not allowed for field this.parser");
+		}
+
+		parser = pParser;
+	}
+
+	/**
+	 * @return true if the facades (accounts, transactions,...) are to be built on a fork-join-pool instead of the
+	 *         calling thread
+	 */
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	/**
+	 * Entity-types that do not depend on each other are built concurrently, invoice-entries after the invoices and
+	 * transactions after accounts and invoices. The resulting maps are the same as in sequential loading, only the
+	 * order of {@link org.gnucash.read.GnucashGenerInvoice#getPayingTransactions()} may differ.
+	 *
+	 * @param pParallel true to build the facades in parallel
+	 */
+	public void setParallel(final boolean pParallel) {
+		parallel = pParallel;
+	}
+
+	/**
+	 * @return the number of threads used if {@link #isParallel()} or for {@link Parser#CHUNKED} (defaults to the
+	 *         number of cores)
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * @param pParallelism the number of threads used if {@link #isParallel()} or for {@link Parser#CHUNKED}
+	 */
+	public void setParallelism(final int pParallelism) {
+		if (pParallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be at least 1 but is " + pParallelism);
+		}
+
+		parallelism = pParallelism;
+	}
+
+	/**
+	 * @return true if a {@link GnucashSnapshot} next to the book-file is to be used (and written if missing or stale)
+	 */
+	public boolean isSnapshotEnabled() {
+		return snapshotEnabled;
+	}
+
+	/**
+	 * Only applies to books loaded from a file, not from a stream.
+	 *
+	 * @param pSnapshotEnabled true to use a {@link GnucashSnapshot}
+	 */
+	public void setSnapshotEnabled(final boolean pSnapshotEnabled) {
+		snapshotEnabled = pSnapshotEnabled;
+	}
+
+	/**
+	 * @return the entity-families whose facades are built while loading (defaults to all)
+	 */
+	public Set<EntityFamily> getEntityFamilies() {
+		return Collections.unmodifiableSet(entityFamilies);
+	}
+
+	/**
+	 * @param pFamilies the entity-families whose facades are to be built while loading
+	 * @see #setSkipMode(SkipMode)
+	 */
+	public void setEntityFamilies(final Set<EntityFamily> pFamilies) {
+		if (pFamilies == null) {
+			throw new IllegalArgumentException("null not allowed for field this.entityFamilies");
+		}
+
+		entityFamilies = pFamilies.isEmpty() ? EnumSet.noneOf(EntityFamily.class) : EnumSet.copyOf(pFamilies);
+	}
+
+	/**
+	 * @param pFamilies the entity-families whose facades are to be built while loading
+	 */
+	public void setEntityFamilies(final EntityFamily... pFamilies) {
+		setEntityFamilies(new HashSet<EntityFamily>(Arrays.asList(pFamilies)));
+	}
+
+	/**
+	 * @return what happens to the entity-families that are not in {@link #getEntityFamilies()}
+	 */
+	public SkipMode getSkipMode() {
+		return skipMode;
+	}
+
+	/**
+	 * @param pSkipMode what happens to the entity-families that are not in {@link #getEntityFamilies()}
+	 */
+	public void setSkipMode(final SkipMode pSkipMode) {
+		if (pSkipMode == null) {
+			throw new IllegalArgumentException("null not allowed for field this.skipMode");
+		}
+
+		skipMode = pSkipMode;
+	}
+
+	/**
+	 * @return true if only an index of the transactions is built while loading and their facades are created on first
+	 *         access
+	 */
+	public boolean isLazyTransactions() {
+		return lazyTransactions;
+	}
+
+	/**
+	 * The facades of the transactions and their splits are only softly referenced and may be evicted (and created
+	 * again) under memory pressure, so do not rely on getting the same instance twice. Only for read-only files.
+	 *
+	 * @param pLazyTransactions true to create the transaction-facades on first access
+	 * @see TransactionIndex
+	 */
+	public void setLazyTransactions(final boolean pLazyTransactions) {
+		lazyTransactions = pLazyTransactions;
+	}
+
+	/**
+	 * @return the JAXB-types of the book-elements that are not to be unmarshalled at all
+	 * @see SkipMode#DROP
+	 */
+	public Set<Class<?>> getDroppedBookElementTypes() {
+		Set<Class<?>> retval = new HashSet<Class<?>>();
+		if (skipMode == SkipMode.DROP) {
+			for (EntityFamily family : EntityFamily.values()) {
+				// splits cannot live without their accounts
+				if (family == EntityFamily.ACCOUNTS && entityFamilies.contains(EntityFamily.TRANSACTIONS)) {
+					continue;
+				}
+				if (!entityFamilies.contains(family)) {
+					retval.addAll(family.getBookElementTypes());
+				}
+			}
+		}
+		return retval;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "[LoadOptions: parser: " + parser + " parallel: " + parallel + " parallelism: " + parallelism
+				+ " snapshot: " + snapshotEnabled + " entityFamilies: " + entityFamilies + " skipMode: " + skipMode
+				+ " lazyTransactions: " + lazyTransactions + "]";
+	}
+
+}
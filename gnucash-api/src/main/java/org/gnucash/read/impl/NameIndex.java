@@ -0,0 +1,171 @@
+package org.gnucash.read.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Some objects of a book (customers, vendors, jobs, tax tables, bill terms) indexed by a name or a number, exactly
+ * and case-insensitive. The case-insensitive keys are sorted, so the objects whose key starts with some text are
+ * found without a scan (auto-completion).<br/>
+ * An object that has been added, removed, renamed or renumbered is filed again by {@link #remove(String, Object)}
+ * with its old key and {@link #put(String, Object)} with its new one.
+ *
+ * @param <T> the type of the objects
+ * @see GnucashFileImpl#getCustomerByName(String)
+ * @see GnucashFileImpl#getCustomersByNamePrefix(String)
+ */
+class NameIndex<T> {
+
+	/**
+	 * Every list sorted by id.
+	 */
+	private final Map<String, List<T>> key2objects = new HashMap<String, List<T>>();
+
+	/**
+	 * Keys in lower case, sorted for the prefix-queries (every list sorted by id).
+	 */
+	private final TreeMap<String, List<T>> lowerKey2objects = new TreeMap<String, List<T>>();
+
+	private final Function<T, String> idOf;
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param objects all objects of that type
+	 * @param keyOf   the name or number of an object (objects with a null-key
+	 *                are left out)
+	 * @param idOf    the id of an object
+	 */
+	NameIndex(final Collection<? extends T> objects, final Function<T, String> keyOf,
+			final Function<T, String> idOf) {
+		this.idOf = idOf;
+
+		// keys need not be unique, the object with the smallest id wins
+		// (so the result does not depend on the order of a HashMap)
+		List<T> sorted = new ArrayList<T>(objects);
+		sorted.sort(Comparator.comparing(idOf));
+
+		for (T object : sorted) {
+			put(keyOf.apply(object), object);
+		}
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param key the name or number
+	 * @return the object with exactly that key (the one with the smallest id if
+	 *         there are several) or null
+	 */
+	synchronized T get(final String key) {
+		List<T> objects = key2objects.get(key);
+		return objects == null ? null : objects.get(0);
+	}
+
+	/**
+	 * @param key the name or number
+	 * @return all objects with that key ignoring the case
+	 */
+	synchronized List<T> getIgnoreCase(final String key) {
+		if (key == null) {
+			return Collections.emptyList();
+		}
+
+		List<T> retval = lowerKey2objects.get(toLowerCase(key));
+		return retval == null ? Collections.emptyList() : new ArrayList<T>(retval);
+	}
+
+	/**
+	 * @param prefix the start of a name or number
+	 * @return all objects whose key starts with it ignoring the case, sorted by
+	 *         key
+	 */
+	synchronized List<T> getByPrefix(final String prefix) {
+		if (prefix == null) {
+			return Collections.emptyList();
+		}
+
+		String lowerPrefix = toLowerCase(prefix);
+		List<T> retval = new ArrayList<T>();
+		for (List<T> objects : lowerKey2objects.subMap(lowerPrefix, true, lowerPrefix + Character.MAX_VALUE, true)
+				.values()) {
+			retval.addAll(objects);
+		}
+		return retval;
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param key    the (new) name or number of the object, null for none
+	 * @param object an object to file under it
+	 */
+	synchronized void put(final String key, final T object) {
+		if (key == null) {
+			return;
+		}
+
+		insert(key2objects.computeIfAbsent(key, k -> new ArrayList<T>(1)), object);
+		insert(lowerKey2objects.computeIfAbsent(toLowerCase(key), k -> new ArrayList<T>(1)), object);
+	}
+
+	/**
+	 * @param key    the (old) name or number the object has been filed under,
+	 *               null for none
+	 * @param object the object to remove from under it
+	 */
+	synchronized void remove(final String key, final T object) {
+		if (key == null) {
+			return;
+		}
+
+		remove(key2objects, key, object);
+		remove(lowerKey2objects, toLowerCase(key), object);
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param objects a list sorted by id
+	 * @param object  the object to insert at its place
+	 */
+	private void insert(final List<T> objects, final T object) {
+		String id = idOf.apply(object);
+		int i = objects.size();
+		while (i > 0 && idOf.apply(objects.get(i - 1)).compareTo(id) > 0) {
+			i--;
+		}
+		objects.add(i, object);
+	}
+
+	private void remove(final Map<String, List<T>> key2list, final String key, final T object) {
+		List<T> objects = key2list.get(key);
+		if (objects == null) {
+			return;
+		}
+
+		String id = idOf.apply(object);
+		for (int i = 0; i < objects.size(); i++) {
+			if (idOf.apply(objects.get(i)).equals(id)) {
+				objects.remove(i);
+				break;
+			}
+		}
+		if (objects.isEmpty()) {
+			key2list.remove(key);
+		}
+	}
+
+	private static String toLowerCase(final String key) {
+		return key.toLowerCase(Locale.ROOT);
+	}
+
+}
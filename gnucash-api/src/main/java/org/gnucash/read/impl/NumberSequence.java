@@ -0,0 +1,195 @@
+package org.gnucash.read.impl;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hands out new (human-readable) numbers for the customers, vendors or jobs of a book: a prefix followed by a
+ * zero-padded counter ("000042", "K-0042").<br/>
+ * The highest number in use is found by one scan over all numbers, after that it is kept up to date by
+ * {@link #numberChanged(String, String)}. Numbers that do not consist of the prefix and digits only (e.g. the GUID
+ * a new customer gets at first) are ignored.<br/>
+ * Numbers that have been handed out are not handed out again, even if they are never used, so concurrent bulk
+ * creations get disjoint ranges.
+ *
+ * @see GnucashFileImpl#getNewCustomerNumber()
+ */
+class NumberSequence {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(NumberSequence.class);
+
+	/**
+	 * The numbers currently in use, for the scan.
+	 */
+	private final Supplier<Collection<String>> numbers;
+
+	private String prefix = "";
+
+	private int width;
+
+	/**
+	 * The highest counter in use, -1 if there is none.
+	 */
+	private int highest = -1;
+
+	/**
+	 * False until the first scan and whenever the highest number has been
+	 * changed to a lower one.
+	 */
+	private boolean highestKnown = false;
+
+	/**
+	 * The first counter not handed out yet.
+	 */
+	private int next = 0;
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param numbers the numbers currently in use
+	 * @param width   the minimal number of digits
+	 */
+	NumberSequence(final Supplier<Collection<String>> numbers, final int width) {
+		this.numbers = numbers;
+		this.width = width;
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param prefix text in front of the digits (may be empty)
+	 * @param width  the minimal number of digits (padded with zeroes)
+	 */
+	synchronized void setFormat(final String prefix, final int width) {
+		if (prefix == null) {
+			throw new IllegalArgumentException("null prefix given");
+		}
+		if (width < 1) {
+			throw new IllegalArgumentException("width must be positive");
+		}
+
+		this.prefix = prefix;
+		this.width = width;
+		// other numbers, the reservations do not apply any more
+		next = 0;
+		highestKnown = false;
+	}
+
+	/**
+	 * To be called after the numbers have been loaded again.
+	 */
+	synchronized void reset() {
+		next = 0;
+		highestKnown = false;
+	}
+
+	/**
+	 * To be called whenever an object has been renumbered, added (oldNumber ==
+	 * null) or removed (newNumber == null).
+	 *
+	 * @param oldNumber the number before
+	 * @param newNumber the number now
+	 */
+	synchronized void numberChanged(final String oldNumber, final String newNumber) {
+		if (!highestKnown) {
+			return;
+		}
+
+		int newCounter = parse(newNumber);
+		int oldCounter = parse(oldNumber);
+		if (newCounter > highest) {
+			highest = newCounter;
+		} else if (oldCounter == highest && newCounter != highest) {
+			// some other object may have the same number, so scan again
+			highestKnown = false;
+		}
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @return the highest counter in use, -1 if there is none
+	 */
+	synchronized int getHighest() {
+		if (!highestKnown) {
+			scan();
+		}
+		return highest;
+	}
+
+	/**
+	 * Reserves some numbers.
+	 *
+	 * @param count how many numbers
+	 * @return the first one (the others follow without a gap)
+	 */
+	synchronized int allocate(final int count) {
+		if (count < 1) {
+			throw new IllegalArgumentException("count must be positive");
+		}
+
+		int retval = Math.max(getHighest() + 1, next);
+		next = retval + count;
+		return retval;
+	}
+
+	/**
+	 * @param counter a counter
+	 * @return the number with prefix and padding
+	 */
+	synchronized String format(final int counter) {
+		String digits = Integer.toString(counter);
+		StringBuilder retval = new StringBuilder(prefix.length() + Math.max(width, digits.length()));
+		retval.append(prefix);
+		for (int i = digits.length(); i < width; i++) {
+			retval.append('0');
+		}
+		retval.append(digits);
+		return retval.toString();
+	}
+
+	// -----------------------------------------------------------------
+
+	private void scan() {
+		int nonNumeric = 0;
+		highest = -1;
+		for (String number : numbers.get()) {
+			int counter = parse(number);
+			if (counter < 0) {
+				nonNumeric++;
+			} else if (counter > highest) {
+				highest = counter;
+			}
+		}
+		highestKnown = true;
+
+		if (nonNumeric > 0) {
+			LOGGER.debug("scan: " + nonNumeric + " number(s) not of the form '" + prefix + "<digits>' ignored");
+		}
+	}
+
+	/**
+	 * @param number a number, may be null
+	 * @return its counter, -1 if it is not of the form prefix + digits
+	 */
+	private int parse(final String number) {
+		if (number == null || !number.startsWith(prefix) || number.length() == prefix.length()
+				|| number.length() - prefix.length() > 9) {
+			return -1;
+		}
+
+		int retval = 0;
+		for (int i = prefix.length(); i < number.length(); i++) {
+			char c = number.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			retval = retval * 10 + (c - '0');
+		}
+		return retval;
+	}
+
+}
@@ -0,0 +1,94 @@
+package org.gnucash.read.impl;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * The keys the indexes sort and search posting-dates by: the local date and time as written in the file, the
+ * offset ("+0200") is ignored. So a transaction posted on "2001-09-18 00:00:00 +0200" is on 2001-09-18, whatever the
+ * zone of the JVM is (as {@link GnucashTransactionImpl#getDatePosted()}{@code .toLocalDateTime()}).
+ *
+ * @see AccountBalanceIndex
+ * @see TransactionDateIndex
+ */
+final class PostingDate {
+
+	/**
+	 * The key of a missing or malformed posting-date (before all others).
+	 */
+	static final long NONE = Long.MIN_VALUE;
+
+	private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+
+	private PostingDate() {
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param tsDate a posting-date as in the file ("2001-09-18 00:00:00 +0200")
+	 * @return the local date and time in seconds or {@link #NONE} if it is malformed
+	 */
+	static long toKey(final String tsDate) {
+		if (tsDate == null || tsDate.length() < 19) {
+			return NONE;
+		}
+
+		try {
+			int year = parse(tsDate, 0, 4, '-');
+			int month = parse(tsDate, 5, 7, '-');
+			int day = parse(tsDate, 8, 10, ' ');
+			int hour = parse(tsDate, 11, 13, ':');
+			int minute = parse(tsDate, 14, 16, ':');
+			int second = parse(tsDate, 17, 19, (char) 0);
+			return toKey(LocalDateTime.of(year, month, day, hour, minute, second));
+		}
+		catch (NumberFormatException | DateTimeException e) {
+			return NONE;
+		}
+	}
+
+	/**
+	 * @param datePosted a parsed posting-date
+	 * @return its local date and time in seconds
+	 */
+	static long toKey(final ZonedDateTime datePosted) {
+		return datePosted == null ? NONE : toKey(datePosted.toLocalDateTime());
+	}
+
+	/**
+	 * @param date a day
+	 * @return the first moment of that day in seconds
+	 */
+	static long toKey(final LocalDate date) {
+		return date.toEpochDay() * SECONDS_PER_DAY;
+	}
+
+	/**
+	 * @param key a key (not {@link #NONE})
+	 * @return the epoch-day of its date-part
+	 */
+	static long toEpochDay(final long key) {
+		return Math.floorDiv(key, SECONDS_PER_DAY);
+	}
+
+	// -----------------------------------------------------------------
+
+	private static long toKey(final LocalDateTime dateTime) {
+		return dateTime.toEpochSecond(ZoneOffset.UTC);
+	}
+
+	/**
+	 * @param separator the character expected after the digits, 0 for none
+	 */
+	private static int parse(final String tsDate, final int begin, final int end, final char separator) {
+		if (separator != 0 && tsDate.length() > end && tsDate.charAt(end) != separator) {
+			throw new NumberFormatException("unexpected '" + tsDate.charAt(end) + "' in '" + tsDate + "'");
+		}
+		return Integer.parseInt(tsDate, begin, end, 10);
+	}
+
+}
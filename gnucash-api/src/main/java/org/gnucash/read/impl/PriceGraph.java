@@ -0,0 +1,221 @@
+package org.gnucash.read.impl;
+
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.gnucash.currency.CurrencyNameSpace;
+import org.gnucash.generated.Price;
+import org.gnucash.numbers.FixedPointNumber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The conversion-factors of all commodities to the base-currency, from the
+ * latest price-quotes.<br/>
+ * The latest quote of a commodity in some currency is an edge from the
+ * commodity to that currency. The factor of a commodity is taken along the
+ * shortest path to the base-currency (with fewest conversions; if there are
+ * several, over the latest quote). All factors are computed once, by a
+ * breadth-first search from the base-currency.<br/>
+ * A commodity that has quotes but no path to the base-currency gets its latest
+ * quote converted as far as possible, as before.<br/>
+ * A snapshot: built once and dropped by
+ * {@link GnucashFileImpl#pricesChanged()} whenever quotes change.
+ *
+ * @see GnucashFileImpl#getLatestPrice(String, String)
+ */
+class PriceGraph {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PriceGraph.class);
+
+	/**
+	 * The latest quote of a commodity in one currency.
+	 */
+	private static class Edge {
+		private final String currency;
+		private final long time;
+		private final FixedPointNumber value;
+
+		private Edge(final String currency, final long time, final FixedPointNumber value) {
+			this.currency = currency;
+			this.time = time;
+			this.value = value;
+		}
+	}
+
+	/**
+	 * The base-currency (in both namespaces gnucash-files use for currencies).
+	 */
+	private final Set<String> base = new HashSet<String>();
+
+	/**
+	 * Commodity to its latest quote per currency (commodities are
+	 * "space\nid").
+	 */
+	private final Map<String, Map<String, Edge>> edges = new LinkedHashMap<String, Map<String, Edge>>();
+
+	/**
+	 * Commodity to its latest quote in any currency (the first one in the file
+	 * if there are several at that time).
+	 */
+	private final Map<String, Edge> latest = new HashMap<String, Edge>();
+
+	/**
+	 * Commodity to its factor (not to be changed).
+	 */
+	private final Map<String, FixedPointNumber> factors = new HashMap<String, FixedPointNumber>();
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param quotes       all price-quotes
+	 * @param baseCurrency e.g. "EUR"
+	 */
+	PriceGraph(final List<Price> quotes, final String baseCurrency) {
+		base.add(key("ISO4217", baseCurrency));
+		base.add(key(CurrencyNameSpace.NAMESPACE_CURRENCY, baseCurrency));
+
+		for (Price quote : quotes) {
+			addQuote(quote);
+		}
+		computeFactors();
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param cmdtySpace the namespace of the commodity
+	 * @param cmdtyId    the commodity
+	 * @return the factor to convert it to the base-currency (not to be changed),
+	 *         null if there are no quotes for it
+	 */
+	FixedPointNumber getFactor(final String cmdtySpace, final String cmdtyId) {
+		return factors.get(key(cmdtySpace, cmdtyId));
+	}
+
+	// -----------------------------------------------------------------
+
+	private void addQuote(final Price quote) {
+		if (quote == null || quote.getPriceCommodity() == null || quote.getPriceCurrency() == null
+				|| quote.getPriceCurrency().getCmdtySpace() == null || quote.getPriceCurrency().getCmdtyId() == null
+				|| quote.getPriceTime() == null || quote.getPriceValue() == null) {
+			// GnucashPriceDBImpl reports these
+			return;
+		}
+
+		String commodity = key(quote.getPriceCommodity().getCmdtySpace(), quote.getPriceCommodity().getCmdtyId());
+		if (base.contains(commodity)) {
+			return;
+		}
+		String currency = key(quote.getPriceCurrency().getCmdtySpace(), quote.getPriceCurrency().getCmdtyId());
+
+		Edge edge;
+		try {
+			// as in the price-db, so both agree on which quote is the latest
+			long time = PriceSeries.parseTime(quote.getPriceTime().getTsDate());
+			edge = new Edge(currency, time, new FixedPointNumber(quote.getPriceValue()));
+		}
+		catch (DateTimeException | NumberFormatException | ArithmeticException e) {
+			LOGGER.error("PriceGraph: ignoring a bad price-quote id='" + quote.getPriceId().getValue() + "' of '"
+					+ commodity.replace('\n', ':') + "'", e);
+			return;
+		}
+
+		// the first one in the file wins if several have the same time
+		Map<String, Edge> currencies = edges.computeIfAbsent(commodity, k -> new LinkedHashMap<String, Edge>());
+		Edge old = currencies.get(currency);
+		if (old == null || old.time < edge.time) {
+			currencies.put(currency, edge);
+		}
+		old = latest.get(commodity);
+		if (old == null || old.time < edge.time) {
+			latest.put(commodity, edge);
+		}
+	}
+
+	private void computeFactors() {
+		// currency to the commodities quoted in it
+		Map<String, List<String>> quotedIn = new HashMap<String, List<String>>();
+		for (Map.Entry<String, Map<String, Edge>> entry : edges.entrySet()) {
+			for (String currency : entry.getValue().keySet()) {
+				quotedIn.computeIfAbsent(currency, k -> new ArrayList<String>()).add(entry.getKey());
+			}
+		}
+
+		// breadth-first, one level (number of conversions) at a time
+		Map<String, FixedPointNumber> baseFactors = new HashMap<String, FixedPointNumber>();
+		List<String> level = new ArrayList<String>(base);
+		for (String currency : base) {
+			baseFactors.put(currency, new FixedPointNumber(1));
+		}
+		while (!level.isEmpty()) {
+			// commodity to the edge it is reached over on this level
+			Map<String, Edge> next = new LinkedHashMap<String, Edge>();
+			for (String currency : level) {
+				for (String commodity : quotedIn.getOrDefault(currency, Collections.<String>emptyList())) {
+					if (factors.containsKey(commodity)) {
+						continue;
+					}
+					Edge edge = edges.get(commodity).get(currency);
+					Edge old = next.get(commodity);
+					if (old == null || old.time < edge.time) {
+						next.put(commodity, edge);
+					}
+				}
+			}
+
+			level = new ArrayList<String>(next.keySet());
+			for (Map.Entry<String, Edge> entry : next.entrySet()) {
+				Edge edge = entry.getValue();
+				FixedPointNumber currencyFactor = base.contains(edge.currency) ? baseFactors.get(edge.currency)
+						: factors.get(edge.currency);
+				factors.put(entry.getKey(), currencyFactor.copy().multiply(edge.value));
+			}
+		}
+
+		for (String commodity : edges.keySet()) {
+			if (!factors.containsKey(commodity)) {
+				LOGGER.debug("PriceGraph: no path from '" + commodity.replace('\n', ':') + "' to the base-currency");
+				factors.put(commodity, getUnconnectedFactor(commodity, new HashSet<String>()));
+			}
+		}
+
+		for (FixedPointNumber factor : factors.values()) {
+			// fill the cache now, so concurrent lookups do not write anything
+			factor.getBigDecimal();
+		}
+	}
+
+	/**
+	 * As before: the latest quote times the factor of its currency, a currency
+	 * without quotes counts as 1.
+	 *
+	 * @param commodity a commodity with quotes but no path to the base-currency
+	 * @param visited   the commodities on the way here (against cycles)
+	 * @return its factor
+	 */
+	private FixedPointNumber getUnconnectedFactor(final String commodity, final Set<String> visited) {
+		FixedPointNumber retval = factors.get(commodity);
+		if (retval != null) {
+			return retval;
+		}
+
+		Edge edge = latest.get(commodity);
+		if (edge == null || !visited.add(commodity)) {
+			return new FixedPointNumber(1);
+		}
+		return getUnconnectedFactor(edge.currency, visited).copy().multiply(edge.value);
+	}
+
+	private static String key(final String space, final String id) {
+		return space + "\n" + id;
+	}
+
+}
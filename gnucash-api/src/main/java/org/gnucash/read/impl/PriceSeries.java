@@ -0,0 +1,199 @@
+package org.gnucash.read.impl;
+
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.gnucash.Const;
+import org.gnucash.generated.Price;
+import org.gnucash.numbers.FixedPointNumber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The price-quotes of one commodity in one currency, sorted by time. Times are
+ * held as epoch-milliseconds and the values are parsed once, so looking up the
+ * quote valid at some time is a binary search.<br/>
+ * A snapshot: it has to be built again whenever quotes change.
+ *
+ * @see GnucashPriceDBImpl#getPrice(String, String, java.time.LocalDate, int)
+ */
+class PriceSeries {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PriceSeries.class);
+
+	/**
+	 * The time-stamps look like "2023-07-20 10:59:00 +0000". As before (with
+	 * SimpleDateFormat) the offset is ignored and the time is taken as local
+	 * time.
+	 */
+	private static final DateTimeFormatter PRICE_QUOTE_DATE_FORMAT = DateTimeFormatter
+			.ofPattern(Const.STANDARD_DATE_FORMAT_BOOK);
+
+	private final String cmdtySpace;
+
+	private final String cmdtyId;
+
+	private final String currencySpace;
+
+	private final String currencyId;
+
+	/**
+	 * Epoch-milliseconds, ascending.
+	 */
+	private final long[] times;
+
+	/**
+	 * Not to be changed (FixedPointNumber is mutable).
+	 */
+	private final FixedPointNumber[] values;
+
+	/**
+	 * The position of each quote in the price-db, for quotes with the same
+	 * time.
+	 */
+	private final int[] positions;
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param quotes    quotes of one commodity in one currency, all with a time
+	 *                  and a value
+	 * @param positions their positions in the price-db (ascending)
+	 */
+	PriceSeries(final List<Price> quotes, final List<Integer> positions) {
+		Price first = quotes.get(0);
+		cmdtySpace = first.getPriceCommodity().getCmdtySpace();
+		cmdtyId = first.getPriceCommodity().getCmdtyId();
+		currencySpace = first.getPriceCurrency().getCmdtySpace();
+		currencyId = first.getPriceCurrency().getCmdtyId();
+
+		long[] parsedTimes = new long[quotes.size()];
+		FixedPointNumber[] parsedValues = new FixedPointNumber[quotes.size()];
+		Integer[] order = new Integer[quotes.size()];
+		int size = 0;
+		for (int i = 0; i < quotes.size(); i++) {
+			Price quote = quotes.get(i);
+			try {
+				parsedTimes[i] = parseTime(quote.getPriceTime().getTsDate());
+				parsedValues[i] = new FixedPointNumber(quote.getPriceValue());
+				// fill the cache now, so concurrent lookups do not write anything
+				parsedValues[i].getBigDecimal();
+				order[size++] = i;
+			}
+			catch (DateTimeException | NumberFormatException | ArithmeticException e) {
+				LOGGER.error("PriceSeries: ignoring a bad price-quote id='" + quote.getPriceId().getValue() + "' of '"
+						+ cmdtySpace + "'-'" + cmdtyId + "'", e);
+			}
+		}
+
+		// stable, so quotes with the same time stay in the order of the price-db
+		Integer[] sorted = Arrays.copyOf(order, size);
+		Arrays.sort(sorted, Comparator.comparingLong(i -> parsedTimes[i]));
+
+		times = new long[size];
+		values = new FixedPointNumber[size];
+		this.positions = new int[size];
+		for (int i = 0; i < size; i++) {
+			times[i] = parsedTimes[sorted[i]];
+			values[i] = parsedValues[sorted[i]];
+			this.positions[i] = positions.get(sorted[i]);
+		}
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param time epoch-milliseconds
+	 * @return the index of the latest quote strictly before that time (the
+	 *         first one in the price-db if there are several at that time), -1
+	 *         if there is none
+	 */
+	int indexBefore(final long time) {
+		// the first quote at or after that time
+		int low = 0;
+		int high = times.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (times[mid] < time) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+
+		int retval = low - 1;
+		while (retval > 0 && times[retval - 1] == times[retval]) {
+			retval--;
+		}
+		return retval;
+	}
+
+	/**
+	 * @param index see {@link #indexBefore(long)}
+	 * @return the time of that quote in epoch-milliseconds
+	 */
+	long getTime(final int index) {
+		return times[index];
+	}
+
+	/**
+	 * @param index see {@link #indexBefore(long)}
+	 * @return the value of that quote (not to be changed)
+	 */
+	FixedPointNumber getValue(final int index) {
+		return values[index];
+	}
+
+	/**
+	 * @param index see {@link #indexBefore(long)}
+	 * @return the position of that quote in the price-db
+	 */
+	int getPosition(final int index) {
+		return positions[index];
+	}
+
+	/**
+	 * @return the number of (valid) quotes
+	 */
+	int size() {
+		return times.length;
+	}
+
+	String getCmdtySpace() {
+		return cmdtySpace;
+	}
+
+	String getCmdtyId() {
+		return cmdtyId;
+	}
+
+	String getCurrencySpace() {
+		return currencySpace;
+	}
+
+	String getCurrencyId() {
+		return currencyId;
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * Also used by {@link PriceGraph}, so the latest quote is the same for both
+	 * price-APIs.
+	 *
+	 * @param tsDate e.g. "2023-07-20 10:59:00 +0000"
+	 * @return epoch-milliseconds (of the local time, the offset is ignored)
+	 */
+	static long parseTime(final String tsDate) {
+		// trailing text (the offset) is allowed
+		LocalDateTime time = LocalDateTime.from(PRICE_QUOTE_DATE_FORMAT.parse(tsDate, new ParsePosition(0)));
+		return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+
+}
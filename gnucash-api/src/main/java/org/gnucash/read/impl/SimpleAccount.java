@@ -2,6 +2,7 @@ package org.gnucash.read.impl;
 
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
+import java.math.BigDecimal;
 import java.text.NumberFormat;
 import java.time.DateTimeException;
 import java.time.LocalDate;
@@ -20,6 +21,8 @@ import org.gnucash.currency.ComplexCurrencyTable;
 import org.gnucash.currency.CurrencyNameSpace;
 import org.gnucash.messages.ApplicationMessages;
 import org.gnucash.numbers.FixedPointNumber;
+import org.gnucash.numbers.Money;
+import org.gnucash.numbers.MoneyAccumulator;
 import org.gnucash.read.GnucashAccount;
 import org.gnucash.read.GnucashFile;
 import org.gnucash.read.GnucashTransaction;
@@ -40,6 +43,24 @@ public abstract class SimpleAccount implements GnucashAccount {
    */
   private final GnucashFile myFile;
 
+  /**
+   * The qualified name together with the {@link GnucashFileImpl#getAccountNamesVersion()} it has been computed for.
+   */
+  private static class CachedName {
+    private final long version;
+    private final String name;
+
+    CachedName(final long version, final String name) {
+      this.version = version;
+      this.name = name;
+    }
+  }
+
+  /**
+   * @see #getQualifiedName()
+   */
+  private volatile CachedName qualifiedName;
+
   /**
    * @param myFile The file we belong to
    */
@@ -66,6 +87,27 @@ public abstract class SimpleAccount implements GnucashAccount {
     return retval;
   }
 
+  /**
+   * @see GnucashAccount#getTransactionSplits(LocalDate, LocalDate)
+   */
+  public List<GnucashTransactionSplit> getTransactionSplits(final LocalDate from, final LocalDate to) {
+    return getGnucashFile().getTransactionSplits(this, from, to);
+  }
+
+  /**
+   * @see GnucashAccount#getTransactions(LocalDate, LocalDate)
+   */
+  public List<GnucashTransaction> getTransactions(final LocalDate from, final LocalDate to) {
+    List<GnucashTransactionSplit> splits = getTransactionSplits(from, to);
+    List<GnucashTransaction> retval = new ArrayList<GnucashTransaction>(splits.size());
+
+    for (GnucashTransactionSplit split : splits) {
+      retval.add(split.getTransaction());
+    }
+
+    return retval;
+  }
+
   /**
    * @return Returns the file.
    * @link #myFile
@@ -121,6 +163,20 @@ public abstract class SimpleAccount implements GnucashAccount {
    * @see GnucashAccount#getQualifiedName()
    */
   public String getQualifiedName() {
+    if (!(myFile instanceof GnucashFileImpl)) {
+      return computeQualifiedName();
+    }
+
+    long version = ((GnucashFileImpl) myFile).getAccountNamesVersion();
+    CachedName cached = qualifiedName;
+    if (cached == null || cached.version != version) {
+      cached = new CachedName(version, computeQualifiedName());
+      qualifiedName = cached;
+    }
+    return cached.name;
+  }
+
+  private String computeQualifiedName() {
     GnucashAccount acc = getParentAccount();
     if (acc == null || acc.getId() == getId()) {
       if (getParentAccountId() == null) {
@@ -449,6 +505,56 @@ public abstract class SimpleAccount implements GnucashAccount {
     return getBalance(date, (Collection<GnucashTransactionSplit>) null);
   }
 
+  /**
+   * @see GnucashAccount#getBalanceAsMoney()
+   */
+  public Money getBalanceAsMoney() {
+    return getBalanceAsMoney(LocalDate.now());
+  }
+
+  /**
+   * @see GnucashAccount#getBalanceAsMoney(LocalDate)
+   */
+  public Money getBalanceAsMoney(final LocalDate date) {
+    MoneyAccumulator balance = new MoneyAccumulator(getCurrencyNameSpace(), getCurrencyID());
+
+    for (GnucashTransactionSplit split : getTransactionSplits()) {
+      if (isPostedAfter(split, date)) {
+        continue;
+      }
+
+      // the currency of the quantity is the one of the account
+      balance.add(getQuantityNoCopy(split));
+    }
+    return balance.toMoney();
+  }
+
+  /**
+   * Sub-accounts of another currency are converted as in
+   * {@link #getBalanceRecursive(LocalDate, String, String)}, those that cannot be
+   * converted are ignored.
+   *
+   * @see GnucashAccount#getBalanceRecursiveAsMoney(LocalDate)
+   */
+  public Money getBalanceRecursiveAsMoney(final LocalDate date) {
+    MoneyAccumulator balance = new MoneyAccumulator(getCurrencyNameSpace(), getCurrencyID());
+    balance.add(getBalanceAsMoney(date));
+
+    for (GnucashAccount child : getChildren()) {
+      if (child.getCurrencyNameSpace().equals(getCurrencyNameSpace())
+          && child.getCurrencyID().equals(getCurrencyID())) {
+        balance.add(child.getBalanceRecursiveAsMoney(date));
+        continue;
+      }
+
+      FixedPointNumber converted = child.getBalanceRecursive(date, getCurrencyNameSpace(), getCurrencyID());
+      if (converted != null) {
+        balance.add(converted);
+      }
+    }
+    return balance.toMoney();
+  }
+
   /**
    * The currency will be the one of this account.
    *
@@ -460,16 +566,7 @@ public abstract class SimpleAccount implements GnucashAccount {
     for (Object element : getTransactionSplits()) {
       GnucashTransactionSplit split = (GnucashTransactionSplit) element;
 
-      boolean bstat;
-      try {
-        bstat = split.getTransaction().getDatePosted().isAfter(ChronoZonedDateTime.from(date.atStartOfDay()));
-      } catch (DateTimeException e) {
-        ZonedDateTime zonedDateTime = date.atStartOfDay(ZoneId.systemDefault());
-        bstat = split.getTransaction().getDatePosted().isAfter(ChronoZonedDateTime.from(zonedDateTime));
-      }
-      if (date != null && bstat) {
-        // split.getTransaction().getDatePosted().isAfter(
-        // ChronoZonedDateTime.from(date.atStartOfDay()) ))
+      if (isPostedAfter(split, date)) {
         if (after != null) {
           after.add(split);
         }
@@ -477,11 +574,40 @@ public abstract class SimpleAccount implements GnucashAccount {
       }
 
       // the currency of the quantity is the one of the account
-      balance.add(split.getQuantity());
+      balance.add(getQuantityNoCopy(split));
     }
     return balance;
   }
 
+  /**
+   * @param split a split of this account
+   * @param date  null for no date
+   * @return true if the split was posted after the start of that day
+   */
+  private static boolean isPostedAfter(final GnucashTransactionSplit split, final LocalDate date) {
+    if (date == null) {
+      return false;
+    }
+
+    try {
+      return split.getTransaction().getDatePosted().isAfter(ChronoZonedDateTime.from(date.atStartOfDay()));
+    } catch (DateTimeException e) {
+      ZonedDateTime zonedDateTime = date.atStartOfDay(ZoneId.systemDefault());
+      return split.getTransaction().getDatePosted().isAfter(ChronoZonedDateTime.from(zonedDateTime));
+    }
+  }
+
+  /**
+   * @param split a split of this account
+   * @return its quantity, not to be changed
+   */
+  private static FixedPointNumber getQuantityNoCopy(final GnucashTransactionSplit split) {
+    if (split instanceof GnucashTransactionSplitImpl) {
+      return ((GnucashTransactionSplitImpl) split).getCachedQuantity();
+    }
+    return split.getQuantity();
+  }
+
   /**
    * @see GnucashAccount#getBalance(GnucashTransactionSplit)
    */
@@ -490,7 +616,7 @@ public abstract class SimpleAccount implements GnucashAccount {
     FixedPointNumber balance = new FixedPointNumber();
 
     for (GnucashTransactionSplit split : getTransactionSplits()) {
-      balance.add(split.getQuantity());
+      balance.add(getQuantityNoCopy(split));
 
       if (split == lastIncludesSplit) {
         break;
@@ -501,6 +627,40 @@ public abstract class SimpleAccount implements GnucashAccount {
     return balance;
   }
 
+  /**
+   * @see GnucashAccount#getRegister()
+   */
+  public Iterable<RegisterEntry> getRegister() {
+    return getRegister(null, null);
+  }
+
+  /**
+   * A split and the balance of its account after it.
+   */
+  protected static class RegisterEntryImpl implements RegisterEntry {
+    private final GnucashTransactionSplit split;
+    private final BigDecimal balance;
+
+    protected RegisterEntryImpl(final GnucashTransactionSplit split, final BigDecimal balance) {
+      this.split = split;
+      this.balance = balance;
+    }
+
+    public GnucashTransactionSplit getSplit() {
+      return split;
+    }
+
+    public FixedPointNumber getBalance() {
+      // FixedPointNumber is mutable
+      return new FixedPointNumber(balance);
+    }
+
+    @Override
+    public String toString() {
+      return "RegisterEntry [split=" + split.getId() + ", balance=" + balance + "]";
+    }
+  }
+
   /**
    * @see GnucashAccount#getTransactionSplitByID(java.lang.String)
    */
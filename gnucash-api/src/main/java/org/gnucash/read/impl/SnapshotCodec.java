@@ -0,0 +1,531 @@
+package org.gnucash.read.impl;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.namespace.QName;
+
+import org.gnucash.generated.GncV2;
+
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.annotation.XmlEnum;
+import jakarta.xml.bind.annotation.XmlType;
+
+/**
+ * The binary format of the {@link GncV2}-tree in a {@link GnucashSnapshot}.<br/>
+ * The generated classes are plain beans, so every object is written as its class and then its fields (in the
+ * order of their names). Each class is described once, with the names of its fields, so a snapshot written for
+ * another version of the xsd is rejected instead of being read wrongly. Each string is written once, later
+ * occurrences refer to the first one (ids, currencies and versions repeat a lot).<br/>
+ * Only the generated classes (and the few JDK-types they are made of) are read; there is no generic
+ * deserialization. Nesting-depth and sizes are checked against the remaining bytes.
+ *
+ * @see GnucashSnapshot
+ */
+class SnapshotCodec {
+
+	private static final byte TAG_NULL = 0;
+	private static final byte TAG_STRING = 1;
+	private static final byte TAG_INTEGER = 2;
+	private static final byte TAG_BYTE = 3;
+	private static final byte TAG_CALENDAR = 4;
+	private static final byte TAG_LIST = 5;
+	private static final byte TAG_ELEMENT = 6;
+	private static final byte TAG_ENUM = 7;
+	private static final byte TAG_OBJECT = 8;
+
+	// the declared types and scopes of JAXBElements
+	private static final int TYPE_GLOBAL_SCOPE = 0;
+	private static final int TYPE_STRING = 1;
+	private static final int TYPE_CALENDAR = 2;
+	private static final int TYPE_GENERATED = 3;
+
+	/**
+	 * The book is some levels deep, slots nest a few more.
+	 */
+	private static final int MAX_DEPTH = 100;
+
+	private static final String GENERATED_PACKAGE = GncV2.class.getPackageName();
+
+	/**
+	 * The fields of the generated classes (they never change at runtime).
+	 */
+	private static final Map<Class<?>, ClassInfo> CLASS_INFOS = new ConcurrentHashMap<Class<?>, ClassInfo>();
+
+	private SnapshotCodec() {
+		// only static methods
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param root the book
+	 * @param out  where to write it to
+	 * @throws IOException on writing-errors or if the tree contains something the format does not know
+	 */
+	static void write(final GncV2 root, final DataOutputStream out) throws IOException {
+		new Writer(out).writeValue(root);
+	}
+
+	/**
+	 * @param in positioned after the header of the snapshot
+	 * @return the book
+	 * @throws IOException if the snapshot is damaged or of another version of the generated classes
+	 */
+	static GncV2 read(final ByteBuffer in) throws IOException {
+		Object retval = new Reader(in).readValue(0);
+		if (!(retval instanceof GncV2)) {
+			throw new IOException("no book in snapshot");
+		}
+		return (GncV2) retval;
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param type some class
+	 * @return true if it is one of the classes generated from the xsd
+	 */
+	private static boolean isGenerated(final Class<?> type) {
+		return type.getPackageName().equals(GENERATED_PACKAGE)
+				&& (type.isAnnotationPresent(XmlType.class) || type.isAnnotationPresent(XmlEnum.class));
+	}
+
+	/**
+	 * @param type a generated class
+	 * @return its fields
+	 */
+	private static ClassInfo getClassInfo(final Class<?> type) throws IOException {
+		ClassInfo retval = CLASS_INFOS.get(type);
+		if (retval == null) {
+			retval = new ClassInfo(type);
+			CLASS_INFOS.put(type, retval);
+		}
+		return retval;
+	}
+
+	/**
+	 * The (non-static) fields of a generated class and how to create it.
+	 */
+	private static class ClassInfo {
+
+		private final Class<?> type;
+
+		/**
+		 * The fields of the super-classes first, each class's fields by name.
+		 */
+		private final Field[] fields;
+
+		/**
+		 * The names of the fields.
+		 */
+		private final String[] names;
+
+		/**
+		 * null for enums.
+		 */
+		private final Constructor<?> constructor;
+
+		private ClassInfo(final Class<?> pType) throws IOException {
+			type = pType;
+
+			List<Field> all = new ArrayList<Field>();
+			List<Class<?>> hierarchy = new ArrayList<Class<?>>();
+			for (Class<?> cls = type; cls != null && cls != Object.class && !cls.isEnum(); cls = cls.getSuperclass()) {
+				hierarchy.add(0, cls);
+			}
+			for (Class<?> cls : hierarchy) {
+				Field[] declared = cls.getDeclaredFields();
+				Arrays.sort(declared, Comparator.comparing(Field::getName));
+				for (Field field : declared) {
+					if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) {
+						continue;
+					}
+					field.setAccessible(true);
+					all.add(field);
+				}
+			}
+			fields = all.toArray(new Field[all.size()]);
+			names = new String[fields.length];
+			for (int i = 0; i < fields.length; i++) {
+				names[i] = fields[i].getName();
+			}
+
+			if (type.isEnum()) {
+				constructor = null;
+			} else {
+				try {
+					constructor = type.getDeclaredConstructor();
+				} catch (NoSuchMethodException e) {
+					throw new IOException("no default-constructor in " + type.getName(), e);
+				}
+			}
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * Writes one tree.
+	 */
+	private static class Writer {
+
+		private final DataOutputStream out;
+
+		private final Map<String, Integer> strings = new HashMap<String, Integer>();
+
+		private final Map<Class<?>, Integer> classes = new HashMap<Class<?>, Integer>();
+
+		private Writer(final DataOutputStream pOut) {
+			out = pOut;
+		}
+
+		private void writeValue(final Object value) throws IOException {
+			if (value == null) {
+				out.writeByte(TAG_NULL);
+			} else if (value instanceof String) {
+				out.writeByte(TAG_STRING);
+				writeString((String) value);
+			} else if (value instanceof Integer) {
+				out.writeByte(TAG_INTEGER);
+				out.writeInt((Integer) value);
+			} else if (value instanceof Byte) {
+				out.writeByte(TAG_BYTE);
+				out.writeByte((Byte) value);
+			} else if (value instanceof XMLGregorianCalendar) {
+				out.writeByte(TAG_CALENDAR);
+				writeString(((XMLGregorianCalendar) value).toXMLFormat());
+			} else if (value instanceof List) {
+				List<?> list = (List<?>) value;
+				out.writeByte(TAG_LIST);
+				writeVarInt(list.size());
+				for (Object element : list) {
+					writeValue(element);
+				}
+			} else if (value instanceof JAXBElement) {
+				JAXBElement<?> element = (JAXBElement<?>) value;
+				out.writeByte(TAG_ELEMENT);
+				writeString(element.getName().getNamespaceURI());
+				writeString(element.getName().getLocalPart());
+				writeType(element.getDeclaredType());
+				writeType(element.getScope());
+				out.writeBoolean(element.isNil());
+				writeValue(element.getValue());
+			} else if (value instanceof Enum && isGenerated(value.getClass())) {
+				out.writeByte(TAG_ENUM);
+				writeClass(((Enum<?>) value).getDeclaringClass());
+				writeString(((Enum<?>) value).name());
+			} else if (isGenerated(value.getClass())) {
+				out.writeByte(TAG_OBJECT);
+				ClassInfo info = writeClass(value.getClass());
+				try {
+					for (Field field : info.fields) {
+						writeValue(field.get(value));
+					}
+				} catch (IllegalAccessException e) {
+					throw new IOException("cannot write " + value.getClass().getName(), e);
+				}
+			} else {
+				throw new IOException("cannot write a " + value.getClass().getName());
+			}
+		}
+
+		private void writeType(final Class<?> type) throws IOException {
+			if (type == JAXBElement.GlobalScope.class) {
+				writeVarInt(TYPE_GLOBAL_SCOPE);
+			} else if (type == String.class) {
+				writeVarInt(TYPE_STRING);
+			} else if (type == XMLGregorianCalendar.class) {
+				writeVarInt(TYPE_CALENDAR);
+			} else if (isGenerated(type)) {
+				writeVarInt(TYPE_GENERATED);
+				writeClass(type);
+			} else {
+				throw new IOException("cannot write an element of type " + type.getName());
+			}
+		}
+
+		/**
+		 * The first time with its name and the names of its fields.
+		 */
+		private ClassInfo writeClass(final Class<?> type) throws IOException {
+			ClassInfo info = getClassInfo(type);
+			Integer id = classes.get(type);
+			if (id != null) {
+				writeVarInt(id);
+				return info;
+			}
+
+			writeVarInt(classes.size());
+			classes.put(type, classes.size());
+			writeString(type.getName());
+			writeVarInt(info.names.length);
+			for (String name : info.names) {
+				writeString(name);
+			}
+			return info;
+		}
+
+		/**
+		 * The first time with its bytes.
+		 */
+		private void writeString(final String value) throws IOException {
+			Integer id = strings.get(value);
+			if (id != null) {
+				writeVarInt(id);
+				return;
+			}
+
+			writeVarInt(strings.size());
+			strings.put(value, strings.size());
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			writeVarInt(bytes.length);
+			out.write(bytes);
+		}
+
+		private void writeVarInt(final int value) throws IOException {
+			int rest = value;
+			while ((rest & ~0x7f) != 0) {
+				out.writeByte((rest & 0x7f) | 0x80);
+				rest >>>= 7;
+			}
+			out.writeByte(rest);
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * Reads one tree.
+	 */
+	private static class Reader {
+
+		private final ByteBuffer in;
+
+		private final List<String> strings = new ArrayList<String>();
+
+		private final List<ClassInfo> classes = new ArrayList<ClassInfo>();
+
+		private DatatypeFactory datatypeFactory = null;
+
+		private Reader(final ByteBuffer pIn) {
+			in = pIn;
+		}
+
+		private Object readValue(final int depth) throws IOException {
+			if (depth > MAX_DEPTH) {
+				throw new IOException("snapshot nested deeper than " + MAX_DEPTH);
+			}
+
+			byte tag = in.get();
+			switch (tag) {
+			case TAG_NULL:
+				return null;
+			case TAG_STRING:
+				return readString();
+			case TAG_INTEGER:
+				return in.getInt();
+			case TAG_BYTE:
+				return in.get();
+			case TAG_CALENDAR:
+				return readCalendar();
+			case TAG_LIST:
+				// every element takes at least one byte
+				int size = readSize();
+				List<Object> list = new ArrayList<Object>(size);
+				for (int i = 0; i < size; i++) {
+					list.add(readValue(depth + 1));
+				}
+				return list;
+			case TAG_ELEMENT:
+				return readElement(depth);
+			case TAG_ENUM:
+				return readEnum();
+			case TAG_OBJECT:
+				return readObject(depth);
+			default:
+				throw new IOException("unknown tag " + tag + " in snapshot");
+			}
+		}
+
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		private Object readElement(final int depth) throws IOException {
+			QName name = new QName(readString(), readString());
+			Class declaredType = readType();
+			Class scope = readType();
+			boolean nil = in.get() != 0;
+			Object value = readValue(depth + 1);
+			if (value != null && !declaredType.isInstance(value)) {
+				throw new IOException("element " + name + " of type " + declaredType.getName() + " contains a "
+						+ value.getClass().getName());
+			}
+
+			JAXBElement retval = new JAXBElement(name, declaredType, scope, value);
+			retval.setNil(nil);
+			return retval;
+		}
+
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		private Object readEnum() throws IOException {
+			ClassInfo info = readClass();
+			if (!info.type.isEnum()) {
+				throw new IOException(info.type.getName() + " is no enum");
+			}
+			try {
+				return Enum.valueOf((Class) info.type, readString());
+			} catch (IllegalArgumentException e) {
+				throw new IOException("unknown value of " + info.type.getName(), e);
+			}
+		}
+
+		private Object readObject(final int depth) throws IOException {
+			ClassInfo info = readClass();
+			if (info.constructor == null) {
+				throw new IOException(info.type.getName() + " is an enum");
+			}
+
+			try {
+				Object retval = info.constructor.newInstance();
+				for (Field field : info.fields) {
+					Object value = readValue(depth + 1);
+					if (value != null || !field.getType().isPrimitive()) {
+						field.set(retval, value);
+					}
+				}
+				return retval;
+			} catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+				throw new IOException("cannot create " + info.type.getName(), e);
+			} catch (IllegalArgumentException e) {
+				// a value of the wrong type for a field
+				throw new IOException("snapshot does not match " + info.type.getName(), e);
+			}
+		}
+
+		private Class<?> readType() throws IOException {
+			int type = readVarInt();
+			switch (type) {
+			case TYPE_GLOBAL_SCOPE:
+				return JAXBElement.GlobalScope.class;
+			case TYPE_STRING:
+				return String.class;
+			case TYPE_CALENDAR:
+				return XMLGregorianCalendar.class;
+			case TYPE_GENERATED:
+				return readClass().type;
+			default:
+				throw new IOException("unknown type " + type + " in snapshot");
+			}
+		}
+
+		/**
+		 * Only generated classes whose fields are the ones the snapshot was written with.
+		 */
+		private ClassInfo readClass() throws IOException {
+			int id = readVarInt();
+			if (id < classes.size()) {
+				return classes.get(id);
+			}
+			if (id != classes.size()) {
+				throw new IOException("bad class-reference " + id + " in snapshot");
+			}
+
+			String className = readString();
+			if (!className.startsWith(GENERATED_PACKAGE + ".")) {
+				throw new IOException("class " + className + " not allowed in snapshot");
+			}
+			Class<?> type;
+			try {
+				type = Class.forName(className, false, GncV2.class.getClassLoader());
+			} catch (ClassNotFoundException e) {
+				throw new IOException("unknown class " + className + " in snapshot", e);
+			}
+			if (!isGenerated(type)) {
+				throw new IOException("class " + className + " not allowed in snapshot");
+			}
+
+			ClassInfo info = getClassInfo(type);
+			int nofFields = readSize();
+			String[] names = new String[nofFields];
+			for (int i = 0; i < nofFields; i++) {
+				names[i] = readString();
+			}
+			if (!Arrays.equals(names, info.names)) {
+				throw new IOException("snapshot written for another version of " + className);
+			}
+
+			classes.add(info);
+			return info;
+		}
+
+		private String readString() throws IOException {
+			int id = readVarInt();
+			if (id < strings.size()) {
+				return strings.get(id);
+			}
+			if (id != strings.size()) {
+				throw new IOException("bad string-reference " + id + " in snapshot");
+			}
+
+			byte[] bytes = new byte[readSize()];
+			in.get(bytes);
+			String retval = new String(bytes, StandardCharsets.UTF_8);
+			strings.add(retval);
+			return retval;
+		}
+
+		private XMLGregorianCalendar readCalendar() throws IOException {
+			String value = readString();
+			try {
+				if (datatypeFactory == null) {
+					datatypeFactory = DatatypeFactory.newInstance();
+				}
+				return datatypeFactory.newXMLGregorianCalendar(value);
+			} catch (DatatypeConfigurationException | IllegalArgumentException e) {
+				throw new IOException("bad date '" + value + "' in snapshot", e);
+			}
+		}
+
+		/**
+		 * @return a length that is not more than the bytes left
+		 */
+		private int readSize() throws IOException {
+			int retval = readVarInt();
+			if (retval > in.remaining()) {
+				throw new IOException("size " + retval + " beyond the end of the snapshot");
+			}
+			return retval;
+		}
+
+		private int readVarInt() throws IOException {
+			int retval = 0;
+			for (int shift = 0; shift < 32; shift += 7) {
+				byte b = in.get();
+				retval |= (b & 0x7f) << shift;
+				if ((b & 0x80) == 0) {
+					if (retval < 0) {
+						throw new IOException("negative number in snapshot");
+					}
+					return retval;
+				}
+			}
+			throw new IOException("number too long in snapshot");
+		}
+	}
+
+}
@@ -0,0 +1,357 @@
+package org.gnucash.read.impl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.gnucash.generated.GncTransaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The transactions of a book and the splits of every account sorted by the day they were posted (as epoch-day), so
+ * the ones of a period are found by a binary search.<br/>
+ * Built from the JAXB-peers, the posting-dates are not parsed into a ZonedDateTime. A transaction that has been
+ * added, removed, re-dated or got its splits changed is filed again by {@link #update(GncTransaction)} and
+ * {@link #remove(String)}, the lists of postings touched by it are replaced (readers keep the ones they have).
+ *
+ * @see GnucashFileImpl#getTransactions(LocalDate, LocalDate)
+ * @see GnucashFileImpl#getTransactionSplits(String, LocalDate, LocalDate)
+ */
+class TransactionDateIndex {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(TransactionDateIndex.class);
+
+	/**
+	 * Entries sorted by posting-day (transactions without a posting-date first), not to be changed.
+	 */
+	static class Postings {
+
+		private final long[] days;
+
+		private final String[] trxIDs;
+
+		private final String[] splitIDs;
+
+		/**
+		 * @param keys     (day &lt;&lt; 32 | position), sorted
+		 * @param trxIDs   transaction-id by position
+		 * @param splitIDs split-id by position, null for the transactions themselves
+		 */
+		private Postings(final long[] keys, final List<String> trxIDs, final List<String> splitIDs) {
+			days = new long[keys.length];
+			this.trxIDs = new String[keys.length];
+			this.splitIDs = splitIDs == null ? null : new String[keys.length];
+			for (int i = 0; i < keys.length; i++) {
+				int pos = (int) keys[i];
+				days[i] = keys[i] >> 32;
+				this.trxIDs[i] = trxIDs.get(pos);
+				if (splitIDs != null) {
+					this.splitIDs[i] = splitIDs.get(pos);
+				}
+			}
+		}
+
+		private Postings(final long[] days, final String[] trxIDs, final String[] splitIDs) {
+			this.days = days;
+			this.trxIDs = trxIDs;
+			this.splitIDs = splitIDs;
+		}
+
+		/**
+		 * @return the number of entries
+		 */
+		int size() {
+			return days.length;
+		}
+
+		/**
+		 * @param i position
+		 * @return the id of the transaction at that position
+		 */
+		String getTransactionID(final int i) {
+			return trxIDs[i];
+		}
+
+		/**
+		 * @param i position
+		 * @return the id of the split at that position
+		 */
+		String getSplitID(final int i) {
+			return splitIDs[i];
+		}
+
+		/**
+		 * @param date a day, null for the very first entry
+		 * @return the position of the first entry posted on or after that day
+		 */
+		int indexOf(final LocalDate date) {
+			if (date == null) {
+				return 0;
+			}
+			return indexOf(date.toEpochDay());
+		}
+
+		/**
+		 * @param day an epoch-day
+		 * @return the position of the first entry posted on or after that day
+		 */
+		private int indexOf(final long day) {
+			int low = 0;
+			int high = days.length;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (days[mid] < day) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+
+		/**
+		 * @param day      the day the transaction was filed under
+		 * @param trxID    a transaction
+		 * @param newDay   the day to file the new entries under
+		 * @param splitIDs the new entries (null elements for the transaction itself), empty for none
+		 * @return new postings without the entries of that transaction on that day and with the new ones (after all
+		 *         others of that day)
+		 */
+		private Postings replace(final long day, final String trxID, final long newDay, final List<String> splitIDs) {
+			int size = days.length;
+			long[] newDays = new long[size + splitIDs.size()];
+			String[] newTrxIDs = new String[newDays.length];
+			String[] newSplitIDs = this.splitIDs == null ? null : new String[newDays.length];
+
+			int count = 0;
+			boolean inserted = splitIDs.isEmpty();
+			for (int i = 0; i <= size; i++) {
+				if (!inserted && (i == size || days[i] > newDay)) {
+					for (String splitID : splitIDs) {
+						newDays[count] = newDay;
+						newTrxIDs[count] = trxID;
+						if (newSplitIDs != null) {
+							newSplitIDs[count] = splitID;
+						}
+						count++;
+					}
+					inserted = true;
+				}
+				if (i == size) {
+					break;
+				}
+				if (days[i] == day && trxIDs[i].equals(trxID)) {
+					continue;
+				}
+				newDays[count] = days[i];
+				newTrxIDs[count] = trxIDs[i];
+				if (newSplitIDs != null) {
+					newSplitIDs[count] = this.splitIDs[i];
+				}
+				count++;
+			}
+
+			return new Postings(Arrays.copyOf(newDays, count), Arrays.copyOf(newTrxIDs, count),
+					newSplitIDs == null ? null : Arrays.copyOf(newSplitIDs, count));
+		}
+	}
+
+	/**
+	 * Where a transaction has been filed.
+	 */
+	private static class Filed {
+
+		private final long day;
+
+		/**
+		 * The accounts of its splits.
+		 */
+		private final String[] accountIDs;
+
+		private Filed(final long day, final Collection<String> accountIDs) {
+			this.day = day;
+			this.accountIDs = accountIDs.toArray(new String[accountIDs.size()]);
+		}
+	}
+
+	/**
+	 * Used for transactions without a posting-date.
+	 */
+	private static final int NO_DAY = Integer.MIN_VALUE;
+
+	private static final Postings NO_POSTINGS = new Postings(new long[0], new ArrayList<String>(), null);
+
+	private volatile Postings transactions;
+
+	private final Map<String, Postings> accountID2splits = new ConcurrentHashMap<String, Postings>();
+
+	private final Map<String, Filed> trxID2filed = new HashMap<String, Filed>();
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param peers the transactions of the book
+	 */
+	TransactionDateIndex(final Collection<GncTransaction> peers) {
+		List<String> trxIDs = new ArrayList<String>(peers.size());
+		long[] trxKeys = new long[peers.size()];
+
+		// the splits of all accounts share the id-lists, the keys point into them
+		List<String> splitTrxIDs = new ArrayList<String>();
+		List<String> splitIDs = new ArrayList<String>();
+		Map<String, long[]> accountID2keys = new HashMap<String, long[]>();
+		Map<String, Integer> accountID2count = new HashMap<String, Integer>();
+
+		for (GncTransaction peer : peers) {
+			String trxID = peer.getTrnId().getValue();
+			long day = getDay(peer);
+			trxKeys[trxIDs.size()] = toKey(day, trxIDs.size());
+			trxIDs.add(trxID);
+
+			Set<String> accountIDs = new LinkedHashSet<String>();
+			for (GncTransaction.TrnSplits.TrnSplit split : peer.getTrnSplits().getTrnSplit()) {
+				String accountID = split.getSplitAccount().getValue();
+				accountIDs.add(accountID);
+				int count = accountID2count.getOrDefault(accountID, 0);
+				long[] keys = accountID2keys.get(accountID);
+				if (keys == null || keys.length == count) {
+					keys = keys == null ? new long[4] : Arrays.copyOf(keys, count * 2);
+					accountID2keys.put(accountID, keys);
+				}
+				keys[count] = toKey(day, splitIDs.size());
+				accountID2count.put(accountID, count + 1);
+
+				splitTrxIDs.add(trxID);
+				splitIDs.add(split.getSplitId().getValue());
+			}
+			trxID2filed.put(trxID, new Filed(day, accountIDs));
+		}
+
+		// stable: the position is part of the key
+		Arrays.sort(trxKeys);
+		transactions = new Postings(trxKeys, trxIDs, null);
+
+		for (Map.Entry<String, long[]> entry : accountID2keys.entrySet()) {
+			long[] keys = Arrays.copyOf(entry.getValue(), accountID2count.get(entry.getKey()));
+			Arrays.sort(keys);
+			accountID2splits.put(entry.getKey(), new Postings(keys, splitTrxIDs, splitIDs));
+		}
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @return all transactions
+	 */
+	Postings getTransactions() {
+		return transactions;
+	}
+
+	/**
+	 * @param accountID an account
+	 * @return the splits of that account
+	 */
+	Postings getSplits(final String accountID) {
+		Postings retval = accountID2splits.get(accountID);
+		return retval == null ? NO_POSTINGS : retval;
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param peer a transaction that has been added, re-dated or got splits added, removed or moved to another
+	 *             account
+	 */
+	synchronized void update(final GncTransaction peer) {
+		String trxID = peer.getTrnId().getValue();
+		long day = getDay(peer);
+
+		// the splits per account in the order of the transaction
+		Map<String, List<String>> accountID2splitIDs = new HashMap<String, List<String>>();
+		for (GncTransaction.TrnSplits.TrnSplit split : peer.getTrnSplits().getTrnSplit()) {
+			accountID2splitIDs.computeIfAbsent(split.getSplitAccount().getValue(), k -> new ArrayList<String>())
+					.add(split.getSplitId().getValue());
+		}
+
+		Filed old = trxID2filed.put(trxID, new Filed(day, accountID2splitIDs.keySet()));
+		long oldDay = old == null ? day : old.day;
+		transactions = transactions.replace(oldDay, trxID, day, Arrays.asList((String) null));
+
+		if (old != null) {
+			for (String accountID : old.accountIDs) {
+				if (!accountID2splitIDs.containsKey(accountID)) {
+					replaceSplits(accountID, oldDay, trxID, day, new ArrayList<String>());
+				}
+			}
+		}
+		for (Map.Entry<String, List<String>> entry : accountID2splitIDs.entrySet()) {
+			replaceSplits(entry.getKey(), oldDay, trxID, day, entry.getValue());
+		}
+	}
+
+	/**
+	 * @param trxID a transaction that has been removed
+	 */
+	synchronized void remove(final String trxID) {
+		Filed old = trxID2filed.remove(trxID);
+		if (old == null) {
+			return;
+		}
+
+		transactions = transactions.replace(old.day, trxID, old.day, new ArrayList<String>());
+		for (String accountID : old.accountIDs) {
+			replaceSplits(accountID, old.day, trxID, old.day, new ArrayList<String>());
+		}
+	}
+
+	private void replaceSplits(final String accountID, final long day, final String trxID, final long newDay,
+			final List<String> splitIDs) {
+		Postings postings = getSplits(accountID);
+		if (postings == NO_POSTINGS) {
+			postings = new Postings(new long[0], new String[0], new String[0]);
+		}
+		accountID2splits.put(accountID, postings.replace(day, trxID, newDay, splitIDs));
+	}
+
+	// -----------------------------------------------------------------
+
+	private static long toKey(final long day, final int position) {
+		return (day << 32) | position;
+	}
+
+	/**
+	 * @param peer a transaction
+	 * @return the epoch-day it was posted on, {@link #NO_DAY} if it has no (valid) posting-date
+	 */
+	private static long getDay(final GncTransaction peer) {
+		if (peer.getTrnDatePosted() == null || peer.getTrnDatePosted().getTsDate() == null) {
+			return NO_DAY;
+		}
+
+		String tsDate = peer.getTrnDatePosted().getTsDate();
+		long day = toEpochDay(tsDate);
+		if (day == NO_DAY) {
+			LOGGER.warn("getDay: transaction id='" + peer.getTrnId().getValue() + "' has a malformed posting-date '"
+					+ tsDate + "', filing it as undated");
+		}
+		return day;
+	}
+
+	/**
+	 * @param tsDate a posting-date as in the file ("2001-09-18 00:00:00 +0200")
+	 * @return the epoch-day of the date-part (see {@link PostingDate}), {@link #NO_DAY} if it is malformed
+	 */
+	private static long toEpochDay(final String tsDate) {
+		long key = PostingDate.toKey(tsDate);
+		return key == PostingDate.NONE ? NO_DAY : PostingDate.toEpochDay(key);
+	}
+
+}
@@ -0,0 +1,218 @@
+package org.gnucash.read.impl;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.gnucash.generated.GncTransaction;
+import org.gnucash.read.GnucashAccount;
+import org.gnucash.read.GnucashTransaction;
+
+/**
+ * What is kept of the transactions of a book that has been loaded with {@link LoadOptions#isLazyTransactions()}:
+ * the id, the position of the JAXB-peer among the transactions of the book, the posting-date and the accounts
+ * touched. The facades are created on first access and are only softly referenced, so the garbage-collector may
+ * evict them under memory pressure (they are simply created again on the next access).<br/>
+ * Such a book is read-only, so the positions never change.
+ */
+class TransactionIndex {
+
+	/**
+	 * One transaction.
+	 */
+	static class Entry {
+
+		private final String id;
+
+		private final int position;
+
+		private final String datePosted;
+
+		private final String[] accountIDs;
+
+		private SoftReference<GnucashTransaction> facade;
+
+		/**
+		 * @param pPeer     the JAXB-peer (not kept)
+		 * @param pPosition its position among the transactions of the book
+		 */
+		Entry(final GncTransaction pPeer, final int pPosition) {
+			id = pPeer.getTrnId().getValue();
+			position = pPosition;
+			datePosted = pPeer.getTrnDatePosted() == null ? null : pPeer.getTrnDatePosted().getTsDate();
+
+			List<GncTransaction.TrnSplits.TrnSplit> splits = pPeer.getTrnSplits().getTrnSplit();
+			accountIDs = new String[splits.size()];
+			for (int i = 0; i < accountIDs.length; i++) {
+				accountIDs[i] = splits.get(i).getSplitAccount().getValue();
+			}
+		}
+
+		/**
+		 * @return the id of the transaction
+		 */
+		String getId() {
+			return id;
+		}
+
+		/**
+		 * @return the position of the JAXB-peer among the transactions of the book
+		 * @see GnucashFileImpl#getBookElementsOfType(Class)
+		 */
+		int getPosition() {
+			return position;
+		}
+
+		/**
+		 * @return the posting-date as in the file ("2001-09-18 00:00:00 +0200")
+		 */
+		String getDatePosted() {
+			return datePosted;
+		}
+
+		/**
+		 * @return the account of every split (in split-order, may contain duplicates)
+		 */
+		String[] getAccountIDs() {
+			return accountIDs;
+		}
+
+		/**
+		 * @return the facade if it has been created and not been evicted since
+		 */
+		synchronized GnucashTransaction getFacade() {
+			return facade == null ? null : facade.get();
+		}
+
+		/**
+		 * @param pFacade the facade just created
+		 */
+		synchronized void setFacade(final GnucashTransaction pFacade) {
+			facade = new SoftReference<GnucashTransaction>(pFacade);
+		}
+	}
+
+	private final Map<String, Entry> trxID2entry = new LinkedHashMap<String, Entry>();
+
+	private final Map<String, Entry> splitID2entry = new HashMap<String, Entry>();
+
+	private final Map<String, List<Entry>> accountID2entries = new HashMap<String, List<Entry>>();
+
+	private final Map<String, List<Entry>> lotID2payments = new HashMap<String, List<Entry>>();
+
+	/**
+	 * The splits of an account in the order of {@link GnucashAccount#getTransactionSplits()}, filled on first use.
+	 */
+	private final Map<String, String[]> accountID2sortedSplitIDs = new ConcurrentHashMap<String, String[]>();
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param peers         the transactions of the book (in file-order)
+	 * @param paymentAction the split-action that marks a payment of an invoice
+	 */
+	TransactionIndex(final List<GncTransaction> peers, final String paymentAction) {
+		for (int i = 0; i < peers.size(); i++) {
+			GncTransaction peer = peers.get(i);
+			Entry entry = new Entry(peer, i);
+			trxID2entry.put(entry.getId(), entry);
+
+			for (GncTransaction.TrnSplits.TrnSplit split : peer.getTrnSplits().getTrnSplit()) {
+				splitID2entry.put(split.getSplitId().getValue(), entry);
+
+				// once per account, even if it has several splits in the transaction
+				List<Entry> entries = accountID2entries.computeIfAbsent(split.getSplitAccount().getValue(),
+						k -> new ArrayList<Entry>());
+				if (entries.isEmpty() || entries.get(entries.size() - 1) != entry) {
+					entries.add(entry);
+				}
+
+				// once per split, like GnucashGenerInvoice#addPayingTransaction()
+				if (split.getSplitLot() != null && paymentAction.equals(split.getSplitAction())) {
+					lotID2payments.computeIfAbsent(split.getSplitLot().getValue(), k -> new ArrayList<Entry>()).add(entry);
+				}
+			}
+		}
+	}
+
+	// -----------------------------------------------------------------
+
+	/**
+	 * @param trxID the id of a transaction
+	 * @return the entry or null
+	 */
+	Entry get(final String trxID) {
+		return trxID2entry.get(trxID);
+	}
+
+	/**
+	 * @param splitID the id of a split
+	 * @return the entry of the transaction the split belongs to or null
+	 */
+	Entry getBySplitID(final String splitID) {
+		return splitID2entry.get(splitID);
+	}
+
+	/**
+	 * @param accountID the id of an account
+	 * @return the transactions with at least one split in that account (in file-order)
+	 */
+	List<Entry> getByAccountID(final String accountID) {
+		List<Entry> retval = accountID2entries.get(accountID);
+		return retval == null ? Collections.emptyList() : Collections.unmodifiableList(retval);
+	}
+
+	/**
+	 * @param lotID the lot of an invoice
+	 * @return the transaction of every payment-split in that lot
+	 */
+	List<Entry> getPaymentsByLotID(final String lotID) {
+		List<Entry> retval = lotID2payments.get(lotID);
+		return retval == null ? Collections.emptyList() : Collections.unmodifiableList(retval);
+	}
+
+	/**
+	 * @param accountID the id of an account
+	 * @return the ids of its splits in the order of {@link GnucashAccount#getTransactionSplits()} or null if they
+	 *         have not been sorted yet
+	 */
+	String[] getSortedSplitIDs(final String accountID) {
+		return accountID2sortedSplitIDs.get(accountID);
+	}
+
+	/**
+	 * @param accountID the id of an account
+	 * @param splitIDs  the ids of its splits, sorted (not to be changed)
+	 */
+	void setSortedSplitIDs(final String accountID, final String[] splitIDs) {
+		accountID2sortedSplitIDs.put(accountID, splitIDs);
+	}
+
+	/**
+	 * @return all transactions (in file-order)
+	 */
+	Collection<Entry> getEntries() {
+		return Collections.unmodifiableCollection(trxID2entry.values());
+	}
+
+	/**
+	 * @return number of transactions
+	 */
+	int size() {
+		return trxID2entry.size();
+	}
+
+	/**
+	 * @return number of splits
+	 */
+	int getSplitCount() {
+		return splitID2entry.size();
+	}
+
+}
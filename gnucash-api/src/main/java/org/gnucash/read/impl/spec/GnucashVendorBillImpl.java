@@ -6,6 +6,7 @@ import java.util.HashSet;
 import org.gnucash.generated.GncV2.GncBook.GncGncInvoice;
 import org.gnucash.messages.ApplicationMessages;
 import org.gnucash.numbers.FixedPointNumber;
+import org.gnucash.numbers.Money;
 import org.gnucash.read.GnucashFile;
 import org.gnucash.read.GnucashGenerInvoice;
 import org.gnucash.read.GnucashGenerInvoiceEntry;
@@ -42,20 +43,16 @@ public class GnucashVendorBillImpl extends GnucashGenerInvoiceImpl implements Gn
       addEntry(new GnucashVendorBillEntryImpl(entry));
     }
 
+    String paymentAction = bundle.getMessage("ACTION_PAYMENT");
     for (GnucashTransaction trx : invc.getPayingTransactions()) {
       for (GnucashTransactionSplit splt : trx.getSplits()) {
         String lot = splt.getLotID();
-        if (lot != null) {
-          for (GnucashGenerInvoice invc1 : splt.getTransaction().getGnucashFile().getGenerInvoices()) {
-            String lotID = invc1.getLotID();
-            if (lotID != null && lotID.equals(lot)) {
-              // Check if it's a payment transaction.
-              // If so, add it to the invoice's list of payment transactions.
-              if (splt.getAction().equals(bundle.getMessage("ACTION_PAYMENT"))) {
-                addPayingTransaction(splt);
-              }
-            } // if lotID
-          } // for invc
+        if (lot != null && splt.getTransaction().getGnucashFile().getGenerInvoiceByLotID(lot) != null) {
+          // Check if it's a payment transaction.
+          // If so, add it to the invoice's list of payment transactions.
+          if (paymentAction.equals(splt.getAction())) {
+            addPayingTransaction(splt);
+          }
         } // if lot
       } // for splt
     } // for trx
@@ -132,6 +129,33 @@ public class GnucashVendorBillImpl extends GnucashGenerInvoiceImpl implements Gn
     return getBillAmountWithoutTaxes();
   }
 
+  // ------------------------------
+
+  @Override
+  public Money getAmountUnpaidWithTaxesAsMoney() throws WrongInvoiceTypeException {
+    return getBillAmountUnpaidWithTaxesAsMoney();
+  }
+
+  @Override
+  public Money getAmountPaidWithTaxesAsMoney() throws WrongInvoiceTypeException {
+    return getBillAmountPaidWithTaxesAsMoney();
+  }
+
+  @Override
+  public Money getAmountPaidWithoutTaxesAsMoney() throws WrongInvoiceTypeException {
+    return getBillAmountPaidWithoutTaxesAsMoney();
+  }
+
+  @Override
+  public Money getAmountWithTaxesAsMoney() throws WrongInvoiceTypeException {
+    return getBillAmountWithTaxesAsMoney();
+  }
+
+  @Override
+  public Money getAmountWithoutTaxesAsMoney() throws WrongInvoiceTypeException {
+    return getBillAmountWithoutTaxesAsMoney();
+  }
+
   @Override
   public String getAmountUnpaidWithTaxesFormatted() throws WrongInvoiceTypeException {
     return getBillAmountUnpaidWithTaxesFormatted();
@@ -1,6 +1,7 @@
 package org.gnucash.read.spec;
 
 import org.gnucash.numbers.FixedPointNumber;
+import org.gnucash.numbers.Money;
 import org.gnucash.read.GnucashGenerJob;
 import org.gnucash.read.GnucashVendor;
 
@@ -32,6 +33,33 @@ public interface SpecInvoiceCommon {
 
 	// ----------------------------
 
+	/**
+	 * @see #getAmountUnpaidWithTaxes()
+	 */
+	Money getAmountUnpaidWithTaxesAsMoney() throws WrongInvoiceTypeException;
+
+	/**
+	 * @see #getAmountPaidWithTaxes()
+	 */
+	Money getAmountPaidWithTaxesAsMoney() throws WrongInvoiceTypeException;
+
+	/**
+	 * @see #getAmountPaidWithoutTaxes()
+	 */
+	Money getAmountPaidWithoutTaxesAsMoney() throws WrongInvoiceTypeException;
+
+	/**
+	 * @see #getAmountWithTaxes()
+	 */
+	Money getAmountWithTaxesAsMoney() throws WrongInvoiceTypeException;
+
+	/**
+	 * @see #getAmountWithoutTaxes()
+	 */
+	Money getAmountWithoutTaxesAsMoney() throws WrongInvoiceTypeException;
+
+	// ----------------------------
+
 	String getAmountUnpaidWithTaxesFormatted() throws WrongInvoiceTypeException;
 
 	String getAmountPaidWithTaxesFormatted() throws WrongInvoiceTypeException;
@@ -128,6 +128,7 @@ public interface GnucashWritableFile extends GnucashFile, GnucashWritableObject
 	/**
 	 * @param jnr the job-number to look for.
 	 * @return the (first) jobs that have this number or null if not found
+	 * @see GnucashFile#getGenerJobByNumber(String)
 	 */
 	GnucashWritableGenerJob getGenerJobByNumber(final String jnr);
 
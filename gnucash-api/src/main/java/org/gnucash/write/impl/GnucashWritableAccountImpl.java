@@ -4,11 +4,9 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedList;
-import java.util.List;
 
 import org.gnucash.Const;
 import org.gnucash.currency.CurrencyNameSpace;
@@ -144,7 +142,7 @@ public class GnucashWritableAccountImpl extends GnucashAccountImpl implements Gn
 			account.getActSlots().getSlot().add(slot);
 		}
 
-		file.getRootElement().getGncBook().getBookElements().add(account);
+		file.addBookElement(account);
 		file.setModified(true);
 		return account;
 	}
@@ -161,7 +159,7 @@ public class GnucashWritableAccountImpl extends GnucashAccountImpl implements Gn
 			throw new IllegalStateException("cannot remove account while it contains child-accounts!");
 		}
 
-		getWritableGnucashFile().getRootElement().getGncBook().getBookElements().remove(getJwsdpPeer());
+		((GnucashWritableFileImpl) getWritableGnucashFile()).removeBookElement(getJwsdpPeer());
 		getWritableGnucashFile().removeAccount(this);
 	}
 
@@ -193,17 +191,26 @@ public class GnucashWritableAccountImpl extends GnucashAccountImpl implements Gn
 	 * @param impl the split to remove
 	 */
 	protected void removeTransactionSplit(final GnucashWritableTransactionSplit impl) {
-		List transactionSplits = getTransactionSplits();
-		transactionSplits.remove(impl);
+		removeTransactionSplitByID(impl.getId());
 
 		setIsModified();
 		// <<insert code to react further to this change here
 		PropertyChangeSupport propertyChangeFirer = getPropertyChangeSupport();
 		if (propertyChangeFirer != null) {
-			propertyChangeFirer.firePropertyChange("transactionSplits", null, transactionSplits);
+			propertyChangeFirer.firePropertyChange("transactionSplits", null, getTransactionSplits());
 		}
 	}
 
+	/**
+	 * Called by the writable splits and transactions when the quantity of
+	 * one of our splits or the date of its transaction has changed.
+	 */
+	@Override
+	protected void transactionSplitsModified() {
+		super.transactionSplitsModified();
+		myBalanceCached = null;
+	}
+
 	/**
 	 * @see GnucashWritableAccount#setName(java.lang.String)
 	 */
@@ -217,6 +224,7 @@ public class GnucashWritableAccountImpl extends GnucashAccountImpl implements Gn
 			return; // nothing has changed
 		}
 		this.getJwsdpPeer().setActName(name);
+		((GnucashWritableFileImpl) getWritableGnucashFile()).accountRenamed(this);
 		setIsModified();
 		// <<insert code to react further to this change here
 		PropertyChangeSupport propertyChangeFirer = getPropertyChangeSupport();
@@ -440,7 +448,9 @@ public class GnucashWritableAccountImpl extends GnucashAccountImpl implements Gn
 	public void setParentAccount(final GnucashAccount prntAcct) {
 
 		if (prntAcct == null) {
+			String oldPrntId = getParentAccountId();
 			this.getJwsdpPeer().setActParent(null);
+			((GnucashWritableFileImpl) getWritableGnucashFile()).accountParentChanged(this, oldPrntId);
 			return;
 		}
 
@@ -454,6 +464,7 @@ public class GnucashWritableAccountImpl extends GnucashAccountImpl implements Gn
 		}
 
 		GnucashAccount oldPrntAcct = null;
+		String oldPrntId = getParentAccountId();
 		GncAccount.ActParent parent = getJwsdpPeer().getActParent();
 		if (parent == null) {
 			parent = ((GnucashWritableFileImpl) getWritableGnucashFile())
@@ -466,6 +477,7 @@ public class GnucashWritableAccountImpl extends GnucashAccountImpl implements Gn
 			oldPrntAcct = getParentAccount();
 			parent.setValue(prntAcct.getId());
 		}
+		((GnucashWritableFileImpl) getWritableGnucashFile()).accountParentChanged(this, oldPrntId);
 		setIsModified();
 
 		// <<insert code to react further to this change here
@@ -475,32 +487,6 @@ public class GnucashWritableAccountImpl extends GnucashAccountImpl implements Gn
 		}
 	}
 
-	/**
-	 * Get the sum of all transaction-splits
-	 * affecting this account in the given time-frame.
-	 *
-	 * @param from when to start, inclusive
-	 * @param to   when to stop, exlusive.
-	 * @return the sum of all transaction-splits
-	 * affecting this account in the given time-frame.
-	 */
-	public FixedPointNumber getBalanceChange(final LocalDate from, final LocalDate to) {
-		FixedPointNumber retval = new FixedPointNumber();
-
-		for (Object element : getTransactionSplits()) {
-			GnucashTransactionSplit split = (GnucashTransactionSplit) element;
-			LocalDateTime whenHappened = split.getTransaction().getDatePosted().toLocalDateTime();
-			if (!whenHappened.isBefore(to.atStartOfDay())) {
-				continue;
-			}
-			if (whenHappened.isBefore(from.atStartOfDay())) {
-				continue;
-			}
-			retval = retval.add(split.getQuantity());
-		}
-		return retval;
-	}
-
 	//  -------------------------------------------------------
 
 }
@@ -65,7 +65,7 @@ public class GnucashWritableCustomerImpl extends GnucashCustomerImpl implements
 	 */
 	public void remove() {
 		GncV2.GncBook.GncGncCustomer peer = getJwsdpPeer();
-		(getGnucashFile()).getRootElement().getGncBook().getBookElements().remove(peer);
+		getGnucashFile().removeBookElement(peer);
 		(getGnucashFile()).removeCustomer(this);
 	}
 
@@ -141,7 +141,7 @@ public class GnucashWritableCustomerImpl extends GnucashCustomerImpl implements
 
 		cust.setCustActive(1);
 
-		file.getRootElement().getGncBook().getBookElements().add(cust);
+		file.addBookElement(cust);
 		file.setModified(true);
 
 		return cust;
@@ -172,6 +172,7 @@ public class GnucashWritableCustomerImpl extends GnucashCustomerImpl implements
 	public void setNumber(final String number) {
 		String oldNumber = getNumber();
 		getJwsdpPeer().setCustId(number);
+		getGnucashFile().customerNumberChanged(this, oldNumber, number);
 		getGnucashFile().setModified(true);
 
 		PropertyChangeSupport propertyChangeSupport = getPropertyChangeSupport();
@@ -229,6 +230,7 @@ public class GnucashWritableCustomerImpl extends GnucashCustomerImpl implements
 	public void setName(final String name) {
 		String oldName = getName();
 		getJwsdpPeer().setCustName(name);
+		getGnucashFile().customerNameChanged(this, oldName, name);
 		getGnucashFile().setModified(true);
 
 		PropertyChangeSupport propertyChangeSupport = getPropertyChangeSupport();
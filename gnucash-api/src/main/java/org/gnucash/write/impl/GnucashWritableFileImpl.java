@@ -22,7 +22,6 @@ import java.util.zip.GZIPOutputStream;
 import org.gnucash.Const;
 import org.gnucash.currency.CurrencyNameSpace;
 import org.gnucash.generated.GncAccount;
-import org.gnucash.generated.GncBudget;
 import org.gnucash.generated.GncCountData;
 import org.gnucash.generated.GncPricedb;
 import org.gnucash.generated.GncTransaction;
@@ -42,8 +41,10 @@ import org.gnucash.read.auxiliary.GCshTaxTable;
 import org.gnucash.read.impl.GnucashAccountImpl;
 import org.gnucash.read.impl.GnucashCustomerImpl;
 import org.gnucash.read.impl.GnucashFileImpl;
+import org.gnucash.read.impl.GnucashGenerJobImpl;
 import org.gnucash.read.impl.GnucashTransactionImpl;
 import org.gnucash.read.impl.GnucashVendorImpl;
+import org.gnucash.read.impl.LoadOptions;
 import org.gnucash.read.impl.auxiliary.GCshTaxTableImpl;
 import org.gnucash.read.impl.auxiliary.WrongOwnerTypeException;
 import org.gnucash.read.impl.spec.GnucashCustomerJobImpl;
@@ -108,6 +109,46 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 		super(is);
 	}
 
+	/**
+	 * @param file     the file to load
+	 * @param pOptions how to load it (entity-families may only be loaded lazily, not dropped)
+	 * @throws IOException on bsic io-problems such as a FileNotFoundException
+	 */
+	public GnucashWritableFileImpl(final File file, final LoadOptions pOptions) throws IOException {
+		super(file, checkLoadOptions(pOptions));
+		setModified(false);
+	}
+
+	/**
+	 * @param is       the stream to load
+	 * @param pOptions how to load it (entity-families may only be loaded lazily, not dropped)
+	 * @throws IOException on bsic io-problems
+	 */
+	public GnucashWritableFileImpl(final InputStream is, final LoadOptions pOptions) throws IOException {
+		super(is, checkLoadOptions(pOptions));
+	}
+
+	/**
+	 * @param pOptions the options to check
+	 * @return pOptions
+	 * @throws IllegalArgumentException if loading with these options would lose book-elements on writing
+	 */
+	private static LoadOptions checkLoadOptions(final LoadOptions pOptions) {
+		if (pOptions == null) {
+			throw new IllegalArgumentException("null load-options given");
+		}
+		if (!pOptions.getDroppedBookElementTypes().isEmpty()) {
+			throw new IllegalArgumentException("a writable file cannot be loaded with dropped entity-families: "
+					+ pOptions);
+		}
+		if (pOptions.isLazyTransactions()) {
+			// modified facades must not be evicted
+			throw new IllegalArgumentException("a writable file cannot be loaded with lazy transactions: " + pOptions);
+		}
+
+		return pOptions;
+	}
+
 	// ---------------------------------------------------------------
 
 	/**
@@ -247,75 +288,23 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 	 */
 	private void checkAllCountData() {
 
-		int cntCommodity = 0;
-		int cntAccount = 0;
-		int cntTransaction = 0;
-		int cntCustomer = 0;
-		int cntVendor = 0;
-		int cntJob = 0;
-		int cntTaxTable = 0;
-		int cntInvoice = 0;
-		int cntIncEntry = 0;
-		int cntBillTerm = 0;
-
-		/**
-		 * <p>
-		 * Objects of the following type(s) are allowed in the list {@link GncTemplateTransactions} {@link GncGncInvoice}
-		 * {@link GncGncEntry} {@link GncGncJob} {@link GncGncTaxTable} {@link GncCommodity} {@link GncGncCustomer}
-		 * {@link GncSchedxaction} {@link GncBudget} {@link GncAccount} {@link GncPricedb} {@link GncTransaction}
-		 */
-		List<Object> bookElements = getRootElement().getGncBook().getBookElements();
-		for (Object element : bookElements) {
-			if (element instanceof GncV2.GncBook.GncCommodity) {
-				cntCommodity++;
-			} else if (element instanceof GncAccount) {
-				cntAccount++;
-			} else if (element instanceof GncTransaction) {
-				cntTransaction++;
-			} else if (element instanceof GncV2.GncBook.GncGncCustomer) {
-				cntCustomer++;
-			} else if (element instanceof GncV2.GncBook.GncGncVendor) {
-				cntVendor++;
-			} else if (element instanceof GncV2.GncBook.GncGncJob) {
-				cntJob++;
-			} else if (element instanceof GncV2.GncBook.GncGncTaxTable) {
-				cntTaxTable++;
-			} else if (element instanceof GncV2.GncBook.GncGncInvoice) {
-				cntInvoice++;
-			} else if (element instanceof GncV2.GncBook.GncGncEntry) {
-				cntIncEntry++;
-			} else if (element instanceof GncV2.GncBook.GncTemplateTransactions) {
-				// ::TODO
-			} else if (element instanceof GncV2.GncBook.GncSchedxaction) {
-				// ::TODO
-			} else if (element instanceof GncBudget) {
-				// ::TODO
-			} else if (element instanceof GncPricedb) {
-				// ::TODO
-			} else if (element instanceof GncV2.GncBook.GncGncEmployee) {
-				// ::TODO
-			} else if (element instanceof GncV2.GncBook.GncGncBillTerm) {
-				cntBillTerm++;
-			} else {
-				throw new IllegalStateException("Unecpected element in GNC:Book found! <" + element.toString() + ">");
-			}
-		}
-
-		setCountDataFor("commodity", cntCommodity);
-		setCountDataFor("account", cntAccount);
-		setCountDataFor("transaction", cntTransaction);
-		setCountDataFor("gnc:GncCustomer", cntCustomer);
-		setCountDataFor("gnc:GncVendor", cntVendor);
-		setCountDataFor("gnc:GncJob", cntJob);
-		setCountDataFor("gnc:GncTaxTable", cntTaxTable);
-		setCountDataFor("gnc:GncInvoice", cntInvoice);
-		setCountDataFor("gnc:GncEntry", cntIncEntry);
-		setCountDataFor("gnc:GncBillTerm", cntBillTerm);
+		// the elements are already sorted by type (and unknown types have been
+		// rejected) in GnucashFileImpl.setRootElement()/addBookElement()
+		setCountDataFor("commodity", getBookElementsOfType(GncV2.GncBook.GncCommodity.class).size());
+		setCountDataFor("account", getBookElementsOfType(GncAccount.class).size());
+		setCountDataFor("transaction", getBookElementsOfType(GncTransaction.class).size());
+		setCountDataFor("gnc:GncCustomer", getBookElementsOfType(GncV2.GncBook.GncGncCustomer.class).size());
+		setCountDataFor("gnc:GncVendor", getBookElementsOfType(GncV2.GncBook.GncGncVendor.class).size());
+		setCountDataFor("gnc:GncJob", getBookElementsOfType(GncV2.GncBook.GncGncJob.class).size());
+		setCountDataFor("gnc:GncTaxTable", getBookElementsOfType(GncV2.GncBook.GncGncTaxTable.class).size());
+		setCountDataFor("gnc:GncInvoice", getBookElementsOfType(GncV2.GncBook.GncGncInvoice.class).size());
+		setCountDataFor("gnc:GncEntry", getBookElementsOfType(GncV2.GncBook.GncGncEntry.class).size());
+		setCountDataFor("gnc:GncBillTerm", getBookElementsOfType(GncV2.GncBook.GncGncBillTerm.class).size());
 
 		// make sure the correct sort-order of the entity-types is obeyed in writing.
 		// (we do not enforce this in the xml-schema to allow for reading out of order
 		// files)
-		java.util.Collections.sort(bookElements, new BookElementsSorter());
+		java.util.Collections.sort(getRootElement().getGncBook().getBookElements(), new BookElementsSorter());
 	}
 
 	// ---------------------------------------------------------------
@@ -329,13 +318,9 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 		if (taxTablesById == null) {
 
 			taxTablesById = new HashMap<String, GCshTaxTable>();
-			List<Object> bookElements = this.getRootElement().getGncBook().getBookElements();
-			for (Object bookElement : bookElements) {
-				if (bookElement instanceof GncV2.GncBook.GncGncTaxTable) {
-					GncV2.GncBook.GncGncTaxTable jwsdpPeer = (GncV2.GncBook.GncGncTaxTable) bookElement;
-					GCshTaxTableImpl gnucashTaxTable = new GCshTaxTableImpl(jwsdpPeer, this);
-					taxTablesById.put(gnucashTaxTable.getId(), gnucashTaxTable);
-				}
+			for (GncV2.GncBook.GncGncTaxTable jwsdpPeer : getBookElementsOfType(GncV2.GncBook.GncGncTaxTable.class)) {
+				GCshTaxTableImpl gnucashTaxTable = new GCshTaxTableImpl(jwsdpPeer, this);
+				taxTablesById.put(gnucashTaxTable.getId(), gnucashTaxTable);
 			}
 		}
 
@@ -409,6 +394,22 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 		return super.getRootElement();
 	}
 
+	/**
+	 * @see GnucashFileImpl#addBookElement(Object)
+	 */
+	@Override
+	protected void addBookElement(final Object bookElement) {
+		super.addBookElement(bookElement);
+	}
+
+	/**
+	 * @see GnucashFileImpl#removeBookElement(Object)
+	 */
+	@Override
+	protected void removeBookElement(final Object bookElement) {
+		super.removeBookElement(bookElement);
+	}
+
 	/**
 	 * @see GnucashFileImpl#setRootElement(GncV2)
 	 */
@@ -621,18 +622,50 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 	 * @see GnucashTransactionImpl#createSplit(GncTransaction.TrnSplits.TrnSplit)
 	 */
 	protected void addTransaction(final GnucashTransactionImpl impl) {
+		ensureLoaded(LoadOptions.EntityFamily.TRANSACTIONS);
 		incrementCountDataFor("transaction");
 
-		getRootElement().getGncBook().getBookElements().add(impl.getJwsdpPeer());
+		addBookElement(impl.getJwsdpPeer());
 		setModified(true);
 		transactionID2transaction.put(impl.getId(), impl);
+		transactionDatesChanged(impl);
+		transactionTextChanged(impl);
+
+	}
+
+	/**
+	 * Called by the writable transactions and splits when a split has been added, removed or moved to another account
+	 * or a transaction got another posting-date.
+	 *
+	 * @see GnucashFileImpl#transactionDatesChanged(GnucashTransactionImpl)
+	 */
+	@Override
+	protected void transactionDatesChanged(final GnucashTransactionImpl trx) {
+		// a new transaction is filed when it is added
+		if (transactionID2transaction.containsKey(trx.getId())) {
+			super.transactionDatesChanged(trx);
+		}
+	}
 
+	/**
+	 * Called by the writable transactions and splits when a description, number or memo has changed or a split has
+	 * been added or removed.
+	 *
+	 * @see GnucashFileImpl#transactionTextChanged(GnucashTransaction)
+	 */
+	@Override
+	protected void transactionTextChanged(final GnucashTransaction trx) {
+		// the splits of a removed transaction are removed after it
+		if (transactionID2transaction.containsKey(trx.getId())) {
+			super.transactionTextChanged(trx);
+		}
 	}
 
 	/**
 	 * @param impl what to remove
 	 */
 	public void removeTransaction(final GnucashWritableTransaction impl) {
+		ensureLoaded(LoadOptions.EntityFamily.TRANSACTIONS);
 
 		Collection<GnucashWritableTransactionSplit> c = new LinkedList<GnucashWritableTransactionSplit>();
 		c.addAll(impl.getWritingSplits());
@@ -640,9 +673,11 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 			element.remove();
 		}
 
-		getRootElement().getGncBook().getBookElements().remove(((GnucashWritableTransactionImpl) impl).getJwsdpPeer());
+		removeBookElement(((GnucashWritableTransactionImpl) impl).getJwsdpPeer());
 		setModified(true);
 		transactionID2transaction.remove(impl.getId());
+		transactionDatesRemoved(impl.getId());
+		transactionTextRemoved(impl.getId());
 
 	}
 
@@ -758,6 +793,7 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 	 */
 	public void addCurrency(final String pCmdtySpace, final String pCmdtyId, final FixedPointNumber conversionFactor,
 			final int pCmdtyNameFraction, final String pCmdtyName) {
+		ensureLoaded(LoadOptions.EntityFamily.PRICES);
 
 		if (conversionFactor == null) {
 			throw new IllegalArgumentException("null conversionFactor given");
@@ -779,7 +815,7 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 			newCurrency.setCmdtyId(pCmdtyId);
 			newCurrency.setCmdtyName(pCmdtyName);
 			newCurrency.setVersion(Const.XML_FORMAT_VERSION);
-			getRootElement().getGncBook().getBookElements().add(newCurrency);
+			addBookElement(newCurrency);
 			incrementCountDataFor("commodity");
 		}
 		// add price-quote
@@ -803,14 +839,11 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 		newQuote.setPriceType("last");
 		newQuote.setPriceValue(conversionFactor.toGnucashString());
 
-		List<Object> bookElements = getRootElement().getGncBook().getBookElements();
-		for (Object element : bookElements) {
-			if (element instanceof GncPricedb) {
-				GncPricedb prices = (GncPricedb) element;
-				prices.getPrice().add(newQuote);
-				getCurrencyTable().setConversionFactor(pCmdtySpace, pCmdtyId, conversionFactor);
-				return;
-			}
+		for (GncPricedb prices : getBookElementsOfType(GncPricedb.class)) {
+			prices.getPrice().add(newQuote);
+			pricesChanged();
+			getCurrencyTable().setConversionFactor(pCmdtySpace, pCmdtyId, conversionFactor);
+			return;
 		}
 		throw new IllegalStateException("No priceDB in Book in Gnucash-file");
 	}
@@ -841,6 +874,7 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 	public GnucashWritableCustomerInvoice createWritableCustomerInvoice(final String number, final GnucashCustomer cust,
 			final GnucashAccount incomeAcct, final GnucashAccount receivableAcct, final LocalDate openedDate,
 			final LocalDate postDate, final LocalDate dueDate) throws WrongInvoiceTypeException, WrongOwnerTypeException {
+		ensureLoaded(LoadOptions.EntityFamily.INVOICES);
 		if (cust == null) {
 			throw new IllegalArgumentException("null customer given");
 		}
@@ -849,6 +883,9 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 				(GnucashAccountImpl) incomeAcct, (GnucashAccountImpl) receivableAcct, openedDate, postDate, dueDate);
 
 		invoiceID2invoice.put(retval.getId(), retval);
+		addToLotIndex(retval);
+		addToOwnerIndex(retval);
+		invoiceTextChanged(retval);
 		return retval;
 	}
 
@@ -860,6 +897,7 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 	public GnucashWritableVendorBill createWritableVendorBill(final String number, final GnucashVendor vend,
 			final GnucashAccount expensesAcct, final GnucashAccount payableAcct, final LocalDate openedDate,
 			final LocalDate postDate, final LocalDate dueDate) throws WrongInvoiceTypeException, WrongOwnerTypeException {
+		ensureLoaded(LoadOptions.EntityFamily.INVOICES);
 		if (vend == null) {
 			throw new IllegalArgumentException("null vendor given");
 		}
@@ -868,6 +906,9 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 				(GnucashAccountImpl) expensesAcct, (GnucashAccountImpl) payableAcct, openedDate, postDate, dueDate);
 
 		invoiceID2invoice.put(retval.getId(), retval);
+		addToLotIndex(retval);
+		addToOwnerIndex(retval);
+		invoiceTextChanged(retval);
 		return retval;
 	}
 
@@ -879,6 +920,7 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 	public GnucashWritableJobInvoice createWritableJobInvoice(final String number, final GnucashGenerJob job,
 			final GnucashAccount incExpAcct, final GnucashAccount recvblPayblAcct, final LocalDate openedDate,
 			final LocalDate postDate, final LocalDate dueDate) throws WrongInvoiceTypeException, WrongOwnerTypeException {
+		ensureLoaded(LoadOptions.EntityFamily.INVOICES);
 		if (job == null) {
 			throw new IllegalArgumentException("null job given");
 		}
@@ -887,6 +929,9 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 				(GnucashAccountImpl) incExpAcct, (GnucashAccountImpl) recvblPayblAcct, openedDate, postDate, dueDate);
 
 		invoiceID2invoice.put(retval.getId(), retval);
+		addToLotIndex(retval);
+		addToOwnerIndex(retval);
+		invoiceTextChanged(retval);
 		return retval;
 	}
 
@@ -896,8 +941,11 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 	 * @see GnucashWritableFile#createWritableCustomer()
 	 */
 	public GnucashWritableCustomer createWritableCustomer() {
+		ensureLoaded(LoadOptions.EntityFamily.CUSTOMERS);
 		GnucashWritableCustomerImpl cust = new GnucashWritableCustomerImpl(this);
 		super.customerID2customer.put(cust.getId(), cust);
+		customerNameChanged(cust, null, cust.getName());
+		customerNumberChanged(cust, null, cust.getNumber());
 		return cust;
 	}
 
@@ -905,8 +953,11 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 	 * @param impl what to remove
 	 */
 	public void removeCustomer(final GnucashWritableCustomer impl) {
+		ensureLoaded(LoadOptions.EntityFamily.CUSTOMERS);
 		customerID2customer.remove(impl.getId());
-		getRootElement().getGncBook().getBookElements().remove(((GnucashWritableCustomerImpl) impl).getJwsdpPeer());
+		customerNameChanged(impl, impl.getName(), null);
+		customerNumberChanged(impl, impl.getNumber(), null);
+		removeBookElement(((GnucashWritableCustomerImpl) impl).getJwsdpPeer());
 		setModified(true);
 	}
 
@@ -916,8 +967,11 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 	 * @see GnucashWritableFile#createWritableCustomer()
 	 */
 	public GnucashWritableVendor createWritableVendor() {
+		ensureLoaded(LoadOptions.EntityFamily.VENDORS);
 		GnucashWritableVendorImpl vend = new GnucashWritableVendorImpl(this);
 		super.vendorID2vendor.put(vend.getId(), vend);
+		vendorNameChanged(vend, null, vend.getName());
+		vendorNumberChanged(vend, null, vend.getNumber());
 		return vend;
 	}
 
@@ -925,8 +979,11 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 	 * @param impl what to remove
 	 */
 	public void removeVendor(final GnucashWritableVendor impl) {
+		ensureLoaded(LoadOptions.EntityFamily.VENDORS);
 		vendorID2vendor.remove(impl.getId());
-		getRootElement().getGncBook().getBookElements().remove(((GnucashWritableVendorImpl) impl).getJwsdpPeer());
+		vendorNameChanged(impl, impl.getName(), null);
+		vendorNumberChanged(impl, impl.getNumber(), null);
+		removeBookElement(((GnucashWritableVendorImpl) impl).getJwsdpPeer());
 		setModified(true);
 	}
 
@@ -937,12 +994,17 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 	 */
 	public GnucashWritableCustomerJob createWritableCustomerJob(final GnucashCustomer cust, final String number,
 			final String name) {
+		ensureLoaded(LoadOptions.EntityFamily.JOBS);
 		if (cust == null) {
 			throw new IllegalArgumentException("null customer given");
 		}
 
 		GnucashWritableCustomerJobImpl job = new GnucashWritableCustomerJobImpl(this, cust, number, name);
+		addBookElement(job.getJwsdpPeer());
 		super.jobID2job.put(job.getId(), job);
+		addToJobOwnerIndex(job);
+		jobNameChanged(job, null, job.getName());
+		jobNumberChanged(job, null, job.getNumber());
 		return job;
 	}
 
@@ -951,12 +1013,17 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 	 */
 	public GnucashWritableVendorJob createWritableVendorJob(final GnucashVendor vend, final String number,
 			final String name) {
+		ensureLoaded(LoadOptions.EntityFamily.JOBS);
 		if (vend == null) {
 			throw new IllegalArgumentException("null vendor given");
 		}
 
 		GnucashWritableVendorJobImpl job = new GnucashWritableVendorJobImpl(this, vend, number, name);
+		addBookElement(job.getJwsdpPeer());
 		super.jobID2job.put(job.getId(), job);
+		addToJobOwnerIndex(job);
+		jobNameChanged(job, null, job.getName());
+		jobNumberChanged(job, null, job.getNumber());
 		return job;
 	}
 
@@ -964,8 +1031,12 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 	 * @param impl what to remove
 	 */
 	public void removeGenerJob(final GnucashWritableGenerJob impl) {
+		ensureLoaded(LoadOptions.EntityFamily.JOBS);
 		jobID2job.remove(impl.getId());
-		getRootElement().getGncBook().getBookElements().remove(((GnucashWritableCustomerJobImpl) impl).getJwsdpPeer());
+		removeFromJobOwnerIndex(impl.getOwnerId(), impl.getId());
+		jobNameChanged(impl, impl.getName(), null);
+		jobNumberChanged(impl, impl.getNumber(), null);
+		removeBookElement(((GnucashGenerJobImpl) impl).getJwsdpPeer());
 		setModified(true);
 	}
 
@@ -975,8 +1046,11 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 	 * @see GnucashWritableFile#createWritableAccount()
 	 */
 	public GnucashWritableAccount createWritableAccount() {
+		ensureLoaded(LoadOptions.EntityFamily.ACCOUNTS);
 		GnucashWritableAccount acct = new GnucashWritableAccountImpl(this);
 		super.accountID2account.put(acct.getId(), acct);
+		addToParentIndex(acct);
+		addToAccountNameIndex(acct);
 		return acct;
 	}
 
@@ -984,13 +1058,118 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 	 * @param impl what to remove
 	 */
 	public void removeAccount(final GnucashWritableAccount impl) {
+		ensureLoaded(LoadOptions.EntityFamily.ACCOUNTS);
 		if (impl.getTransactionSplits().size() > 0) {
 			throw new IllegalStateException("cannot remove account while it contains transaction-splits!");
 		}
 
-		getRootElement().getGncBook().getBookElements().remove(((GnucashWritableAccountImpl) impl).getJwsdpPeer());
+		removeBookElement(((GnucashWritableAccountImpl) impl).getJwsdpPeer());
 		setModified(true);
 		super.accountID2account.remove(impl.getId());
+		removeFromParentIndex(impl, impl.getParentAccountId());
+		removeFromAccountNameIndex(impl);
+	}
+
+	/**
+	 * @param impl        the account that has been moved
+	 * @param oldParentID its parent before (null for a root-account)
+	 */
+	protected void accountParentChanged(final GnucashWritableAccountImpl impl, final String oldParentID) {
+		updateParentIndex(impl, oldParentID);
+		accountNamesChanged(impl);
+	}
+
+	/**
+	 * @param invc the invoice that has just been posted (and so got its lot)
+	 */
+	protected void invoicePosted(final GnucashGenerInvoice invc) {
+		ensureLoaded(LoadOptions.EntityFamily.INVOICES);
+		// the wrapper we have been given may not be the instance in the map
+		GnucashGenerInvoice registered = invoiceID2invoice.get(invc.getId());
+		addToLotIndex(registered == null ? invc : registered);
+	}
+
+	/**
+	 * @param invc       the invoice that has been given another owner
+	 * @param oldType    its type before
+	 * @param oldOwnerID its (direct) owner before
+	 */
+	protected void invoiceOwnerChanged(final GnucashGenerInvoice invc, final String oldType, final String oldOwnerID) {
+		ensureLoaded(LoadOptions.EntityFamily.INVOICES);
+		removeFromOwnerIndex(oldType, oldOwnerID, invc.getId());
+		// the wrapper we have been given may not be the instance in the map
+		GnucashGenerInvoice registered = invoiceID2invoice.get(invc.getId());
+		if (registered != null) {
+			addToOwnerIndex(registered);
+		}
+	}
+
+	/**
+	 * @param impl the account that has been renamed
+	 */
+	protected void accountRenamed(final GnucashWritableAccountImpl impl) {
+		accountNamesChanged(impl);
+	}
+
+	/**
+	 * Called by the writable customers after their name has been changed.
+	 */
+	@Override
+	protected void customerNameChanged(final GnucashCustomer cust, final String oldName, final String newName) {
+		super.customerNameChanged(cust, oldName, newName);
+	}
+
+	/**
+	 * Called by the writable vendors after their name has been changed.
+	 */
+	@Override
+	protected void vendorNameChanged(final GnucashVendor vend, final String oldName, final String newName) {
+		super.vendorNameChanged(vend, oldName, newName);
+	}
+
+	/**
+	 * Called by the writable jobs after their name has been changed.
+	 */
+	@Override
+	public void jobNameChanged(final GnucashGenerJob job, final String oldName, final String newName) {
+		super.jobNameChanged(job, oldName, newName);
+	}
+
+	/**
+	 * Called by the writable customers after their number has been changed.
+	 */
+	@Override
+	protected void customerNumberChanged(final GnucashCustomer cust, final String oldNumber, final String newNumber) {
+		super.customerNumberChanged(cust, oldNumber, newNumber);
+	}
+
+	/**
+	 * Called by the writable vendors after their number has been changed.
+	 */
+	@Override
+	protected void vendorNumberChanged(final GnucashVendor vend, final String oldNumber, final String newNumber) {
+		super.vendorNumberChanged(vend, oldNumber, newNumber);
+	}
+
+	/**
+	 * Called by the writable jobs after their number has been changed.
+	 */
+	@Override
+	public void jobNumberChanged(final GnucashGenerJob job, final String oldNumber, final String newNumber) {
+		super.jobNumberChanged(job, oldNumber, newNumber);
+	}
+
+	/**
+	 * Called by the writable jobs after their customer or vendor has been changed.
+	 *
+	 * @param job        the job
+	 * @param oldOwnerID its owner before
+	 */
+	public void jobOwnerChanged(final GnucashGenerJob job, final String oldOwnerID) {
+		ensureLoaded(LoadOptions.EntityFamily.JOBS);
+		removeFromJobOwnerIndex(oldOwnerID, job.getId());
+		GnucashGenerJob registered = jobID2job.get(job.getId());
+		addToJobOwnerIndex(registered == null ? job : registered);
 	}
 
 	/**
@@ -1018,25 +1197,16 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 	 * @param jnr the job-number to look for.
 	 * @return the (first) jobs that have this number or null if not found
 	 */
+	@Override
 	public GnucashWritableGenerJob getGenerJobByNumber(final String jnr) {
-		if (jobID2job == null) {
-			throw new IllegalStateException("no root-element loaded");
-		}
-
-		for (GnucashGenerJob gnucashJob : jobID2job.values()) {
-			GnucashWritableGenerJob job = (GnucashWritableGenerJob) gnucashJob;
-			if (job.getNumber().equals(jnr)) {
-				return job;
-			}
-		}
-		return null;
-
+		return (GnucashWritableGenerJob) super.getGenerJobByNumber(jnr);
 	}
 
 	/**
 	 * @param impl an invoice to remove
 	 */
 	public void removeInvoice(final GnucashWritableGenerInvoiceImpl impl) {
+		ensureLoaded(LoadOptions.EntityFamily.INVOICES);
 
 		if (impl.getPayingTransactions().size() > 0) {
 			throw new IllegalArgumentException("cannot remove this invoice! It has payments!");
@@ -1048,7 +1218,12 @@ public class GnucashWritableFileImpl extends GnucashFileImpl implements GnucashW
 		}
 
 		invoiceID2invoice.remove(impl.getId());
-		getRootElement().getGncBook().getBookElements().remove(impl.getJwsdpPeer());
+		removeFromOwnerIndex(impl.getType(), impl.getOwnerId(), impl.getId());
+		if (impl.getLotID() != null) {
+			lotID2invoice.remove(impl.getLotID());
+		}
+		invoiceTextRemoved(impl.getId());
+		removeBookElement(impl.getJwsdpPeer());
 		this.decrementCountDataFor("gnc:GncInvoice");
 		setModified(true);
 	}
@@ -135,7 +135,7 @@ public class GnucashWritableGenerInvoiceEntryImpl extends GnucashGenerInvoiceEnt
     entry.setEntryQty(quantity.toGnucashString());
     entry.setVersion(Const.XML_FORMAT_VERSION);
 
-    invc.getFile().getRootElement().getGncBook().getBookElements().add(entry);
+    ((GnucashWritableFileImpl) invc.getFile()).addBookElement(entry);
     invc.getFile().setModified(true);
 
     return entry;
@@ -216,7 +216,7 @@ public class GnucashWritableGenerInvoiceEntryImpl extends GnucashGenerInvoiceEnt
     entry.setEntryQty(quantity.toGnucashString());
     entry.setVersion(Const.XML_FORMAT_VERSION);
 
-    invc.getFile().getRootElement().getGncBook().getBookElements().add(entry);
+    ((GnucashWritableFileImpl) invc.getFile()).addBookElement(entry);
     invc.getFile().setModified(true);
 
     return entry;
@@ -397,6 +397,7 @@ public class GnucashWritableGenerInvoiceEntryImpl extends GnucashGenerInvoiceEnt
     }
     String oldDescr = getDescription();
     getJwsdpPeer().setEntryDescription(descr);
+    ((GnucashWritableFileImpl) getGenerInvoice().getFile()).invoiceTextChanged(getGenerInvoice());
 
     PropertyChangeSupport propertyChangeSupport = getPropertyChangeSupport();
     if (propertyChangeSupport != null) {
@@ -818,7 +819,7 @@ public class GnucashWritableGenerInvoiceEntryImpl extends GnucashGenerInvoiceEnt
     }
     GnucashWritableGenerInvoiceImpl gnucashInvoiceWritingImpl = ((GnucashWritableGenerInvoiceImpl) getGenerInvoice());
     gnucashInvoiceWritingImpl.removeInvcEntry(this);
-    gnucashInvoiceWritingImpl.getFile().getRootElement().getGncBook().getBookElements().remove(this.getJwsdpPeer());
+    ((GnucashWritableFileImpl) gnucashInvoiceWritingImpl.getFile()).removeBookElement(this.getJwsdpPeer());
     ((GnucashWritableFileImpl) gnucashInvoiceWritingImpl.getFile()).decrementCountDataFor("gnc:GncEntry");
   }
 
@@ -422,7 +422,7 @@ public class GnucashWritableGenerInvoiceImpl extends GnucashGenerInvoiceImpl imp
 
     invc.setVersion(Const.XML_FORMAT_VERSION);
 
-    file.getRootElement().getGncBook().getBookElements().add(invc);
+    file.addBookElement(invc);
     file.setModified(true);
 
     return invc;
@@ -501,7 +501,7 @@ public class GnucashWritableGenerInvoiceImpl extends GnucashGenerInvoiceImpl imp
 
     invc.setVersion(Const.XML_FORMAT_VERSION);
 
-    file.getRootElement().getGncBook().getBookElements().add(invc);
+    file.addBookElement(invc);
     file.setModified(true);
 
     return invc;
@@ -581,7 +581,7 @@ public class GnucashWritableGenerInvoiceImpl extends GnucashGenerInvoiceImpl imp
 
     invc.setVersion(Const.XML_FORMAT_VERSION);
 
-    file.getRootElement().getGncBook().getBookElements().add(invc);
+    file.addBookElement(invc);
     file.setModified(true);
 
     return invc;
@@ -602,6 +602,7 @@ public class GnucashWritableGenerInvoiceImpl extends GnucashGenerInvoiceImpl imp
     String postTrxID = postCustomerInvoice_int((GnucashWritableFileImpl) file, fact, getJwsdpPeer(), invc.getId(),
         invc.getNumber(), cust, (GnucashAccountImpl) incomeAcct, (GnucashAccountImpl) receivableAcct, amount, postDate,
         dueDate);
+    ((GnucashWritableFileImpl) file).invoicePosted(invc);
     LOGGER.info("postCustomerInvoice: Customer invoice " + invc.getId() + " posted with Tranaction ID " + postTrxID);
   }
 
@@ -618,6 +619,7 @@ public class GnucashWritableGenerInvoiceImpl extends GnucashGenerInvoiceImpl imp
     String postTrxID = postVendorBill_int((GnucashWritableFileImpl) file, fact, getJwsdpPeer(), bll.getId(),
         bll.getNumber(), vend, (GnucashAccountImpl) expensesAcct, (GnucashAccountImpl) payableAcct, amount, postDate,
         dueDate);
+    ((GnucashWritableFileImpl) file).invoicePosted(bll);
     LOGGER.info("postVendorBill: Vendor bill " + bll.getId() + " posted with Tranaction ID " + postTrxID);
   }
 
@@ -634,6 +636,7 @@ public class GnucashWritableGenerInvoiceImpl extends GnucashGenerInvoiceImpl imp
     String postTrxID = postJobInvoice_int((GnucashWritableFileImpl) file, fact, getJwsdpPeer(), invc.getId(),
         invc.getNumber(), job, (GnucashAccountImpl) incomeAcct, (GnucashAccountImpl) receivableAcct, amount, postDate,
         dueDate);
+    ((GnucashWritableFileImpl) file).invoicePosted(invc);
     LOGGER.info("postJobInvoice: Job invoice " + invc.getId() + " posted with Tranaction ID " + postTrxID);
   }
 
@@ -1039,6 +1042,7 @@ public class GnucashWritableGenerInvoiceImpl extends GnucashGenerInvoiceImpl imp
 
     this.subtractInvcEntry(impl);
     entries.remove(impl);
+    ((GnucashWritableFileImpl) getFile()).invoiceTextChanged(this);
   }
 
   /**
@@ -1058,6 +1062,7 @@ public class GnucashWritableGenerInvoiceImpl extends GnucashGenerInvoiceImpl imp
 
     this.subtractBillEntry(impl);
     entries.remove(impl);
+    ((GnucashWritableFileImpl) getFile()).invoiceTextChanged(this);
   }
 
   /**
@@ -1076,6 +1081,7 @@ public class GnucashWritableGenerInvoiceImpl extends GnucashGenerInvoiceImpl imp
 
     this.subtractJobEntry(impl);
     entries.remove(impl);
+    ((GnucashWritableFileImpl) getFile()).invoiceTextChanged(this);
   }
 
   // ---------------------------------------------------------------
@@ -1095,6 +1101,7 @@ public class GnucashWritableGenerInvoiceImpl extends GnucashGenerInvoiceImpl imp
     }
 
     super.addGenerEntry(generEntr);
+    ((GnucashWritableFileImpl) getFile()).invoiceTextChanged(this);
   }
 
   /**
@@ -1554,12 +1561,25 @@ public class GnucashWritableGenerInvoiceImpl extends GnucashGenerInvoiceImpl imp
   // getJwsdpPeer().setInvoiceOwner(new GCShOwner(xxx));
   // }
 
+  /**
+   * To be called after the owner has been changed, keeps the file's owner-index up to date.
+   *
+   * @param oldType    the type before the change
+   * @param oldOwnerID the (direct) owner before the change
+   */
+  protected void ownerChanged(final String oldType, final String oldOwnerID) {
+    ((GnucashWritableFileImpl) getFile()).invoiceOwnerChanged(this, oldType, oldOwnerID);
+  }
+
   public void setOwner(GCshOwner owner) throws WrongOwnerJITypeException {
     if (owner.getJIType() != GCshOwner.JIType.INVOICE) {
       throw new WrongOwnerJITypeException();
     }
 
+    String oldType = getType();
+    String oldOwnerID = getOwnerId();
     getJwsdpPeer().setInvoiceOwner(owner.getInvcOwner());
+    ownerChanged(oldType, oldOwnerID);
   }
 
   // ------------------------
@@ -1573,7 +1593,9 @@ public class GnucashWritableGenerInvoiceImpl extends GnucashGenerInvoiceImpl imp
     }
 
     attemptChange();
+    String oldOwnerID = getOwnerId();
     getJwsdpPeer().getInvoiceOwner().getOwnerId().setValue(cust.getId());
+    ownerChanged(getType(), oldOwnerID);
     getFile().setModified(true);
   }
 
@@ -1586,7 +1608,9 @@ public class GnucashWritableGenerInvoiceImpl extends GnucashGenerInvoiceImpl imp
     }
 
     attemptChange();
+    String oldOwnerID = getOwnerId();
     getJwsdpPeer().getInvoiceOwner().getOwnerId().setValue(vend.getId());
+    ownerChanged(getType(), oldOwnerID);
     getFile().setModified(true);
   }
 
@@ -1599,7 +1623,9 @@ public class GnucashWritableGenerInvoiceImpl extends GnucashGenerInvoiceImpl imp
     }
 
     attemptChange();
+    String oldOwnerID = getOwnerId();
     getJwsdpPeer().getInvoiceOwner().getOwnerId().setValue(job.getId());
+    ownerChanged(getType(), oldOwnerID);
     getFile().setModified(true);
   }
 
@@ -1654,12 +1680,14 @@ public class GnucashWritableGenerInvoiceImpl extends GnucashGenerInvoiceImpl imp
     attemptChange();
     getJwsdpPeer().setInvoiceId(number);
     getFile().setModified(true);
+    ((GnucashWritableFileImpl) getFile()).invoiceTextChanged(this);
   }
 
   public void setDescription(final String descr) {
     attemptChange();
     getJwsdpPeer().setInvoiceNotes(descr);
     getFile().setModified(true);
+    ((GnucashWritableFileImpl) getFile()).invoiceTextChanged(this);
   }
 
   // ---------------------------------------------------------------
@@ -189,6 +189,7 @@ public class GnucashWritableTransactionImpl extends GnucashTransactionImpl imple
 	public void remove(final GnucashWritableTransactionSplit impl) {
 		getJwsdpPeer().getTrnSplits().getTrnSplit().remove(((GnucashWritableTransactionSplitImpl) impl).getJwsdpPeer());
 		getWritingFile().setModified(true);
+		getWritingFile().transactionDatesChanged(this);
 		if (mySplits != null) {
 			mySplits.remove(impl);
 		}
@@ -196,6 +197,7 @@ public class GnucashWritableTransactionImpl extends GnucashTransactionImpl imple
 		if (account != null) {
 			account.removeTransactionSplit(impl);
 		}
+		getWritingFile().transactionTextChanged(this);
 
 		// there is no count for splits up to now
 		// getWritingFile().decrementCountDataFor()
@@ -261,6 +263,8 @@ public class GnucashWritableTransactionImpl extends GnucashTransactionImpl imple
 	 */
 	protected void addSplit(final GnucashWritableTransactionSplitImpl impl) {
 		super.addSplit(impl);
+		getWritingFile().transactionDatesChanged(this);
+		getWritingFile().transactionTextChanged(this);
 	}
 
 	/**
@@ -316,6 +320,14 @@ public class GnucashWritableTransactionImpl extends GnucashTransactionImpl imple
 		String datePostedStr = this.datePosted.format(DATE_POSTED_FORMAT);
 		getJwsdpPeer().getTrnDatePosted().setTsDate(datePostedStr);
 		getWritingFile().setModified(true);
+		getWritingFile().transactionDatesChanged(this);
+
+		// the order of the splits in their accounts has changed
+		for (GnucashTransactionSplit split : getSplits()) {
+			if (split.getAccount() instanceof GnucashWritableAccountImpl) {
+				((GnucashWritableAccountImpl) split.getAccount()).transactionSplitsModified();
+			}
+		}
 	}
 
 	/**
@@ -330,6 +342,7 @@ public class GnucashWritableTransactionImpl extends GnucashTransactionImpl imple
 		String old = getJwsdpPeer().getTrnDescription();
 		getJwsdpPeer().setTrnDescription(desc);
 		getWritingFile().setModified(true);
+		getWritingFile().transactionTextChanged(this);
 
 		if (old == null || !old.equals(desc)) {
 			if (getPropertyChangeSupport() != null) {
@@ -351,6 +364,7 @@ public class GnucashWritableTransactionImpl extends GnucashTransactionImpl imple
 		String old = getJwsdpPeer().getTrnNum();
 		getJwsdpPeer().setTrnNum(tnum);
 		getWritingFile().setModified(true);
+		getWritingFile().transactionTextChanged(this);
 
 		if (old == null || !old.equals(tnum)) {
 			if (getPropertyChangeSupport() != null) {
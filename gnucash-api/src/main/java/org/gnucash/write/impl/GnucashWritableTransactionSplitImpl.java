@@ -9,6 +9,7 @@ import org.gnucash.numbers.FixedPointNumber;
 import org.gnucash.read.GnucashAccount;
 import org.gnucash.read.GnucashTransactionSplit;
 import org.gnucash.read.IllegalTransactionSplitActionException;
+import org.gnucash.read.impl.GnucashTransactionImpl;
 import org.gnucash.read.impl.GnucashTransactionSplitImpl;
 import org.gnucash.write.GnucashWritableFile;
 import org.gnucash.write.GnucashWritableObject;
@@ -166,6 +167,7 @@ public class GnucashWritableTransactionSplitImpl extends GnucashTransactionSplit
 		getJwsdpPeer().getSplitAccount().setType(Const.XML_DATA_TYPE_GUID);
 		getJwsdpPeer().getSplitAccount().setValue(account.getId());
 		((GnucashWritableFile) getGnucashFile()).setModified(true);
+		((GnucashWritableFileImpl) getGnucashFile()).transactionDatesChanged((GnucashTransactionImpl) getTransaction());
 
 		if (old == null || !old.equals(account.getId())) {
 			if (getPropertyChangeSupport() != null) {
@@ -233,9 +235,12 @@ public class GnucashWritableTransactionSplitImpl extends GnucashTransactionSplit
 		String old = getJwsdpPeer().getSplitQuantity();
 		getJwsdpPeer().setSplitQuantity(n.toGnucashString());
 		((GnucashWritableFile) getGnucashFile()).setModified(true);
+		amountsChanged();
+		quantityChanged();
 		if (isCurrencyMatching()) {
 			String oldvalue = getJwsdpPeer().getSplitValue();
 			getJwsdpPeer().setSplitValue(n.toGnucashString());
+			amountsChanged();
 			if (old == null || !old.equals(n.toGnucashString())) {
 				if (getPropertyChangeSupport() != null) {
 					getPropertyChangeSupport().firePropertyChange("value", new FixedPointNumber(oldvalue), n);
@@ -250,6 +255,15 @@ public class GnucashWritableTransactionSplitImpl extends GnucashTransactionSplit
 		}
 	}
 
+	/**
+	 * Lets our account know that its balances have changed.
+	 */
+	private void quantityChanged() {
+		if (getAccount() instanceof GnucashWritableAccountImpl) {
+			((GnucashWritableAccountImpl) getAccount()).transactionSplitsModified();
+		}
+	}
+
 	/**
 	 * @see GnucashWritableTransactionSplit#setValue(FixedPointNumber)
 	 */
@@ -281,9 +295,12 @@ public class GnucashWritableTransactionSplitImpl extends GnucashTransactionSplit
 		String old = getJwsdpPeer().getSplitValue();
 		getJwsdpPeer().setSplitValue(n.toGnucashString());
 		((GnucashWritableFile) getGnucashFile()).setModified(true);
+		amountsChanged();
 		if (isCurrencyMatching()) {
 			String oldquantity = getJwsdpPeer().getSplitQuantity();
 			getJwsdpPeer().setSplitQuantity(n.toGnucashString());
+			amountsChanged();
+			quantityChanged();
 			if (old == null || !old.equals(n.toGnucashString())) {
 				if (getPropertyChangeSupport() != null) {
 					getPropertyChangeSupport().firePropertyChange("quantity", new FixedPointNumber(oldquantity), n);
@@ -311,6 +328,7 @@ public class GnucashWritableTransactionSplitImpl extends GnucashTransactionSplit
 		String old = getJwsdpPeer().getSplitMemo();
 		getJwsdpPeer().setSplitMemo(desc);
 		((GnucashWritableFile) getGnucashFile()).setModified(true);
+		((GnucashWritableFileImpl) getGnucashFile()).transactionTextChanged(getTransaction());
 
 		if (old == null || !old.equals(desc)) {
 			if (getPropertyChangeSupport() != null) {
@@ -64,7 +64,7 @@ public class GnucashWritableVendorImpl extends GnucashVendorImpl implements Gnuc
 	 */
 	public void remove() {
 		GncV2.GncBook.GncGncVendor peer = getJwsdpPeer();
-		(getGnucashFile()).getRootElement().getGncBook().getBookElements().remove(peer);
+		getGnucashFile().removeBookElement(peer);
 		(getGnucashFile()).removeVendor(this);
 	}
 
@@ -123,7 +123,7 @@ public class GnucashWritableVendorImpl extends GnucashVendorImpl implements Gnuc
 
 		vend.setVendorActive(1);
 
-		file.getRootElement().getGncBook().getBookElements().add(vend);
+		file.addBookElement(vend);
 		file.setModified(true);
 
 		return vend;
@@ -154,6 +154,7 @@ public class GnucashWritableVendorImpl extends GnucashVendorImpl implements Gnuc
 	public void setNumber(final String number) {
 		String oldNumber = getNumber();
 		getJwsdpPeer().setVendorId(number);
+		getGnucashFile().vendorNumberChanged(this, oldNumber, number);
 		getGnucashFile().setModified(true);
 
 		PropertyChangeSupport propertyChangeSupport = getPropertyChangeSupport();
@@ -168,6 +169,7 @@ public class GnucashWritableVendorImpl extends GnucashVendorImpl implements Gnuc
 	public void setName(final String name) {
 		String oldName = getName();
 		getJwsdpPeer().setVendorName(name);
+		getGnucashFile().vendorNameChanged(this, oldName, name);
 		getGnucashFile().setModified(true);
 
 		PropertyChangeSupport propertyChangeSupport = getPropertyChangeSupport();
@@ -95,20 +95,16 @@ public class GnucashWritableCustomerInvoiceImpl extends GnucashWritableGenerInvo
     for (GnucashTransaction trx : invc.getPayingTransactions()) {
       trxs.add(trx);
     }
+    String paymentAction = bundle.getMessage("ACTION_PAYMENT");
     for (GnucashTransaction trx : trxs) {
       for (GnucashTransactionSplit splt : trx.getSplits()) {
         String lot = splt.getLotID();
-        if (lot != null) {
-          for (GnucashGenerInvoice invc1 : splt.getTransaction().getGnucashFile().getGenerInvoices()) {
-            String lotID = invc1.getLotID();
-            if (lotID != null && lotID.equals(lot)) {
-              // Check if it's a payment transaction.
-              // If so, add it to the invoice's list of payment transactions.
-              if (splt.getAction().equals(bundle.getMessage("ACTION_PAYMENT"))) {
-                addPayingTransaction(splt);
-              }
-            } // if lotID
-          } // for invc
+        if (lot != null && splt.getTransaction().getGnucashFile().getGenerInvoiceByLotID(lot) != null) {
+          // Check if it's a payment transaction.
+          // If so, add it to the invoice's list of payment transactions.
+          if (paymentAction.equals(splt.getAction())) {
+            addPayingTransaction(splt);
+          }
         } // if lot
       } // for splt
     } // for trx
@@ -201,7 +197,9 @@ public class GnucashWritableCustomerInvoiceImpl extends GnucashWritableGenerInvo
       return; // nothing has changed
     }
 
+    String oldOwnerID = getOwnerId();
     getJwsdpPeer().getInvoiceOwner().getOwnerId().setValue(cust.getId());
+    ownerChanged(getType(), oldOwnerID);
     getWritingFile().setModified(true);
 
     // <<insert code to react further to this change here
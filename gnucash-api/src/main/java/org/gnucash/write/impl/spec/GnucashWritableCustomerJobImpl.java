@@ -65,7 +65,6 @@ public class GnucashWritableCustomerJobImpl extends GnucashCustomerJobImpl imple
 			throw new IllegalStateException("cannot remove a job that has invoices!");
 		}
 		GnucashWritableFileImpl writableFile = (GnucashWritableFileImpl) getFile();
-		writableFile.getRootElement().getGncBook().getBookElements().remove(getJwsdpPeer());
 		writableFile.removeGenerJob(this);
 	}
 
@@ -119,7 +118,7 @@ public class GnucashWritableCustomerJobImpl extends GnucashCustomerJobImpl imple
 			job.setJobOwner(owner);
 		}
 
-		file.getRootElement().getGncBook().getBookElements().add(job);
+		// the file adds it to the book (see createWritableCustomerJob)
 		file.setModified(true);
 		return job;
 
@@ -171,7 +170,9 @@ public class GnucashWritableCustomerJobImpl extends GnucashCustomerJobImpl imple
 		if (oldCust == cust) {
 			return; // nothing has changed
 		}
+		String oldOwnerID = getOwnerId();
 		getJwsdpPeer().getJobOwner().getOwnerId().setValue(cust.getId());
+		getWritingFile().jobOwnerChanged(this, oldOwnerID);
 		getWritingFile().setModified(true);
 		// <<insert code to react further to this change here
 		PropertyChangeSupport propertyChangeFirer = getPropertyChangeSupport();
@@ -198,6 +199,7 @@ public class GnucashWritableCustomerJobImpl extends GnucashCustomerJobImpl imple
 			return; // nothing has changed
 		}
 		getJwsdpPeer().setJobId(jobId);
+		getWritingFile().jobNumberChanged(this, oldJobId, jobId);
 		getWritingFile().setModified(true);
 		// <<insert code to react further to this change here
 		PropertyChangeSupport propertyChangeFirer = getPropertyChangeSupport();
@@ -220,6 +222,7 @@ public class GnucashWritableCustomerJobImpl extends GnucashCustomerJobImpl imple
 			return; // nothing has changed
 		}
 		getJwsdpPeer().setJobName(jobName);
+		getWritingFile().jobNameChanged(this, oldJobName, jobName);
 		getWritingFile().setModified(true);
 		// <<insert code to react further to this change here
 		PropertyChangeSupport propertyChangeFirer = getPropertyChangeSupport();
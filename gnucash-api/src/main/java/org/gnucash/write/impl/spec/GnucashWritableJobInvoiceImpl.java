@@ -96,20 +96,16 @@ public class GnucashWritableJobInvoiceImpl extends GnucashWritableGenerInvoiceIm
     for (GnucashTransaction trx : invc.getPayingTransactions()) {
       trxs.add(trx);
     }
+    String paymentAction = bundle.getMessage("ACTION_PAYMENT");
     for (GnucashTransaction trx : trxs) {
       for (GnucashTransactionSplit splt : trx.getSplits()) {
         String lot = splt.getLotID();
-        if (lot != null) {
-          for (GnucashGenerInvoice invc1 : splt.getTransaction().getGnucashFile().getGenerInvoices()) {
-            String lotID = invc1.getLotID();
-            if (lotID != null && lotID.equals(lot)) {
-              // Check if it's a payment transaction.
-              // If so, add it to the invoice's list of payment transactions.
-              if (splt.getAction().equals(bundle.getMessage("ACTION_PAYMENT"))) {
-                addPayingTransaction(splt);
-              }
-            } // if lotID
-          } // for invc
+        if (lot != null && splt.getTransaction().getGnucashFile().getGenerInvoiceByLotID(lot) != null) {
+          // Check if it's a payment transaction.
+          // If so, add it to the invoice's list of payment transactions.
+          if (paymentAction.equals(splt.getAction())) {
+            addPayingTransaction(splt);
+          }
         } // if lot
       } // for splt
     } // for trx
@@ -203,7 +199,9 @@ public class GnucashWritableJobInvoiceImpl extends GnucashWritableGenerInvoiceIm
       return; // nothing has changed
     }
 
+    String oldOwnerID = getOwnerId();
     getJwsdpPeer().getInvoiceOwner().getOwnerId().setValue(job.getId());
+    ownerChanged(getType(), oldOwnerID);
     getWritingFile().setModified(true);
 
     // <<insert code to react further to this change here
@@ -65,7 +65,6 @@ public class GnucashWritableVendorJobImpl extends GnucashVendorJobImpl implement
 			throw new IllegalStateException("cannot remove a job that has invoices!");
 		}
 		GnucashWritableFileImpl writableFile = (GnucashWritableFileImpl) getFile();
-		writableFile.getRootElement().getGncBook().getBookElements().remove(getJwsdpPeer());
 		writableFile.removeGenerJob(this);
 	}
 
@@ -119,7 +118,7 @@ public class GnucashWritableVendorJobImpl extends GnucashVendorJobImpl implement
 			job.setJobOwner(owner);
 		}
 
-		file.getRootElement().getGncBook().getBookElements().add(job);
+		// the file adds it to the book (see createWritableVendorJob)
 		file.setModified(true);
 		return job;
 
@@ -171,7 +170,9 @@ public class GnucashWritableVendorJobImpl extends GnucashVendorJobImpl implement
 		if (oldVend == vend) {
 			return; // nothing has changed
 		}
+		String oldOwnerID = getOwnerId();
 		getJwsdpPeer().getJobOwner().getOwnerId().setValue(vend.getId());
+		getWritingFile().jobOwnerChanged(this, oldOwnerID);
 		getWritingFile().setModified(true);
 		// <<insert code to react further to this change here
 		PropertyChangeSupport propertyChangeFirer = getPropertyChangeSupport();
@@ -198,6 +199,7 @@ public class GnucashWritableVendorJobImpl extends GnucashVendorJobImpl implement
 			return; // nothing has changed
 		}
 		getJwsdpPeer().setJobId(jobId);
+		getWritingFile().jobNumberChanged(this, oldJobId, jobId);
 		getWritingFile().setModified(true);
 		// <<insert code to react further to this change here
 		PropertyChangeSupport propertyChangeFirer = getPropertyChangeSupport();
@@ -220,6 +222,7 @@ public class GnucashWritableVendorJobImpl extends GnucashVendorJobImpl implement
 			return; // nothing has changed
 		}
 		getJwsdpPeer().setJobName(jobName);
+		getWritingFile().jobNameChanged(this, oldJobName, jobName);
 		getWritingFile().setModified(true);
 		// <<insert code to react further to this change here
 		PropertyChangeSupport propertyChangeFirer = getPropertyChangeSupport();
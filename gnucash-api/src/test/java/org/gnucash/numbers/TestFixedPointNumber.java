@@ -0,0 +1,77 @@
+package org.gnucash.numbers;
+
+import java.math.BigDecimal;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class TestFixedPointNumber {
+
+  @Test
+  public void test01_addSubtract() throws Exception {
+    FixedPointNumber num = new FixedPointNumber("1250/100");
+    num.add(new FixedPointNumber("3/1000")).subtract(new FixedPointNumber(2));
+
+    // same value and scale as with BigDecimal
+    BigDecimal expected = new BigDecimal("12.50").add(new BigDecimal("0.003")).subtract(new BigDecimal(2));
+    Assert.assertEquals(num.getBigDecimal(), expected);
+    Assert.assertEquals(num.scale(), 3);
+    Assert.assertEquals(num.toGnucashString(), "10503/1000");
+
+    Assert.assertEquals(num.negate(), new FixedPointNumber("-10.503"));
+    Assert.assertEquals(num, new FixedPointNumber("10.5030"));
+    Assert.assertEquals(num.changeSign().isPositive(), false);
+  }
+
+  @Test
+  public void test02_overflow() throws Exception {
+    FixedPointNumber num = new FixedPointNumber(Long.MAX_VALUE);
+    num.add(1);
+    Assert.assertEquals(num.getBigDecimal(), BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.ONE));
+    Assert.assertEquals(num.isGreaterThan(new FixedPointNumber(Long.MAX_VALUE)), true);
+
+    // back in the range of a long
+    num.subtract(2);
+    Assert.assertEquals(num, new FixedPointNumber(Long.MAX_VALUE - 1));
+
+    num = new FixedPointNumber("1/100");
+    num.add(new FixedPointNumber(Long.MAX_VALUE / 10));
+    Assert.assertEquals(num.getBigDecimal(),
+        BigDecimal.valueOf(Long.MAX_VALUE / 10).add(new BigDecimal("0.01")));
+
+    num = new FixedPointNumber(Long.MIN_VALUE);
+    Assert.assertEquals(num.negate().getBigDecimal(), BigDecimal.valueOf(Long.MIN_VALUE).negate());
+  }
+
+  @Test
+  public void test03_multiplyDivide() throws Exception {
+    FixedPointNumber num = new FixedPointNumber("1.5");
+    num.multiply(new FixedPointNumber("2.25"));
+    Assert.assertEquals(num.getBigDecimal(), new BigDecimal("3.375"));
+
+    num.multiply(new FixedPointNumber(Long.MAX_VALUE));
+    Assert.assertEquals(num.getBigDecimal(), new BigDecimal("3.375").multiply(BigDecimal.valueOf(Long.MAX_VALUE)));
+
+    num = new FixedPointNumber(10);
+    num.divideBy(new FixedPointNumber(3));
+    Assert.assertEquals(num.getBigDecimal(), new BigDecimal("3.3"));
+    Assert.assertEquals(num.copy().add(1), new FixedPointNumber("4.3"));
+  }
+
+  @Test
+  public void test04_parse() throws Exception {
+    // the format of the file, parsed without BigDecimal
+    Assert.assertEquals(new FixedPointNumber("-12345/100").getBigDecimal(), new BigDecimal("-123.45"));
+    Assert.assertEquals(new FixedPointNumber("+7/1").getBigDecimal(), new BigDecimal("7"));
+    Assert.assertEquals(new FixedPointNumber("0/1000000").scale(), 6);
+
+    // odd denominators and other formats
+    Assert.assertEquals(new FixedPointNumber("1/3").getBigDecimal(), new BigDecimal("0.33333"));
+    Assert.assertEquals(new FixedPointNumber("5/20").getBigDecimal(), new BigDecimal("0.25000"));
+    Assert.assertEquals(new FixedPointNumber("10+1/2").getBigDecimal(), new BigDecimal("10.50000"));
+    Assert.assertEquals(new FixedPointNumber("123456789012345678901/100").getBigDecimal(),
+        new BigDecimal("1234567890123456789.01"));
+    Assert.assertEquals(new FixedPointNumber("12,50 €").getBigDecimal(), new BigDecimal("12.50"));
+  }
+
+}
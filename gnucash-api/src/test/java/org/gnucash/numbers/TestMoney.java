@@ -0,0 +1,71 @@
+package org.gnucash.numbers;
+
+import java.math.BigDecimal;
+
+import org.gnucash.currency.CurrencyNameSpace;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class TestMoney {
+
+  @Test
+  public void test01_immutable() throws Exception {
+    FixedPointNumber num = new FixedPointNumber("1250/100");
+    Money money = new Money(num, CurrencyNameSpace.NAMESPACE_CURRENCY, "EUR");
+
+    // neither the given nor the returned number is shared
+    num.add(1);
+    money.getAmount().add(1);
+    Assert.assertEquals(money.getBigDecimal(), new BigDecimal("12.50"));
+
+    Money sum = money.add(new Money(new BigDecimal("0.5"), CurrencyNameSpace.NAMESPACE_CURRENCY, "EUR"));
+    Assert.assertEquals(sum.getBigDecimal(), new BigDecimal("13.00"));
+    Assert.assertEquals(money.getBigDecimal(), new BigDecimal("12.50"));
+    Assert.assertEquals(money.negate().signum(), -1);
+    Assert.assertEquals(money.multiply(new FixedPointNumber(2)).getBigDecimal(), new BigDecimal("25.00"));
+  }
+
+  @Test
+  public void test02_equals() throws Exception {
+    Money a = new Money(new BigDecimal("1.5"), CurrencyNameSpace.NAMESPACE_CURRENCY, "EUR");
+    Money b = new Money(new FixedPointNumber("150/100"), CurrencyNameSpace.NAMESPACE_CURRENCY, "EUR");
+    Money c = new Money(new BigDecimal("1.5"), CurrencyNameSpace.NAMESPACE_CURRENCY, "USD");
+
+    Assert.assertEquals(a, b);
+    Assert.assertEquals(a.hashCode(), b.hashCode());
+    Assert.assertNotEquals(a, c);
+    Assert.assertEquals(a.compareTo(b.add(Money.zero(CurrencyNameSpace.NAMESPACE_CURRENCY, "EUR"))), 0);
+    Assert.assertTrue(a.compareTo(b.add(b)) < 0);
+
+    try {
+      a.add(c);
+      Assert.fail("different commodities added");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void test03_accumulator() throws Exception {
+    MoneyAccumulator acc = new MoneyAccumulator(CurrencyNameSpace.NAMESPACE_CURRENCY, "EUR");
+    acc.add(new Money(new BigDecimal("1.25"), CurrencyNameSpace.NAMESPACE_CURRENCY, "EUR"))
+        .add(new FixedPointNumber("-3/10"))
+        .subtract(new Money(new BigDecimal("0.05"), CurrencyNameSpace.NAMESPACE_CURRENCY, "EUR"));
+    Assert.assertEquals(acc.toMoney(), new Money(new BigDecimal("0.9"), CurrencyNameSpace.NAMESPACE_CURRENCY, "EUR"));
+
+    // the result does not change with the accumulator
+    Money result = acc.toMoney();
+    acc.add(new FixedPointNumber(1));
+    Assert.assertEquals(result.getBigDecimal(), new BigDecimal("0.90"));
+
+    acc.clear();
+    Assert.assertEquals(acc.signum(), 0);
+
+    try {
+      acc.add(new Money(BigDecimal.ONE, CurrencyNameSpace.NAMESPACE_CURRENCY, "USD"));
+      Assert.fail("different commodities added");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+}
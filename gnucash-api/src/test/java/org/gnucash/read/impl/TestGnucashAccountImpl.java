@@ -1,10 +1,20 @@
 package org.gnucash.read.impl;
 
 import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.gnucash.ConstTest;
+import org.gnucash.currency.CurrencyNameSpace;
+import org.gnucash.numbers.FixedPointNumber;
+import org.gnucash.numbers.Money;
+import org.gnucash.numbers.MoneyAccumulator;
 import org.gnucash.read.GnucashAccount;
 import org.gnucash.read.GnucashFile;
+import org.gnucash.read.GnucashTransactionSplit;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -203,4 +213,107 @@ public class TestGnucashAccountImpl {
 		Assert.assertEquals(acct.getTransactions().size(), 1);
 		Assert.assertEquals(acct.getTransactions().get(0).getId(), "cc9fe6a245df45ba9b494660732a7755");
 	}
+
+	@Test
+	public void test02_splitByID() throws Exception {
+		acct = gcshFile.getAccountByID(ACCT_5_ID);
+
+		Assert.assertEquals(acct.getTransactionSplits().size(), 4);
+		for (GnucashTransactionSplit splt : acct.getTransactionSplits()) {
+			Assert.assertSame(acct.getTransactionSplitByID(splt.getId()), splt);
+		}
+		Assert.assertNull(acct.getTransactionSplitByID("xyz"));
+
+		// the splits are kept sorted
+		List<GnucashTransactionSplit> sorted = new ArrayList<GnucashTransactionSplit>(acct.getTransactionSplits());
+		Collections.sort(sorted);
+		Assert.assertEquals(acct.getTransactionSplits(), sorted);
+	}
+
+	@Test
+	public void test03_balanceIndex() throws Exception {
+		acct = gcshFile.getAccountByID(ACCT_5_ID);
+
+		// compare with the splits summed up one by one
+		FixedPointNumber sum = new FixedPointNumber();
+		for (GnucashTransactionSplit splt : acct.getTransactionSplits()) {
+			sum.add(splt.getQuantity());
+			Assert.assertEquals(acct.getBalance(splt), sum);
+
+			LocalDate date = splt.getTransaction().getDatePosted().toLocalDate();
+			FixedPointNumber expected = new FixedPointNumber();
+			for (GnucashTransactionSplit other : acct.getTransactionSplits()) {
+				if (!other.getTransaction().getDatePosted().toLocalDate().isAfter(date.minusDays(1))) {
+					expected.add(other.getQuantity());
+				}
+			}
+			List<GnucashTransactionSplit> after = new ArrayList<GnucashTransactionSplit>();
+			Assert.assertEquals(acct.getBalance(date, after), expected);
+			Assert.assertEquals(acct.getBalance(date.plusDays(1)), expected.copy().add(sumOfDay(date)));
+		}
+		Assert.assertEquals(acct.getBalance(), sum);
+		Assert.assertEquals(acct.getBalance(LocalDate.of(1900, 1, 1)), new FixedPointNumber());
+
+		List<GnucashTransactionSplit> after = new ArrayList<GnucashTransactionSplit>();
+		acct.getBalance(LocalDate.of(1900, 1, 1), after);
+		Assert.assertEquals(after, acct.getTransactionSplits());
+	}
+
+	@Test
+	public void test04_register() throws Exception {
+		acct = gcshFile.getAccountByID(ACCT_5_ID);
+
+		List<? extends GnucashTransactionSplit> splits = acct.getTransactionSplits();
+		int i = 0;
+		for (GnucashAccount.RegisterEntry entry : acct.getRegister()) {
+			Assert.assertSame(entry.getSplit(), splits.get(i++));
+			Assert.assertEquals(entry.getBalance(), entry.getSplit().getAccountBalance());
+		}
+		Assert.assertEquals(i, splits.size());
+
+		// only the splits of the second posting-date, with the balance including the ones before
+		LocalDate from = splits.get(1).getTransaction().getDatePosted().toLocalDate();
+		i = 0;
+		for (GnucashAccount.RegisterEntry entry : acct.getRegister(from, from.plusDays(1))) {
+			Assert.assertEquals(entry.getSplit().getTransaction().getDatePosted().toLocalDate(), from);
+			Assert.assertEquals(entry.getBalance(), entry.getSplit().getAccountBalance());
+			i++;
+		}
+		Assert.assertTrue(i > 0);
+		Assert.assertFalse(acct.getRegister(from, from).iterator().hasNext());
+	}
+
+	@Test
+	public void test05_money() throws Exception {
+		acct = gcshFile.getAccountByID(ACCT_1_ID);
+
+		Money balance = acct.getBalanceAsMoney();
+		Assert.assertEquals(balance, new Money(new BigDecimal("3560.46"), CurrencyNameSpace.NAMESPACE_CURRENCY, "EUR"));
+		Assert.assertEquals(balance.getAmount(), acct.getBalance());
+		Assert.assertEquals(acct.getBalanceRecursiveAsMoney(LocalDate.now()), balance);
+
+		MoneyAccumulator sum = new MoneyAccumulator(CurrencyNameSpace.NAMESPACE_CURRENCY, "EUR");
+		for (GnucashTransactionSplit splt : acct.getTransactionSplits()) {
+			Assert.assertEquals(splt.getQuantityAsMoney().getAmount(), splt.getQuantity());
+			Assert.assertEquals(splt.getValueAsMoney().getCurrencyID(), splt.getTransaction().getCurrencyID());
+			sum.add(splt.getQuantityAsMoney());
+		}
+		Assert.assertEquals(sum.toMoney(), balance);
+
+		LocalDate date = LocalDate.of(2023, 8, 1);
+		for (GnucashAccount account : gcshFile.getAccounts()) {
+			Assert.assertEquals(account.getBalanceAsMoney(date).getAmount(), account.getBalance(date));
+			Assert.assertEquals(account.getBalanceRecursiveAsMoney(date).getAmount(), account.getBalanceRecursive(date));
+		}
+	}
+
+	private FixedPointNumber sumOfDay(final LocalDate date) {
+		FixedPointNumber retval = new FixedPointNumber();
+		for (GnucashTransactionSplit splt : acct.getTransactionSplits()) {
+			if (splt.getTransaction().getDatePosted().toLocalDate().equals(date)) {
+				retval.add(splt.getQuantity());
+			}
+		}
+		return retval;
+	}
 }
@@ -1,11 +1,14 @@
 package org.gnucash.read.impl;
 
 import java.io.InputStream;
+import java.util.List;
 
 import org.gnucash.ConstTest;
 import org.gnucash.messages.ApplicationMessages;
+import org.gnucash.numbers.Money;
 import org.gnucash.read.GnucashCustomer;
 import org.gnucash.read.GnucashFile;
+import org.gnucash.read.GnucashGenerInvoice;
 import org.gnucash.read.auxiliary.GCshBillTerms;
 import org.gnucash.read.impl.auxiliary.TestGCshBillTermsImpl;
 import org.gnucash.read.impl.auxiliary.TestGCshTaxTableImpl;
@@ -142,4 +145,49 @@ public class TestGnucashCustomerImpl {
     // id: d9967c10fdf1465e9394a3e4b1e7bd79 customer-id (dir.): 5d1dd9afa7554553988669830cc1f696 invoice-number: 'R1730'
     // description: 'null' #entries: 0 date-opened: 2023-07-29]");
   }
+
+  @Test
+  public void test02_4_asMoney() throws Exception {
+    cust = gcshFile.getCustomerByID(CUST_1_ID);
+
+    Money income = cust.getIncomeGeneratedAsMoney(GnucashGenerInvoice.ReadVariant.DIRECT);
+    Assert.assertEquals(income.getCurrencyID(), "EUR");
+    Assert.assertEquals(income.getAmount(), cust.getIncomeGenerated(GnucashGenerInvoice.ReadVariant.DIRECT));
+    Assert.assertEquals(cust.getOutstandingValueAsMoney(GnucashGenerInvoice.ReadVariant.DIRECT).getAmount(),
+        cust.getOutstandingValue(GnucashGenerInvoice.ReadVariant.DIRECT));
+    Assert.assertEquals(cust.getIncomeGeneratedAsMoney(GnucashGenerInvoice.ReadVariant.VIA_JOB).getAmount(),
+        cust.getIncomeGenerated(GnucashGenerInvoice.ReadVariant.VIA_JOB));
+  }
+
+  // -----------------------------------------------------------------
+
+  @Test
+  public void test03_byNameAndNumber() throws Exception {
+    Assert.assertEquals(gcshFile.getCustomerByName("Is That So Ltd.").getId(), CUST_2_ID);
+    Assert.assertEquals(gcshFile.getCustomerByName("is that so ltd."), null);
+    Assert.assertEquals(gcshFile.getCustomersByNameIgnoreCase("is that so ltd.").size(), 1);
+    Assert.assertEquals(gcshFile.getCustomersByNameIgnoreCase("is that so ltd.").get(0).getId(), CUST_2_ID);
+
+    Assert.assertEquals(gcshFile.getCustomerByNumber("000003").getId(), CUST_3_ID);
+    Assert.assertEquals(gcshFile.getCustomerByNumber("999999"), null);
+
+    // sorted by name / number
+    List<GnucashCustomer> custList = gcshFile.getCustomersByNamePrefix("N'IMP");
+    Assert.assertEquals(custList.size(), 1);
+    Assert.assertEquals(custList.get(0).getId(), CUST_3_ID);
+    custList = gcshFile.getCustomersByNumberPrefix("0000");
+    Assert.assertEquals(custList.size(), 3);
+    Assert.assertEquals(custList.get(0).getId(), CUST_1_ID);
+    Assert.assertEquals(custList.get(2).getId(), CUST_3_ID);
+
+    Assert.assertEquals(gcshFile.getVendorByNumber("000002").getName(), "Super Suppliers Corp.");
+    Assert.assertEquals(gcshFile.getVendorsByNamePrefix("achetez").get(0).getNumber(), "000003");
+    Assert.assertEquals(gcshFile.getGenerJobByNumber("000001").getName(), "Do more for others");
+    Assert.assertEquals(gcshFile.getGenerJobsByNameIgnoreCase("LET'S BUY HELP").get(0).getNumber(), "000002");
+
+    Assert.assertEquals(gcshFile.getTaxTableByName("FR_TVA_Std").getId(), TAXTABLE_FR_1_ID);
+    Assert.assertEquals(gcshFile.getTaxTablesByNamePrefix("fr_tva").size(), 2);
+    Assert.assertEquals(gcshFile.getBillTermsByName("30-10-3").getId(), BLLTRM_2_ID);
+    Assert.assertEquals(gcshFile.getBillTermsByNamePrefix("N").get(0).getId(), BLLTRM_3_ID);
+  }
 }
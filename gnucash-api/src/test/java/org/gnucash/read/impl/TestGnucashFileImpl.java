@@ -1,10 +1,21 @@
 package org.gnucash.read.impl;
 
 import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 import org.gnucash.ConstTest;
+import org.gnucash.generated.ObjectFactory;
+import org.gnucash.generated.Price;
 import org.gnucash.messages.ApplicationMessages;
+import org.gnucash.numbers.FixedPointNumber;
+import org.gnucash.read.GnucashAccount;
 import org.gnucash.read.GnucashFile;
+import org.gnucash.read.GnucashTransaction;
+import org.gnucash.read.GnucashTransactionSplit;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -83,4 +94,124 @@ public class TestGnucashFileImpl {
     Assert.assertEquals(gcshFile.getNofEntriesPricesInDB(), 6);
   }
 
+  @Test
+  public void test10_accountByName() throws Exception {
+    Assert.assertEquals(gcshFile.getAccountByName("Giro RaiBa").getId(), "bbf77a599bd24a3dbfec3dd1d0bb9f5c");
+    Assert.assertEquals(gcshFile.getAccountByName("Root Account::Aktiva::Sichteinlagen::KK::Giro RaiBa").getId(),
+        "bbf77a599bd24a3dbfec3dd1d0bb9f5c");
+    Assert.assertNull(gcshFile.getAccountByName("Aktiva::Sichteinlagen::KK::Giro RaiBa"));
+    Assert.assertNull(gcshFile.getAccountByName("no such account"));
+  }
+
+  @Test
+  public void test11_transactionsByDate() throws Exception {
+    // all days with transactions and the days around them
+    TreeSet<LocalDate> days = new TreeSet<LocalDate>();
+    for (GnucashTransaction trx : gcshFile.getTransactions()) {
+      LocalDate day = trx.getDatePosted().toLocalDate();
+      days.add(day.minusDays(1));
+      days.add(day);
+      days.add(day.plusDays(1));
+    }
+
+    Assert.assertEquals(gcshFile.getTransactions(null, null).size(), gcshFile.getTransactions().size());
+    for (LocalDate from : days) {
+      for (LocalDate to : days.tailSet(from, true)) {
+        Set<String> expected = new HashSet<String>();
+        for (GnucashTransaction trx : gcshFile.getTransactions()) {
+          LocalDate day = trx.getDatePosted().toLocalDate();
+          if (!day.isBefore(from) && day.isBefore(to)) {
+            expected.add(trx.getId());
+          }
+        }
+
+        Set<String> actual = new HashSet<String>();
+        LocalDate last = null;
+        for (GnucashTransaction trx : gcshFile.getTransactions(from, to)) {
+          actual.add(trx.getId());
+          // sorted
+          Assert.assertFalse(last != null && trx.getDatePosted().toLocalDate().isBefore(last));
+          last = trx.getDatePosted().toLocalDate();
+        }
+        Assert.assertEquals(actual, expected);
+      }
+    }
+
+    GnucashAccount acct = gcshFile.getAccountByID("7e223ee2260d4ba28e8e9e19ce291f43");
+    Assert.assertEquals(acct.getTransactionSplits(null, null).size(), acct.getTransactionSplits().size());
+    for (GnucashTransactionSplit splt : acct.getTransactionSplits()) {
+      LocalDate day = splt.getTransaction().getDatePosted().toLocalDate();
+      List<GnucashTransactionSplit> splits = gcshFile.getTransactionSplits(acct, day, day.plusDays(1));
+      Assert.assertTrue(splits.contains(splt));
+      for (GnucashTransactionSplit other : splits) {
+        Assert.assertEquals(other.getTransaction().getDatePosted().toLocalDate(), day);
+        Assert.assertEquals(other.getAccountID(), acct.getId());
+      }
+    }
+  }
+
+  @Test
+  public void test12_fullText() throws Exception {
+    Assert.assertEquals(gcshFile.findTransactions("unfug").size(), 4);
+    Assert.assertEquals(gcshFile.findTransactions("Quatsch GMBH").size(), 4);
+    Assert.assertEquals(gcshFile.findTransactions("unf*").size(), 4);
+    Assert.assertEquals(gcshFile.findTransactions("Lieferf*").size(), 2);
+    Assert.assertEquals(gcshFile.findTransactions("unfug lieferfanto").size(), 0);
+    Assert.assertEquals(gcshFile.findTransactions("R1730").size(), 1);
+    Assert.assertEquals(gcshFile.findTransactions(" ").size(), 0);
+    Assert.assertEquals(gcshFile.findTransactions(null).size(), 0);
+    // the splits have no memos
+    Assert.assertEquals(gcshFile.findTransactionSplits("unfug").size(), 0);
+
+    Assert.assertEquals(gcshFile.findGenerInvoices("with taxes").size(), 2);
+    Assert.assertEquals(gcshFile.findGenerInvoices("steuern").size(), 2);
+    Assert.assertEquals(gcshFile.findGenerInvoices("1730*").size(), 1);
+    // the description of an entry
+    Assert.assertEquals(gcshFile.findGenerInvoices("item 3").size(), 1);
+  }
+
+  @Test
+  public void test13_latestPrice() throws Exception {
+    Assert.assertEquals(gcshFile.getLatestPrice("EUREX", "SAP"), new FixedPointNumber(145));
+    Assert.assertEquals(gcshFile.getLatestPrice("EUREX", "MBG"), new FixedPointNumber("22.53"));
+    Assert.assertNull(gcshFile.getLatestPrice("EUREX", "XXX"));
+
+    // the returned number is not shared
+    gcshFile.getLatestPrice("EUREX", "SAP").add(1);
+    Assert.assertEquals(gcshFile.getLatestPrice("EUREX", "SAP"), new FixedPointNumber(145));
+
+    // XYZ -> USD -> EUR and XYZ -> SAP -> EUR are equally short, the later quote is taken
+    List<Price> quotes = ((GnucashFileImpl) gcshFile).getPriceDB().getPrice();
+    quotes.add(newQuote("CURRENCY", "USD", "CURRENCY", "EUR", "2023-08-01 10:00:00 +0000", "9/10"));
+    quotes.add(newQuote("FUND", "XYZ", "CURRENCY", "USD", "2023-08-02 10:00:00 +0000", "20/1"));
+    quotes.add(newQuote("FUND", "XYZ", "EUREX", "SAP", "2023-01-01 10:00:00 +0000", "1/10"));
+    // no quotes for CHF: converted as far as possible
+    quotes.add(newQuote("FUND", "ABC", "CURRENCY", "CHF", "2023-08-02 10:00:00 +0000", "7/1"));
+    // added directly: not seen until the file is told
+    Assert.assertNull(gcshFile.getLatestPrice("FUND", "XYZ"));
+    ((GnucashFileImpl) gcshFile).pricesChanged();
+
+    Assert.assertEquals(gcshFile.getLatestPrice("CURRENCY", "USD"), new FixedPointNumber("0.9"));
+    Assert.assertEquals(gcshFile.getLatestPrice("FUND", "XYZ"), new FixedPointNumber(18));
+    Assert.assertEquals(gcshFile.getLatestPrice("FUND", "ABC"), new FixedPointNumber(7));
+  }
+
+  private Price newQuote(final String cmdtySpace, final String cmdtyId, final String currSpace, final String currId,
+      final String time, final String value) {
+    ObjectFactory factory = ((GnucashFileImpl) gcshFile).getObjectFactory();
+    Price quote = factory.createPrice();
+    quote.setPriceId(factory.createPricePriceId());
+    quote.getPriceId().setValue(cmdtyId + "-" + currId);
+    quote.setPriceCommodity(factory.createPricePriceCommodity());
+    quote.getPriceCommodity().setCmdtySpace(cmdtySpace);
+    quote.getPriceCommodity().setCmdtyId(cmdtyId);
+    quote.setPriceCurrency(factory.createPricePriceCurrency());
+    quote.getPriceCurrency().setCmdtySpace(currSpace);
+    quote.getPriceCurrency().setCmdtyId(currId);
+    quote.setPriceTime(factory.createPricePriceTime());
+    quote.getPriceTime().setTsDate(time);
+    quote.setPriceValue(value);
+    return quote;
+  }
+
 }
@@ -7,6 +7,8 @@ import java.util.TreeSet;
 
 import org.gnucash.ConstTest;
 import org.gnucash.messages.ApplicationMessages;
+import org.gnucash.numbers.FixedPointNumber;
+import org.gnucash.numbers.Money;
 import org.gnucash.read.GnucashFile;
 import org.gnucash.read.GnucashGenerInvoice;
 import org.gnucash.read.GnucashGenerInvoiceEntry;
@@ -54,6 +56,19 @@ public class TestGnucashGenerInvoiceImpl {
     Assert.assertEquals(gcshFile.getNofEntriesGenerInvoiceMap(), 6);
   }
 
+  @Test
+  public void test02_byLotID() throws Exception {
+    for (GnucashGenerInvoice invc : gcshFile.getGenerInvoices()) {
+      if (invc.getLotID() != null) {
+        Assert.assertEquals(gcshFile.getGenerInvoiceByLotID(invc.getLotID()), invc);
+      }
+    }
+
+    invc = gcshFile.getGenerInvoiceByID(INVC_1_ID);
+    Assert.assertNotNull(invc.getLotID());
+    Assert.assertNull(gcshFile.getGenerInvoiceByLotID("no such lot"));
+  }
+
   // -----------------------------------------------------------------
 
   @Test
@@ -88,6 +103,14 @@ public class TestGnucashGenerInvoiceImpl {
     Assert.assertEquals(invc.getInvcAmountWithoutTaxes().doubleValue(), 1327.60, ConstTest.DIFF_TOLERANCE);
 
     Assert.assertEquals(invc.getInvcAmountWithTaxes().doubleValue(), 1327.60, ConstTest.DIFF_TOLERANCE);
+
+    Money amount = invc.getInvcAmountWithTaxesAsMoney();
+    Assert.assertEquals(amount.getCurrencyID(), "EUR");
+    Assert.assertEquals(amount.getAmount(), invc.getInvcAmountWithTaxes());
+    Assert.assertEquals(invc.getInvcAmountWithoutTaxesAsMoney().getAmount(), invc.getInvcAmountWithoutTaxes());
+    Assert.assertEquals(invc.getInvcAmountPaidWithTaxesAsMoney().getAmount(), invc.getInvcAmountPaidWithTaxes());
+    Assert.assertEquals(invc.getInvcAmountUnpaidWithTaxesAsMoney().getAmount(), invc.getInvcAmountUnpaidWithTaxes());
+    Assert.assertTrue(invc.getInvcAmountUnpaidWithTaxesAsMoney().isZero());
   }
 
   @Test
@@ -104,6 +127,22 @@ public class TestGnucashGenerInvoiceImpl {
     Assert.assertEquals(invc.isInvcFullyPaid(), true);
   }
 
+  @Test
+  public void testCust04_2_foreignPayment() throws Exception {
+    invc = gcshFile.getGenerInvoiceByID(INVC_1_ID);
+    FixedPointNumber paid = invc.getInvcAmountPaidWithTaxes();
+
+    // the payment in another currency than the invoice: summed up as it is
+    GnucashTransactionImpl pmt = (GnucashTransactionImpl) gcshFile.getTransactionByID("29557cfdf4594eb68b1a1b710722f991");
+    pmt.getJwsdpPeer().getTrnCurrency().setCmdtyId("USD");
+    Assert.assertEquals(pmt.getCurrencyID(), "USD");
+
+    Assert.assertEquals(invc.getInvcAmountPaidWithTaxes(), paid);
+    Assert.assertEquals(invc.getInvcAmountPaidWithTaxesAsMoney().getAmount(), paid);
+    Assert.assertEquals(invc.getInvcAmountPaidWithTaxesAsMoney().getCurrencyID(), "EUR");
+    Assert.assertEquals(invc.isInvcFullyPaid(), true);
+  }
+
   // -----------------------------------------------------------------
 
   @Test
@@ -173,6 +212,12 @@ public class TestGnucashGenerInvoiceImpl {
 
     Assert.assertEquals(invc.getBillAmountWithoutTaxes().doubleValue(), 79.11, ConstTest.DIFF_TOLERANCE);
     Assert.assertEquals(invc.getBillAmountWithTaxes().doubleValue(), 94.14, ConstTest.DIFF_TOLERANCE);
+
+    Assert.assertEquals(invc.getBillAmountWithoutTaxesAsMoney().getBigDecimal().doubleValue(), 79.11,
+        ConstTest.DIFF_TOLERANCE);
+    Assert.assertEquals(invc.getBillAmountWithTaxesAsMoney().getAmount(), invc.getBillAmountWithTaxes());
+    Assert.assertEquals(invc.getBillAmountPaidWithTaxesAsMoney().getAmount(), invc.getBillAmountPaidWithTaxes());
+    Assert.assertEquals(invc.getBillAmountUnpaidWithTaxesAsMoney().getAmount(), invc.getBillAmountUnpaidWithTaxes());
   }
 
   @Test
@@ -168,4 +168,49 @@ public class TestGnucashPriceDB {
 
     Assert.assertEquals(pr.toString(), "125.000000");
   }
+
+  @Test
+  public void testPriceDB02_index() throws Exception {
+    GnucashPriceDBImpl pdb = new GnucashPriceDBImpl(gcshFile);
+
+    // in the order of the file
+    List<Price> prices = pdb.getPrices("SAP");
+    Assert.assertEquals(prices.size(), 5);
+    Assert.assertEquals(prices.get(0).getPriceTime().getTsDate(), "2023-07-20 10:59:00 +0000");
+    Assert.assertEquals(pdb.getPrices("XXX").size(), 0);
+    Assert.assertEquals(pdb.getCommodities(), List.of("MBG", "SAP"));
+    Assert.assertEquals(pdb.getCommodities("EUREX"), List.of("MBG", "SAP"));
+    Assert.assertEquals(pdb.getCommoditieSpaces(), List.of("EUREX"));
+
+    // before the first quote, between the quotes and after the last one
+    Assert.assertEquals(pdb.getPrice("SAP", LocalDate.of(2012, 2, 29)), new FixedPointNumber(1));
+    Assert.assertEquals(pdb.getPrice("SAP", LocalDate.of(2012, 3, 4)), new FixedPointNumber("51200000"));
+    Assert.assertEquals(pdb.getPrice("EUREX", "SAP", LocalDate.of(2023, 7, 19), 0), new FixedPointNumber(125));
+    Assert.assertEquals(pdb.getPrice("SAP", LocalDate.of(2099, 1, 1)), new FixedPointNumber(145));
+    Assert.assertEquals(pdb.getPrice("OTHER", "SAP", LocalDate.of(2099, 1, 1), 0), new FixedPointNumber(1));
+
+    // the returned numbers are not shared
+    pdb.getPrice("SAP", LocalDate.of(2099, 1, 1)).add(1);
+    Assert.assertEquals(pdb.getPrice("SAP", LocalDate.of(2099, 1, 1)), new FixedPointNumber(145));
+  }
+
+  @Test
+  public void testPriceDB03_changed() throws Exception {
+    GnucashPriceDBImpl pdb = new GnucashPriceDBImpl(gcshFile);
+    Assert.assertEquals(pdb.getPrice("SAP", LocalDate.of(2099, 1, 1)), new FixedPointNumber(145));
+
+    // a quote changed in place is seen once the file reports it
+    Price latest = null;
+    for (Price quote : pdb.getPrices("SAP")) {
+      if (new FixedPointNumber(quote.getPriceValue()).equals(new FixedPointNumber(145))) {
+        latest = quote;
+      }
+    }
+    latest.setPriceValue("150/1");
+    gcshFile.pricesChanged();
+    Assert.assertEquals(pdb.getPrice("SAP", LocalDate.of(2099, 1, 1)), new FixedPointNumber(150));
+
+    // both price-APIs take the same quote as the latest one
+    Assert.assertEquals(gcshFile.getLatestPrice("EUREX", "SAP"), pdb.getPrice("SAP", LocalDate.of(2099, 1, 1)));
+  }
 }
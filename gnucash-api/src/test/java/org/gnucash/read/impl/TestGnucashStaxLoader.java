@@ -0,0 +1,113 @@
+package org.gnucash.read.impl;
+
+import java.io.InputStream;
+
+import org.gnucash.ConstTest;
+import org.gnucash.messages.ApplicationMessages;
+import org.gnucash.read.GnucashAccount;
+import org.gnucash.read.GnucashCustomer;
+import org.gnucash.read.GnucashFile;
+import org.gnucash.read.GnucashGenerInvoice;
+import org.gnucash.read.GnucashTransaction;
+import org.gnucash.read.GnucashTransactionSplit;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class TestGnucashStaxLoader {
+  private GnucashFile gcshFile = null;
+  private GnucashFile gcshFileJAXB = null;
+
+  // -----------------------------------------------------------------
+
+  @BeforeMethod
+  public void initialize() throws Exception {
+    ClassLoader classLoader = getClass().getClassLoader();
+    ApplicationMessages.setup();
+
+    LoadOptions opts = new LoadOptions();
+    opts.setParser(LoadOptions.Parser.STAX);
+
+    try (InputStream gcshFileStream = classLoader.getResourceAsStream(ConstTest.GCSH_FILENAME)) {
+      gcshFile = new GnucashFileImpl(gcshFileStream, opts);
+    }
+
+    try (InputStream gcshFileStream = classLoader.getResourceAsStream(ConstTest.GCSH_FILENAME)) {
+      gcshFileJAXB = new GnucashFileImpl(gcshFileStream);
+    }
+  }
+
+  // -----------------------------------------------------------------
+
+  @Test
+  public void test01_counts() throws Exception {
+    Assert.assertEquals(gcshFile.getNofEntriesAccountMap(), 91);
+    Assert.assertEquals(gcshFile.getNofEntriesTransactionMap(), 11);
+    Assert.assertEquals(gcshFile.getNofEntriesTransactionSplitsMap(), 29);
+    Assert.assertEquals(gcshFile.getNofEntriesGenerInvoiceMap(), 6);
+    Assert.assertEquals(gcshFile.getNofEntriesGenerInvoiceEntriesMap(), 12);
+    Assert.assertEquals(gcshFile.getNofEntriesGenerJobMap(), 2);
+    Assert.assertEquals(gcshFile.getNofEntriesCustomerMap(), 3);
+    Assert.assertEquals(gcshFile.getNofEntriesVendorMap(), 3);
+    Assert.assertEquals(gcshFile.getNofEntriesPricesInDB(), 6);
+    Assert.assertEquals(gcshFile.getTaxTables().size(), gcshFileJAXB.getTaxTables().size());
+    Assert.assertEquals(gcshFile.getBillTerms().size(), gcshFileJAXB.getBillTerms().size());
+  }
+
+  @Test
+  public void test02_sameAccounts() throws Exception {
+    for (GnucashAccount acctJAXB : gcshFileJAXB.getAccounts()) {
+      GnucashAccount acct = gcshFile.getAccountByID(acctJAXB.getId());
+      Assert.assertNotNull(acct);
+      Assert.assertEquals(acct.getQualifiedName(), acctJAXB.getQualifiedName());
+      Assert.assertEquals(acct.getType(), acctJAXB.getType());
+      Assert.assertEquals(acct.getCurrencyID(), acctJAXB.getCurrencyID());
+      Assert.assertEquals(acct.getTransactionSplits().size(), acctJAXB.getTransactionSplits().size());
+      Assert.assertEquals(acct.getBalance(), acctJAXB.getBalance());
+    }
+  }
+
+  @Test
+  public void test03_sameTransactions() throws Exception {
+    for (GnucashTransaction trxJAXB : gcshFileJAXB.getTransactions()) {
+      GnucashTransaction trx = gcshFile.getTransactionByID(trxJAXB.getId());
+      Assert.assertNotNull(trx);
+      Assert.assertEquals(trx.getDescription(), trxJAXB.getDescription());
+      Assert.assertEquals(trx.getDatePosted(), trxJAXB.getDatePosted());
+      Assert.assertEquals(trx.getSplitsCount(), trxJAXB.getSplitsCount());
+      for (GnucashTransactionSplit spltJAXB : trxJAXB.getSplits()) {
+        GnucashTransactionSplit splt = trx.getSplitByID(spltJAXB.getId());
+        Assert.assertEquals(splt.getValue(), spltJAXB.getValue());
+        Assert.assertEquals(splt.getQuantity(), spltJAXB.getQuantity());
+        Assert.assertEquals(splt.getAction(), spltJAXB.getAction());
+        Assert.assertEquals(splt.getAccountID(), spltJAXB.getAccountID());
+      }
+    }
+  }
+
+  @Test
+  public void test04_sameInvoicesAndOwners() throws Exception {
+    for (GnucashGenerInvoice invcJAXB : gcshFileJAXB.getGenerInvoices()) {
+      GnucashGenerInvoice invc = gcshFile.getGenerInvoiceByID(invcJAXB.getId());
+      Assert.assertNotNull(invc);
+      Assert.assertEquals(invc.getNumber(), invcJAXB.getNumber());
+      Assert.assertEquals(invc.getType(), invcJAXB.getType());
+      Assert.assertEquals(invc.getGenerEntries().size(), invcJAXB.getGenerEntries().size());
+      Assert.assertEquals(invc.getPayingTransactions().size(), invcJAXB.getPayingTransactions().size());
+    }
+
+    for (GnucashCustomer custJAXB : gcshFileJAXB.getCustomers()) {
+      GnucashCustomer cust = gcshFile.getCustomerByID(custJAXB.getId());
+      Assert.assertEquals(cust.getName(), custJAXB.getName());
+      Assert.assertEquals(cust.getNumber(), custJAXB.getNumber());
+    }
+  }
+
+  @Test
+  public void test05_bookAttributes() throws Exception {
+    Assert.assertEquals(gcshFile.getDefaultCurrencyID(), gcshFileJAXB.getDefaultCurrencyID());
+    Assert.assertEquals(gcshFile.getUserDefinedAttributeKeys(), gcshFileJAXB.getUserDefinedAttributeKeys());
+    Assert.assertEquals(gcshFile.getLatestPrice("ISO4217", "USD"), gcshFileJAXB.getLatestPrice("ISO4217", "USD"));
+  }
+
+}
@@ -0,0 +1,101 @@
+package org.gnucash.read.impl;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.gnucash.ConstTest;
+import org.gnucash.generated.GncAccount;
+import org.gnucash.generated.GncTransaction;
+import org.gnucash.generated.GncV2;
+import org.gnucash.generated.Price;
+import org.gnucash.messages.ApplicationMessages;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class TestGnucashStreamReader {
+
+  private static class CountingVisitor implements GnucashStreamReader.Visitor {
+    private int accounts = 0;
+    private int splits = 0;
+    private int prices = 0;
+    private int invoices = 0;
+    private final List<String> trxIDs = new ArrayList<String>();
+
+    @Override
+    public void onAccount(final GncAccount account) {
+      accounts++;
+    }
+
+    @Override
+    public void onTransaction(final GncTransaction transaction) {
+      trxIDs.add(transaction.getTrnId().getValue());
+    }
+
+    @Override
+    public void onSplit(final GncTransaction transaction, final GncTransaction.TrnSplits.TrnSplit split) {
+      // splits come right after their transaction
+      Assert.assertEquals(transaction.getTrnId().getValue(), trxIDs.get(trxIDs.size() - 1));
+      splits++;
+    }
+
+    @Override
+    public void onPrice(final Price price) {
+      prices++;
+    }
+
+    @Override
+    public void onInvoice(final GncV2.GncBook.GncGncInvoice invoice) {
+      invoices++;
+    }
+  }
+
+  // -----------------------------------------------------------------
+
+  @BeforeMethod
+  public void initialize() throws Exception {
+    ApplicationMessages.setup();
+  }
+
+  // -----------------------------------------------------------------
+
+  @Test
+  public void test01_plain() throws Exception {
+    CountingVisitor visitor = new CountingVisitor();
+    ClassLoader classLoader = getClass().getClassLoader();
+    try (InputStream gcshFileStream = classLoader.getResourceAsStream(ConstTest.GCSH_FILENAME)) {
+      new GnucashStreamReader().read(gcshFileStream, visitor);
+    }
+
+    Assert.assertEquals(visitor.accounts, 91);
+    Assert.assertEquals(visitor.trxIDs.size(), 11);
+    Assert.assertEquals(visitor.splits, 29);
+    Assert.assertEquals(visitor.prices, 6);
+    Assert.assertEquals(visitor.invoices, 6);
+  }
+
+  @Test
+  public void test02_gzipped() throws Exception {
+    File gzFile = File.createTempFile("TestGnucashStreamReader", ".gnucash");
+    gzFile.deleteOnExit();
+    ClassLoader classLoader = getClass().getClassLoader();
+    try (InputStream gcshFileStream = classLoader.getResourceAsStream(ConstTest.GCSH_FILENAME);
+        OutputStream out = new GZIPOutputStream(new FileOutputStream(gzFile))) {
+      gcshFileStream.transferTo(out);
+    }
+
+    // recognized by the magic bytes, not by the name
+    CountingVisitor visitor = new CountingVisitor();
+    new GnucashStreamReader().read(gzFile, visitor);
+
+    Assert.assertEquals(visitor.accounts, 91);
+    Assert.assertEquals(visitor.trxIDs.size(), 11);
+    Assert.assertEquals(visitor.splits, 29);
+  }
+
+}
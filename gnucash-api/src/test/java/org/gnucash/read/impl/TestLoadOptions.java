@@ -0,0 +1,367 @@
+package org.gnucash.read.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.gnucash.ConstTest;
+import org.gnucash.generated.GncV2;
+import org.gnucash.messages.ApplicationMessages;
+import org.gnucash.read.GnucashAccount;
+import org.gnucash.read.GnucashFile;
+import org.gnucash.read.GnucashGenerInvoice;
+import org.gnucash.read.GnucashTransaction;
+import org.gnucash.read.GnucashTransactionSplit;
+import org.gnucash.write.impl.GnucashWritableFileImpl;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import jakarta.xml.bind.Marshaller;
+
+public class TestLoadOptions {
+  private GnucashFile gcshFileSeq = null;
+
+  // -----------------------------------------------------------------
+
+  @BeforeMethod
+  public void initialize() throws Exception {
+    ApplicationMessages.setup();
+    gcshFileSeq = load(new LoadOptions());
+  }
+
+  private GnucashFile load(final LoadOptions opts) throws Exception {
+    ClassLoader classLoader = getClass().getClassLoader();
+    try (InputStream gcshFileStream = classLoader.getResourceAsStream(ConstTest.GCSH_FILENAME)) {
+      return new GnucashFileImpl(gcshFileStream, opts);
+    }
+  }
+
+  // -----------------------------------------------------------------
+
+  @Test
+  public void test01_parallel() throws Exception {
+    LoadOptions opts = new LoadOptions();
+    opts.setParallel(true);
+    opts.setParallelism(4);
+    GnucashFile gcshFile = load(opts);
+
+    Assert.assertEquals(gcshFile.getNofEntriesAccountMap(), 91);
+    Assert.assertEquals(gcshFile.getNofEntriesTransactionMap(), 11);
+    Assert.assertEquals(gcshFile.getNofEntriesTransactionSplitsMap(), 29);
+    Assert.assertEquals(gcshFile.getNofEntriesGenerInvoiceMap(), 6);
+    Assert.assertEquals(gcshFile.getNofEntriesGenerInvoiceEntriesMap(), 12);
+    Assert.assertEquals(gcshFile.getNofEntriesGenerJobMap(), 2);
+    Assert.assertEquals(gcshFile.getNofEntriesCustomerMap(), 3);
+    Assert.assertEquals(gcshFile.getNofEntriesVendorMap(), 3);
+
+    for (GnucashAccount acctSeq : gcshFileSeq.getAccounts()) {
+      GnucashAccount acct = gcshFile.getAccountByID(acctSeq.getId());
+      Assert.assertEquals(acct.getTransactionSplits().size(), acctSeq.getTransactionSplits().size());
+      for (int i = 0; i < acct.getTransactionSplits().size(); i++) {
+        Assert.assertEquals(acct.getTransactionSplits().get(i).getId(), acctSeq.getTransactionSplits().get(i).getId());
+      }
+      Assert.assertEquals(acct.getBalance(), acctSeq.getBalance());
+    }
+
+    for (GnucashTransaction trxSeq : gcshFileSeq.getTransactions()) {
+      GnucashTransaction trx = gcshFile.getTransactionByID(trxSeq.getId());
+      Assert.assertEquals(trx.getSplitsCount(), trxSeq.getSplitsCount());
+      for (GnucashTransactionSplit spltSeq : trxSeq.getSplits()) {
+        Assert.assertNotNull(trx.getSplitByID(spltSeq.getId()));
+      }
+    }
+
+    for (GnucashGenerInvoice invcSeq : gcshFileSeq.getGenerInvoices()) {
+      GnucashGenerInvoice invc = gcshFile.getGenerInvoiceByID(invcSeq.getId());
+      Assert.assertEquals(invc.getGenerEntries().size(), invcSeq.getGenerEntries().size());
+      Assert.assertEquals(invc.getPayingTransactions().size(), invcSeq.getPayingTransactions().size());
+    }
+  }
+
+  @Test
+  public void test03_chunked() throws Exception {
+    ClassLoader classLoader = getClass().getClassLoader();
+    String xml;
+    try (InputStream gcshFileStream = classLoader.getResourceAsStream(ConstTest.GCSH_FILENAME)) {
+      xml = new String(gcshFileStream.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    // a template-transaction must not end up as a book-level transaction
+    int trxStart = xml.indexOf("<gnc:transaction ");
+    int trxEnd = xml.indexOf("</gnc:transaction>", trxStart) + "</gnc:transaction>".length();
+    xml = xml.replace("</gnc:book>", "<gnc:template-transactions>\n" + xml.substring(trxStart, trxEnd)
+        + "\n</gnc:template-transactions>\n</gnc:book>");
+
+    LoadOptions opts = new LoadOptions();
+    opts.setParser(LoadOptions.Parser.CHUNKED);
+    opts.setParallelism(3);
+    GnucashFileImpl gcshFile = new GnucashFileImpl(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)),
+        opts);
+
+    Assert.assertEquals(gcshFile.getNofEntriesAccountMap(), 91);
+    Assert.assertEquals(gcshFile.getNofEntriesTransactionMap(), 11);
+    Assert.assertEquals(gcshFile.getNofEntriesTransactionSplitsMap(), 29);
+    Assert.assertEquals(gcshFile.getNofEntriesGenerInvoiceMap(), 6);
+    Assert.assertEquals(gcshFile.getBookElementsOfType(GncV2.GncBook.GncTemplateTransactions.class).size(), 1);
+
+    for (GnucashAccount acctSeq : gcshFileSeq.getAccounts()) {
+      GnucashAccount acct = gcshFile.getAccountByID(acctSeq.getId());
+      Assert.assertEquals(acct.getTransactionSplits().size(), acctSeq.getTransactionSplits().size());
+      Assert.assertEquals(acct.getBalance(), acctSeq.getBalance());
+    }
+
+    for (GnucashTransaction trxSeq : gcshFileSeq.getTransactions()) {
+      GnucashTransaction trx = gcshFile.getTransactionByID(trxSeq.getId());
+      Assert.assertEquals(trx.getDescription(), trxSeq.getDescription());
+      Assert.assertEquals(trx.getDatePosted(), trxSeq.getDatePosted());
+      for (GnucashTransactionSplit spltSeq : trxSeq.getSplits()) {
+        Assert.assertEquals(trx.getSplitByID(spltSeq.getId()).getValue(), spltSeq.getValue());
+      }
+    }
+
+    for (GnucashGenerInvoice invcSeq : gcshFileSeq.getGenerInvoices()) {
+      GnucashGenerInvoice invc = gcshFile.getGenerInvoiceByID(invcSeq.getId());
+      Assert.assertEquals(invc.getPayingTransactions().size(), invcSeq.getPayingTransactions().size());
+    }
+  }
+
+  @Test
+  public void test03_2_chunkedMarkup() throws Exception {
+    ClassLoader classLoader = getClass().getClassLoader();
+    String xml;
+    try (InputStream gcshFileStream = classLoader.getResourceAsStream(ConstTest.GCSH_FILENAME)) {
+      xml = new String(gcshFileStream.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    // tags in comments and CDATA-sections are no boundaries
+    xml = xml.replace("<gnc:book version=\"2.0.0\">",
+        "<gnc:book version=\"2.0.0\">\n<!-- <gnc:transaction version=\"2.0.0\"> -->");
+    xml = xml.replace("<trn:description>Ersterwerb</trn:description>",
+        "<!-- </gnc:transaction> --><trn:description><![CDATA[Erst</gnc:transaction>erwerb]]></trn:description>");
+
+    LoadOptions opts = new LoadOptions();
+    opts.setParser(LoadOptions.Parser.CHUNKED);
+    opts.setParallelism(2);
+    GnucashFileImpl gcshFile = new GnucashFileImpl(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)),
+        opts);
+
+    Assert.assertEquals(gcshFile.getNofEntriesTransactionMap(), 11);
+    Assert.assertEquals(gcshFile.getNofEntriesTransactionSplitsMap(), 29);
+    Assert.assertEquals(gcshFile.getTransactionByID("cc9fe6a245df45ba9b494660732a7755").getDescription(),
+        "Erst</gnc:transaction>erwerb");
+    for (GnucashAccount acctSeq : gcshFileSeq.getAccounts()) {
+      GnucashAccount acct = gcshFile.getAccountByID(acctSeq.getId());
+      Assert.assertEquals(acct.getBalance(), acctSeq.getBalance());
+    }
+  }
+
+  @Test
+  public void test04_snapshot() throws Exception {
+    File bookFile = File.createTempFile("TestLoadOptions", ".gnucash");
+    bookFile.deleteOnExit();
+    File snapFile = new File(bookFile.getPath() + GnucashSnapshot.SUFFIX);
+    snapFile.deleteOnExit();
+    ClassLoader classLoader = getClass().getClassLoader();
+    try (InputStream gcshFileStream = classLoader.getResourceAsStream(ConstTest.GCSH_FILENAME)) {
+      Files.copy(gcshFileStream, bookFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    LoadOptions opts = new LoadOptions();
+    opts.setSnapshotEnabled(true);
+
+    // first load writes the snapshot
+    new GnucashFileImpl(bookFile, opts);
+    Assert.assertTrue(snapFile.isFile());
+    Assert.assertNotNull(new GnucashSnapshot(bookFile).read());
+
+    // second load reads it
+    GnucashFile gcshFile = new GnucashFileImpl(bookFile, opts);
+    Assert.assertEquals(gcshFile.getNofEntriesAccountMap(), 91);
+    Assert.assertEquals(gcshFile.getNofEntriesTransactionMap(), 11);
+    Assert.assertEquals(gcshFile.getNofEntriesTransactionSplitsMap(), 29);
+    Assert.assertEquals(gcshFile.getNofEntriesGenerInvoiceMap(), 6);
+    Assert.assertEquals(gcshFile.getNofEntriesCustomerMap(), 3);
+    for (GnucashAccount acctSeq : gcshFileSeq.getAccounts()) {
+      GnucashAccount acct = gcshFile.getAccountByID(acctSeq.getId());
+      Assert.assertEquals(acct.getName(), acctSeq.getName());
+      Assert.assertEquals(acct.getBalance(), acctSeq.getBalance());
+    }
+    for (GnucashTransaction trxSeq : gcshFileSeq.getTransactions()) {
+      GnucashTransaction trx = gcshFile.getTransactionByID(trxSeq.getId());
+      Assert.assertEquals(trx.getDatePosted(), trxSeq.getDatePosted());
+    }
+
+    // a changed book makes the snapshot stale
+    Files.writeString(bookFile.toPath(), "\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    Assert.assertNull(new GnucashSnapshot(bookFile).read());
+    gcshFile = new GnucashFileImpl(bookFile, opts);
+    Assert.assertEquals(gcshFile.getNofEntriesTransactionMap(), 11);
+    Assert.assertNotNull(new GnucashSnapshot(bookFile).read());
+
+    // so does a garbled one
+    Files.write(snapFile.toPath(), "garbage".getBytes(StandardCharsets.US_ASCII));
+    Assert.assertNull(new GnucashSnapshot(bookFile).read());
+    gcshFile = new GnucashFileImpl(bookFile, opts);
+    Assert.assertEquals(gcshFile.getNofEntriesTransactionMap(), 11);
+  }
+
+  @Test
+  public void test04_2_snapshotTree() throws Exception {
+    File bookFile = File.createTempFile("TestLoadOptions", ".gnucash");
+    bookFile.deleteOnExit();
+    new File(bookFile.getPath() + GnucashSnapshot.SUFFIX).deleteOnExit();
+    ClassLoader classLoader = getClass().getClassLoader();
+    try (InputStream gcshFileStream = classLoader.getResourceAsStream(ConstTest.GCSH_FILENAME)) {
+      Files.copy(gcshFileStream, bookFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // the restored tree (slots and all) is the parsed one
+    GnucashFileImpl gcshFile = new GnucashFileImpl(bookFile);
+    GnucashSnapshot snapshot = new GnucashSnapshot(bookFile);
+    snapshot.write(gcshFile.getRootElement());
+    GncV2 restored = snapshot.read();
+    Assert.assertNotNull(restored);
+
+    Marshaller marshaller = gcshFile.getJAXBContext().createMarshaller();
+    StringWriter parsedXml = new StringWriter();
+    marshaller.marshal(gcshFile.getRootElement(), parsedXml);
+    StringWriter restoredXml = new StringWriter();
+    marshaller.marshal(restored, restoredXml);
+    Assert.assertEquals(restoredXml.toString(), parsedXml.toString());
+  }
+
+  @Test
+  public void test05_lazyFamilies() throws Exception {
+    LoadOptions opts = new LoadOptions();
+    opts.setEntityFamilies(LoadOptions.EntityFamily.ACCOUNTS);
+    GnucashFile gcshFile = load(opts);
+
+    // built on first access
+    for (GnucashAccount acctSeq : gcshFileSeq.getAccounts()) {
+      GnucashAccount acct = gcshFile.getAccountByID(acctSeq.getId());
+      Assert.assertEquals(acct.getTransactionSplits().size(), acctSeq.getTransactionSplits().size());
+      Assert.assertEquals(acct.getBalance(), acctSeq.getBalance());
+    }
+    Assert.assertEquals(gcshFile.getNofEntriesTransactionMap(), 11);
+    Assert.assertEquals(gcshFile.getNofEntriesCustomerMap(), 3);
+    for (GnucashGenerInvoice invcSeq : gcshFileSeq.getGenerInvoices()) {
+      GnucashGenerInvoice invc = gcshFile.getGenerInvoiceByID(invcSeq.getId());
+      Assert.assertEquals(invc.getGenerEntries().size(), invcSeq.getGenerEntries().size());
+      Assert.assertEquals(invc.getPayingTransactions().size(), invcSeq.getPayingTransactions().size());
+    }
+  }
+
+  @Test
+  public void test06_droppedFamilies() throws Exception {
+    for (LoadOptions.Parser parser : LoadOptions.Parser.values()) {
+      LoadOptions opts = new LoadOptions();
+      opts.setParser(parser);
+      opts.setEntityFamilies(LoadOptions.EntityFamily.TRANSACTIONS);
+      opts.setSkipMode(LoadOptions.SkipMode.DROP);
+      GnucashFile gcshFile = load(opts);
+
+      // accounts are kept, because the splits need them
+      Assert.assertEquals(gcshFile.getNofEntriesAccountMap(), 91);
+      Assert.assertEquals(gcshFile.getNofEntriesTransactionMap(), 11);
+      Assert.assertEquals(gcshFile.getNofEntriesTransactionSplitsMap(), 29);
+      Assert.assertEquals(gcshFile.getNofEntriesGenerInvoiceMap(), 0);
+      Assert.assertEquals(gcshFile.getNofEntriesGenerInvoiceEntriesMap(), 0);
+      Assert.assertEquals(gcshFile.getNofEntriesCustomerMap(), 0);
+      Assert.assertEquals(gcshFile.getNofEntriesVendorMap(), 0);
+      Assert.assertEquals(gcshFile.getNofEntriesGenerJobMap(), 0);
+
+      for (GnucashAccount acctSeq : gcshFileSeq.getAccounts()) {
+        GnucashAccount acct = gcshFile.getAccountByID(acctSeq.getId());
+        Assert.assertEquals(acct.getBalance(), acctSeq.getBalance());
+      }
+    }
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test07_writableNotDropped() throws Exception {
+    LoadOptions opts = new LoadOptions();
+    opts.setEntityFamilies(LoadOptions.EntityFamily.ACCOUNTS);
+    opts.setSkipMode(LoadOptions.SkipMode.DROP);
+    ClassLoader classLoader = getClass().getClassLoader();
+    try (InputStream gcshFileStream = classLoader.getResourceAsStream(ConstTest.GCSH_FILENAME)) {
+      new GnucashWritableFileImpl(gcshFileStream, opts);
+    }
+  }
+
+  @Test
+  public void test08_writableLazy() throws Exception {
+    LoadOptions opts = new LoadOptions();
+    opts.setEntityFamilies(LoadOptions.EntityFamily.ACCOUNTS);
+    GnucashWritableFileImpl gcshFile;
+    ClassLoader classLoader = getClass().getClassLoader();
+    try (InputStream gcshFileStream = classLoader.getResourceAsStream(ConstTest.GCSH_FILENAME)) {
+      gcshFile = new GnucashWritableFileImpl(gcshFileStream, opts);
+    }
+
+    // the existing customers must not be built a second time
+    gcshFile.createWritableCustomer().setName("Lazy");
+    Assert.assertEquals(gcshFile.getNofEntriesCustomerMap(), 4);
+    Assert.assertEquals(gcshFile.getCustomers().size(), 4);
+  }
+
+  @Test
+  public void test09_lazyTransactions() throws Exception {
+    LoadOptions opts = new LoadOptions();
+    opts.setLazyTransactions(true);
+    GnucashFileImpl gcshFile = (GnucashFileImpl) load(opts);
+
+    Assert.assertEquals(gcshFile.getNofEntriesTransactionMap(), 11);
+    Assert.assertEquals(gcshFile.getNofEntriesTransactionSplitsMap(), 29);
+    Assert.assertEquals(gcshFile.getTransactions().size(), 11);
+
+    for (GnucashAccount acctSeq : gcshFileSeq.getAccounts()) {
+      GnucashAccount acct = gcshFile.getAccountByID(acctSeq.getId());
+      Assert.assertEquals(acct.getTransactionSplits().size(), acctSeq.getTransactionSplits().size());
+      for (int i = 0; i < acct.getTransactionSplits().size(); i++) {
+        Assert.assertEquals(acct.getTransactionSplits().get(i).getId(), acctSeq.getTransactionSplits().get(i).getId());
+        Assert.assertNotNull(acct.getTransactionSplitByID(acctSeq.getTransactionSplits().get(i).getId()));
+      }
+      Assert.assertEquals(acct.getBalance(), acctSeq.getBalance());
+
+      // the balance-index keeps the split-ids only
+      List<GnucashTransactionSplit> after = new ArrayList<GnucashTransactionSplit>();
+      List<GnucashTransactionSplit> afterSeq = new ArrayList<GnucashTransactionSplit>();
+      Assert.assertEquals(acct.getBalance(LocalDate.of(2023, 7, 10), after),
+          acctSeq.getBalance(LocalDate.of(2023, 7, 10), afterSeq));
+      Assert.assertEquals(after.size(), afterSeq.size());
+      for (int i = 0; i < after.size(); i++) {
+        Assert.assertEquals(after.get(i).getId(), afterSeq.get(i).getId());
+      }
+    }
+
+    for (GnucashTransaction trxSeq : gcshFileSeq.getTransactions()) {
+      GnucashTransaction trx = gcshFile.getTransactionByID(trxSeq.getId());
+      Assert.assertEquals(trx.getDatePosted(), trxSeq.getDatePosted());
+      // cached as long as someone holds it
+      Assert.assertSame(gcshFile.getTransactionByID(trxSeq.getId()), trx);
+      for (GnucashTransactionSplit spltSeq : trxSeq.getSplits()) {
+        Assert.assertEquals(gcshFile.getTransactionSplitByID(spltSeq.getId()).getValue(), spltSeq.getValue());
+      }
+    }
+
+    for (GnucashGenerInvoice invcSeq : gcshFileSeq.getGenerInvoices()) {
+      GnucashGenerInvoice invc = gcshFile.getGenerInvoiceByID(invcSeq.getId());
+      Assert.assertEquals(invc.getPayingTransactions().size(), invcSeq.getPayingTransactions().size());
+    }
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test02_invalidParallelism() throws Exception {
+    new LoadOptions().setParallelism(0);
+  }
+
+}
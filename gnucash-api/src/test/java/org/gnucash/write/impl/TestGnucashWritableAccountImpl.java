@@ -0,0 +1,136 @@
+package org.gnucash.write.impl;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+
+import org.gnucash.ConstTest;
+import org.gnucash.messages.ApplicationMessages;
+import org.gnucash.numbers.FixedPointNumber;
+import org.gnucash.read.GnucashAccount;
+import org.gnucash.write.GnucashWritableAccount;
+import org.gnucash.write.GnucashWritableTransaction;
+import org.gnucash.write.GnucashWritableTransactionSplit;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class TestGnucashWritableAccountImpl {
+  private GnucashWritableFileImpl gcshInFile = null;
+
+  private static final String ACCT_1_ID = "bbf77a599bd24a3dbfec3dd1d0bb9f5c"; // Giro RaiBa
+  private static final String ACCT_2_ID = "cc2c4709633943c39293bfd73de88c9b"; // Depot RaiBa
+  private static final String ACCT_5_ID = "7e223ee2260d4ba28e8e9e19ce291f43"; // Unfug_Quatsch
+  private static final String ACCT_7_ID = "d49554f33a0340bdb6611a1ab5575998"; // child of Depot RaiBa
+
+  @BeforeMethod
+  public void initialize() throws Exception {
+    ClassLoader classLoader = getClass().getClassLoader();
+    ApplicationMessages.setup();
+
+    try (InputStream gcshInFileStream = classLoader.getResourceAsStream(ConstTest.GCSH_FILENAME_IN)) {
+      gcshInFile = new GnucashWritableFileImpl(gcshInFileStream);
+    }
+  }
+
+  // -----------------------------------------------------------------
+
+  @Test
+  public void test01_reparent() throws Exception {
+    GnucashWritableAccount acct = gcshInFile.getAccountByID(ACCT_7_ID);
+    GnucashAccount oldParent = gcshInFile.getAccountByID(ACCT_2_ID);
+    GnucashAccount newParent = gcshInFile.getAccountByID(ACCT_1_ID);
+    int nofOldChildren = oldParent.getChildren().size();
+    Assert.assertTrue(oldParent.getChildren().contains(acct));
+    Assert.assertEquals(newParent.getChildren().size(), 0);
+
+    acct.setParentAccount(newParent);
+
+    Assert.assertFalse(oldParent.getChildren().contains(acct));
+    Assert.assertEquals(oldParent.getChildren().size(), nofOldChildren - 1);
+    Assert.assertEquals(newParent.getChildren().size(), 1);
+    Assert.assertTrue(newParent.getChildren().contains(acct));
+    Assert.assertTrue(newParent.isChildAccountRecursive(acct));
+  }
+
+  @Test
+  public void test02_createAndRemove() throws Exception {
+    int nofRootAccounts = gcshInFile.getRootAccounts().size();
+
+    GnucashWritableAccount acct = gcshInFile.createWritableAccount();
+    acct.setName("Neues Konto");
+    Assert.assertEquals(gcshInFile.getAccountsByParentID(null).size(), nofRootAccounts + 1);
+
+    GnucashAccount parent = gcshInFile.getAccountByID(ACCT_1_ID);
+    acct.setParentAccountId(ACCT_1_ID);
+    Assert.assertEquals(gcshInFile.getAccountsByParentID(null).size(), nofRootAccounts);
+    Assert.assertTrue(parent.getChildren().contains(acct));
+
+    acct.remove();
+    Assert.assertEquals(parent.getChildren().size(), 0);
+    Assert.assertEquals(gcshInFile.getAccountsByParentID(null).size(), nofRootAccounts);
+  }
+
+  @Test
+  public void test03_renameAndMove() throws Exception {
+    GnucashWritableAccount acct = gcshInFile.getAccountByID(ACCT_7_ID);
+    GnucashWritableAccount parent = gcshInFile.getAccountByID(ACCT_2_ID);
+    Assert.assertEquals(acct.getQualifiedName(),
+        "Root Account::Aktiva::Depots::Depot RaiBa::DE0007100000 Mercedes-Benz");
+    // the name-index is built now and is kept up to date from here on
+    Assert.assertEquals(gcshInFile.getAccountByName("Depot RaiBa"), parent);
+
+    // renaming the parent changes the qualified name of the child
+    parent.setName("Depot Sparkasse");
+    Assert.assertEquals(acct.getQualifiedName(),
+        "Root Account::Aktiva::Depots::Depot Sparkasse::DE0007100000 Mercedes-Benz");
+    Assert.assertNull(gcshInFile.getAccountByName("Depot RaiBa"));
+    Assert.assertEquals(gcshInFile.getAccountByName("Depot Sparkasse"), parent);
+    Assert.assertEquals(
+        gcshInFile.getAccountByName("Root Account::Aktiva::Depots::Depot Sparkasse::DE0007100000 Mercedes-Benz"),
+        acct);
+
+    acct.setParentAccountId(ACCT_1_ID);
+    Assert.assertEquals(acct.getQualifiedName(),
+        "Root Account::Aktiva::Sichteinlagen::KK::Giro RaiBa::DE0007100000 Mercedes-Benz");
+    Assert.assertEquals(
+        gcshInFile.getAccountByName("Root Account::Aktiva::Sichteinlagen::KK::Giro RaiBa::DE0007100000 Mercedes-Benz"),
+        acct);
+    Assert.assertNull(
+        gcshInFile.getAccountByName("Root Account::Aktiva::Depots::Depot Sparkasse::DE0007100000 Mercedes-Benz"));
+
+    GnucashWritableAccount newAcct = gcshInFile.createWritableAccount();
+    newAcct.setName("Neues Konto");
+    Assert.assertEquals(gcshInFile.getAccountByName("Neues Konto"), newAcct);
+    newAcct.remove();
+    Assert.assertNull(gcshInFile.getAccountByName("Neues Konto"));
+  }
+
+  @Test
+  public void test04_balanceAfterChange() throws Exception {
+    GnucashWritableAccount acct = gcshInFile.getAccountByID(ACCT_5_ID);
+    FixedPointNumber balance = acct.getBalance();
+    Assert.assertEquals(acct.getBalanceChange(LocalDate.of(1900, 1, 1), LocalDate.of(2100, 1, 1)), balance);
+    Assert.assertEquals(acct.getBalanceChange(LocalDate.of(2100, 1, 1), LocalDate.of(1900, 1, 1)),
+        new FixedPointNumber());
+
+    GnucashWritableTransactionSplit splt = (GnucashWritableTransactionSplit) acct.getTransactionSplits().get(0);
+    FixedPointNumber oldQuantity = splt.getQuantity();
+    splt.setQuantity(oldQuantity.copy().add(100));
+    Assert.assertEquals(acct.getBalance(), balance.copy().add(100));
+    Assert.assertEquals(acct.getBalance(splt), oldQuantity.copy().add(100));
+
+    // moving the first transaction to the end
+    ((GnucashWritableTransaction) splt.getTransaction()).setDatePosted(LocalDate.of(2099, 1, 1));
+    Assert.assertSame(acct.getTransactionSplits().get(acct.getTransactionSplits().size() - 1), splt);
+    Assert.assertEquals(gcshInFile.getTransactions(LocalDate.of(2099, 1, 1), null).size(), 1);
+    Assert.assertEquals(acct.getTransactionSplits(LocalDate.of(2099, 1, 1), null).get(0).getId(), splt.getId());
+    Assert.assertEquals(acct.getBalance(LocalDate.of(2098, 1, 1)), balance.copy().subtract(oldQuantity));
+    // by the day as posted
+    Assert.assertEquals(acct.getBalanceChange(LocalDate.of(2099, 1, 1), LocalDate.of(2099, 1, 2)),
+        oldQuantity.copy().add(100));
+    Assert.assertEquals(acct.getBalanceChange(LocalDate.of(2098, 1, 1), LocalDate.of(2099, 1, 1)),
+        new FixedPointNumber());
+    Assert.assertEquals(acct.getBalance(splt), balance.copy().add(100));
+  }
+
+}
@@ -4,6 +4,7 @@ import java.io.File;
 import java.io.InputStream;
 import java.net.URL;
 import java.nio.file.Files;
+import java.util.Arrays;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -131,6 +132,27 @@ public class TestGnucashWritableCustomerImpl {
     Assert.assertEquals("000004", elt.getElementsByTagName("cust:id").item(0).getTextContent());
   }
 
+  @Test
+  public void test01_4() throws Exception {
+    Assert.assertEquals(true, outFileGlob.exists());
+
+    DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+    DocumentBuilder builder = factory.newDocumentBuilder();
+    Document document = builder.parse(outFileGlob);
+    document.getDocumentElement().normalize();
+
+    // count-data must include the new customer
+    NodeList nList = document.getElementsByTagName("gnc:count-data");
+    int cntCust = -1;
+    for (int i = 0; i < nList.getLength(); i++) {
+      Element elt = (Element) nList.item(i);
+      if (elt.getAttribute("cd:type").equals("gnc:GncCustomer")) {
+        cntCust = Integer.parseInt(elt.getTextContent());
+      }
+    }
+    Assert.assertEquals(cntCust, 4);
+  }
+
   // -----------------------------------------------------------------
 
   @Test
@@ -197,6 +219,59 @@ public class TestGnucashWritableCustomerImpl {
     Assert.assertEquals("000006", elt.getElementsByTagName("cust:id").item(0).getTextContent());
   }
 
+  // -----------------------------------------------------------------
+
+  @Test
+  public void test03_byNameAndNumber() throws Exception {
+    // both indexes are built now and kept up to date from here on
+    Assert.assertNull(gcshInFile.getCustomerByName("Frederic Austerlitz"));
+    Assert.assertNull(gcshInFile.getCustomerByNumber("K-0815"));
+
+    GnucashWritableCustomer cust = gcshInFile.createWritableCustomer();
+    cust.setNumber("K-0815");
+    cust.setName("Frederic Austerlitz");
+
+    Assert.assertEquals(cust.getId(), gcshInFile.getCustomerByName("Frederic Austerlitz").getId());
+    Assert.assertEquals(cust.getId(), gcshInFile.getCustomerByNumber("K-0815").getId());
+    Assert.assertEquals(1, gcshInFile.getCustomersByNamePrefix("fred").size());
+
+    cust.setName("Fred Astaire");
+    cust.setNumber("K-0816");
+    Assert.assertNull(gcshInFile.getCustomerByName("Frederic Austerlitz"));
+    Assert.assertNull(gcshInFile.getCustomerByNumber("K-0815"));
+    Assert.assertEquals(cust.getId(), gcshInFile.getCustomerByName("Fred Astaire").getId());
+    Assert.assertEquals(cust.getId(), gcshInFile.getCustomersByNumberPrefix("k-08").get(0).getId());
+
+    cust.remove();
+    Assert.assertNull(gcshInFile.getCustomerByName("Fred Astaire"));
+    Assert.assertEquals(0, gcshInFile.getCustomersByNamePrefix("fred").size());
+    Assert.assertNull(gcshInFile.getCustomerByNumber("K-0816"));
+  }
+
+  @Test
+  public void test04_numberSequence() throws Exception {
+    Assert.assertEquals(3, gcshInFile.getHighestCustomerNumber());
+
+    // reserved, even if not used
+    Assert.assertEquals(Arrays.asList("000004", "000005", "000006"), gcshInFile.getNewCustomerNumbers(3));
+    Assert.assertEquals("000007", gcshInFile.getNewCustomerNumber());
+    Assert.assertEquals(3, gcshInFile.getHighestCustomerNumber());
+
+    GnucashWritableCustomer cust = gcshInFile.createWritableCustomer();
+    cust.setNumber("000042");
+    Assert.assertEquals(42, gcshInFile.getHighestCustomerNumber());
+    Assert.assertEquals("000043", gcshInFile.getNewCustomerNumber());
+
+    cust.setNumber("000002");
+    Assert.assertEquals(3, gcshInFile.getHighestCustomerNumber());
+    Assert.assertEquals("000044", gcshInFile.getNewCustomerNumber());
+
+    gcshInFile.setCustomerNumberFormat("K-", 4);
+    Assert.assertEquals(-1, gcshInFile.getHighestCustomerNumber());
+    cust.setNumber("K-0815");
+    Assert.assertEquals("K-0816", gcshInFile.getNewCustomerNumber());
+  }
+
 //  @AfterClass
 //  public void after() throws Exception
 //  {
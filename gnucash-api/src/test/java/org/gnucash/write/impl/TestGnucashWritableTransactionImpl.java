@@ -9,10 +9,13 @@ import java.util.TimeZone;
 
 import org.gnucash.ConstTest;
 import org.gnucash.messages.ApplicationMessages;
+import org.gnucash.numbers.FixedPointNumber;
+import org.gnucash.read.GnucashAccount;
 import org.gnucash.read.GnucashTransaction;
 import org.gnucash.read.impl.GnucashFileImpl;
 import org.gnucash.read.impl.TestGnucashTransactionImpl;
 import org.gnucash.write.GnucashWritableTransaction;
+import org.gnucash.write.GnucashWritableTransactionSplit;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -21,6 +24,8 @@ public class TestGnucashWritableTransactionImpl {
   private static final String TRX_1_ID = TestGnucashTransactionImpl.TRX_1_ID;
   private static final String TRX_2_ID = TestGnucashTransactionImpl.TRX_2_ID;
 
+  private static final String ACCT_5_ID = "7e223ee2260d4ba28e8e9e19ce291f43"; // Unfug_Quatsch
+
   // -----------------------------------------------------------------
 
   private GnucashWritableFileImpl gcshInFile = null;
@@ -178,4 +183,65 @@ public class TestGnucashWritableTransactionImpl {
     Assert.assertEquals(trx.getSplits().get(2).getId(), "5c5fa881869843d090a932f8e6b15af2"); // unchanged
   }
 
+  @Test
+  public void test03_fullText() throws Exception {
+    GnucashWritableTransaction trx = gcshInFile.getTransactionByID(TRX_1_ID);
+    Assert.assertEquals(gcshInFile.findTransactions("super*").size(), 0);
+
+    trx.setDescription("Super dividend");
+    Assert.assertEquals(gcshInFile.findTransactions("super*").size(), 1);
+    trx.getWritingFirstSplit().setDescription("Amazon 4711");
+    Assert.assertEquals(gcshInFile.findTransactions("dividend amazon").get(0).getId(), TRX_1_ID);
+    // only the split with that memo
+    Assert.assertEquals(gcshInFile.findTransactionSplits("amazon").size(), 1);
+    Assert.assertEquals(gcshInFile.findTransactionSplits("amazon").get(0).getId(),
+        trx.getWritingFirstSplit().getId());
+    Assert.assertEquals(gcshInFile.findTransactionSplits("dividend amazon").size(), 0);
+
+    trx.remove();
+    Assert.assertEquals(gcshInFile.findTransactions("amazon").size(), 0);
+    Assert.assertEquals(gcshInFile.findTransactionSplits("amazon").size(), 0);
+  }
+
+  @Test
+  public void test04_splitAmounts() throws Exception {
+    GnucashWritableTransaction trx = gcshInFile.getTransactionByID(TRX_1_ID);
+    GnucashWritableTransactionSplit split = trx.getWritingFirstSplit();
+    FixedPointNumber value = split.getValue();
+
+    // the parsed value is cached, but the caller gets its own copy
+    split.getValue().add(1);
+    Assert.assertEquals(split.getValue(), value);
+
+    split.setValue(value.copy().add(1));
+    Assert.assertEquals(split.getValue(), value.copy().add(1));
+    split.setQuantity(new FixedPointNumber("1234/100"));
+    Assert.assertEquals(split.getQuantity(), new FixedPointNumber("12.34"));
+  }
+
+  @Test
+  public void test05_datesChanged() throws Exception {
+    LocalDate day = LocalDate.of(1970, 1, 1);
+    int count = gcshInFile.getTransactions(null, null).size();
+    Assert.assertEquals(gcshInFile.getTransactions(day, day.plusDays(1)).size(), 0);
+
+    GnucashWritableTransaction trx = gcshInFile.getTransactionByID(TRX_1_ID);
+    trx.setDatePosted(day);
+    Assert.assertEquals(gcshInFile.getTransactions(day, day.plusDays(1)).get(0).getId(), TRX_1_ID);
+    Assert.assertEquals(gcshInFile.getTransactions(null, null).size(), count);
+
+    // moving a split to another account
+    GnucashWritableTransactionSplit split = trx.getWritingFirstSplit();
+    GnucashAccount oldAcct = split.getAccount();
+    GnucashAccount newAcct = gcshInFile.getAccountByID(ACCT_5_ID);
+    split.setAccount(newAcct);
+    Assert.assertEquals(gcshInFile.getTransactionSplits(oldAcct, day, day.plusDays(1)).size(), 0);
+    Assert.assertEquals(gcshInFile.getTransactionSplits(newAcct, day, day.plusDays(1)).get(0).getId(), split.getId());
+
+    trx.remove();
+    Assert.assertEquals(gcshInFile.getTransactions(day, day.plusDays(1)).size(), 0);
+    Assert.assertEquals(gcshInFile.getTransactionSplits(newAcct, day, day.plusDays(1)).size(), 0);
+    Assert.assertEquals(gcshInFile.getTransactions(null, null).size(), count - 1);
+  }
+
 }
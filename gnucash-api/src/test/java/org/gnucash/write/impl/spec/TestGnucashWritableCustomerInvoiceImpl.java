@@ -206,6 +206,26 @@ public class TestGnucashWritableCustomerInvoiceImpl {
     // System.out.println("ptrx2 " + postTrxSecondSpltAcctId);
   }
 
+  @Test
+  public void test02_indexes() throws Exception {
+    GnucashCustomer cust2 = gcshInFile.getCustomerByID(CUST_2_ID);
+    int nofInvcCust1 = gcshInFile.getInvoicesForCustomer_direct(cust1).size();
+    int nofInvcCust2 = gcshInFile.getInvoicesForCustomer_direct(cust2).size();
+
+    GnucashWritableCustomerInvoice invc = gcshInFile.createWritableCustomerInvoice("19328", cust1, incomeAcct,
+        receivableAcct, LocalDate.of(2023, 8, 3), LocalDate.of(2023, 8, 1), LocalDate.of(2023, 8, 10));
+    Assert.assertEquals(gcshInFile.getInvoicesForCustomer_direct(cust1).size(), nofInvcCust1 + 1);
+
+    invc.setCustomer(cust2);
+    Assert.assertEquals(gcshInFile.getInvoicesForCustomer_direct(cust1).size(), nofInvcCust1);
+    Assert.assertEquals(gcshInFile.getInvoicesForCustomer_direct(cust2).size(), nofInvcCust2 + 1);
+
+    // the lot is created on posting
+    Assert.assertNull(invc.getLotID());
+    invc.post(incomeAcct, receivableAcct, LocalDate.of(2023, 8, 1), LocalDate.of(2023, 8, 10));
+    Assert.assertEquals(gcshInFile.getGenerInvoiceByLotID(invc.getLotID()).getId(), invc.getId());
+  }
+
   // @AfterClass
   // public void after() throws Exception
   // {
@@ -149,6 +149,24 @@ public class TestGnucashWritableCustomerJobImpl {
     Assert.assertEquals("New job for customer 1", jobSpec.getName());
   }
 
+  @Test
+  public void test02_jobsByCustomer() throws Exception {
+    GnucashCustomer cust2 = gcshInFile.getCustomerByID(CUST_2_ID);
+    int nofJobsCust1 = cust1.getJobs().size();
+    int nofJobsCust2 = cust2.getJobs().size();
+
+    GnucashWritableCustomerJob job = gcshInFile.createWritableCustomerJob(cust1, "J124", "Another job");
+    Assert.assertEquals(cust1.getJobs().size(), nofJobsCust1 + 1);
+    Assert.assertEquals(gcshInFile.getJobsByCustomer(cust1).size(), nofJobsCust1 + 1);
+
+    job.setCustomer(cust2);
+    Assert.assertEquals(cust1.getJobs().size(), nofJobsCust1);
+    Assert.assertEquals(cust2.getJobs().size(), nofJobsCust2 + 1);
+
+    gcshInFile.removeGenerJob(job);
+    Assert.assertEquals(cust2.getJobs().size(), nofJobsCust2);
+  }
+
 //  @AfterClass
 //  public void after() throws Exception
 //  {